@@ -55,9 +55,18 @@ public final class OcflConstants {
     public static final String MUTABLE_HEAD_EXT_PATH = EXTENSIONS_DIR + "/" + MUTABLE_HEAD_EXT_NAME;
     public static final String MUTABLE_HEAD_VERSION_PATH = MUTABLE_HEAD_EXT_PATH + "/head";
     public static final String MUTABLE_HEAD_REVISIONS_PATH = MUTABLE_HEAD_EXT_PATH + "/revisions";
+    public static final String MUTABLE_HEAD_CHANGES_PATH = MUTABLE_HEAD_EXT_PATH + "/changes";
+    public static final String REVISION_CHANGES_FILE = "revision-changes.json";
 
     public static final String DIGEST_ALGORITHMS_EXT_NAME = "0001-digest-algorithms";
 
+    public static final String PURGE_EXT_NAME = "ocfl-java-purge";
+    public static final String PURGE_EXT_PATH = EXTENSIONS_DIR + "/" + PURGE_EXT_NAME;
+
+    public static final String ROLLBACK_EXT_NAME = "ocfl-java-rollback";
+    public static final String ROLLBACK_EXT_PATH = EXTENSIONS_DIR + "/" + ROLLBACK_EXT_NAME;
+    public static final String ROLLBACK_INTENT_FILE = "rollback-intent";
+
     public static final DigestAlgorithm[] VALID_INVENTORY_ALGORITHMS =
             new DigestAlgorithm[] {DigestAlgorithmRegistry.sha256, DigestAlgorithmRegistry.sha512};
 }
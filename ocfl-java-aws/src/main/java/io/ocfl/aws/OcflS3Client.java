@@ -24,33 +24,45 @@
 
 package io.ocfl.aws;
 
+import dev.failsafe.Failsafe;
+import dev.failsafe.RetryPolicy;
 import io.ocfl.api.OcflRepository;
 import io.ocfl.api.exception.OcflIOException;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.storage.cloud.CloudClient;
 import io.ocfl.core.storage.cloud.CloudObjectKey;
+import io.ocfl.core.storage.cloud.ConditionalUploader;
 import io.ocfl.core.storage.cloud.HeadResult;
 import io.ocfl.core.storage.cloud.KeyNotFoundException;
 import io.ocfl.core.storage.cloud.ListResult;
+import io.ocfl.core.storage.common.PreconditionFailedException;
 import io.ocfl.core.util.UncheckedFiles;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
@@ -62,6 +74,7 @@ import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 
@@ -74,6 +87,20 @@ public class OcflS3Client implements CloudClient {
 
     private static final long EIGHT_MB = 8 * 1024 * 1024;
 
+    /**
+     * S3 limits DeleteObjects requests to 1,000 keys
+     */
+    private static final int MAX_DELETE_BATCH_SIZE = 1000;
+
+    /**
+     * The maximum number of DeleteObjects requests that may be in flight per delete operation
+     */
+    private static final int MAX_CONCURRENT_DELETE_BATCHES = 16;
+
+    private static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(429, 500, 502, 503, 504);
+    private static final Set<String> RETRYABLE_ERROR_CODES =
+            Set.of("SlowDown", "InternalError", "ServiceUnavailable", "RequestTimeout", "Throttling");
+
     private final S3AsyncClient s3Client;
     private final S3TransferManager transferManager;
     private final String bucket;
@@ -81,6 +108,9 @@ public class OcflS3Client implements CloudClient {
     private final CloudObjectKey.Builder keyBuilder;
 
     private final BiConsumer<String, PutObjectRequest.Builder> putObjectModifier;
+    private final boolean conditionalWrites;
+
+    private final RetryPolicy<Void> deleteRetry;
 
     /**
      * Used to create a new OcflS3Client instance.
@@ -116,12 +146,39 @@ public class OcflS3Client implements CloudClient {
             String prefix,
             S3TransferManager transferManager,
             BiConsumer<String, PutObjectRequest.Builder> putObjectModifier) {
+        this(s3Client, bucket, prefix, transferManager, putObjectModifier, false);
+    }
+
+    /**
+     * @see OcflS3Client#builder()
+     *
+     * @param s3Client aws sdk s3 client, not null
+     * @param bucket s3 bucket, not null
+     * @param prefix key prefix, may be null
+     * @param transferManager aws sdk s3 transfer manager, not null
+     * @param putObjectModifier hook for modifying putObject requests, may be null
+     * @param conditionalWrites true if the bucket supports conditional writes using If-Match and If-None-Match
+     */
+    public OcflS3Client(
+            S3AsyncClient s3Client,
+            String bucket,
+            String prefix,
+            S3TransferManager transferManager,
+            BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
+            boolean conditionalWrites) {
         this.s3Client = Enforce.notNull(s3Client, "s3Client cannot be null");
         this.bucket = Enforce.notBlank(bucket, "bucket cannot be blank");
         this.repoPrefix = sanitizeRepoPrefix(prefix == null ? "" : prefix);
         this.transferManager = Enforce.notNull(transferManager, "transferManager cannot be null");
         this.keyBuilder = CloudObjectKey.builder().prefix(repoPrefix);
         this.putObjectModifier = putObjectModifier != null ? putObjectModifier : (k, b) -> {};
+        this.conditionalWrites = conditionalWrites;
+        this.deleteRetry = RetryPolicy.<Void>builder()
+                .handleIf((Throwable e) -> isRetryableDeleteFailure(e))
+                .withBackoff(100, 10_000, ChronoUnit.MILLIS, 2.0)
+                .withJitter(0.25)
+                .withMaxRetries(8)
+                .build();
     }
 
     private static String sanitizeRepoPrefix(String repoPrefix) {
@@ -244,31 +301,92 @@ public class OcflS3Client implements CloudClient {
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Conditional uploads are only available when they were enabled with {@link Builder#conditionalWrites}.
      */
     @Override
-    public CloudObjectKey copyObject(String srcPath, String dstPath) {
-        var srcKey = keyBuilder.buildFromPath(srcPath);
+    public ConditionalUploader conditionalUploader() {
+        if (!conditionalWrites) {
+            return null;
+        }
+        return this::uploadBytesIfMatch;
+    }
+
+    private String uploadBytesIfMatch(String dstPath, byte[] bytes, String contentType, String eTag) {
         var dstKey = keyBuilder.buildFromPath(dstPath);
+        LOG.debug("Conditionally writing bytes to bucket {} key {} with expected ETag {}", bucket, dstKey, eTag);
 
-        LOG.debug("Copying {} to {} in bucket {}", srcKey, dstKey, bucket);
+        var builder = PutObjectRequest.builder().contentType(contentType);
 
-        try {
-            var copy = s3Client.copyObject(req -> req.destinationBucket(bucket)
-                    .destinationKey(dstKey.getKey())
-                    .sourceBucket(bucket)
-                    .sourceKey(srcKey.getKey())
-                    .build());
+        putObjectModifier.accept(dstKey.getKey(), builder);
 
-            copy.join();
+        // Set as headers so that this works with SDK versions that do not model the conditional write parameters
+        var override = builder.overrideConfiguration() == null
+                ? AwsRequestOverrideConfiguration.builder()
+                : builder.overrideConfiguration().toBuilder();
+        if (eTag == null) {
+            override.putHeader("If-None-Match", "*");
+        } else {
+            override.putHeader("If-Match", eTag);
+        }
+        builder.overrideConfiguration(override.build());
+
+        try {
+            return s3Client.putObject(
+                            builder.bucket(bucket).key(dstKey.getKey()).build(), AsyncRequestBody.fromBytes(bytes))
+                    .join()
+                    .eTag();
         } catch (RuntimeException e) {
             var cause = OcflS3Util.unwrapCompletionEx(e);
-            if (wasNotFound(cause)) {
-                throw new KeyNotFoundException("Key " + srcKey + " not found in bucket " + bucket, cause);
+            if (wasPreconditionFailure(cause)) {
+                throw new PreconditionFailedException(
+                        "Conditional write to " + dstKey + " in bucket " + bucket + " was rejected", cause);
             }
-            throw new OcflS3Exception("Failed to copy object from " + srcKey + " to " + dstKey, cause);
+            throw new OcflS3Exception("Failed to upload bytes to " + dstKey, cause);
         }
+    }
 
-        return dstKey;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey copyObject(String srcPath, String dstPath) {
+        try {
+            return copyObjectInternal(srcPath, dstPath).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<CloudObjectKey> copyObjectAsync(String srcPath, String dstPath) {
+        return copyObjectInternal(srcPath, dstPath);
+    }
+
+    private CompletableFuture<CloudObjectKey> copyObjectInternal(String srcPath, String dstPath) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        var dstKey = keyBuilder.buildFromPath(dstPath);
+
+        LOG.debug("Copying {} to {} in bucket {}", srcKey, dstKey, bucket);
+
+        return s3Client.copyObject(req -> req.destinationBucket(bucket)
+                        .destinationKey(dstKey.getKey())
+                        .sourceBucket(bucket)
+                        .sourceKey(srcKey.getKey())
+                        .build())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        var cause = e instanceof CompletionException ? e.getCause() : e;
+                        if (wasNotFound(cause)) {
+                            throw new KeyNotFoundException("Key " + srcKey + " not found in bucket " + bucket, cause);
+                        }
+                        throw new OcflS3Exception("Failed to copy object from " + srcKey + " to " + dstKey, cause);
+                    }
+                    return dstKey;
+                });
     }
 
     /**
@@ -303,17 +421,27 @@ public class OcflS3Client implements CloudClient {
      */
     @Override
     public InputStream downloadStream(String srcPath) {
+        return downloadStream(srcPath, eTag -> {});
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream downloadStream(String srcPath, Consumer<String> eTagConsumer) {
         var srcKey = keyBuilder.buildFromPath(srcPath);
         LOG.debug("Streaming from bucket {} key {}", bucket, srcKey);
 
         try {
-            return s3Client.getObject(
+            var stream = s3Client.getObject(
                             GetObjectRequest.builder()
                                     .bucket(bucket)
                                     .key(srcKey.getKey())
                                     .build(),
                             AsyncResponseTransformer.toBlockingInputStream())
                     .join();
+            eTagConsumer.accept(stream.response().eTag());
+            return stream;
         } catch (RuntimeException e) {
             var cause = OcflS3Util.unwrapCompletionEx(e);
             if (wasNotFound(cause)) {
@@ -451,11 +579,35 @@ public class OcflS3Client implements CloudClient {
     public void deletePath(String path) {
         LOG.debug("Deleting path {} in bucket {}", path, bucket);
 
-        var keys = list(path).getObjects().stream()
-                .map(ListResult.ObjectListing::getKey)
-                .collect(Collectors.toList());
+        var prefix = keyBuilder.buildFromPath(path).getKey();
+        var requestBuilder = ListObjectsV2Request.builder().bucket(bucket).prefix(prefix);
+        var inFlight = new ArrayDeque<CompletableFuture<Void>>();
+
+        try {
+            var nextPage = s3Client.listObjectsV2(requestBuilder.build());
+
+            while (nextPage != null) {
+                var page = nextPage.join();
+                nextPage = null;
 
-        deleteObjectsInternal(keys);
+                // Start fetching the next page while the deletes for the current page are running
+                if (Boolean.TRUE.equals(page.isTruncated())) {
+                    nextPage = s3Client.listObjectsV2(requestBuilder
+                            .continuationToken(page.nextContinuationToken())
+                            .build());
+                }
+
+                var objectIds = page.contents().stream()
+                        .map(o -> ObjectIdentifier.builder().key(o.key()).build())
+                        .collect(Collectors.toList());
+
+                submitDeletes(objectIds, inFlight);
+            }
+
+            awaitDeletes(inFlight);
+        } catch (RuntimeException e) {
+            throw new OcflS3Exception("Failed to delete path " + path, OcflS3Util.unwrapCompletionEx(e));
+        }
     }
 
     /**
@@ -482,25 +634,102 @@ public class OcflS3Client implements CloudClient {
                     .collect(Collectors.toList());
 
             try {
-                var futures = new ArrayList<CompletableFuture<?>>();
-
-                // Can only delete at most 1,000 objects per request
-                for (int i = 0; i < objectIds.size(); i += 999) {
-                    var toDelete = objectIds.subList(i, Math.min(objectIds.size(), i + 999));
-                    futures.add(s3Client.deleteObjects(DeleteObjectsRequest.builder()
-                            .bucket(bucket)
-                            .delete(builder -> builder.objects(toDelete))
-                            .build()));
-                }
-
-                CompletableFuture.allOf(futures.toArray(new CompletableFuture[] {}))
-                        .join();
+                var inFlight = new ArrayDeque<CompletableFuture<Void>>();
+                submitDeletes(objectIds, inFlight);
+                awaitDeletes(inFlight);
             } catch (RuntimeException e) {
                 throw new OcflS3Exception("Failed to delete objects " + objectIds, OcflS3Util.unwrapCompletionEx(e));
             }
         }
     }
 
+    /**
+     * Splits the objects into DeleteObjects requests of at most 1,000 keys and submits them asynchronously. If there
+     * are already the maximum number of requests in flight, then this method blocks until the oldest completes.
+     *
+     * @param objectIds the objects to delete
+     * @param inFlight the requests that are currently in flight
+     */
+    private void submitDeletes(List<ObjectIdentifier> objectIds, Deque<CompletableFuture<Void>> inFlight) {
+        for (int i = 0; i < objectIds.size(); i += MAX_DELETE_BATCH_SIZE) {
+            var batch = objectIds.subList(i, Math.min(objectIds.size(), i + MAX_DELETE_BATCH_SIZE));
+            while (inFlight.size() >= MAX_CONCURRENT_DELETE_BATCHES) {
+                inFlight.removeFirst().join();
+            }
+            inFlight.addLast(deleteBatchAsync(batch));
+        }
+    }
+
+    private void awaitDeletes(Deque<CompletableFuture<Void>> inFlight) {
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[] {})).join();
+    }
+
+    /**
+     * Deletes a single batch of objects. Throttled or failed requests are retried with backoff. If S3 only fails to
+     * delete some of the keys in the batch, then only the failed keys are retried.
+     *
+     * @param batch the objects to delete, at most 1,000
+     * @return future
+     */
+    private CompletableFuture<Void> deleteBatchAsync(List<ObjectIdentifier> batch) {
+        var remaining = new AtomicReference<>(batch);
+
+        return Failsafe.with(deleteRetry).getStageAsync(() -> s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(builder -> builder.objects(remaining.get()))
+                        .build())
+                .thenAccept(response -> {
+                    if (response.hasErrors() && !response.errors().isEmpty()) {
+                        var errors = response.errors();
+                        var nonRetryable = errors.stream()
+                                .filter(error -> !RETRYABLE_ERROR_CODES.contains(error.code()))
+                                .collect(Collectors.toList());
+
+                        if (!nonRetryable.isEmpty()) {
+                            throw new OcflS3Exception("Failed to delete objects: " + formatErrors(nonRetryable));
+                        }
+
+                        remaining.set(errors.stream()
+                                .map(error -> ObjectIdentifier.builder()
+                                        .key(error.key())
+                                        .versionId(error.versionId())
+                                        .build())
+                                .collect(Collectors.toList()));
+                        throw new PartialDeleteException(
+                                "Failed to delete objects: " + formatErrors(errors), errors.size());
+                    }
+                }));
+    }
+
+    private String formatErrors(List<S3Error> errors) {
+        return errors.stream()
+                .map(error -> error.key() + " (" + error.code() + ": " + error.message() + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns true if a DeleteObjects failure is transient, eg. S3 throttled the request.
+     *
+     * @param e the exception
+     * @return true if the request should be retried
+     */
+    private boolean isRetryableDeleteFailure(Throwable e) {
+        var cause = e instanceof CompletionException ? e.getCause() : e;
+
+        if (cause instanceof PartialDeleteException) {
+            LOG.debug("Retrying the delete of {} objects in bucket {}", ((PartialDeleteException) cause).count, bucket);
+            return true;
+        } else if (cause instanceof S3Exception) {
+            var s3e = (S3Exception) cause;
+            var errorCode =
+                    s3e.awsErrorDetails() == null ? null : s3e.awsErrorDetails().errorCode();
+            return RETRYABLE_STATUS_CODES.contains(s3e.statusCode())
+                    || (errorCode != null && RETRYABLE_ERROR_CODES.contains(errorCode));
+        }
+
+        return cause instanceof SdkClientException;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -571,7 +800,9 @@ public class OcflS3Client implements CloudClient {
                     var key = o.key();
                     return new ListResult.ObjectListing()
                             .setKey(keyBuilder.buildFromKey(key))
-                            .setKeySuffix(key.substring(prefixLength));
+                            .setKeySuffix(key.substring(prefixLength))
+                            .setSize(o.size())
+                            .setLastModified(o.lastModified());
                 })
                 .collect(Collectors.toList());
     }
@@ -614,6 +845,33 @@ public class OcflS3Client implements CloudClient {
         return false;
     }
 
+    /**
+     * Returns true if the exception indicates that a conditional write was rejected. S3 returns a 409 when there is
+     * a concurrent conditional write to the same key.
+     *
+     * @param e the exception
+     * @return true if the precondition failed
+     */
+    private boolean wasPreconditionFailure(Throwable e) {
+        if (e instanceof S3Exception) {
+            var status = ((S3Exception) e).statusCode();
+            return 412 == status || 409 == status;
+        }
+        return false;
+    }
+
+    /**
+     * Indicates that S3 failed to delete some of the keys in a DeleteObjects request with a retryable error.
+     */
+    private static class PartialDeleteException extends RuntimeException {
+        private final int count;
+
+        PartialDeleteException(String message, int count) {
+            super(message);
+            this.count = count;
+        }
+    }
+
     public static class Builder {
         private S3AsyncClient s3Client;
         private S3TransferManager transferManager;
@@ -621,6 +879,7 @@ public class OcflS3Client implements CloudClient {
         private String repoPrefix;
 
         private BiConsumer<String, PutObjectRequest.Builder> putObjectModifier;
+        private boolean conditionalWrites;
 
         /**
          * The AWS SDK S3 client. Required.
@@ -697,6 +956,19 @@ public class OcflS3Client implements CloudClient {
             return this;
         }
 
+        /**
+         * Whether root inventory updates should be made using conditional writes keyed on the ETag of the previous
+         * inventory. Only enable this if the bucket supports the If-Match and If-None-Match headers on PutObject
+         * requests, as Amazon S3 does. Some 3rd party S3 implementations ignore these headers. Default: false
+         *
+         * @param conditionalWrites true to use conditional writes
+         * @return builder
+         */
+        public Builder conditionalWrites(boolean conditionalWrites) {
+            this.conditionalWrites = conditionalWrites;
+            return this;
+        }
+
         /**
          * Constructs a new {@link OcflS3Client}. {@link #s3Client(S3AsyncClient)} and {@link #bucket(String)} must be set.
          * <p>
@@ -706,7 +978,8 @@ public class OcflS3Client implements CloudClient {
          * @return OcflS3Client
          */
         public OcflS3Client build() {
-            return new OcflS3Client(s3Client, bucket, repoPrefix, transferManager, putObjectModifier);
+            return new OcflS3Client(
+                    s3Client, bucket, repoPrefix, transferManager, putObjectModifier, conditionalWrites);
         }
     }
 }
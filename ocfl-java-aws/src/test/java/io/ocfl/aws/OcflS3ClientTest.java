@@ -354,6 +354,18 @@ public class OcflS3ClientTest {
         assertObjectsExist(bucket, List.of("f1", "f2"));
     }
 
+    @Test
+    public void shouldDeleteAllObjectsUnderPrefixWhenMoreThanOnePage() {
+        client.uploadBytes("f1", bytes("1"), null);
+        for (int i = 0; i < 1500; i++) {
+            client.uploadBytes("d1/f" + i, bytes(String.valueOf(i)), null);
+        }
+
+        client.deletePath("d1");
+
+        assertObjectsExist(bucket, List.of("f1"));
+    }
+
     @Test
     public void shouldSafeDeleteAllObjectsUnderPrefix() {
         client.uploadBytes("f1", bytes("1"), null);
@@ -32,8 +32,10 @@ import io.ocfl.api.model.VersionInfo;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.inventory.InventoryMapper;
 import io.ocfl.core.inventory.MutableHeadInventoryCommitter;
+import io.ocfl.core.janitor.JanitorConfig;
 import io.ocfl.core.lock.ObjectLock;
 import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionChanges;
 import io.ocfl.core.model.Version;
 import io.ocfl.core.path.constraint.ContentPathConstraintProcessor;
 import io.ocfl.core.path.mapper.LogicalPathMapper;
@@ -64,6 +66,7 @@ public class DefaultMutableOcflRepository extends DefaultOcflRepository implemen
     private final OcflStorage storage;
     private final Path workDir;
     private final ObjectLock objectLock;
+    private final InventoryMapper inventoryMapper;
 
     /**
      * @see OcflRepositoryBuilder
@@ -88,6 +91,85 @@ public class DefaultMutableOcflRepository extends DefaultOcflRepository implemen
             OcflConfig config,
             boolean verifyStaging,
             Duration fileLockTimeoutDuration) {
+        this(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                fileLockTimeoutDuration,
+                false);
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param fileLockTimeoutDuration the max amount of time to wait for a file lock
+     * @param optimisticCommits true if new versions should be committed without locking the object
+     */
+    public DefaultMutableOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            Duration fileLockTimeoutDuration,
+            boolean optimisticCommits) {
+        this(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                fileLockTimeoutDuration,
+                optimisticCommits,
+                null);
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param fileLockTimeoutDuration the max amount of time to wait for a file lock
+     * @param optimisticCommits true if new versions should be committed without locking the object
+     * @param janitorConfig configures a janitor that reclaims abandoned directories, may be null to disable it
+     */
+    public DefaultMutableOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            Duration fileLockTimeoutDuration,
+            boolean optimisticCommits,
+            JanitorConfig janitorConfig) {
         super(
                 storage,
                 workDir,
@@ -97,10 +179,13 @@ public class DefaultMutableOcflRepository extends DefaultOcflRepository implemen
                 contentPathConstraintProcessor,
                 config,
                 verifyStaging,
-                fileLockTimeoutDuration);
+                fileLockTimeoutDuration,
+                optimisticCommits,
+                janitorConfig);
         this.storage = Enforce.notNull(storage, "storage cannot be null");
         this.workDir = Enforce.notNull(workDir, "workDir cannot be null");
         this.objectLock = Enforce.notNull(objectLock, "objectLock cannot be null");
+        this.inventoryMapper = Enforce.notNull(inventoryMapper, "inventoryMapper cannot be null");
         this.config = Enforce.notNull(config, "config cannot be null");
         this.fileLockTimeoutDuration =
                 Enforce.notNull(fileLockTimeoutDuration, "fileLockTimeoutDuration cannot be null");
@@ -143,6 +228,11 @@ public class DefaultMutableOcflRepository extends DefaultOcflRepository implemen
         try {
             objectUpdater.accept(updater);
             var newInventory = buildNewInventory(inventoryUpdater, versionInfo);
+            if (inventory.hasMutableHead() && storage.recordsRevisionChanges()) {
+                // Allows the storage layer to record only what changed rather than rewriting the full inventory
+                inventoryMapper.writeRevisionChanges(
+                        ObjectPaths.revisionChangesPath(stagingDir), RevisionChanges.between(inventory, newInventory));
+            }
             writeNewVersion(newInventory, stagingDir, false, updater.checkForEmptyDirs());
             return ObjectVersionId.version(objectVersionId.getObjectId(), newInventory.getHead());
         } finally {
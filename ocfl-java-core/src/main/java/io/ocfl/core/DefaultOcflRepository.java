@@ -30,7 +30,9 @@ import io.ocfl.api.OcflObjectUpdater;
 import io.ocfl.api.OcflOption;
 import io.ocfl.api.OcflRepository;
 import io.ocfl.api.exception.AlreadyExistsException;
+import io.ocfl.api.exception.CorruptObjectException;
 import io.ocfl.api.exception.FixityCheckException;
+import io.ocfl.api.exception.LockException;
 import io.ocfl.api.exception.NotFoundException;
 import io.ocfl.api.exception.ObjectOutOfSyncException;
 import io.ocfl.api.exception.OcflIOException;
@@ -51,6 +53,8 @@ import io.ocfl.core.inventory.AddFileProcessor;
 import io.ocfl.core.inventory.InventoryMapper;
 import io.ocfl.core.inventory.InventoryUpdater;
 import io.ocfl.core.inventory.SidecarMapper;
+import io.ocfl.core.janitor.Janitor;
+import io.ocfl.core.janitor.JanitorConfig;
 import io.ocfl.core.lock.ObjectLock;
 import io.ocfl.core.model.Inventory;
 import io.ocfl.core.path.ContentPathMapper;
@@ -69,7 +73,6 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.security.DigestOutputStream;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.OffsetDateTime;
@@ -78,6 +81,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -95,6 +99,7 @@ public class DefaultOcflRepository implements OcflRepository {
 
     private final OcflConfig config;
     private final boolean verifyStaging;
+    private final boolean optimisticCommits;
     private final Duration fileLockTimeoutDuration;
     private final OcflStorage storage;
     private final InventoryMapper inventoryMapper;
@@ -106,6 +111,8 @@ public class DefaultOcflRepository implements OcflRepository {
 
     private Clock clock;
 
+    private final Janitor janitor;
+
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
     /**
@@ -131,12 +138,92 @@ public class DefaultOcflRepository implements OcflRepository {
             OcflConfig config,
             boolean verifyStaging,
             Duration fileLockTimeoutDuration) {
+        this(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                fileLockTimeoutDuration,
+                false);
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param fileLockTimeoutDuration the max amount of time to wait for a file lock
+     * @param optimisticCommits true if new versions should be committed without locking the object
+     */
+    public DefaultOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            Duration fileLockTimeoutDuration,
+            boolean optimisticCommits) {
+        this(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                fileLockTimeoutDuration,
+                optimisticCommits,
+                null);
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param fileLockTimeoutDuration the max amount of time to wait for a file lock
+     * @param optimisticCommits true if new versions should be committed without locking the object
+     * @param janitorConfig configures a janitor that reclaims abandoned directories, may be null to disable it
+     */
+    public DefaultOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            Duration fileLockTimeoutDuration,
+            boolean optimisticCommits,
+            JanitorConfig janitorConfig) {
         this.storage = Enforce.notNull(storage, "storage cannot be null");
         this.workDir = Enforce.notNull(workDir, "workDir cannot be null");
         this.objectLock = Enforce.notNull(objectLock, "objectLock cannot be null");
         this.inventoryMapper = Enforce.notNull(inventoryMapper, "inventoryMapper cannot be null");
         this.config = Enforce.notNull(config, "config cannot be null");
         this.verifyStaging = verifyStaging;
+        this.optimisticCommits = optimisticCommits;
         this.fileLockTimeoutDuration =
                 Enforce.notNull(fileLockTimeoutDuration, "fileLockTimeoutDuration cannot be null");
 
@@ -149,6 +236,13 @@ public class DefaultOcflRepository implements OcflRepository {
         clock = Clock.systemUTC();
 
         addFileProcessorBuilder = AddFileProcessor.builder();
+
+        if (janitorConfig != null) {
+            janitor = new Janitor(storage, objectLock, workDir, janitorConfig);
+            janitor.start();
+        } else {
+            janitor = null;
+        }
     }
 
     /**
@@ -241,7 +335,9 @@ public class DefaultOcflRepository implements OcflRepository {
 
         LOG.debug("Get object <{}> and copy to <{}>", objectVersionId, outputPath);
 
-        var inventory = requireInventory(objectVersionId);
+        // Only the inventory is read within the lock. The files of a committed version do not change, so they are
+        // copied after it is released.
+        var inventory = readInventoryWithLazyVersions(objectVersionId);
         var versionNum = requireVersion(objectVersionId, inventory);
 
         getObjectInternal(inventory, versionNum, outputPath);
@@ -258,7 +354,7 @@ public class DefaultOcflRepository implements OcflRepository {
 
         LOG.debug("Get object <{}>", objectVersionId);
 
-        var inventory = requireInventory(objectVersionId);
+        var inventory = readInventoryWithLazyVersions(objectVersionId);
         var versionNum = requireVersion(objectVersionId, inventory);
 
         var versionDetails = createVersionDetails(inventory, versionNum);
@@ -286,7 +382,7 @@ public class DefaultOcflRepository implements OcflRepository {
 
         LOG.debug("Describe object <{}>", objectId);
 
-        var inventory = requireInventory(ObjectVersionId.head(objectId));
+        var inventory = readInventory(ObjectVersionId.head(objectId));
 
         return responseMapper.mapInventory(inventory);
     }
@@ -302,7 +398,7 @@ public class DefaultOcflRepository implements OcflRepository {
 
         LOG.debug("Describe version <{}>", objectVersionId);
 
-        var inventory = requireInventory(objectVersionId);
+        var inventory = readInventoryWithLazyVersions(objectVersionId);
         var versionNum = requireVersion(objectVersionId, inventory);
 
         return createVersionDetails(inventory, versionNum);
@@ -320,7 +416,7 @@ public class DefaultOcflRepository implements OcflRepository {
 
         LOG.debug("Get file change history for object <{}> logical path <{}>", objectId, logicalPath);
 
-        var inventory = requireInventory(ObjectVersionId.head(objectId));
+        var inventory = readInventoryWithLazyVersions(ObjectVersionId.head(objectId));
         var changeHistory = responseMapper.fileChangeHistory(inventory, logicalPath);
 
         if (changeHistory.getFileChanges().isEmpty()) {
@@ -560,10 +656,23 @@ public class DefaultOcflRepository implements OcflRepository {
         LOG.debug("Close OCFL repository");
 
         if (closed.compareAndSet(false, true)) {
+            if (janitor != null) {
+                janitor.close();
+            }
             storage.close();
         }
     }
 
+    /**
+     * Returns the janitor that reclaims directories abandoned by failed writes, if one was configured. It may be used
+     * to read its metrics or to trigger a run.
+     *
+     * @return the janitor or null if it is not configured
+     */
+    public Janitor getJanitor() {
+        return janitor;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -615,6 +724,69 @@ public class DefaultOcflRepository implements OcflRepository {
         return inventory;
     }
 
+    /**
+     * Same as {@link #requireInventory(ObjectVersionId)}, except that the returned inventory may load the states of
+     * versions other than the head version on demand. It must only be used by read operations.
+     *
+     * @param objectId the id of the object
+     * @return the inventory
+     */
+    protected Inventory requireInventoryWithLazyVersions(ObjectVersionId objectId) {
+        var inventory = storage.loadInventoryWithLazyVersions(objectId.getObjectId());
+        if (inventory == null) {
+            throw new NotFoundException(String.format("Object %s was not found.", objectId));
+        }
+        return inventory;
+    }
+
+    /**
+     * Same as {@link #requireInventory(ObjectVersionId)}, except that a load that raced a commit is retried within the
+     * object's read lock. See {@link #readOptimistically(ObjectVersionId, Supplier)}.
+     *
+     * @param objectId the id of the object
+     * @return the inventory
+     */
+    protected Inventory readInventory(ObjectVersionId objectId) {
+        return readOptimistically(objectId, () -> requireInventory(objectId));
+    }
+
+    /**
+     * Same as {@link #requireInventoryWithLazyVersions(ObjectVersionId)}, except that a load that raced a commit is
+     * retried within the object's read lock. See {@link #readOptimistically(ObjectVersionId, Supplier)}.
+     *
+     * @param objectId the id of the object
+     * @return the inventory
+     */
+    protected Inventory readInventoryWithLazyVersions(ObjectVersionId objectId) {
+        return readOptimistically(objectId, () -> requireInventoryWithLazyVersions(objectId));
+    }
+
+    /**
+     * Loads an inventory without locking the object. A commit only becomes visible when its root inventory replaces
+     * the previous one, so an unlocked load returns either the previous head or the new one, and readers are never
+     * blocked by long commits. Only a load that fails because it observed the object mid-commit, for example a new
+     * root inventory paired with the old sidecar, is retried within the object's read lock, which waits for the
+     * commit to finish. If the read lock cannot be acquired, the original failure is thrown rather than a lock
+     * failure.
+     *
+     * @param objectId the id of the object
+     * @param loader loads the inventory
+     * @return the inventory
+     */
+    private Inventory readOptimistically(ObjectVersionId objectId, Supplier<Inventory> loader) {
+        try {
+            return loader.get();
+        } catch (ObjectOutOfSyncException | CorruptObjectException e) {
+            LOG.debug("Failed to read object {} without locking. Retrying within its read lock.", objectId, e);
+            try {
+                return objectLock.doInReadLock(objectId.getObjectId(), loader::get);
+            } catch (LockException lockException) {
+                e.addSuppressed(lockException);
+                throw e;
+            }
+        }
+    }
+
     protected Inventory buildNewInventory(InventoryUpdater inventoryUpdater, VersionInfo versionInfo) {
         return InventoryValidator.validateShallow(inventoryUpdater.buildNewInventory(now(versionInfo), versionInfo));
     }
@@ -650,8 +822,14 @@ public class DefaultOcflRepository implements OcflRepository {
             versionContentCheck(inventory, stagingDir, resolveContentDir(inventory, stagingDir));
         }
 
-        objectLock.doInWriteLock(
-                inventory.getId(), () -> storage.storeNewVersion(finalInventory, stagingDir, upgradedOcflVersion));
+        if (optimisticCommits) {
+            // The storage layer rejects the version if the object's inventory no longer matches the one it was built
+            // from, so the lock is only needed to avoid wasted work under contention
+            storage.storeNewVersion(finalInventory, stagingDir, upgradedOcflVersion);
+        } else {
+            objectLock.doInWriteLock(
+                    inventory.getId(), () -> storage.storeNewVersion(finalInventory, stagingDir, upgradedOcflVersion));
+        }
     }
 
     private void versionContentCheck(Inventory inventory, Path rootPath, Path contentPath) {
@@ -704,16 +882,10 @@ public class DefaultOcflRepository implements OcflRepository {
         var inventoryPath = ObjectPaths.inventoryPath(stagingDir);
 
         try (var outStream = new BufferedOutputStream(Files.newOutputStream(inventoryPath))) {
-            var digestStream = new DigestOutputStream(
-                    outStream, inventory.getDigestAlgorithm().getMessageDigest());
-            inventoryMapper.write(digestStream, inventory);
-
-            var digest = inventory
-                    .getDigestAlgorithm()
-                    .encode(digestStream.getMessageDigest().digest());
+            var digest = inventoryMapper.writeWithDigest(outStream, inventory);
             SidecarMapper.writeSidecar(inventory, digest, stagingDir);
 
-            return inventory.buildFrom().inventoryDigest(digest).build();
+            return inventory.withInventoryDigest(digest);
         } catch (IOException e) {
             throw new OcflIOException(e);
         }
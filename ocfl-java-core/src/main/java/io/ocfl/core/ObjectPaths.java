@@ -27,6 +27,7 @@ package io.ocfl.core;
 import io.ocfl.api.OcflConstants;
 import io.ocfl.api.exception.CorruptObjectException;
 import io.ocfl.api.exception.OcflIOException;
+import io.ocfl.api.model.DigestAlgorithm;
 import io.ocfl.api.model.VersionNum;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.model.Inventory;
@@ -54,6 +55,16 @@ public final class ObjectPaths {
         return directory.resolve(OcflConstants.INVENTORY_FILE);
     }
 
+    /**
+     * Path to a mutable HEAD revision change record within the given directory
+     *
+     * @param directory parent directory of a change record
+     * @return path to change record
+     */
+    public static Path revisionChangesPath(Path directory) {
+        return directory.resolve(OcflConstants.REVISION_CHANGES_FILE);
+    }
+
     /**
      * Path to an inventory file within the given directory
      *
@@ -90,6 +101,18 @@ public final class ObjectPaths {
                         + inventory.getDigestAlgorithm().getOcflName());
     }
 
+    /**
+     * Path to an inventory sidecar file within the given directory
+     *
+     * @param directory parent directory of an inventory file
+     * @param digestAlgorithm the inventory's digest algorithm
+     * @return path to inventory sidecar
+     */
+    public static String inventorySidecarPath(String directory, DigestAlgorithm digestAlgorithm) {
+        return FileUtil.pathJoinFailEmpty(
+                directory, OcflConstants.INVENTORY_SIDECAR_PREFIX + digestAlgorithm.getOcflName());
+    }
+
     /**
      * Path to an inventory sidecar file within the given directory
      *
@@ -181,6 +204,17 @@ public final class ObjectPaths {
         return inventorySidecarPath(mutableHeadVersionPath(objectRootPath), inventory);
     }
 
+    /**
+     * Path to an inventory sidecar file within the given directory
+     *
+     * @param objectRootPath path to the root of an ocfl object
+     * @param digestAlgorithm the inventory's digest algorithm
+     * @return path to mutable HEAD inventory sidecar
+     */
+    public static String mutableHeadInventorySidecarPath(String objectRootPath, DigestAlgorithm digestAlgorithm) {
+        return inventorySidecarPath(mutableHeadVersionPath(objectRootPath), digestAlgorithm);
+    }
+
     /**
      * Path to the mutable HEAD extension version directory
      *
@@ -221,6 +255,27 @@ public final class ObjectPaths {
         return objectRootPath.resolve(OcflConstants.MUTABLE_HEAD_EXT_PATH);
     }
 
+    /**
+     * Path the revision change records directory under the mutable HEAD extension directory
+     *
+     * @param objectRootPath path to the root of an ocfl object
+     * @return Path the change records directory under the mutable HEAD extension directory
+     */
+    public static String mutableHeadChangesPath(String objectRootPath) {
+        return FileUtil.pathJoinFailEmpty(objectRootPath, OcflConstants.MUTABLE_HEAD_CHANGES_PATH);
+    }
+
+    /**
+     * Path to the file that records an in-progress rollback of an object
+     *
+     * @param objectRootPath path to the root of an ocfl object
+     * @return path to the rollback intent file
+     */
+    public static String rollbackIntentPath(String objectRootPath) {
+        return FileUtil.pathJoinFailEmpty(
+                objectRootPath, OcflConstants.ROLLBACK_EXT_PATH, OcflConstants.ROLLBACK_INTENT_FILE);
+    }
+
     /**
      * Path the revisions directory under the mutable HEAD extension directory
      *
@@ -355,6 +410,14 @@ public final class ObjectPaths {
             return mutableHeadPath;
         }
 
+        public String mutableHeadChangesPath() {
+            return ObjectPaths.mutableHeadChangesPath(path);
+        }
+
+        public String rollbackIntentPath() {
+            return ObjectPaths.rollbackIntentPath(path);
+        }
+
         public String mutableHeadRevisionsPath() {
             if (mutableHeadRevisionsPath == null) {
                 mutableHeadRevisionsPath = ObjectPaths.mutableHeadRevisionsPath(path);
@@ -30,9 +30,13 @@ import io.ocfl.api.OcflConfig;
 import io.ocfl.api.OcflRepository;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.cache.Cache;
+import io.ocfl.core.cache.CacheInvalidationChannel;
 import io.ocfl.core.cache.CaffeineCache;
+import io.ocfl.core.db.DbCacheInvalidationChannelBuilder;
 import io.ocfl.core.db.ObjectDetailsDatabase;
 import io.ocfl.core.db.ObjectDetailsDatabaseBuilder;
+import io.ocfl.core.db.ObjectIdIndex;
+import io.ocfl.core.db.ObjectIdIndexBuilder;
 import io.ocfl.core.extension.ExtensionSupportEvaluator;
 import io.ocfl.core.extension.OcflExtensionConfig;
 import io.ocfl.core.extension.UnsupportedExtensionBehavior;
@@ -40,6 +44,7 @@ import io.ocfl.core.extension.storage.layout.config.FlatLayoutConfig;
 import io.ocfl.core.extension.storage.layout.config.HashedNTupleIdEncapsulationLayoutConfig;
 import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
 import io.ocfl.core.inventory.InventoryMapper;
+import io.ocfl.core.janitor.JanitorConfig;
 import io.ocfl.core.lock.InMemoryObjectLock;
 import io.ocfl.core.lock.ObjectLock;
 import io.ocfl.core.lock.ObjectLockBuilder;
@@ -51,6 +56,7 @@ import io.ocfl.core.path.mapper.LogicalPathMapper;
 import io.ocfl.core.path.mapper.LogicalPathMappers;
 import io.ocfl.core.storage.CachingOcflStorage;
 import io.ocfl.core.storage.ObjectDetailsDbOcflStorage;
+import io.ocfl.core.storage.ObjectIdIndexOcflStorage;
 import io.ocfl.core.storage.OcflStorage;
 import io.ocfl.core.storage.OcflStorageBuilder;
 import java.nio.file.Files;
@@ -58,7 +64,10 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -69,19 +78,28 @@ import java.util.function.Consumer;
  */
 public class OcflRepositoryBuilder {
 
+    private static final Duration DEFAULT_INVENTORY_CACHE_EXPIRY = Duration.ofMinutes(10);
+
     protected OcflStorage storage;
     protected OcflConfig config;
     protected OcflExtensionConfig defaultLayoutConfig;
     protected Path workDir;
     protected boolean verifyStaging;
+    protected boolean optimisticCommits;
+    protected JanitorConfig janitorConfig;
     protected Duration fileLockTimeoutDuration;
 
     protected ObjectLock objectLock;
     protected Cache<String, Inventory> inventoryCache;
+    protected CacheInvalidationChannel cacheInvalidationChannel;
+    protected Duration inventoryCacheRefreshAfter;
+    protected Duration inventoryCacheExpireAfter;
+    protected int inventoryCacheRefreshThreads;
     protected InventoryMapper inventoryMapper;
     protected LogicalPathMapper logicalPathMapper;
     protected ContentPathConstraintProcessor contentPathConstraintProcessor;
     protected ObjectDetailsDatabase objectDetailsDb;
+    protected ObjectIdIndex objectIdIndex;
     protected UnsupportedExtensionBehavior unsupportedBehavior;
     protected Set<String> ignoreUnsupportedExtensions;
 
@@ -95,7 +113,7 @@ public class OcflRepositoryBuilder {
         config = new OcflConfig();
         objectLock = new InMemoryObjectLock(10, TimeUnit.SECONDS);
         inventoryCache = new CaffeineCache<>(Caffeine.newBuilder()
-                .expireAfterAccess(Duration.ofMinutes(10))
+                .expireAfterAccess(DEFAULT_INVENTORY_CACHE_EXPIRY)
                 .maximumSize(512)
                 .build());
         inventoryMapper = InventoryMapper.defaultMapper();
@@ -186,6 +204,105 @@ public class OcflRepositoryBuilder {
         return this;
     }
 
+    /**
+     * Replaces the inventory cache with an in memory {@link CaffeineCache} that is bounded by the estimated heap size
+     * of the cached inventories rather than the number of inventories, and that records statistics. Inventories
+     * expire 10 minutes after they were last accessed, the same as in the default cache. Use
+     * {@link #inventoryCacheMaxBytes(long, Duration)} to change the expiry, or
+     * {@link CaffeineCache#inventoryCache(long, Duration)} directly to retain a reference to the cache for reading its
+     * {@link Cache#getMetrics() metrics}.
+     *
+     * @param maxBytes the maximum estimated size of all cached inventories in bytes
+     * @return builder
+     */
+    public OcflRepositoryBuilder inventoryCacheMaxBytes(long maxBytes) {
+        return inventoryCacheMaxBytes(maxBytes, DEFAULT_INVENTORY_CACHE_EXPIRY);
+    }
+
+    /**
+     * Replaces the inventory cache with an in memory {@link CaffeineCache} that is bounded by the estimated heap size
+     * of the cached inventories rather than the number of inventories, and that records statistics.
+     *
+     * @param maxBytes the maximum estimated size of all cached inventories in bytes
+     * @param expireAfterAccess how long an inventory is cached after it was last accessed, or null if inventories
+     *     should only be evicted because of the size limit
+     * @return builder
+     */
+    public OcflRepositoryBuilder inventoryCacheMaxBytes(long maxBytes, Duration expireAfterAccess) {
+        this.inventoryCache = CaffeineCache.inventoryCache(maxBytes, expireAfterAccess);
+        return this;
+    }
+
+    /**
+     * Enables stale-while-revalidate mode for the inventory cache. Cached inventories that have not been validated
+     * within refreshAfter are still returned immediately, but are revalidated in the background by comparing their
+     * digests with the digests in their sidecars. An inventory is only reloaded if its digest changed. Inventories
+     * that have not been validated within 10 times refreshAfter are revalidated before they are returned. This has no
+     * effect if the inventory cache is disabled. By default, cached inventories are not revalidated.
+     *
+     * @param refreshAfter how long a cached inventory is used before it is revalidated
+     * @param refreshThreads the number of threads to use to revalidate inventories
+     * @return builder
+     */
+    public OcflRepositoryBuilder inventoryCacheRefresh(Duration refreshAfter, int refreshThreads) {
+        Enforce.notNull(refreshAfter, "refreshAfter cannot be null");
+        return inventoryCacheRefresh(refreshAfter, refreshAfter.multipliedBy(10), refreshThreads);
+    }
+
+    /**
+     * Enables stale-while-revalidate mode for the inventory cache. Cached inventories that have not been validated
+     * within refreshAfter are still returned immediately, but are revalidated in the background by comparing their
+     * digests with the digests in their sidecars. An inventory is only reloaded if its digest changed. Inventories
+     * that have not been validated within expireAfter, because revalidation failed or fell behind, are revalidated
+     * before they are returned. This has no effect if the inventory cache is disabled. By default, cached inventories
+     * are not revalidated.
+     *
+     * @param refreshAfter how long a cached inventory is used before it is revalidated
+     * @param expireAfter how long a cached inventory may be used without being validated, at most
+     * @param refreshThreads the number of threads to use to revalidate inventories
+     * @return builder
+     */
+    public OcflRepositoryBuilder inventoryCacheRefresh(
+            Duration refreshAfter, Duration expireAfter, int refreshThreads) {
+        this.inventoryCacheRefreshAfter = Enforce.notNull(refreshAfter, "refreshAfter cannot be null");
+        this.inventoryCacheExpireAfter = Enforce.notNull(expireAfter, "expireAfter cannot be null");
+        Enforce.expressionTrue(
+                expireAfter.compareTo(refreshAfter) >= 0, expireAfter, "expireAfter must be at least refreshAfter");
+        this.inventoryCacheRefreshThreads =
+                Enforce.expressionTrue(refreshThreads > 0, refreshThreads, "refreshThreads must be greater than 0");
+        return this;
+    }
+
+    /**
+     * Used to evict cached inventories when objects are changed by other processes that share the repository. This has
+     * no effect if the inventory cache is disabled. Use {@link DbCacheInvalidationChannelBuilder} to construct a channel
+     * that polls the object details table.
+     *
+     * @param cacheInvalidationChannel cache invalidation channel
+     * @return builder
+     * @see DbCacheInvalidationChannelBuilder
+     */
+    public OcflRepositoryBuilder cacheInvalidationChannel(CacheInvalidationChannel cacheInvalidationChannel) {
+        this.cacheInvalidationChannel = cacheInvalidationChannel;
+        return this;
+    }
+
+    /**
+     * Used to evict cached inventories when objects are changed by other processes that share the repository. The
+     * channel polls the object details table, so an object details db must also be configured.
+     *
+     * @param configureChannel use to configure the cache invalidation channel
+     * @return builder
+     * @see DbCacheInvalidationChannelBuilder
+     */
+    public OcflRepositoryBuilder cacheInvalidationChannel(
+            Consumer<DbCacheInvalidationChannelBuilder> configureChannel) {
+        var builder = new DbCacheInvalidationChannelBuilder();
+        configureChannel.accept(builder);
+        this.cacheInvalidationChannel = builder.build();
+        return this;
+    }
+
     /**
      * Used to store details about OCFL objects in the repository. This is primarily intended to be used when working
      * with a cloud object store like S3. Use {@link ObjectDetailsDatabaseBuilder} to construct an {@link ObjectDetailsDatabase}
@@ -215,6 +332,37 @@ public class OcflRepositoryBuilder {
         return this;
     }
 
+    /**
+     * Used to maintain a persistent index of all of the object ids in the repository so that
+     * {@link OcflRepository#listObjectIds()} does not need to walk the entire storage hierarchy. If the index is empty
+     * when the repository is initialized, it is populated by walking storage. Every process that writes to the
+     * repository must be configured to use the same index. Use {@link ObjectIdIndexBuilder} to construct an
+     * {@link ObjectIdIndex} instance.
+     *
+     * @param objectIdIndex object id index
+     * @return builder
+     * @see ObjectIdIndexBuilder
+     */
+    public OcflRepositoryBuilder objectIdIndex(ObjectIdIndex objectIdIndex) {
+        this.objectIdIndex = objectIdIndex;
+        return this;
+    }
+
+    /**
+     * Used to maintain a persistent index of all of the object ids in the repository so that
+     * {@link OcflRepository#listObjectIds()} does not need to walk the entire storage hierarchy.
+     *
+     * @param configureIndex use to configure the object id index
+     * @return builder
+     * @see ObjectIdIndexBuilder
+     */
+    public OcflRepositoryBuilder objectIdIndex(Consumer<ObjectIdIndexBuilder> configureIndex) {
+        var builder = new ObjectIdIndexBuilder();
+        configureIndex.accept(builder);
+        this.objectIdIndex = builder.build();
+        return this;
+    }
+
     /**
      * Changes the InventoryMapper to pretty print Inventory JSON files so that they are human readable but use more
      * disk space.
@@ -375,6 +523,44 @@ public class OcflRepositoryBuilder {
         return this;
     }
 
+    /**
+     * Configures whether new versions are committed without acquiring the object lock. Instead, the commit fails with
+     * an {@link io.ocfl.api.exception.ObjectOutOfSyncException} if the object's inventory changed after the new
+     * version was built from it. This check is made against the object details database, when it's configured, and
+     * by claiming the new version's directory and comparing the root inventory sidecar in storage. The storage must be
+     * able to claim version directories atomically, see {@link OcflStorage#supportsOptimisticCommits()}, or the
+     * repository fails to build. On cloud storage, this requires {@code OcflS3Client.builder().conditionalWrites(true)}.
+     *
+     * <p>This is disabled by default. It removes the cost of acquiring the lock on every write, and is best suited to
+     * repositories where each object is usually written by a single process. Mutable HEAD operations, rollbacks, and
+     * purges continue to use the object lock. It cannot be combined with {@link #janitor(JanitorConfig)}, because the
+     * janitor relies on the object lock to keep it out of objects that are being written.
+     *
+     * @param optimisticCommits true if new versions should be committed without locking the object
+     * @return builder
+     */
+    public OcflRepositoryBuilder optimisticCommits(boolean optimisticCommits) {
+        this.optimisticCommits = optimisticCommits;
+        return this;
+    }
+
+    /**
+     * Configures a janitor that periodically deletes directories that were abandoned by writes that failed or were
+     * killed before they completed: staging directories in the work directory, version directories that are newer
+     * than their object's head version, and unreferenced mutable HEAD revision directories. Directories are only
+     * deleted once they have not been modified for {@link JanitorConfig#setStaleAfter(Duration)}, and objects are
+     * examined within their write locks, at a limited rate. The janitor is available from
+     * {@link DefaultOcflRepository#getJanitor()}. Disabled by default, and cannot be combined with
+     * {@link #optimisticCommits(boolean)}.
+     *
+     * @param janitorConfig janitor configuration
+     * @return builder
+     */
+    public OcflRepositoryBuilder janitor(JanitorConfig janitorConfig) {
+        this.janitorConfig = Enforce.notNull(janitorConfig, "janitorConfig cannot be null");
+        return this;
+    }
+
     /**
      * Configures the max amount of time to wait for a file lock when updating an object from multiple threads. This
      * only matters if you concurrently write files to the same object, and can otherwise be ignored. The default
@@ -417,7 +603,18 @@ public class OcflRepositoryBuilder {
 
         var supportEvaluator = new ExtensionSupportEvaluator(unsupportedBehavior, ignoreUnsupportedExtensions);
 
-        var wrappedStorage = cache(db(storage));
+        var wrappedStorage = cache(db(index(storage)));
+
+        Enforce.expressionTrue(
+                !optimisticCommits || wrappedStorage.supportsOptimisticCommits(),
+                optimisticCommits,
+                "optimisticCommits requires storage that claims version directories atomically."
+                        + " On cloud storage, the client must support conditional writes.");
+        Enforce.expressionTrue(
+                !optimisticCommits || janitorConfig == null,
+                optimisticCommits,
+                "optimisticCommits cannot be used with a janitor, because optimistic commits do not hold the object lock"
+                        + " that keeps the janitor out of objects that are being written.");
         var initResult = wrappedStorage.initializeStorage(
                 config.getOcflVersion(), defaultLayoutConfig, inventoryMapper, supportEvaluator);
 
@@ -439,7 +636,9 @@ public class OcflRepositoryBuilder {
                     contentPathConstraintProcessor,
                     config,
                     verifyStaging,
-                    fileLockTimeoutDuration));
+                    fileLockTimeoutDuration,
+                    optimisticCommits,
+                    janitorConfig));
         }
 
         return clazz.cast(new DefaultOcflRepository(
@@ -451,12 +650,36 @@ public class OcflRepositoryBuilder {
                 contentPathConstraintProcessor,
                 config,
                 verifyStaging,
-                fileLockTimeoutDuration));
+                fileLockTimeoutDuration,
+                optimisticCommits,
+                janitorConfig));
     }
 
     protected OcflStorage cache(OcflStorage storage) {
         if (inventoryCache != null) {
-            return new CachingOcflStorage(inventoryCache, storage);
+            ExecutorService refreshExecutor = null;
+            if (inventoryCacheRefreshAfter != null) {
+                var threadCount = new AtomicInteger();
+                refreshExecutor = Executors.newFixedThreadPool(inventoryCacheRefreshThreads, r -> {
+                    var thread = new Thread(r, "ocfl-inventory-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return new CachingOcflStorage(
+                    inventoryCache,
+                    storage,
+                    cacheInvalidationChannel,
+                    inventoryCacheRefreshAfter,
+                    inventoryCacheExpireAfter,
+                    refreshExecutor);
+        }
+        return storage;
+    }
+
+    protected OcflStorage index(OcflStorage storage) {
+        if (objectIdIndex != null) {
+            return new ObjectIdIndexOcflStorage(objectIdIndex, storage);
         }
         return storage;
     }
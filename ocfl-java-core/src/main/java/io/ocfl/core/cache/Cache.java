@@ -47,6 +47,16 @@ public interface Cache<K, V> {
      */
     V get(K key, Function<K, V> loader);
 
+    /**
+     * Retrieves a value from the cache without loading it.
+     *
+     * @param key to lookup in the cache
+     * @return the cached value or null if it is not cached
+     */
+    default V getIfPresent(K key) {
+        return get(key, k -> null);
+    }
+
     /**
      * Inserts a value into the cache.
      *
@@ -55,6 +65,23 @@ public interface Cache<K, V> {
      */
     void put(K key, V value);
 
+    /**
+     * Replaces the cached value only if the key is currently mapped to the expected value. Implementations should do
+     * this atomically, if possible.
+     *
+     * @param key key
+     * @param oldValue the value that is expected to be cached
+     * @param newValue the value to cache
+     * @return true if the value was replaced
+     */
+    default boolean replace(K key, V oldValue, V newValue) {
+        if (getIfPresent(key) == oldValue) {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Invalidates the key in the cache.
      *
@@ -62,6 +89,22 @@ public interface Cache<K, V> {
      */
     void invalidate(K key);
 
+    /**
+     * Invalidates the key only if it is currently mapped to the expected value. Implementations should do this
+     * atomically, if possible.
+     *
+     * @param key key
+     * @param expectedValue the value that is expected to be cached
+     * @return true if the value was invalidated
+     */
+    default boolean invalidate(K key, V expectedValue) {
+        if (getIfPresent(key) == expectedValue) {
+            invalidate(key);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Invalidates the entire cache
      */
@@ -74,4 +117,14 @@ public interface Cache<K, V> {
      * @return true if the cache contains the key
      */
     boolean contains(K key);
+
+    /**
+     * Returns a snapshot of the cache's statistics. Implementations that do not record statistics return empty
+     * metrics.
+     *
+     * @return cache metrics
+     */
+    default CacheMetrics getMetrics() {
+        return CacheMetrics.empty();
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.cache;
+
+/**
+ * A channel for propagating inventory cache invalidations between processes that share the same repository, so that
+ * a change made by one process evicts the stale inventories that are cached by the others.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Registers a listener that is notified when objects are changed by other processes.
+     *
+     * @param listener the listener
+     */
+    void subscribe(CacheInvalidationListener listener);
+
+    /**
+     * Notifies other processes that an object was changed by this process. Implementations that detect changes
+     * directly, such as by polling, may ignore this.
+     *
+     * @param objectId the id of the object that changed
+     * @param inventoryDigest the digest token of the object's current inventory, as returned by
+     *                        {@link io.ocfl.core.model.Inventory#getDigestToken()}, or null if it is unknown or the
+     *                        object no longer exists
+     */
+    void publish(String objectId, String inventoryDigest);
+
+    /**
+     * Notifies other processes that all of their cached entries should be invalidated.
+     */
+    void publishAll();
+
+    /**
+     * Stops the channel and releases its resources.
+     */
+    void close();
+}
@@ -0,0 +1,46 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.cache;
+
+/**
+ * Receives cache invalidation notifications from a {@link CacheInvalidationChannel}.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * Called when an object was changed by another process.
+     *
+     * @param objectId the id of the object that changed
+     * @param inventoryDigest the digest token of the object's current inventory, as returned by
+     *                        {@link io.ocfl.core.model.Inventory#getDigestToken()}, or null if it is unknown or the
+     *                        object no longer exists
+     */
+    void invalidate(String objectId, String inventoryDigest);
+
+    /**
+     * Called when all cached entries should be invalidated.
+     */
+    void invalidateAll();
+}
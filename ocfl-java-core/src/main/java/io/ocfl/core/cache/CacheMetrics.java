@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.cache;
+
+/**
+ * Point in time snapshot of a cache's statistics.
+ */
+public class CacheMetrics {
+
+    private static final CacheMetrics EMPTY = new CacheMetrics(0, 0, 0, 0, 0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long evictionWeight;
+    private final long entryCount;
+    private final long weightedSize;
+
+    /**
+     * @return metrics with all values set to 0
+     */
+    public static CacheMetrics empty() {
+        return EMPTY;
+    }
+
+    public CacheMetrics(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long evictionWeight,
+            long entryCount,
+            long weightedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.entryCount = entryCount;
+        this.weightedSize = weightedSize;
+    }
+
+    /**
+     * @return the number of lookups that found a cached value
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that did not find a cached value
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of entries that were evicted because of size or expiration
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the sum of the weights of all of the evicted entries, or 0 if the cache is not weighted
+     */
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * @return the approximate number of entries in the cache
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the sum of the weights of all of the entries in the cache, or 0 if the cache is not weighted
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{" + "hitCount="
+                + hitCount + ", missCount="
+                + missCount + ", evictionCount="
+                + evictionCount + ", evictionWeight="
+                + evictionWeight + ", entryCount="
+                + entryCount + ", weightedSize="
+                + weightedSize + '}';
+    }
+}
@@ -24,11 +24,15 @@
 
 package io.ocfl.core.cache;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.ocfl.api.util.Enforce;
+import io.ocfl.core.model.Inventory;
+import java.time.Duration;
 import java.util.function.Function;
 
 /**
- * In-memory cache implementation that is a wrapper around a Caffeine cache.
+ * In-memory cache implementation that is a wrapper around a Caffeine cache. Hit, miss, and eviction counts are only
+ * available in {@link #getMetrics()} if the Caffeine cache was built with {@code recordStats()}.
  *
  * @see <a href="https://github.com/ben-manes/caffeine">Caffeine</a>
  */
@@ -40,6 +44,30 @@ public class CaffeineCache<K, V> implements Cache<K, V> {
         this.cache = Enforce.notNull(cache, "cache cannot be null");
     }
 
+    /**
+     * Creates an inventory cache that is bounded by the estimated heap size of the cached inventories, rather than
+     * the number of inventories. See {@link InventoryWeigher}.
+     *
+     * @param maxBytes the maximum estimated size of all cached inventories in bytes
+     * @param expireAfterAccess how long an inventory is cached after it was last accessed, or null if inventories should
+     *     only be evicted because of the size limit
+     * @return inventory cache
+     */
+    public static CaffeineCache<String, Inventory> inventoryCache(long maxBytes, Duration expireAfterAccess) {
+        Enforce.expressionTrue(maxBytes > 0, maxBytes, "maxBytes must be greater than 0");
+
+        var builder = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(new InventoryWeigher())
+                .recordStats();
+
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+
+        return new CaffeineCache<>(builder.build());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -48,6 +76,14 @@ public class CaffeineCache<K, V> implements Cache<K, V> {
         return cache.get(key, loader);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -56,6 +92,14 @@ public class CaffeineCache<K, V> implements Cache<K, V> {
         cache.put(key, value);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return cache.asMap().replace(key, oldValue, newValue);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -64,6 +108,14 @@ public class CaffeineCache<K, V> implements Cache<K, V> {
         cache.invalidate(key);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean invalidate(K key, V expectedValue) {
+        return cache.asMap().remove(key, expectedValue);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -79,4 +131,24 @@ public class CaffeineCache<K, V> implements Cache<K, V> {
     public boolean contains(K key) {
         return cache.asMap().containsKey(key);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheMetrics getMetrics() {
+        var stats = cache.stats();
+        var weightedSize = cache.policy()
+                .eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+
+        return new CacheMetrics(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                cache.estimatedSize(),
+                weightedSize);
+    }
 }
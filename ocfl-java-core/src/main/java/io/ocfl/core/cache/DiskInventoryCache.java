@@ -0,0 +1,262 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.cache;
+
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.exception.OcflIOException;
+import io.ocfl.core.util.DigestUtil;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size-bounded, disk-backed LRU cache of serialized root inventories. It is intended to be used as a second tier
+ * beneath the in-memory inventory cache, so that inventories that do not fit in heap can be loaded without reading
+ * them from storage.
+ *
+ * <p>Entries are keyed on the object id and the inventory's digest. A cached inventory is only returned when the caller
+ * supplies the digest that is currently in the object's root sidecar, so an entry can never be served after the object
+ * was changed, even by another process. Only the most recent inventory of each object is retained, along with the
+ * version tag that storage reported for it, if any.
+ */
+public class DiskInventoryCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskInventoryCache.class);
+
+    private static final String TEMP_PREFIX = "inventory-";
+    private static final String SEPARATOR = "_";
+    private static final int TAG_TERMINATOR = '\n';
+
+    private final DiskLruStore store;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param directory the local directory to store cached inventories in, ideally on fast local disk
+     * @param maxBytes the maximum number of bytes to store in the cache
+     */
+    public DiskInventoryCache(Path directory, long maxBytes) {
+        this.store = new DiskLruStore(
+                directory, maxBytes, TEMP_PREFIX, name -> name.contains(SEPARATOR), DiskInventoryCache::objectIdHash);
+    }
+
+    /**
+     * Indicates if the cache contains an inventory of the object, regardless of its digest. This only consults the
+     * cache's in-memory index, and is used to avoid reading an object's sidecar when there is no cached inventory that
+     * it could match.
+     *
+     * @param objectId the object id
+     * @return true if an inventory of the object is cached
+     */
+    public boolean contains(String objectId) {
+        return store.lookupGroup(hashObjectId(objectId)) != null;
+    }
+
+    /**
+     * Returns a stream of the cached inventory if the cache contains the object's inventory with the given digest.
+     *
+     * @param objectId the object id
+     * @param inventoryDigest the digest of the object's current root inventory, as recorded in its sidecar
+     * @return stream of the serialized inventory, or null if it is not cached
+     */
+    public InputStream read(String objectId, String inventoryDigest) {
+        return read(objectId, inventoryDigest, tag -> {});
+    }
+
+    /**
+     * Returns a stream of the cached inventory if the cache contains the object's inventory with the given digest, and
+     * passes the version tag that was cached with the inventory to the consumer. The consumer is not called if the
+     * inventory was cached without a version tag.
+     *
+     * @param objectId the object id
+     * @param inventoryDigest the digest of the object's current root inventory, as recorded in its sidecar
+     * @param versionTagConsumer receives the inventory's version tag
+     * @return stream of the serialized inventory, or null if it is not cached
+     */
+    public InputStream read(String objectId, String inventoryDigest, Consumer<String> versionTagConsumer) {
+        var name = entryName(objectId, inventoryDigest);
+
+        try {
+            var stream = store.open(name, file -> new BufferedInputStream(Files.newInputStream(file)));
+            if (stream != null) {
+                try {
+                    var versionTag = readVersionTag(stream);
+                    if (!versionTag.isEmpty()) {
+                        versionTagConsumer.accept(versionTag);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    stream.close();
+                    throw e;
+                }
+                hitCount.increment();
+                return stream;
+            }
+        } catch (NoSuchFileException e) {
+            LOG.debug("Cached inventory {} was removed out of band", name);
+            store.remove(name);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Adds an object's serialized root inventory to the cache, replacing any older inventory of the same object.
+     * Inventories that are larger than the cache are not admitted.
+     *
+     * @param objectId the object id
+     * @param inventoryDigest the digest of the inventory bytes
+     * @param inventoryBytes the serialized inventory
+     */
+    public void put(String objectId, String inventoryDigest, byte[] inventoryBytes) {
+        put(objectId, inventoryDigest, inventoryBytes, null);
+    }
+
+    /**
+     * Adds an object's serialized root inventory to the cache, along with the version tag that storage reported when
+     * it was read, replacing any older inventory of the same object. Inventories that are larger than the cache are
+     * not admitted.
+     *
+     * @param objectId the object id
+     * @param inventoryDigest the digest of the inventory bytes
+     * @param inventoryBytes the serialized inventory
+     * @param versionTag the version tag of the root inventory file, may be null
+     */
+    public void put(String objectId, String inventoryDigest, byte[] inventoryBytes, String versionTag) {
+        var header = ((versionTag == null ? "" : versionTag) + (char) TAG_TERMINATOR).getBytes(StandardCharsets.UTF_8);
+        var size = header.length + (long) inventoryBytes.length;
+
+        if (size > store.getMaxBytes()) {
+            return;
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = store.createTempFile();
+            try (var out = Files.newOutputStream(tempFile)) {
+                out.write(header);
+                out.write(inventoryBytes);
+            }
+            store.admit(entryName(objectId, inventoryDigest), tempFile, size);
+        } catch (IOException e) {
+            // the cache is only an optimization
+            LOG.warn(
+                    "Failed to write inventory for object {} to inventory cache {}", objectId, store.getDirectory(), e);
+            if (tempFile != null) {
+                store.deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Removes the object's inventory from the cache.
+     *
+     * @param objectId the object id
+     */
+    public void invalidate(String objectId) {
+        var name = store.lookupGroup(hashObjectId(objectId));
+        if (name != null) {
+            store.invalidate(name);
+        }
+    }
+
+    /**
+     * Removes every inventory from the cache.
+     */
+    public void invalidateAll() {
+        store.invalidateAll();
+    }
+
+    /**
+     * @return the number of reads that were served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of reads that were not served from the cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of inventories that have been evicted from the cache because of its size limit
+     */
+    public long getEvictionCount() {
+        return store.getEvictionCount();
+    }
+
+    /**
+     * @return the number of inventories currently in the cache
+     */
+    public int getEntryCount() {
+        return store.getEntryCount();
+    }
+
+    /**
+     * @return the total size of the inventories currently in the cache, including their version tags
+     */
+    public long getSizeBytes() {
+        return store.getSizeBytes();
+    }
+
+    private String readVersionTag(InputStream stream) throws IOException {
+        var tag = new ByteArrayOutputStream();
+        int next;
+        while ((next = stream.read()) != TAG_TERMINATOR) {
+            if (next == -1) {
+                throw new IOException("Cached inventory is truncated");
+            }
+            tag.write(next);
+        }
+        return tag.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String entryName(String objectId, String inventoryDigest) {
+        return hashObjectId(objectId) + SEPARATOR + inventoryDigest.toLowerCase();
+    }
+
+    private static String hashObjectId(String objectId) {
+        return DigestUtil.computeDigestHex(DigestAlgorithmRegistry.sha256, objectId);
+    }
+
+    private static String objectIdHash(String entryName) {
+        return entryName.substring(0, entryName.indexOf(SEPARATOR));
+    }
+}
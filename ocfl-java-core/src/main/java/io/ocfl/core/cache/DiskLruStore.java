@@ -0,0 +1,403 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.cache;
+
+import io.ocfl.api.exception.OcflIOException;
+import io.ocfl.api.util.Enforce;
+import io.ocfl.core.util.UncheckedFiles;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size-bounded LRU store of files in a local directory. It tracks the files' sizes and access order in memory, and
+ * evicts the least recently used files when the store exceeds its size limit. This is the storage that is shared by
+ * {@link DiskInventoryCache} and {@link io.ocfl.core.storage.cloud.CloudContentCache}, which are responsible for naming
+ * and writing the entries.
+ *
+ * <p>Entries may optionally be grouped, in which case a group contains at most one entry, and admitting an entry
+ * replaces the other entry in its group. Existing entries in the directory are reused when the store is created.
+ *
+ * <p>Entries are read through {@link #open}, which tracks open readers. When an entry that has open readers is evicted
+ * or invalidated, it is immediately removed from the store, but its file is not deleted until the last reader closes.
+ */
+public class DiskLruStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskLruStore.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String tempPrefix;
+    private final Function<String, String> groupKey;
+
+    // access ordered map of entry file names to their sizes. guarded by this.
+    private final LinkedHashMap<String, Long> entries;
+    // map of group keys to the name of the group's entry. guarded by this.
+    private final Map<String, String> groupEntries;
+    // map of entry file names to their number of open readers. guarded by this.
+    private final Map<String, Integer> readers;
+    // names of files that were removed from the store while they had open readers. guarded by this.
+    private final Set<String> pendingDeletes;
+    private long currentBytes;
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param directory the local directory to store entries in
+     * @param maxBytes the maximum number of bytes to store
+     * @param tempPrefix the prefix of the temp files that entries are written to before they are admitted
+     * @param isEntry tests if the name of an existing file in the directory is a valid entry name
+     * @param groupKey maps an entry name to the key of its group, may be null if entries are not grouped
+     */
+    public DiskLruStore(
+            Path directory,
+            long maxBytes,
+            String tempPrefix,
+            Predicate<String> isEntry,
+            Function<String, String> groupKey) {
+        this.directory = Enforce.notNull(directory, "directory cannot be null");
+        this.maxBytes = Enforce.expressionTrue(maxBytes > 0, maxBytes, "maxBytes must be greater than 0");
+        this.tempPrefix = Enforce.notBlank(tempPrefix, "tempPrefix cannot be blank");
+        Enforce.notNull(isEntry, "isEntry cannot be null");
+        this.groupKey = groupKey;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.groupEntries = new HashMap<>();
+        this.readers = new HashMap<>();
+        this.pendingDeletes = new HashSet<>();
+
+        UncheckedFiles.createDirectories(directory);
+        loadExistingEntries(isEntry);
+    }
+
+    /**
+     * Creates a temp file in the store's directory that an entry may be written to before it is admitted.
+     *
+     * @return the temp file
+     * @throws IOException when the file cannot be created
+     */
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(directory, tempPrefix, TEMP_SUFFIX);
+    }
+
+    /**
+     * Opens a stream of the entry and marks it as recently used, if the store contains the entry. The entry's file is
+     * not deleted until the returned stream is closed, even if the entry is removed from the store in the meantime.
+     *
+     * @param name the entry name
+     * @param opener opens a stream of the entry's file, may return null if the file should not be read
+     * @return stream of the entry, or null if it is not in the store or the opener returned null
+     * @throws IOException when the opener fails
+     */
+    public InputStream open(String name, EntryOpener opener) throws IOException {
+        synchronized (this) {
+            if (entries.get(name) == null) {
+                return null;
+            }
+            readers.merge(name, 1, Integer::sum);
+        }
+
+        InputStream stream;
+        try {
+            stream = opener.open(directory.resolve(name));
+        } catch (IOException | RuntimeException e) {
+            release(name);
+            throw e;
+        }
+
+        if (stream == null) {
+            release(name);
+            return null;
+        }
+
+        return new FilterInputStream(stream) {
+            private final AtomicBoolean closed = new AtomicBoolean(false);
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (closed.compareAndSet(false, true)) {
+                        release(name);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the name of the entry in the group without reading from disk or changing its access order.
+     *
+     * @param group the group key
+     * @return the name of the group's entry, or null if the group does not have an entry
+     */
+    public synchronized String lookupGroup(String group) {
+        return groupEntries.get(group);
+    }
+
+    /**
+     * Moves a temp file into the store as the named entry, replacing the other entry in its group, and evicts the
+     * least recently used entries if the store is over its size limit. The admitted entry is not evicted.
+     *
+     * @param name the entry name
+     * @param tempFile the temp file that contains the entry
+     * @param size the size of the entry in bytes
+     * @return the path to the entry
+     * @throws IOException when the temp file cannot be moved
+     */
+    public synchronized Path admit(String name, Path tempFile, long size) throws IOException {
+        if (groupKey != null) {
+            var previousName = groupEntries.put(groupKey.apply(name), name);
+            if (previousName != null && !previousName.equals(name)) {
+                removeEntry(previousName);
+                deleteEntryFile(previousName);
+            }
+        }
+
+        var target = directory.resolve(name);
+        if (readers.containsKey(name)) {
+            // Names are derived from the entry's content, so the file that is still being read can be kept
+            pendingDeletes.remove(name);
+            deleteQuietly(tempFile);
+        } else {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        var previous = entries.put(name, size);
+        currentBytes += size - (previous == null ? 0 : previous);
+
+        evict(name);
+        return target;
+    }
+
+    /**
+     * Removes the entry from the store's index without deleting its file. This is used when the file was already
+     * removed out of band.
+     *
+     * @param name the entry name
+     */
+    public synchronized void remove(String name) {
+        removeEntry(name);
+        if (groupKey != null) {
+            groupEntries.remove(groupKey.apply(name), name);
+        }
+    }
+
+    /**
+     * Removes the entry from the store and deletes its file.
+     *
+     * @param name the entry name
+     */
+    public synchronized void invalidate(String name) {
+        remove(name);
+        deleteEntryFile(name);
+    }
+
+    /**
+     * Removes every entry from the store and deletes their files.
+     */
+    public synchronized void invalidateAll() {
+        entries.keySet().forEach(this::deleteEntryFile);
+        entries.clear();
+        groupEntries.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * @return the number of entries that have been evicted because of the size limit
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the number of entries currently in the store
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the entries currently in the store
+     */
+    public synchronized long getSizeBytes() {
+        return currentBytes;
+    }
+
+    /**
+     * @return the maximum number of bytes to store
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the store's directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Deletes the file, logging rather than throwing on failure.
+     *
+     * @param file the file to delete
+     */
+    public void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete cached file {}", file, e);
+        }
+    }
+
+    private synchronized void release(String name) {
+        if (readers.merge(name, -1, Integer::sum) == 0) {
+            readers.remove(name);
+            if (pendingDeletes.remove(name)) {
+                deleteQuietly(directory.resolve(name));
+            }
+        }
+    }
+
+    private void deleteEntryFile(String name) {
+        if (readers.containsKey(name)) {
+            pendingDeletes.add(name);
+        } else {
+            deleteQuietly(directory.resolve(name));
+        }
+    }
+
+    private void removeEntry(String name) {
+        var size = entries.remove(name);
+        if (size != null) {
+            currentBytes -= size;
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until the store is within its size limit.
+     *
+     * @param retain the name of an entry that should not be evicted, may be null
+     */
+    private void evict(String retain) {
+        var it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            var entry = it.next();
+            if (entry.getKey().equals(retain)) {
+                continue;
+            }
+            it.remove();
+            currentBytes -= entry.getValue();
+            if (groupKey != null) {
+                groupEntries.remove(groupKey.apply(entry.getKey()), entry.getKey());
+            }
+            evictionCount.increment();
+            deleteEntryFile(entry.getKey());
+        }
+    }
+
+    private void loadExistingEntries(Predicate<String> isEntry) {
+        try (var files = Files.list(directory)) {
+            var existing = new ArrayList<Path>();
+
+            files.filter(Files::isRegularFile).forEach(file -> {
+                var fileName = file.getFileName().toString();
+                if ((fileName.startsWith(tempPrefix) && fileName.endsWith(TEMP_SUFFIX)) || !isEntry.test(fileName)) {
+                    deleteQuietly(file);
+                } else {
+                    existing.add(file);
+                }
+            });
+
+            var modified = existing.stream().collect(Collectors.toMap(file -> file, this::lastModified));
+            existing.sort(Comparator.comparing(modified::get));
+
+            synchronized (this) {
+                // files are sorted oldest first, so newer entries in a group replace older ones
+                for (var file : existing) {
+                    var name = file.getFileName().toString();
+                    if (groupKey != null) {
+                        var previousName = groupEntries.put(groupKey.apply(name), name);
+                        if (previousName != null) {
+                            removeEntry(previousName);
+                            deleteQuietly(directory.resolve(previousName));
+                        }
+                    }
+                    var size = UncheckedFiles.size(file);
+                    entries.put(name, size);
+                    currentBytes += size;
+                }
+                evict(null);
+            }
+
+            LOG.debug("Loaded {} existing entries into {}", entries.size(), directory);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a stream of an entry's file
+     */
+    @FunctionalInterface
+    public interface EntryOpener {
+        /**
+         * @param file the entry's file
+         * @return stream of the file, or null if it should not be read
+         * @throws IOException when the file cannot be opened
+         */
+        InputStream open(Path file) throws IOException;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.ocfl.core.model.Inventory;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caffeine {@link Weigher} that weighs inventories by their estimated retained heap size in bytes. The estimate
+ * accounts for the manifest, fixity block, and the state of every version, which is where nearly all of an inventory's
+ * memory goes. It is intended to be used with {@code Caffeine.maximumWeight()} so that the cache is bounded by memory
+ * rather than entry count.
+ *
+ * <p>Weighing never loads the versions of an inventory that loads them on demand. Versions that are not yet loaded are
+ * assumed to be the same size as the head version, because they are likely to be loaded while the inventory is cached
+ * and Caffeine does not reweigh entries.
+ */
+public class InventoryWeigher implements Weigher<String, Inventory> {
+
+    private static final long INVENTORY_OVERHEAD = 512;
+    private static final long VERSION_OVERHEAD = 256;
+    private static final long MAP_OVERHEAD = 64;
+    private static final long MAP_ENTRY_OVERHEAD = 48;
+    private static final long SET_OVERHEAD = 16;
+    private static final long STRING_OVERHEAD = 40;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int weigh(String key, Inventory value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimateRetainedSize(value));
+    }
+
+    /**
+     * Estimates the number of bytes of heap that are retained by the inventory. Deserialized inventories share digest
+     * and path strings between the manifest and version states, so the strings in the states of versions other than
+     * the head version are not counted. Versions that an inventory loads on demand and has not loaded yet are
+     * estimated from the size of the head version.
+     *
+     * @param inventory the inventory
+     * @return estimated size in bytes
+     */
+    public static long estimateRetainedSize(Inventory inventory) {
+        var size = INVENTORY_OVERHEAD + stringSize(inventory.getId()) + stringSize(inventory.getObjectRootPath());
+
+        size += estimateFileIdMap(inventory.getManifest(), true);
+
+        for (var fixity : inventory.getFixity().values()) {
+            size += estimateFileIdMap(fixity, true);
+        }
+
+        var loadedVersions = inventory.getLoadedVersions();
+
+        for (var entry : loadedVersions.entrySet()) {
+            var version = entry.getValue();
+            size += VERSION_OVERHEAD + stringSize(version.getMessage());
+            size += estimateFileIdMap(version.getState(), entry.getKey().equals(inventory.getHead()));
+        }
+
+        var unloadedVersions = inventory.getHead().getVersionNum() - loadedVersions.size();
+        if (unloadedVersions > 0) {
+            var headVersion = loadedVersions.get(inventory.getHead());
+            var perVersion = VERSION_OVERHEAD
+                    + (headVersion == null ? MAP_OVERHEAD * 2 : estimateFileIdMap(headVersion.getState(), false));
+            size += unloadedVersions * perVersion;
+        }
+
+        return size;
+    }
+
+    /**
+     * PathBiMaps hold a fileId to paths map as well as a path to fileId map, so each path is counted as an entry in
+     * both.
+     */
+    private static long estimateFileIdMap(Map<String, Set<String>> map, boolean countStrings) {
+        var size = MAP_OVERHEAD * 2;
+
+        for (var entry : map.entrySet()) {
+            size += MAP_ENTRY_OVERHEAD + SET_OVERHEAD;
+            if (countStrings) {
+                size += stringSize(entry.getKey());
+            }
+            for (var path : entry.getValue()) {
+                size += MAP_ENTRY_OVERHEAD;
+                if (countStrings) {
+                    size += stringSize(path);
+                }
+            }
+        }
+
+        return size;
+    }
+
+    private static long stringSize(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return STRING_OVERHEAD + value.length();
+    }
+}
@@ -36,6 +36,16 @@ public class NoOpCache<K, V> implements Cache<K, V> {
         return loader.apply(key);
     }
 
+    @Override
+    public V getIfPresent(K key) {
+        return null;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return false;
+    }
+
     @Override
     public void put(K key, V value) {
         // no op
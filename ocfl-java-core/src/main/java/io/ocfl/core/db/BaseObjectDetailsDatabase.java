@@ -145,7 +145,8 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
      * @return the query string
      */
     protected String rowLockQuery(String tableName) {
-        return String.format("SELECT version_id, revision_id FROM %s WHERE object_id = ? FOR UPDATE", tableName);
+        return String.format(
+                "SELECT version_id, revision_id, inventory_digest FROM %s WHERE object_id = ? FOR UPDATE", tableName);
     }
 
     /**
@@ -346,6 +347,7 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
                     var existingVersionNum = VersionNum.fromString(lockResult.getString(1));
                     var existingRevisionNum = revisionNumFromString(lockResult.getString(2));
                     verifyObjectDetailsState(existingVersionNum, existingRevisionNum, inventory);
+                    verifyPriorDigest(existingRevisionNum, lockResult.getString(3), inventory);
 
                     executeUpdateDetails(connection, inventory, inventoryDigest, inventoryStream);
                 } else {
@@ -453,6 +455,22 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
         }
     }
 
+    /**
+     * Compares the digest of the inventory that a new version was built from with the digest that's currently recorded.
+     * This makes the row update a compare-and-swap on the inventory digest, which is what allows versions to be
+     * committed without first locking the object. Mutable HEAD revisions are not checked because the recorded digest
+     * is of the mutable HEAD inventory, and not necessarily the inventory that the update was built from.
+     */
+    private void verifyPriorDigest(RevisionNum existingRevisionNum, String existingDigest, Inventory inventory) {
+        if (existingRevisionNum == null
+                && inventory.getRevisionNum() == null
+                && existingDigest != null
+                && inventory.getPreviousDigest() != null
+                && !existingDigest.equalsIgnoreCase(inventory.getPreviousDigest())) {
+            throw outOfSyncException(inventory.getId());
+        }
+    }
+
     private ObjectOutOfSyncException outOfSyncException(String objectId) {
         throw new ObjectOutOfSyncException(String.format(
                 "Cannot update object %s because its state is out of sync with the current state in the database.",
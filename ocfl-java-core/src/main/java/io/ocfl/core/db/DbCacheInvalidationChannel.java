@@ -0,0 +1,334 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.db;
+
+import io.ocfl.api.exception.OcflDbException;
+import io.ocfl.api.util.Enforce;
+import io.ocfl.core.cache.CacheInvalidationChannel;
+import io.ocfl.core.cache.CacheInvalidationListener;
+import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionNum;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link CacheInvalidationChannel} implementation that polls the object details table for rows that were updated
+ * since the last poll. Listeners are notified with the current inventory digest of each changed object so that
+ * cached inventories that are still current are not evicted.
+ * <p>
+ * Rows are deleted from the object details table when an object is purged, rolled back, or its cache is invalidated,
+ * and deletions cannot be detected by polling the details table. Instead, {@link #publish(String, String)} records
+ * these evictions in a separate eviction table, keyed by object id, and each poll evicts only the ids that were
+ * recorded since the previous poll. {@link #publishAll()} records an eviction under a reserved id that evicts every
+ * cached inventory. Evictions are removed from the table after a day.
+ * <p>
+ * Timestamps in both tables are written using the clock of the node that performed the update. The overlap must be
+ * larger than the maximum clock skew between nodes.
+ */
+public class DbCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DbCacheInvalidationChannel.class);
+
+    private static final Map<DbType, String> DUPLICATE_STATE_CODES = Map.of(
+            DbType.H2, "23505",
+            DbType.MARIADB, "23000",
+            DbType.POSTGRES, "23505");
+
+    /**
+     * Object ids cannot be blank, so the empty string is used to record evictions of every object
+     */
+    private static final String ALL_OBJECTS = "";
+
+    private static final Duration EVICTION_RETENTION = Duration.ofDays(1);
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    private final DataSource dataSource;
+    private final Duration pollInterval;
+    private final Duration overlap;
+    private final String duplicateStateCode;
+    private final List<CacheInvalidationListener> listeners;
+
+    private final String changedQuery;
+    private final String maxTimestampQuery;
+    private final String evictedQuery;
+    private final String maxEvictionTimestampQuery;
+    private final String updateEvictionQuery;
+    private final String insertEvictionQuery;
+    private final String pruneEvictionsQuery;
+
+    private ScheduledExecutorService executor;
+    private volatile boolean closed;
+
+    private Timestamp watermark;
+    private Timestamp evictionWatermark;
+    private LocalDateTime lastPrune;
+
+    public DbCacheInvalidationChannel(
+            DbType dbType,
+            String tableName,
+            String evictionTableName,
+            DataSource dataSource,
+            Duration pollInterval,
+            Duration overlap) {
+        Enforce.notNull(dbType, "dbType cannot be null");
+        Enforce.notBlank(tableName, "tableName cannot be blank");
+        Enforce.notBlank(evictionTableName, "evictionTableName cannot be blank");
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        this.pollInterval = Enforce.notNull(pollInterval, "pollInterval cannot be null");
+        this.overlap = Enforce.notNull(overlap, "overlap cannot be null");
+        Enforce.expressionTrue(
+                !pollInterval.isNegative() && !pollInterval.isZero(), pollInterval, "pollInterval must be positive");
+        Enforce.expressionTrue(!overlap.isNegative(), overlap, "overlap cannot be negative");
+        this.duplicateStateCode =
+                Enforce.notBlank(DUPLICATE_STATE_CODES.get(dbType), "duplicate state code cannot be blank");
+        this.listeners = new CopyOnWriteArrayList<>();
+
+        this.changedQuery = String.format(
+                "SELECT object_id, inventory_digest, revision_id, update_timestamp FROM %s WHERE update_timestamp > ?",
+                tableName);
+        this.maxTimestampQuery = String.format("SELECT MAX(update_timestamp) FROM %s", tableName);
+        this.evictedQuery = String.format(
+                "SELECT object_id, eviction_timestamp FROM %s WHERE eviction_timestamp > ?", evictionTableName);
+        this.maxEvictionTimestampQuery = String.format("SELECT MAX(eviction_timestamp) FROM %s", evictionTableName);
+        this.updateEvictionQuery =
+                String.format("UPDATE %s SET eviction_timestamp = ? WHERE object_id = ?", evictionTableName);
+        this.insertEvictionQuery =
+                String.format("INSERT INTO %s (object_id, eviction_timestamp) VALUES (?, ?)", evictionTableName);
+        this.pruneEvictionsQuery = String.format("DELETE FROM %s WHERE eviction_timestamp < ?", evictionTableName);
+    }
+
+    /**
+     * Registers the listener and starts polling, if it has not already started.
+     *
+     * @param listener the listener
+     */
+    @Override
+    public synchronized void subscribe(CacheInvalidationListener listener) {
+        Enforce.notNull(listener, "listener cannot be null");
+        Enforce.expressionTrue(!closed, closed, "The channel is closed");
+
+        listeners.add(listener);
+
+        if (executor == null) {
+            start();
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                var thread = new Thread(r, "ocfl-cache-invalidation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var millis = pollInterval.toMillis();
+            executor.scheduleWithFixedDelay(this::pollSafely, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records an eviction when the inventory digest is null, which indicates that the object's details were deleted.
+     * Changes with a digest are written to the object details table by the storage layer and are picked up by polling.
+     *
+     * @param objectId the id of the object that changed
+     * @param inventoryDigest the digest of the object's current inventory, or null if it is unknown or was deleted
+     */
+    @Override
+    public void publish(String objectId, String inventoryDigest) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+        if (inventoryDigest == null) {
+            recordEviction(objectId);
+        }
+    }
+
+    /**
+     * Records an eviction of every object.
+     */
+    @Override
+    public void publishAll() {
+        recordEviction(ALL_OBJECTS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Initializes the poll state with the current contents of the tables.
+     */
+    synchronized void start() {
+        try (var connection = dataSource.getConnection()) {
+            watermark = maxTimestamp(connection, maxTimestampQuery);
+            evictionWatermark = maxTimestamp(connection, maxEvictionTimestampQuery);
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * Queries the tables for changes since the last poll and notifies listeners.
+     */
+    synchronized void poll() {
+        if (closed) {
+            return;
+        }
+
+        try (var connection = dataSource.getConnection()) {
+            var since = Timestamp.from(watermark.toInstant().minus(overlap));
+            var newWatermark = watermark;
+
+            try (var statement = connection.prepareStatement(changedQuery)) {
+                statement.setTimestamp(1, since);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        var objectId = resultSet.getString(1);
+                        var revisionId = resultSet.getString(3);
+                        var digestToken = Inventory.digestToken(
+                                resultSet.getString(2), revisionId == null ? null : RevisionNum.fromString(revisionId));
+                        var timestamp = resultSet.getTimestamp(4);
+
+                        listeners.forEach(listener -> listener.invalidate(objectId, digestToken));
+
+                        if (timestamp != null && timestamp.after(newWatermark)) {
+                            newWatermark = timestamp;
+                        }
+                    }
+                }
+            }
+
+            watermark = newWatermark;
+
+            var evictedSince = Timestamp.from(evictionWatermark.toInstant().minus(overlap));
+            var newEvictionWatermark = evictionWatermark;
+
+            try (var statement = connection.prepareStatement(evictedQuery)) {
+                statement.setTimestamp(1, evictedSince);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        var objectId = resultSet.getString(1);
+                        var timestamp = resultSet.getTimestamp(2);
+
+                        if (ALL_OBJECTS.equals(objectId)) {
+                            LOG.debug("All cached inventories were evicted by another process");
+                            listeners.forEach(CacheInvalidationListener::invalidateAll);
+                        } else {
+                            listeners.forEach(listener -> listener.invalidate(objectId, null));
+                        }
+
+                        if (timestamp != null && timestamp.after(newEvictionWatermark)) {
+                            newEvictionWatermark = timestamp;
+                        }
+                    }
+                }
+            }
+
+            evictionWatermark = newEvictionWatermark;
+
+            pruneEvictions(connection);
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private void recordEviction(String objectId) {
+        var timestamp = Timestamp.valueOf(LocalDateTime.now());
+
+        try (var connection = dataSource.getConnection()) {
+            if (updateEviction(connection, objectId, timestamp)) {
+                return;
+            }
+
+            try (var statement = connection.prepareStatement(insertEvictionQuery)) {
+                statement.setString(1, objectId);
+                statement.setTimestamp(2, timestamp);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                if (!duplicateStateCode.equals(e.getSQLState())) {
+                    throw e;
+                }
+                // another process inserted the row concurrently
+                updateEviction(connection, objectId, timestamp);
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private boolean updateEviction(Connection connection, String objectId, Timestamp timestamp) throws SQLException {
+        try (var statement = connection.prepareStatement(updateEvictionQuery)) {
+            statement.setTimestamp(1, timestamp);
+            statement.setString(2, objectId);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private void pruneEvictions(Connection connection) throws SQLException {
+        var now = LocalDateTime.now();
+        if (lastPrune != null && lastPrune.plus(PRUNE_INTERVAL).isAfter(now)) {
+            return;
+        }
+
+        try (var statement = connection.prepareStatement(pruneEvictionsQuery)) {
+            statement.setTimestamp(1, Timestamp.valueOf(now.minus(EVICTION_RETENTION)));
+            statement.executeUpdate();
+        }
+        lastPrune = now;
+    }
+
+    private Timestamp maxTimestamp(Connection connection, String query) throws SQLException {
+        try (var statement = connection.prepareStatement(query);
+                var resultSet = statement.executeQuery()) {
+            if (resultSet.next()) {
+                var timestamp = resultSet.getTimestamp(1);
+                if (timestamp != null) {
+                    return timestamp;
+                }
+            }
+        }
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to poll for cache invalidations", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.db;
+
+import io.ocfl.api.util.Enforce;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Constructs {@link DbCacheInvalidationChannel} instances. The channel relies on the object details table, which is
+ * maintained when an object details database is configured on the repository, and on an eviction table that records
+ * the ids of objects whose details were deleted.
+ */
+public class DbCacheInvalidationChannelBuilder {
+
+    private static final String DEFAULT_TABLE_NAME = "ocfl_object_details";
+    private static final String DEFAULT_EVICTION_TABLE_NAME = "ocfl_cache_eviction";
+
+    private DataSource dataSource;
+    private String tableName;
+    private String evictionTableName;
+    private Duration pollInterval;
+    private Duration overlap;
+
+    public DbCacheInvalidationChannelBuilder() {
+        pollInterval = Duration.ofSeconds(5);
+        overlap = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Sets the DataSource that contains the object details table. This is a required field.
+     *
+     * @param dataSource the DataSource
+     * @return builder
+     */
+    public DbCacheInvalidationChannelBuilder dataSource(DataSource dataSource) {
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the name of the object details table. This must match the table name used by the object details database.
+     * Default: ocfl_object_details
+     *
+     * @param tableName the table name to use
+     * @return builder
+     */
+    public DbCacheInvalidationChannelBuilder tableName(String tableName) {
+        this.tableName = tableName;
+        return this;
+    }
+
+    /**
+     * Sets the name of the table that records the ids of objects that must be evicted from every cache. Default:
+     * ocfl_cache_eviction
+     *
+     * @param evictionTableName the table name to use
+     * @return builder
+     */
+    public DbCacheInvalidationChannelBuilder evictionTableName(String evictionTableName) {
+        this.evictionTableName = evictionTableName;
+        return this;
+    }
+
+    /**
+     * Sets how often the tables are polled for changes. Default: 5 seconds
+     *
+     * @param pollInterval the poll interval
+     * @return builder
+     */
+    public DbCacheInvalidationChannelBuilder pollInterval(Duration pollInterval) {
+        this.pollInterval = Enforce.notNull(pollInterval, "pollInterval cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets how far before the previous poll's newest timestamp each poll looks for changes. This must be larger than
+     * the clock skew between the nodes that share the repository. Default: 30 seconds
+     *
+     * @param overlap the overlap
+     * @return builder
+     */
+    public DbCacheInvalidationChannelBuilder overlap(Duration overlap) {
+        this.overlap = Enforce.notNull(overlap, "overlap cannot be null");
+        return this;
+    }
+
+    /**
+     * Constructs a new {@link DbCacheInvalidationChannel}. If the database does not already contain an object details
+     * table or an eviction table, it attempts to create them.
+     *
+     * @return DbCacheInvalidationChannel
+     */
+    public DbCacheInvalidationChannel build() {
+        Enforce.notNull(dataSource, "dataSource cannot be null");
+
+        var resolvedTableName = tableName == null ? DEFAULT_TABLE_NAME : tableName;
+        var resolvedEvictionTableName = evictionTableName == null ? DEFAULT_EVICTION_TABLE_NAME : evictionTableName;
+
+        var dbType = DbType.fromDataSource(dataSource);
+        var tableCreator = new TableCreator(dbType, dataSource);
+        tableCreator.createObjectDetailsTable(resolvedTableName);
+        tableCreator.createCacheEvictionTable(resolvedEvictionTableName);
+
+        return new DbCacheInvalidationChannel(
+                dbType, resolvedTableName, resolvedEvictionTableName, dataSource, pollInterval, overlap);
+    }
+}
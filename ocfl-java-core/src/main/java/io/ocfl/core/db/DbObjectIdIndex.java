@@ -0,0 +1,306 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.db;
+
+import io.ocfl.api.exception.OcflDbException;
+import io.ocfl.api.util.Enforce;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ObjectIdIndex} implementation that stores object ids in a DB table. When used with a file based H2 database,
+ * this doubles as a local embedded index.
+ */
+public class DbObjectIdIndex implements ObjectIdIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DbObjectIdIndex.class);
+
+    private static final Map<DbType, String> DUPLICATE_STATE_CODES = Map.of(
+            DbType.H2, "23505",
+            DbType.MARIADB, "23000",
+            DbType.POSTGRES, "23505");
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final String tableName;
+    private final DataSource dataSource;
+    private final String duplicateStateCode;
+    private final ChronoUnit timestampPrecision;
+
+    private final String insertQuery;
+    private final String touchQuery;
+    private final String deleteQuery;
+    private final String deleteStaleQuery;
+    private final String existsQuery;
+    private final String anyQuery;
+    private final String selectAllQuery;
+
+    public DbObjectIdIndex(DbType dbType, String tableName, DataSource dataSource) {
+        Enforce.notNull(dbType, "dbType cannot be null");
+        this.tableName = Enforce.notBlank(tableName, "tableName cannot be blank");
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+
+        this.duplicateStateCode =
+                Enforce.notBlank(DUPLICATE_STATE_CODES.get(dbType), "duplicate state code cannot be blank");
+        // MariaDB TIMESTAMP columns do not store fractional seconds by default
+        this.timestampPrecision = dbType == DbType.MARIADB ? ChronoUnit.SECONDS : ChronoUnit.MICROS;
+
+        this.insertQuery = String.format("INSERT INTO %s (object_id, added_timestamp) VALUES (?, ?)", tableName);
+        this.touchQuery = String.format("UPDATE %s SET added_timestamp = ? WHERE object_id = ?", tableName);
+        this.deleteQuery = String.format("DELETE FROM %s WHERE object_id = ?", tableName);
+        this.deleteStaleQuery = String.format("DELETE FROM %s WHERE added_timestamp < ?", tableName);
+        this.existsQuery = String.format("SELECT 1 FROM %s WHERE object_id = ?", tableName);
+        this.anyQuery = String.format("SELECT 1 FROM %s LIMIT 1", tableName);
+        this.selectAllQuery = String.format("SELECT object_id FROM %s ORDER BY object_id", tableName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addObjectId(String objectId) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+
+        try (var connection = dataSource.getConnection()) {
+            insertObjectId(connection, objectId, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeObjectId(String objectId) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(deleteQuery)) {
+            statement.setString(1, objectId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsObjectId(String objectId) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(existsQuery)) {
+            statement.setString(1, objectId);
+            try (var rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(anyQuery);
+                var rs = statement.executeQuery()) {
+            return !rs.next();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<String> streamObjectIds() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            // Some drivers, such as PostgreSQL, only use a cursor when autocommit is disabled
+            connection.setAutoCommit(false);
+            var statement = connection.prepareStatement(selectAllQuery);
+            statement.setFetchSize(BATCH_SIZE);
+            var rs = statement.executeQuery();
+
+            var iterator = new ResultSetIterator(connection, statement, rs);
+            var spliterator = Spliterators.spliteratorUnknownSize(
+                    iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * Rebuilds the index without a table lock so that ids that are added or removed while the storage hierarchy is
+     * walked are not lost. Every walked id is inserted, or has its timestamp refreshed if it's already indexed, and
+     * then the ids whose timestamps predate the rebuild, and so were neither walked nor added concurrently, are
+     * deleted.
+     *
+     * @param objectIds all of the object ids in the repository
+     * @return the number of ids that were indexed
+     */
+    @Override
+    public long rebuild(Stream<String> objectIds) {
+        Enforce.notNull(objectIds, "objectIds cannot be null");
+
+        LOG.info("Rebuilding object id index in table {}", tableName);
+
+        var staleBefore = Timestamp.valueOf(LocalDateTime.now().truncatedTo(timestampPrecision));
+
+        try (var connection = dataSource.getConnection()) {
+            var count = 0L;
+
+            try (var statement = connection.prepareStatement(touchQuery)) {
+                for (var it = objectIds.iterator(); it.hasNext(); ) {
+                    var objectId = it.next();
+                    var now = Timestamp.valueOf(LocalDateTime.now());
+                    statement.setTimestamp(1, now);
+                    statement.setString(2, objectId);
+                    if (statement.executeUpdate() == 0) {
+                        insertObjectId(connection, objectId, now);
+                    }
+                    count++;
+                }
+            }
+
+            try (var statement = connection.prepareStatement(deleteStaleQuery)) {
+                statement.setTimestamp(1, staleBefore);
+                statement.executeUpdate();
+            }
+
+            LOG.info("Indexed {} object ids in table {}", count, tableName);
+            return count;
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private void insertObjectId(Connection connection, String objectId, Timestamp timestamp) throws SQLException {
+        try (var statement = connection.prepareStatement(insertQuery)) {
+            statement.setString(1, objectId);
+            statement.setTimestamp(2, timestamp);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            if (!duplicateStateCode.equals(e.getSQLState())) {
+                throw e;
+            }
+            // the id is already indexed
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                LOG.warn("Failed to close {}", closeable, e);
+            }
+        }
+    }
+
+    private static class ResultSetIterator implements Iterator<String>, AutoCloseable {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet rs;
+
+        private String next;
+        private boolean closed;
+
+        private ResultSetIterator(Connection connection, PreparedStatement statement, ResultSet rs) {
+            this.connection = connection;
+            this.statement = statement;
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                try {
+                    if (rs.next()) {
+                        next = rs.getString(1);
+                    } else {
+                        close();
+                    }
+                } catch (SQLException e) {
+                    close();
+                    throw new OcflDbException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more object ids");
+            }
+            var current = next;
+            next = null;
+            return current;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                closeQuietly(rs);
+                closeQuietly(statement);
+                try {
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOG.warn("Failed to reset connection", e);
+                }
+                closeQuietly(connection);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.db;
+
+import java.util.stream.Stream;
+
+/**
+ * Persistent index of the ids of all of the objects in an OCFL repository. Storage layouts, such as hashed n-tuple,
+ * cannot be reversed, which means that listing the objects in a repository requires walking the entire storage
+ * hierarchy and parsing every inventory. An index allows object ids to be listed without touching storage at all.
+ *
+ * @see ObjectIdIndexBuilder
+ */
+public interface ObjectIdIndex {
+
+    /**
+     * Adds an object id to the index. If the id is already indexed, nothing happens.
+     *
+     * @param objectId the OCFL object id
+     */
+    void addObjectId(String objectId);
+
+    /**
+     * Removes an object id from the index. If the id is not indexed, nothing happens.
+     *
+     * @param objectId the OCFL object id
+     */
+    void removeObjectId(String objectId);
+
+    /**
+     * Returns true if the object id is indexed.
+     *
+     * @param objectId the OCFL object id
+     * @return true if the object id is indexed
+     */
+    boolean containsObjectId(String objectId);
+
+    /**
+     * Returns true if the index does not contain any entries. An empty index has most likely never been built.
+     *
+     * @return true if the index is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns a stream of all of the indexed object ids. The stream MUST be closed when you are done with it.
+     *
+     * @return stream of object ids
+     */
+    Stream<String> streamObjectIds();
+
+    /**
+     * Replaces the contents of the index with the specified object ids. Ids that are added to the index while the
+     * rebuild is in progress must be retained. The stream is consumed but not closed.
+     *
+     * @param objectIds all of the object ids in the repository
+     * @return the number of ids that were indexed
+     */
+    long rebuild(Stream<String> objectIds);
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.db;
+
+import io.ocfl.api.util.Enforce;
+import javax.sql.DataSource;
+
+/**
+ * Constructs {@link ObjectIdIndex} instances
+ */
+public class ObjectIdIndexBuilder {
+
+    private static final String DEFAULT_TABLE_NAME = "ocfl_object_index";
+
+    private DataSource dataSource;
+    private String tableName;
+
+    /**
+     * Sets the DataSource to use for the object id index table. This is a required field.
+     *
+     * @param dataSource the DataSource
+     * @return builder
+     */
+    public ObjectIdIndexBuilder dataSource(DataSource dataSource) {
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the name of the table to use to store object ids. Default: ocfl_object_index
+     *
+     * @param tableName the table name to use
+     * @return builder
+     */
+    public ObjectIdIndexBuilder tableName(String tableName) {
+        this.tableName = tableName;
+        return this;
+    }
+
+    /**
+     * Constructs a new {@link ObjectIdIndex} instance using the given dataSource. If the database does not
+     * already contain an object id index table, it attempts to create one.
+     *
+     * @return ObjectIdIndex
+     */
+    public ObjectIdIndex build() {
+        Enforce.notNull(dataSource, "dataSource cannot be null");
+
+        var resolvedTableName = tableName == null ? DEFAULT_TABLE_NAME : tableName;
+
+        var dbType = DbType.fromDataSource(dataSource);
+        var index = new DbObjectIdIndex(dbType, resolvedTableName, dataSource);
+
+        new TableCreator(dbType, dataSource).createObjectIdIndexTable(resolvedTableName);
+
+        return index;
+    }
+}
@@ -51,6 +51,8 @@ public class TableCreator {
 
     private static final String LOCK_TABLE_FILE = "ocfl_object_lock.ddl.tmpl";
     private static final String OBJECT_DETAILS_TABLE_FILE = "ocfl_object_details.ddl.tmpl";
+    private static final String OBJECT_INDEX_TABLE_FILE = "ocfl_object_index.ddl.tmpl";
+    private static final String CACHE_EVICTION_TABLE_FILE = "ocfl_cache_eviction.ddl.tmpl";
 
     private final Map<DbType, String> dbScriptDir = Map.of(
             DbType.POSTGRES, "db/postgresql",
@@ -73,6 +75,14 @@ public class TableCreator {
         createTable(tableName, OBJECT_DETAILS_TABLE_FILE);
     }
 
+    public void createObjectIdIndexTable(String tableName) {
+        createTable(tableName, OBJECT_INDEX_TABLE_FILE);
+    }
+
+    public void createCacheEvictionTable(String tableName) {
+        createTable(tableName, CACHE_EVICTION_TABLE_FILE);
+    }
+
     private void createTable(String tableName, String fileName) {
         Enforce.notBlank(tableName, "tableName cannot be blank");
         try (var connection = dataSource.getConnection()) {
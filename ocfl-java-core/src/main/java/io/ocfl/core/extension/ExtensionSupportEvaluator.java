@@ -39,8 +39,11 @@ public class ExtensionSupportEvaluator {
 
     private static final Logger LOG = LoggerFactory.getLogger(ExtensionSupportEvaluator.class);
 
-    private static final Set<String> BUILTIN_EXTS =
-            Set.of(OcflConstants.MUTABLE_HEAD_EXT_NAME, OcflConstants.DIGEST_ALGORITHMS_EXT_NAME);
+    private static final Set<String> BUILTIN_EXTS = Set.of(
+            OcflConstants.MUTABLE_HEAD_EXT_NAME,
+            OcflConstants.DIGEST_ALGORITHMS_EXT_NAME,
+            OcflConstants.PURGE_EXT_NAME,
+            OcflConstants.ROLLBACK_EXT_NAME);
 
     private final UnsupportedExtensionBehavior behavior;
     private final Set<String> ignore;
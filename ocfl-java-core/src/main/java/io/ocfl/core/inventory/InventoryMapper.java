@@ -24,6 +24,9 @@
 
 package io.ocfl.core.inventory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.ocfl.api.exception.CorruptObjectException;
@@ -31,11 +34,12 @@ import io.ocfl.api.exception.OcflIOException;
 import io.ocfl.api.model.DigestAlgorithm;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionChanges;
 import io.ocfl.core.model.RevisionNum;
 import io.ocfl.core.path.constraint.ContentPathConstraintProcessor;
 import io.ocfl.core.path.constraint.ContentPathConstraints;
 import io.ocfl.core.util.ObjectMappers;
-import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -43,6 +47,8 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.Collection;
 
 /**
@@ -86,15 +92,58 @@ public class InventoryMapper {
 
     public void write(Path destination, Inventory inventory) {
         try {
-            objectMapper.writeValue(destination.toFile(), inventory);
+            write(new BufferedOutputStream(Files.newOutputStream(destination)), inventory);
         } catch (IOException e) {
             throw new OcflIOException(e);
         }
     }
 
     public void write(OutputStream outputStream, Inventory inventory) {
+        try (var generator = objectMapper.createGenerator(outputStream)) {
+            InventoryWriter.write(generator, inventory);
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
+    }
+
+    /**
+     * Writes the inventory to the stream, and computes the inventory's digest, using the inventory's digest algorithm,
+     * in the same pass. The stream is closed when this method returns.
+     *
+     * @param outputStream the stream to write to
+     * @param inventory the inventory to write
+     * @return the digest of the inventory file
+     */
+    public String writeWithDigest(OutputStream outputStream, Inventory inventory) {
+        var digestAlgorithm = inventory.getDigestAlgorithm();
+        var digestStream = new DigestOutputStream(outputStream, digestAlgorithm.getMessageDigest());
+        write(digestStream, inventory);
+        return digestAlgorithm.encode(digestStream.getMessageDigest().digest());
+    }
+
+    /**
+     * Writes a mutable HEAD revision change record
+     *
+     * @param destination the file to write to
+     * @param changes the change record
+     */
+    public void writeRevisionChanges(Path destination, RevisionChanges changes) {
+        try (var outputStream = new BufferedOutputStream(Files.newOutputStream(destination))) {
+            objectMapper.writeValue(outputStream, changes);
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
+    }
+
+    /**
+     * Reads a mutable HEAD revision change record
+     *
+     * @param inputStream the stream to read from
+     * @return the change record
+     */
+    public RevisionChanges readRevisionChanges(InputStream inputStream) {
         try {
-            objectMapper.writeValue(outputStream, inventory);
+            return objectMapper.readValue(inputStream, RevisionChanges.class);
         } catch (IOException e) {
             throw new OcflIOException(e);
         }
@@ -134,13 +183,34 @@ public class InventoryMapper {
         return readInternal(true, revisionNum, objectRootPath, null, inputStream);
     }
 
+    /**
+     * Reads an inventory, but only includes the state of its head version. The state of every other version is skipped
+     * while parsing, which substantially reduces the cost of reading inventories with many versions. The returned
+     * inventory must only be used for read operations that do not need the object's history. It must not be cached,
+     * used to create new versions, or validated.
+     *
+     * @param objectRootPath the path to the object's root
+     * @param digestAlgorithm the inventory's digest algorithm, or null to not compute its digest
+     * @param inputStream the inventory stream
+     * @return inventory that only contains the head version
+     */
+    public Inventory readHeadVersion(String objectRootPath, DigestAlgorithm digestAlgorithm, InputStream inputStream) {
+        return readInternal(false, null, objectRootPath, digestAlgorithm, inputStream, true);
+    }
+
     private Inventory readInternal(
             boolean mutableHead,
             RevisionNum revisionNum,
             String objectRootPath,
             DigestAlgorithm digestAlgorithm,
             Path path) {
-        return readInternal(mutableHead, revisionNum, objectRootPath, readBytes(path, digestAlgorithm));
+        try (var stream = Files.newInputStream(path)) {
+            return readInternal(mutableHead, revisionNum, objectRootPath, digestAlgorithm, stream, false);
+        } catch (NoSuchFileException e) {
+            throw new CorruptObjectException(String.format("Inventory missing at: %s", path), e);
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
     }
 
     private Inventory readInternal(
@@ -149,20 +219,49 @@ public class InventoryMapper {
             String objectRootPath,
             DigestAlgorithm digestAlgorithm,
             InputStream inputStream) {
-        return readInternal(mutableHead, revisionNum, objectRootPath, readBytes(inputStream, digestAlgorithm));
+        return readInternal(mutableHead, revisionNum, objectRootPath, digestAlgorithm, inputStream, false);
     }
 
+    /**
+     * Parses the inventory directly from the stream while computing its digest, so that the inventory file is never
+     * held in memory in its entirety.
+     */
     private Inventory readInternal(
-            boolean mutableHead, RevisionNum revisionNum, String objectRootPath, ReadResult readResult) {
-        try {
+            boolean mutableHead,
+            RevisionNum revisionNum,
+            String objectRootPath,
+            DigestAlgorithm digestAlgorithm,
+            InputStream inputStream,
+            boolean headOnly) {
+        MessageDigest messageDigest = null;
+        var stream = inputStream;
+
+        if (digestAlgorithm != null) {
+            messageDigest = digestAlgorithm.getMessageDigest();
+            stream = new DigestInputStream(inputStream, messageDigest);
+        }
+
+        try (var parser = objectMapper.getFactory().createParser(stream)) {
+            JsonParser source = parser;
+            if (headOnly) {
+                source = new FilteringParserDelegate(
+                        parser, new HeadVersionFilter(), TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+            }
+
             Inventory inventory = objectMapper
                     .reader(new InjectableValues.Std()
                             .addValue("revisionNum", revisionNum)
                             .addValue("mutableHead", mutableHead)
                             .addValue("objectRootPath", objectRootPath)
-                            .addValue("inventoryDigest", readResult.digest))
+                            .addValue("inventoryDigest", null))
                     .forType(Inventory.class)
-                    .readValue(readResult.bytes);
+                    .readValue(source);
+
+            if (messageDigest != null) {
+                // The parser stops at the end of the root object, so any trailing whitespace must still be digested
+                stream.transferTo(OutputStream.nullOutputStream());
+                inventory = inventory.withInventoryDigest(digestAlgorithm.encode(messageDigest.digest()));
+            }
 
             // Ensure that all content paths are valid to avoid security problems due to malicious inventories
             inventory.getManifest().values().stream()
@@ -175,44 +274,36 @@ public class InventoryMapper {
         }
     }
 
-    private ReadResult readBytes(Path path, DigestAlgorithm digestAlgorithm) {
-        try (var stream = Files.newInputStream(path)) {
-            return readBytes(stream, digestAlgorithm);
-        } catch (NoSuchFileException e) {
-            throw new CorruptObjectException(String.format("Inventory missing at: %s", path), e);
-        } catch (IOException e) {
-            throw new OcflIOException(e);
-        }
-    }
+    /**
+     * Filters out the states of all of the versions other than the head version. The head property precedes the
+     * versions property in inventories that are written by this library. If it does not, all versions are included.
+     */
+    private static class HeadVersionFilter extends TokenFilter {
 
-    private ReadResult readBytes(InputStream stream, DigestAlgorithm digestAlgorithm) {
-        var bufferedStream = new BufferedInputStream(stream);
+        private String head;
 
-        try {
-            byte[] bytes;
-            String digest = null;
-
-            if (digestAlgorithm != null) {
-                var wrapped = new DigestInputStream(bufferedStream, digestAlgorithm.getMessageDigest());
-                bytes = wrapped.readAllBytes();
-                digest = digestAlgorithm.encode(wrapped.getMessageDigest().digest());
-            } else {
-                bytes = bufferedStream.readAllBytes();
+        @Override
+        public TokenFilter includeProperty(String name) {
+            if ("head".equals(name)) {
+                return new TokenFilter() {
+                    @Override
+                    public boolean includeValue(JsonParser p) throws IOException {
+                        head = p.getText();
+                        return true;
+                    }
+                };
+            } else if ("versions".equals(name)) {
+                return new TokenFilter() {
+                    @Override
+                    public TokenFilter includeProperty(String version) {
+                        if (head == null || head.equals(version)) {
+                            return TokenFilter.INCLUDE_ALL;
+                        }
+                        return null;
+                    }
+                };
             }
-
-            return new ReadResult(bytes, digest);
-        } catch (IOException e) {
-            throw new OcflIOException(e);
-        }
-    }
-
-    private static class ReadResult {
-        final byte[] bytes;
-        final String digest;
-
-        public ReadResult(byte[] bytes, String digest) {
-            this.bytes = bytes;
-            this.digest = digest;
+            return TokenFilter.INCLUDE_ALL;
         }
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.inventory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.ocfl.api.model.DigestAlgorithm;
+import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.Version;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes inventories directly to a {@link JsonGenerator}, iterating over the inventory's internal structures rather than
+ * relying on data binding. The manifest and version states are already sorted, and fixity blocks are written in order
+ * of algorithm name, so the output is deterministic.
+ */
+final class InventoryWriter {
+
+    private InventoryWriter() {}
+
+    /**
+     * Writes the inventory as a JSON object.
+     *
+     * @param generator the generator to write to
+     * @param inventory the inventory to write
+     * @throws IOException on write failure
+     */
+    static void write(JsonGenerator generator, Inventory inventory) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeStringField("id", inventory.getId());
+        generator.writeStringField("type", inventory.getType().getId());
+        generator.writeStringField(
+                "digestAlgorithm", inventory.getDigestAlgorithm().getOcflName());
+        generator.writeStringField("head", inventory.getHead().toString());
+        if (inventory.getContentDirectory() != null) {
+            generator.writeStringField("contentDirectory", inventory.getContentDirectory());
+        }
+
+        generator.writeFieldName("fixity");
+        writeFixity(generator, inventory.getFixity());
+
+        generator.writeFieldName("manifest");
+        writePathMap(generator, inventory.getManifest());
+
+        generator.writeObjectFieldStart("versions");
+        for (var entry : inventory.getVersions().entrySet()) {
+            generator.writeFieldName(entry.getKey().toString());
+            writeVersion(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    private static void writeFixity(JsonGenerator generator, Map<DigestAlgorithm, Map<String, Set<String>>> fixity)
+            throws IOException {
+        generator.writeStartObject();
+
+        var algorithms = fixity.keySet().stream()
+                .sorted(Comparator.comparing(DigestAlgorithm::getOcflName))
+                .toArray(DigestAlgorithm[]::new);
+
+        for (var algorithm : algorithms) {
+            generator.writeFieldName(algorithm.getOcflName());
+            writePathMap(generator, fixity.get(algorithm));
+        }
+
+        generator.writeEndObject();
+    }
+
+    private static void writeVersion(JsonGenerator generator, Version version) throws IOException {
+        generator.writeStartObject();
+
+        if (version.getCreated() != null) {
+            generator.writeFieldName("created");
+            generator.writeObject(version.getCreated());
+        }
+        if (version.getMessage() != null) {
+            generator.writeStringField("message", version.getMessage());
+        }
+
+        var user = version.getUser();
+        if (user != null) {
+            generator.writeObjectFieldStart("user");
+            if (user.getName() != null) {
+                generator.writeStringField("name", user.getName());
+            }
+            if (user.getAddress() != null) {
+                generator.writeStringField("address", user.getAddress());
+            }
+            generator.writeEndObject();
+        }
+
+        generator.writeFieldName("state");
+        writePathMap(generator, version.getState());
+
+        generator.writeEndObject();
+    }
+
+    private static void writePathMap(JsonGenerator generator, Map<String, Set<String>> map) throws IOException {
+        generator.writeStartObject();
+
+        for (var entry : map.entrySet()) {
+            generator.writeArrayFieldStart(entry.getKey());
+            for (var path : entry.getValue()) {
+                generator.writeString(path);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.janitor;
+
+import com.google.common.util.concurrent.RateLimiter;
+import io.ocfl.api.exception.OcflIOException;
+import io.ocfl.api.util.Enforce;
+import io.ocfl.core.lock.ObjectLock;
+import io.ocfl.core.storage.OcflStorage;
+import io.ocfl.core.storage.ReclaimResult;
+import io.ocfl.core.storage.filesystem.FileSystemStorage;
+import io.ocfl.core.util.FileUtil;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically deletes directories that were abandoned by writes that failed or were killed before they completed.
+ * These are staging directories in the work directory, version directories that are newer than their object's head
+ * version, and mutable HEAD revision directories that are not referenced by their object's inventory.
+ *
+ * <p>Each run first examines the work directory, and then every object in the repository. Objects are examined
+ * within their write locks, no faster than the configured rate. The janitor never waits for a lock; objects that are
+ * locked by a writer are skipped until the next run. A directory is only deleted if nothing in it was modified within
+ * the configured stale period, so the stale period must be longer than the longest running write. When the repository
+ * is shared by multiple processes, they must use a shared object lock, such as a database lock.
+ *
+ * <p>Every writer must commit within the object's write lock. Optimistic commits do not take the lock, so a janitor
+ * could delete a version or mutable HEAD directory while it is being written, and {@code OcflRepositoryBuilder}
+ * rejects enabling both. Processes that share a repository with a janitor must not use optimistic commits either.
+ *
+ * <p>An object that had nothing left to reclaim is not examined again until either its root inventory changes or the
+ * stale period has passed since it was examined, because anything that was abandoned in it since then is not yet
+ * stale. The inventory digest of every such object is retained in memory between runs.
+ */
+public class Janitor implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Janitor.class);
+
+    // Matches the names of the directories created by FileUtil.createObjectTempDir()
+    private static final Pattern STAGING_DIR = Pattern.compile("^[0-9a-f]{32}-\\d+$");
+
+    private final OcflStorage storage;
+    private final ObjectLock objectLock;
+    private final Path workDir;
+    private final FileSystemStorage workDirStorage;
+    private final JanitorConfig config;
+    private final RateLimiter rateLimiter;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final Map<String, Examined> cleanObjects = new ConcurrentHashMap<>();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong objectsExamined = new AtomicLong();
+    private final AtomicLong objectsSkipped = new AtomicLong();
+    private final AtomicLong objectFailures = new AtomicLong();
+    private final AtomicLong stagingDirsReclaimed = new AtomicLong();
+    private final AtomicLong objectDirsReclaimed = new AtomicLong();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+
+    /**
+     * @param storage the storage layer of the repository to clean up
+     * @param objectLock the object lock of the repository to clean up
+     * @param workDir the work directory of the repository to clean up
+     * @param config janitor configuration
+     */
+    public Janitor(OcflStorage storage, ObjectLock objectLock, Path workDir, JanitorConfig config) {
+        this.storage = Enforce.notNull(storage, "storage cannot be null");
+        this.objectLock = Enforce.notNull(objectLock, "objectLock cannot be null");
+        this.workDir = Enforce.notNull(workDir, "workDir cannot be null");
+        this.config = Enforce.notNull(config, "config cannot be null");
+        this.workDirStorage = new FileSystemStorage(workDir);
+        this.rateLimiter = RateLimiter.create(config.getObjectsPerSecond());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "ocfl-janitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules the janitor to run periodically, starting after the configured initial delay.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(
+                this::runSafely,
+                config.getInitialDelay().toMillis(),
+                config.getInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Examines the work directory and every object in the repository, and deletes abandoned directories. If a run is
+     * already in progress, this method returns immediately.
+     */
+    public void runOnce() {
+        if (!runLock.tryLock()) {
+            LOG.debug("Janitor run skipped because a run is already in progress");
+            return;
+        }
+
+        try {
+            var staleBefore = Instant.now().minus(config.getStaleAfter());
+            var start = System.nanoTime();
+
+            reclaimStagingDirs(staleBefore);
+            reclaimObjectDirs(staleBefore);
+
+            runs.incrementAndGet();
+            LOG.info("Janitor run completed in {}ms: {}", (System.nanoTime() - start) / 1_000_000, getMetrics());
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the janitor's statistics, accumulated across all runs
+     */
+    public JanitorMetrics getMetrics() {
+        return new JanitorMetrics(
+                runs.get(),
+                objectsExamined.get(),
+                objectsSkipped.get(),
+                objectFailures.get(),
+                stagingDirsReclaimed.get(),
+                objectDirsReclaimed.get(),
+                bytesReclaimed.get());
+    }
+
+    /**
+     * Stops scheduling runs and interrupts a run that is in progress.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            LOG.error("Janitor run failed", e);
+        }
+    }
+
+    private void reclaimStagingDirs(Instant staleBefore) {
+        if (Files.notExists(workDir)) {
+            return;
+        }
+
+        List<Path> children;
+        try (var list = Files.list(workDir)) {
+            children = list.collect(Collectors.toList());
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        for (var child : children) {
+            var name = child.getFileName().toString();
+
+            if (closed.get()) {
+                return;
+            }
+            if (!STAGING_DIR.matcher(name).matches() || !Files.isDirectory(child)) {
+                continue;
+            }
+
+            try {
+                var usage = workDirStorage.directoryUsage(name);
+                if (usage == null || !usage.getLastModified().isBefore(staleBefore)) {
+                    continue;
+                }
+
+                LOG.info("Reclaiming abandoned staging directory {} containing {} bytes", child, usage.getBytes());
+                FileUtil.deleteDirectory(child);
+                stagingDirsReclaimed.incrementAndGet();
+                bytesReclaimed.addAndGet(usage.getBytes());
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to reclaim staging directory {}", child, e);
+            }
+        }
+    }
+
+    private void reclaimObjectDirs(Instant staleBefore) {
+        try (var objectIds = storage.listObjectIds()) {
+            var iterator = objectIds.iterator();
+
+            while (iterator.hasNext()
+                    && !closed.get()
+                    && !Thread.currentThread().isInterrupted()) {
+                var objectId = iterator.next();
+
+                try {
+                    reclaimObjectDirs(objectId, staleBefore);
+                } catch (RuntimeException e) {
+                    objectFailures.incrementAndGet();
+                    LOG.warn("Failed to reclaim abandoned directories in object {}", objectId, e);
+                }
+            }
+        }
+    }
+
+    private void reclaimObjectDirs(String objectId, Instant staleBefore) {
+        var digest = storage.loadInventoryDigest(objectId);
+        var previous = cleanObjects.get(objectId);
+
+        if (previous != null && Objects.equals(previous.digest, digest) && previous.examinedAt.isAfter(staleBefore)) {
+            objectsSkipped.incrementAndGet();
+            return;
+        }
+
+        rateLimiter.acquire();
+
+        var examinedAt = Instant.now();
+        var result = new AtomicReference<ReclaimResult>();
+
+        if (!objectLock.tryDoInWriteLock(objectId, () -> result.set(storage.reclaimOrphans(objectId, staleBefore)))) {
+            LOG.debug("Not examining object {} because it is locked", objectId);
+            objectsSkipped.incrementAndGet();
+            return;
+        }
+
+        objectsExamined.incrementAndGet();
+        objectDirsReclaimed.addAndGet(result.get().getDirectories());
+        bytesReclaimed.addAndGet(result.get().getBytes());
+
+        if (digest != null && result.get().getPending() == 0) {
+            cleanObjects.put(objectId, new Examined(digest, examinedAt));
+        } else {
+            cleanObjects.remove(objectId);
+        }
+    }
+
+    /**
+     * The root inventory digest of an object that had nothing left to reclaim, and when it was examined
+     */
+    private static class Examined {
+        private final String digest;
+        private final Instant examinedAt;
+
+        private Examined(String digest, Instant examinedAt) {
+            this.digest = digest;
+            this.examinedAt = examinedAt;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.janitor;
+
+import io.ocfl.api.util.Enforce;
+import java.time.Duration;
+
+/**
+ * Configures how often a {@link Janitor} runs, how old abandoned directories must be before they are reclaimed, and
+ * how quickly it examines objects.
+ */
+public class JanitorConfig {
+
+    private Duration interval;
+    private Duration initialDelay;
+    private Duration staleAfter;
+    private double objectsPerSecond;
+
+    public JanitorConfig() {
+        interval = Duration.ofHours(1);
+        initialDelay = Duration.ofMinutes(5);
+        staleAfter = Duration.ofHours(24);
+        objectsPerSecond = 10;
+    }
+
+    /**
+     * The amount of time between the end of one run and the start of the next. Default: 1 hour.
+     *
+     * @param interval time between runs
+     * @return config
+     */
+    public JanitorConfig setInterval(Duration interval) {
+        Enforce.notNull(interval, "interval cannot be null");
+        this.interval = Enforce.expressionTrue(
+                !interval.isNegative() && !interval.isZero(), interval, "interval must be positive");
+        return this;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * The amount of time to wait before the first run. Default: 5 minutes.
+     *
+     * @param initialDelay time before the first run
+     * @return config
+     */
+    public JanitorConfig setInitialDelay(Duration initialDelay) {
+        Enforce.notNull(initialDelay, "initialDelay cannot be null");
+        this.initialDelay =
+                Enforce.expressionTrue(!initialDelay.isNegative(), initialDelay, "initialDelay cannot be negative");
+        return this;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * The amount of time that must pass after a staging directory or an unreferenced directory in an object was last
+     * modified before it is considered abandoned and is deleted. This must be longer than the longest running write.
+     * Default: 24 hours.
+     *
+     * @param staleAfter minimum age of reclaimed directories
+     * @return config
+     */
+    public JanitorConfig setStaleAfter(Duration staleAfter) {
+        Enforce.notNull(staleAfter, "staleAfter cannot be null");
+        this.staleAfter = Enforce.expressionTrue(!staleAfter.isNegative(), staleAfter, "staleAfter cannot be negative");
+        return this;
+    }
+
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    /**
+     * The maximum number of objects to examine per second. Each object that is examined is locked, and its storage
+     * is listed. Default: 10.
+     *
+     * @param objectsPerSecond maximum objects examined per second
+     * @return config
+     */
+    public JanitorConfig setObjectsPerSecond(double objectsPerSecond) {
+        this.objectsPerSecond =
+                Enforce.expressionTrue(objectsPerSecond > 0, objectsPerSecond, "objectsPerSecond must be positive");
+        return this;
+    }
+
+    public double getObjectsPerSecond() {
+        return objectsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "JanitorConfig{" + "interval="
+                + interval + ", initialDelay="
+                + initialDelay + ", staleAfter="
+                + staleAfter + ", objectsPerSecond="
+                + objectsPerSecond + '}';
+    }
+}
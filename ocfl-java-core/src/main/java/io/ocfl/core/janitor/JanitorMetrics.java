@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.janitor;
+
+/**
+ * Point in time snapshot of a {@link Janitor}'s statistics.
+ */
+public class JanitorMetrics {
+
+    private final long runs;
+    private final long objectsExamined;
+    private final long objectsSkipped;
+    private final long objectFailures;
+    private final long stagingDirsReclaimed;
+    private final long objectDirsReclaimed;
+    private final long bytesReclaimed;
+
+    public JanitorMetrics(
+            long runs,
+            long objectsExamined,
+            long objectsSkipped,
+            long objectFailures,
+            long stagingDirsReclaimed,
+            long objectDirsReclaimed,
+            long bytesReclaimed) {
+        this.runs = runs;
+        this.objectsExamined = objectsExamined;
+        this.objectsSkipped = objectsSkipped;
+        this.objectFailures = objectFailures;
+        this.stagingDirsReclaimed = stagingDirsReclaimed;
+        this.objectDirsReclaimed = objectDirsReclaimed;
+        this.bytesReclaimed = bytesReclaimed;
+    }
+
+    /**
+     * @return the number of completed runs
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the number of objects that were examined
+     */
+    public long getObjectsExamined() {
+        return objectsExamined;
+    }
+
+    /**
+     * @return the number of objects that were not examined, because they were locked by a writer or had not changed
+     * since they were last examined
+     */
+    public long getObjectsSkipped() {
+        return objectsSkipped;
+    }
+
+    /**
+     * @return the number of objects that could not be examined, because they could not be read
+     */
+    public long getObjectFailures() {
+        return objectFailures;
+    }
+
+    /**
+     * @return the number of abandoned staging directories that were deleted from the work directory
+     */
+    public long getStagingDirsReclaimed() {
+        return stagingDirsReclaimed;
+    }
+
+    /**
+     * @return the number of abandoned version and revision directories that were deleted from objects
+     */
+    public long getObjectDirsReclaimed() {
+        return objectDirsReclaimed;
+    }
+
+    /**
+     * @return the total number of bytes in all of the directories that were deleted
+     */
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    @Override
+    public String toString() {
+        return "JanitorMetrics{" + "runs="
+                + runs + ", objectsExamined="
+                + objectsExamined + ", objectsSkipped="
+                + objectsSkipped + ", objectFailures="
+                + objectFailures + ", stagingDirsReclaimed="
+                + stagingDirsReclaimed + ", objectDirsReclaimed="
+                + objectDirsReclaimed + ", bytesReclaimed="
+                + bytesReclaimed + '}';
+    }
+}
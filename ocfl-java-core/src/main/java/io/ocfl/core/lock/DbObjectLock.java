@@ -37,6 +37,9 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +47,13 @@ import org.slf4j.LoggerFactory;
 /**
  * Lock implementation that writes to a DB table to lock a resource. The row is deleted when the lock is released.
  * The lock expires if the row has not been deleted within a configurable period of time.
+ *
+ * <p>While a lock is held, its lease is periodically renewed by updating the row's timestamp, so that the lock does
+ * not expire while the process that holds it is still alive, no matter how long the operation takes. Connections are
+ * only held while the lock is acquired, renewed, or released, so that held locks do not exhaust the connection pool.
+ *
+ * <p>If a lease expires or is lost, {@link HeldLocks#ensureHeld(String)} fails, which the storage layer checks before
+ * it replaces an object's root inventory.
  */
 public class DbObjectLock implements ObjectLock {
 
@@ -57,14 +67,29 @@ public class DbObjectLock implements ObjectLock {
     private final String tableName;
     private final DataSource dataSource;
     private final Duration lockDuration;
+    private final ScheduledThreadPoolExecutor renewalExecutor;
+    private final long renewalIntervalMillis;
 
     private final String createRowLockQuery;
     private final String updateRowLockQuery;
+    private final String renewRowLockQuery;
     private final String deleteRowLockQuery;
 
     private final String duplicateStateCode;
 
     public DbObjectLock(DbType dbType, String tableName, DataSource dataSource, Duration maxLockDuration) {
+        this(dbType, tableName, dataSource, maxLockDuration, true);
+    }
+
+    /**
+     * @param dbType the type of database
+     * @param tableName the name of the lock table
+     * @param dataSource the DataSource
+     * @param maxLockDuration the max amount of time a lock may go without being renewed before it expires
+     * @param leaseRenewal true if held locks should be renewed every third of the max lock duration
+     */
+    public DbObjectLock(
+            DbType dbType, String tableName, DataSource dataSource, Duration maxLockDuration, boolean leaseRenewal) {
         Enforce.notNull(dbType, "dbType cannot be null");
         this.tableName = Enforce.notBlank(tableName, "tableName cannot be blank");
         this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
@@ -73,10 +98,27 @@ public class DbObjectLock implements ObjectLock {
         this.duplicateStateCode =
                 Enforce.notBlank(DUPLICATE_STATE_CODES.get(dbType), "duplicate state code cannot be blank");
 
+        if (leaseRenewal) {
+            this.renewalIntervalMillis = Math.max(1, maxLockDuration.toMillis() / 3);
+            this.renewalExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+                var thread = new Thread(r, "ocfl-lock-renewal");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.renewalExecutor.setRemoveOnCancelPolicy(true);
+            this.renewalExecutor.setKeepAliveTime(1, TimeUnit.MINUTES);
+            this.renewalExecutor.allowCoreThreadTimeOut(true);
+        } else {
+            this.renewalIntervalMillis = 0;
+            this.renewalExecutor = null;
+        }
+
         this.createRowLockQuery =
                 String.format("INSERT INTO %s (object_id, acquired_timestamp) VALUES (?, ?)", tableName);
         this.updateRowLockQuery = String.format(
                 "UPDATE %s SET acquired_timestamp = ? WHERE object_id = ? AND acquired_timestamp <= ?", tableName);
+        this.renewRowLockQuery = String.format(
+                "UPDATE %s SET acquired_timestamp = ? WHERE object_id = ? AND acquired_timestamp = ?", tableName);
         this.deleteRowLockQuery =
                 String.format("DELETE FROM %s WHERE object_id = ? AND acquired_timestamp = ?", tableName);
     }
@@ -97,18 +139,10 @@ public class DbObjectLock implements ObjectLock {
      */
     @Override
     public <T> T doInWriteLock(String objectId, Callable<T> doInLock) {
-        var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        var lease = tryAcquire(objectId);
 
-        try (var connection = dataSource.getConnection()) {
-            if (!createLockRow(objectId, now, connection)) {
-                // Try acquire twice to cover the case where the lock is released when the first UPDATE
-                // was attempted. More retries are possible, but you have to draw the line somewhere.
-                if (!createLockRow(objectId, now, connection)) {
-                    throw failedToAcquireLock(objectId);
-                }
-            }
-        } catch (SQLException e) {
-            throw new OcflDbException(e);
+        if (lease == null) {
+            throw failedToAcquireLock(objectId);
         }
 
         try {
@@ -118,7 +152,54 @@ public class DbObjectLock implements ObjectLock {
         } catch (Exception e) {
             throw new OcflJavaException(e);
         } finally {
-            releaseLock(objectId, now);
+            lease.release();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryDoInWriteLock(String objectId, Runnable doInLock) {
+        var lease = tryAcquire(objectId);
+
+        if (lease == null) {
+            return false;
+        }
+
+        try {
+            doInLock.run();
+            return true;
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Attempts to acquire the lock without waiting.
+     *
+     * @param objectId the id of the object to lock
+     * @return the lock's lease, which must be released, or null if the lock was not acquired
+     */
+    Lease tryAcquire(String objectId) {
+        var timestamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        try (var connection = dataSource.getConnection()) {
+            // Try acquire twice to cover the case where the lock is released when the first UPDATE
+            // was attempted. More retries are possible, but you have to draw the line somewhere.
+            if (createLockRow(objectId, timestamp, connection) || createLockRow(objectId, timestamp, connection)) {
+                var lease = new Lease(objectId, timestamp);
+                if (renewalExecutor != null) {
+                    lease.renewal = renewalExecutor.scheduleAtFixedRate(
+                            lease::renew, renewalIntervalMillis, renewalIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                HeldLocks.add(lease);
+                return lease;
+            }
+
+            return null;
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
         }
     }
 
@@ -154,14 +235,103 @@ public class DbObjectLock implements ObjectLock {
         return new LockException("Failed to acquire lock for object " + objectId);
     }
 
-    private void releaseLock(String objectId, Instant timestamp) {
-        try (var connection = dataSource.getConnection();
-                var statement = connection.prepareStatement(deleteRowLockQuery)) {
+    private void deleteLockRow(String objectId, Instant timestamp, Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement(deleteRowLockQuery)) {
             statement.setString(1, objectId);
             statement.setTimestamp(2, Timestamp.from(timestamp));
             statement.executeUpdate();
-        } catch (SQLException e) {
-            LOG.error("Failed to release lock on object {}", objectId, e);
+        }
+    }
+
+    /**
+     * A held lock
+     */
+    final class Lease {
+
+        private final String objectId;
+        private Instant timestamp;
+        private ScheduledFuture<?> renewal;
+        private boolean released;
+        private boolean lost;
+
+        private Lease(String objectId, Instant timestamp) {
+            this.objectId = objectId;
+            this.timestamp = timestamp;
+        }
+
+        String objectId() {
+            return objectId;
+        }
+
+        /**
+         * Verifies that the lock is still held. A lock is no longer held if a renewal found that another process
+         * acquired it, or if it has not been renewed within the max lock duration.
+         *
+         * @throws LockException if the lock is no longer held
+         */
+        synchronized void ensureHeld() {
+            if (lost || !Instant.now().isBefore(timestamp.plus(lockDuration))) {
+                throw new LockException(String.format(
+                        "The lock on object %s expired before the operation completed. "
+                                + "The object may have been modified by another process.",
+                        objectId));
+            }
+        }
+
+        /**
+         * Extends the lease by updating the lock row's timestamp. If the row no longer has the expected timestamp, then
+         * the lock expired and may have been acquired by another process.
+         */
+        synchronized void renew() {
+            if (released) {
+                return;
+            }
+
+            var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            if (!now.isAfter(timestamp)) {
+                return;
+            }
+
+            try (var connection = dataSource.getConnection();
+                    var statement = connection.prepareStatement(renewRowLockQuery)) {
+                statement.setTimestamp(1, Timestamp.from(now));
+                statement.setString(2, objectId);
+                statement.setTimestamp(3, Timestamp.from(timestamp));
+
+                if (statement.executeUpdate() == 1) {
+                    timestamp = now;
+                } else {
+                    LOG.error("Lost the lock on object {} because it expired before it was renewed", objectId);
+                    lost = true;
+                    if (renewal != null) {
+                        renewal.cancel(false);
+                    }
+                }
+            } catch (SQLException e) {
+                LOG.warn("Failed to renew the lock on object {}", objectId, e);
+            }
+        }
+
+        /**
+         * Releases the lock. It must be called on the thread that acquired the lock.
+         */
+        synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+
+            HeldLocks.remove(this);
+
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+
+            try (var connection = dataSource.getConnection()) {
+                deleteLockRow(objectId, timestamp, connection);
+            } catch (SQLException e) {
+                LOG.error("Failed to release lock on object {}", objectId, e);
+            }
         }
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.lock;
+
+import io.ocfl.api.exception.LockException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks the database lock leases that are held by the current thread, so that code that executes within a lock can
+ * verify that the lock has not expired before it makes a change that other processes observe, such as replacing an
+ * object's root inventory.
+ */
+public final class HeldLocks {
+
+    private static final ThreadLocal<Map<String, DbObjectLock.Lease>> LEASES = ThreadLocal.withInitial(HashMap::new);
+
+    private HeldLocks() {}
+
+    /**
+     * Verifies that the current thread still holds its lock on the object. Nothing is verified if the thread does not
+     * hold a database lock lease on the object, as is the case with in-memory locks and session-scoped database locks.
+     *
+     * @param objectId the id of the object
+     * @throws LockException if the thread's lock on the object expired or was acquired by another process
+     */
+    public static void ensureHeld(String objectId) {
+        var lease = LEASES.get().get(objectId);
+        if (lease != null) {
+            lease.ensureHeld();
+        }
+    }
+
+    static void add(DbObjectLock.Lease lease) {
+        LEASES.get().put(lease.objectId(), lease);
+    }
+
+    static void remove(DbObjectLock.Lease lease) {
+        var leases = LEASES.get();
+        leases.remove(lease.objectId(), lease);
+        if (leases.isEmpty()) {
+            LEASES.remove();
+        }
+    }
+}
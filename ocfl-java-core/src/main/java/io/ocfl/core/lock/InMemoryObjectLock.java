@@ -29,17 +29,19 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import io.ocfl.api.exception.LockException;
 import io.ocfl.api.exception.OcflJavaException;
 import io.ocfl.api.util.Enforce;
+import java.lang.ref.Reference;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * In-memory implementation of ObjectLock that uses Java's ReentrantReadWriteLock.
+ * In-memory implementation of ObjectLock that uses Java's ReentrantReadWriteLock. A thread that holds the write lock
+ * on an object may also acquire its read lock, but a thread that holds the read lock may not upgrade it.
  */
 public class InMemoryObjectLock implements ObjectLock {
 
-    private final Cache<String, ReentrantLock> locks;
+    private final Cache<String, ReentrantReadWriteLock> locks;
     private final long waitTime;
     private final TimeUnit timeUnit;
 
@@ -53,7 +55,7 @@ public class InMemoryObjectLock implements ObjectLock {
         this(Caffeine.newBuilder().weakValues().build(), waitTime, timeUnit);
     }
 
-    InMemoryObjectLock(Cache<String, ReentrantLock> locks, long waitTime, TimeUnit timeUnit) {
+    InMemoryObjectLock(Cache<String, ReentrantReadWriteLock> locks, long waitTime, TimeUnit timeUnit) {
         this.locks = Enforce.notNull(locks, "lock cache cannot be null");
         this.waitTime = Enforce.expressionTrue(waitTime >= 0, waitTime, "waitTime must be at least 0");
         this.timeUnit = Enforce.notNull(timeUnit, "timeUnit cannot be null");
@@ -75,11 +77,56 @@ public class InMemoryObjectLock implements ObjectLock {
      */
     @Override
     public <T> T doInWriteLock(String objectId, Callable<T> doInLock) {
-        var lock = locks.get(objectId, k -> new ReentrantLock());
-        return doInLock(objectId, lock, doInLock);
+        var lock = locks.get(objectId, k -> new ReentrantReadWriteLock());
+        return doInLock(objectId, lock, lock.writeLock(), doInLock);
     }
 
-    private <T> T doInLock(String objectId, Lock lock, Callable<T> doInLock) {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryDoInWriteLock(String objectId, Runnable doInLock) {
+        var lock = locks.get(objectId, k -> new ReentrantReadWriteLock());
+        var writeLock = lock.writeLock();
+
+        if (!writeLock.tryLock()) {
+            return false;
+        }
+
+        try {
+            doInLock.run();
+            return true;
+        } finally {
+            writeLock.unlock();
+            Reference.reachabilityFence(lock);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doInReadLock(String objectId, Runnable doInLock) {
+        doInReadLock(objectId, () -> {
+            doInLock.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T doInReadLock(String objectId, Callable<T> doInLock) {
+        var lock = locks.get(objectId, k -> new ReentrantReadWriteLock());
+        return doInLock(objectId, lock, lock.readLock(), doInLock);
+    }
+
+    /**
+     * The locks are weakly held by the cache, so the outer lock must remain strongly reachable until it is released.
+     * Otherwise, it could be collected while held and a different lock created for the same object.
+     */
+    private <T> T doInLock(String objectId, ReentrantReadWriteLock outerLock, Lock lock, Callable<T> doInLock) {
         try {
             if (lock.tryLock(waitTime, timeUnit)) {
                 try {
@@ -90,6 +137,7 @@ public class InMemoryObjectLock implements ObjectLock {
                     throw new OcflJavaException(e);
                 } finally {
                     lock.unlock();
+                    Reference.reachabilityFence(outerLock);
                 }
             } else {
                 throw new LockException("Failed to acquire lock for object " + objectId);
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.lock;
+
+import java.time.Duration;
+
+/**
+ * Point in time snapshot of an object lock's statistics.
+ */
+public class LockMetrics {
+
+    private static final LockMetrics EMPTY = new LockMetrics(0, 0, Duration.ZERO, Duration.ZERO);
+
+    private final long acquireCount;
+    private final long timeoutCount;
+    private final Duration totalWaitTime;
+    private final Duration maxWaitTime;
+
+    /**
+     * @return metrics with all values set to 0
+     */
+    public static LockMetrics empty() {
+        return EMPTY;
+    }
+
+    public LockMetrics(long acquireCount, long timeoutCount, Duration totalWaitTime, Duration maxWaitTime) {
+        this.acquireCount = acquireCount;
+        this.timeoutCount = timeoutCount;
+        this.totalWaitTime = totalWaitTime;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * @return the number of times a lock was acquired
+     */
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    /**
+     * @return the number of times a lock could not be acquired before the wait time elapsed
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * @return the total amount of time spent waiting to acquire locks, including attempts that timed out
+     */
+    public Duration getTotalWaitTime() {
+        return totalWaitTime;
+    }
+
+    /**
+     * @return the longest amount of time spent waiting to acquire a single lock
+     */
+    public Duration getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * @return the average amount of time spent waiting per lock attempt
+     */
+    public Duration getAverageWaitTime() {
+        var attempts = acquireCount + timeoutCount;
+        if (attempts == 0) {
+            return Duration.ZERO;
+        }
+        return totalWaitTime.dividedBy(attempts);
+    }
+
+    @Override
+    public String toString() {
+        return "LockMetrics{" + "acquireCount="
+                + acquireCount + ", timeoutCount="
+                + timeoutCount + ", totalWaitTime="
+                + totalWaitTime + ", maxWaitTime="
+                + maxWaitTime + '}';
+    }
+}
@@ -24,7 +24,15 @@
 
 package io.ocfl.core.lock;
 
+import io.ocfl.api.exception.LockException;
+import io.ocfl.api.exception.OcflJavaException;
+import io.ocfl.api.util.Enforce;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Extension point that allows the OCFL repository to use any number of different lock implementations so long as they
@@ -51,4 +59,124 @@ public interface ObjectLock {
      * @return object
      */
     <T> T doInWriteLock(String objectId, Callable<T> doInLock);
+
+    /**
+     * Executes the code block only if a write lock on the objectId can be secured without waiting. This is used by
+     * background tasks that should skip objects that are in use rather than compete with writers for them.
+     *
+     * <p>The default implementation calls {@link #doInWriteLock(String, Runnable)}, which may wait, and treats a
+     * failure to acquire the lock as busy. Implementations should override it.
+     *
+     * @param objectId id of the object
+     * @param doInLock block to execute within the lock
+     * @return true if the block was executed, false if the object was already locked
+     */
+    default boolean tryDoInWriteLock(String objectId, Runnable doInLock) {
+        var started = new AtomicBoolean(false);
+        try {
+            doInWriteLock(objectId, () -> {
+                started.set(true);
+                doInLock.run();
+            });
+            return true;
+        } catch (LockException e) {
+            if (started.get()) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Executes the code block after securing a shared read lock on the objectId. Any number of readers may hold the
+     * read lock concurrently, but not while a writer holds the write lock. The lock is released after the block
+     * completes.
+     *
+     * <p>The default implementation executes the block without locking, and should be overridden by implementations
+     * that support shared locks.
+     *
+     * @param objectId id of the object
+     * @param doInLock block to execute within the lock
+     */
+    default void doInReadLock(String objectId, Runnable doInLock) {
+        doInReadLock(objectId, () -> {
+            doInLock.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes the code block after securing a shared read lock on the objectId. Any number of readers may hold the
+     * read lock concurrently, but not while a writer holds the write lock. The lock is released after the block
+     * completes.
+     *
+     * <p>The default implementation executes the block without locking, and should be overridden by implementations
+     * that support shared locks.
+     *
+     * @param objectId id of the object
+     * @param doInLock block to execute within the lock
+     * @param <T> return type
+     * @return object
+     */
+    default <T> T doInReadLock(String objectId, Callable<T> doInLock) {
+        try {
+            return doInLock.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OcflJavaException(e);
+        }
+    }
+
+    /**
+     * Executes the code block after securing write locks on all of the objectIds. The locks are always acquired in
+     * the natural order of the objectIds, so that concurrent batches that share objects cannot deadlock. The locks are
+     * released in the reverse order after the block completes.
+     *
+     * @param objectIds ids of the objects
+     * @param doInLock block to execute within the locks
+     */
+    default void doInWriteLock(Collection<String> objectIds, Runnable doInLock) {
+        doInWriteLock(objectIds, () -> {
+            doInLock.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes the code block after securing write locks on all of the objectIds. The locks are always acquired in
+     * the natural order of the objectIds, so that concurrent batches that share objects cannot deadlock. The locks are
+     * released in the reverse order after the block completes.
+     *
+     * @param objectIds ids of the objects
+     * @param doInLock block to execute within the locks
+     * @param <T> return type
+     * @return object
+     */
+    default <T> T doInWriteLock(Collection<String> objectIds, Callable<T> doInLock) {
+        Enforce.notNull(objectIds, "objectIds cannot be null");
+        return doInWriteLocks(new ArrayList<>(new TreeSet<>(objectIds)), 0, doInLock);
+    }
+
+    private <T> T doInWriteLocks(List<String> sortedIds, int index, Callable<T> doInLock) {
+        if (index == sortedIds.size()) {
+            try {
+                return doInLock.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new OcflJavaException(e);
+            }
+        }
+        return doInWriteLock(sortedIds.get(index), () -> doInWriteLocks(sortedIds, index + 1, doInLock));
+    }
+
+    /**
+     * Returns a snapshot of the lock's statistics. Implementations that do not record statistics return empty metrics.
+     *
+     * @return lock metrics
+     */
+    default LockMetrics getMetrics() {
+        return LockMetrics.empty();
+    }
 }
@@ -43,17 +43,20 @@ public class ObjectLockBuilder {
     private DataSource dataSource;
     private String tableName;
     private Duration maxLockDuration;
+    private boolean waitForDbLock;
+    private boolean leaseRenewal;
 
     public ObjectLockBuilder() {
         waitTime = 10;
         timeUnit = TimeUnit.SECONDS;
         maxLockDuration = Duration.ofHours(1);
+        leaseRenewal = true;
     }
 
     /**
      * Used to override the amount of time the client will wait to obtain an object lock. Default: 10 seconds.
      *
-     * <p>This only applies to in-memory locks
+     * <p>This only applies to in-memory locks, and DB locks when {@link #waitForDbLock(boolean)} is enabled
      *
      * @param waitTime wait time
      * @param timeUnit unit of time
@@ -92,7 +95,8 @@ public class ObjectLockBuilder {
      * Default: 1 hour
      *
      * <p>This only applies for database locks, and is used to avoid permanently locking an object if the process
-     * that acquired the lock dies without releasing the lock. This duration should be fairly generous to allow
+     * that acquired the lock dies without releasing the lock. Held locks are renewed every third of this duration,
+     * unless {@link #leaseRenewal(boolean)} is disabled, in which case it should be fairly generous to allow
      * sufficient time for slow S3 writes.
      *
      * @param maxLockDuration the maximum amount of time a lock may be held for
@@ -103,6 +107,34 @@ public class ObjectLockBuilder {
         return this;
     }
 
+    /**
+     * Configures whether DB locks should periodically renew their leases while they are held. When enabled, a lock
+     * only expires if the process that holds it fails to renew it within the max lock duration, rather than after the
+     * max lock duration has elapsed since it was acquired. Default: true
+     *
+     * @param leaseRenewal true if held DB locks should be renewed
+     * @return builder
+     */
+    public ObjectLockBuilder leaseRenewal(boolean leaseRenewal) {
+        this.leaseRenewal = leaseRenewal;
+        return this;
+    }
+
+    /**
+     * Configures DB locks to wait up to the configured wait time for a lock to become available, rather than failing
+     * immediately if the object is already locked. On PostgreSQL, this uses advisory locks, and on MariaDB, named locks,
+     * both of which grant the lock to waiters in the order that they requested it. On H2, the lock table is polled.
+     * Default: false
+     *
+     * @param waitForDbLock true if DB locks should wait for locks to become available
+     * @return builder
+     * @see WaitingDbObjectLock
+     */
+    public ObjectLockBuilder waitForDbLock(boolean waitForDbLock) {
+        this.waitForDbLock = waitForDbLock;
+        return this;
+    }
+
     /**
      * Constructs a new {@link ObjectLock}. If a DataSource was set, then a DB lock is created; otherwise, an in-memory
      * lock is used.
@@ -123,7 +155,18 @@ public class ObjectLockBuilder {
         var resolvedTableName = tableName == null ? DEFAULT_TABLE_NAME : tableName;
 
         var dbType = DbType.fromDataSource(dataSource);
-        var lock = new DbObjectLock(dbType, resolvedTableName, dataSource, maxLockDuration);
+        ObjectLock lock;
+        if (waitForDbLock) {
+            lock = new WaitingDbObjectLock(
+                    dbType,
+                    resolvedTableName,
+                    dataSource,
+                    maxLockDuration,
+                    Duration.of(waitTime, timeUnit.toChronoUnit()),
+                    leaseRenewal);
+        } else {
+            lock = new DbObjectLock(dbType, resolvedTableName, dataSource, maxLockDuration, leaseRenewal);
+        }
 
         new TableCreator(dbType, dataSource).createObjectLockTable(resolvedTableName);
 
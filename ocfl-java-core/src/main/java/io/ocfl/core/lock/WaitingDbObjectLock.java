@@ -0,0 +1,426 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.lock;
+
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.exception.LockException;
+import io.ocfl.api.exception.OcflDbException;
+import io.ocfl.api.exception.OcflJavaException;
+import io.ocfl.api.util.Enforce;
+import io.ocfl.core.db.DbType;
+import io.ocfl.core.util.DigestUtil;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lock implementation that waits for a DB lock to become available, up to a configurable amount of time, rather than
+ * failing immediately when an object is already locked.
+ *
+ * <ul>
+ *     <li>PostgreSQL: session level advisory locks, {@code pg_advisory_lock}, bounded by {@code lock_timeout}</li>
+ *     <li>MariaDB: named locks, {@code GET_LOCK}</li>
+ *     <li>H2: the same lock rows as {@link DbObjectLock}, which are polled with an exponential backoff</li>
+ * </ul>
+ *
+ * <p>PostgreSQL and MariaDB queue waiters in the order that they requested the lock, and release the lock automatically
+ * if the session that holds it ends. A connection is held for the duration of the lock. The H2 fallback does not
+ * guarantee fair ordering, and relies on the max lock duration to expire locks that were not released.
+ *
+ * <p>Advisory and named locks do not exclude the lock rows that {@link DbObjectLock} uses. So that processes that use
+ * either implementation against the same lock table exclude each other, write locks on PostgreSQL and MariaDB also
+ * acquire the object's lock row once the advisory or named lock is held, waiting for it within the same wait time.
+ *
+ * <p>Read locks are only supported on PostgreSQL, where they are shared advisory locks. On other databases, blocks
+ * executed within a read lock are not locked.
+ */
+public class WaitingDbObjectLock implements ObjectLock {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitingDbObjectLock.class);
+
+    private static final String POSTGRES_LOCK_TIMEOUT_STATE = "55P03";
+    private static final String LOCK_NAME_PREFIX = "ocfl:";
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 500;
+
+    private final DbType dbType;
+    private final DataSource dataSource;
+    private final Duration waitTime;
+    private final DbObjectLock rowLock;
+    private final ThreadLocal<Set<String>> heldWriteLocks;
+
+    private final LongAdder acquireCount;
+    private final LongAdder timeoutCount;
+    private final LongAdder totalWaitNanos;
+    private final AtomicLong maxWaitNanos;
+
+    /**
+     * @param dbType the type of database
+     * @param tableName the name of the lock table
+     * @param dataSource the DataSource
+     * @param maxLockDuration the max amount of time a row lock may be held for
+     * @param waitTime the max amount of time to wait to acquire a lock
+     */
+    public WaitingDbObjectLock(
+            DbType dbType, String tableName, DataSource dataSource, Duration maxLockDuration, Duration waitTime) {
+        this(dbType, tableName, dataSource, maxLockDuration, waitTime, true);
+    }
+
+    /**
+     * @param dbType the type of database
+     * @param tableName the name of the lock table
+     * @param dataSource the DataSource
+     * @param maxLockDuration the max amount of time a row lock may go without being renewed before it expires
+     * @param waitTime the max amount of time to wait to acquire a lock
+     * @param leaseRenewal true if held row locks should be renewed every third of the max lock duration
+     */
+    public WaitingDbObjectLock(
+            DbType dbType,
+            String tableName,
+            DataSource dataSource,
+            Duration maxLockDuration,
+            Duration waitTime,
+            boolean leaseRenewal) {
+        this.dbType = Enforce.notNull(dbType, "dbType cannot be null");
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        this.waitTime = Enforce.notNull(waitTime, "waitTime cannot be null");
+        Enforce.expressionTrue(waitTime.toMillis() > 0, waitTime, "waitTime must be at least 1 millisecond");
+        this.rowLock = new DbObjectLock(dbType, tableName, dataSource, maxLockDuration, leaseRenewal);
+        this.heldWriteLocks = ThreadLocal.withInitial(HashSet::new);
+
+        this.acquireCount = new LongAdder();
+        this.timeoutCount = new LongAdder();
+        this.totalWaitNanos = new LongAdder();
+        this.maxWaitNanos = new AtomicLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doInWriteLock(String objectId, Runnable doInLock) {
+        doInWriteLock(objectId, () -> {
+            doInLock.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T doInWriteLock(String objectId, Callable<T> doInLock) {
+        switch (dbType) {
+            case POSTGRES:
+                return doInAdvisoryLock(objectId, false, doInLock);
+            case MARIADB:
+                return doInNamedLock(objectId, doInLock);
+            default:
+                return doInRowLock(objectId, doInLock);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryDoInWriteLock(String objectId, Runnable doInLock) {
+        switch (dbType) {
+            case POSTGRES:
+                return tryInDbLock(
+                        objectId,
+                        "SELECT pg_try_advisory_lock(?)",
+                        "SELECT pg_advisory_unlock(?)",
+                        advisoryLockKey(objectId),
+                        doInLock);
+            case MARIADB:
+                return tryInDbLock(
+                        objectId, "SELECT GET_LOCK(?, 0)", "SELECT RELEASE_LOCK(?)", namedLockName(objectId), doInLock);
+            default:
+                return rowLock.tryDoInWriteLock(objectId, doInLock);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doInReadLock(String objectId, Runnable doInLock) {
+        doInReadLock(objectId, () -> {
+            doInLock.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T doInReadLock(String objectId, Callable<T> doInLock) {
+        // A session waiting on a shared lock would deadlock with the same thread's exclusive lock on another session
+        if (dbType == DbType.POSTGRES && !heldWriteLocks.get().contains(objectId)) {
+            return doInAdvisoryLock(objectId, true, doInLock);
+        }
+        return call(doInLock);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LockMetrics getMetrics() {
+        return new LockMetrics(
+                acquireCount.sum(),
+                timeoutCount.sum(),
+                Duration.ofNanos(totalWaitNanos.sum()),
+                Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    private <T> T doInAdvisoryLock(String objectId, boolean shared, Callable<T> doInLock) {
+        var key = advisoryLockKey(objectId);
+        var start = System.nanoTime();
+        var suffix = shared ? "_shared" : "";
+
+        try (var connection = dataSource.getConnection()) {
+            var unlockQuery = "SELECT pg_advisory_unlock" + suffix + "(?)";
+            acquireAdvisoryLock(
+                    objectId, key, "SELECT pg_advisory_lock" + suffix + "(?)", unlockQuery, connection, start);
+            var held = !shared && heldWriteLocks.get().add(objectId);
+            try {
+                if (shared) {
+                    recordAcquired(start);
+                    return call(doInLock);
+                }
+                return doInRowLease(objectId, start, doInLock);
+            } finally {
+                if (held) {
+                    heldWriteLocks.get().remove(objectId);
+                }
+                release(connection, unlockQuery, key, objectId);
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private void acquireAdvisoryLock(
+            String objectId, long key, String query, String unlockQuery, Connection connection, long start)
+            throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("SET lock_timeout = " + waitTime.toMillis());
+        }
+
+        try (var statement = connection.prepareStatement(query)) {
+            statement.setLong(1, key);
+            statement.execute();
+        } catch (SQLException e) {
+            RuntimeException failure = POSTGRES_LOCK_TIMEOUT_STATE.equals(e.getSQLState())
+                    ? timedOut(objectId, start)
+                    : new OcflDbException(e);
+            try {
+                resetLockTimeout(connection);
+            } catch (SQLException e1) {
+                failure.addSuppressed(e1);
+            }
+            throw failure;
+        }
+
+        try {
+            resetLockTimeout(connection);
+        } catch (SQLException e) {
+            // the lock was acquired, and must not be left held by a pooled connection
+            release(connection, unlockQuery, key, objectId);
+            throw e;
+        }
+    }
+
+    private void resetLockTimeout(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("RESET lock_timeout");
+        }
+    }
+
+    private <T> T doInNamedLock(String objectId, Callable<T> doInLock) {
+        var name = namedLockName(objectId);
+        var start = System.nanoTime();
+
+        try (var connection = dataSource.getConnection()) {
+            try (var statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+                statement.setString(1, name);
+                statement.setDouble(2, waitTime.toMillis() / 1000.0);
+                try (var rs = statement.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) {
+                        throw timedOut(objectId, start);
+                    }
+                }
+            }
+
+            try {
+                return doInRowLease(objectId, start, doInLock);
+            } finally {
+                release(connection, "SELECT RELEASE_LOCK(?)", name, objectId);
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private boolean tryInDbLock(
+            String objectId, String lockQuery, String unlockQuery, Object lockParam, Runnable doInLock) {
+        try (var connection = dataSource.getConnection()) {
+            try (var statement = connection.prepareStatement(lockQuery)) {
+                statement.setObject(1, lockParam);
+                try (var rs = statement.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+
+            var held = heldWriteLocks.get().add(objectId);
+            try {
+                return rowLock.tryDoInWriteLock(objectId, doInLock);
+            } finally {
+                if (held) {
+                    heldWriteLocks.get().remove(objectId);
+                }
+                release(connection, unlockQuery, lockParam, objectId);
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private <T> T doInRowLock(String objectId, Callable<T> doInLock) {
+        var start = System.nanoTime();
+        var lease = acquireRowLease(objectId, start);
+        recordAcquired(start);
+        try {
+            return call(doInLock);
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Executes the block within the object's lock row, once the advisory or named lock is already held
+     */
+    private <T> T doInRowLease(String objectId, long start, Callable<T> doInLock) {
+        var lease = acquireRowLease(objectId, start);
+        recordAcquired(start);
+        try {
+            return call(doInLock);
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Polls for the object's lock row with an exponential backoff until it is acquired, or the wait time since start
+     * has elapsed.
+     */
+    private DbObjectLock.Lease acquireRowLease(String objectId, long start) {
+        var deadline = start + waitTime.toNanos();
+        var backoff = MIN_BACKOFF_MILLIS;
+
+        while (true) {
+            var lease = rowLock.tryAcquire(objectId);
+
+            if (lease != null) {
+                return lease;
+            }
+
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw timedOut(objectId, start);
+            }
+
+            var sleep = Math.min(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1), remaining / 1_000_000);
+            try {
+                Thread.sleep(Math.max(sleep, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LockException(e);
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private <T> T call(Callable<T> doInLock) {
+        try {
+            return doInLock.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OcflJavaException(e);
+        }
+    }
+
+    private void release(Connection connection, String query, Object param, String objectId) {
+        try (var statement = connection.prepareStatement(query)) {
+            statement.setObject(1, param);
+            statement.execute();
+        } catch (SQLException e) {
+            LOG.error("Failed to release lock on object {}", objectId, e);
+        }
+    }
+
+    private void recordAcquired(long start) {
+        acquireCount.increment();
+        recordWait(start);
+    }
+
+    private LockException timedOut(String objectId, long start) {
+        timeoutCount.increment();
+        recordWait(start);
+        return new LockException(String.format("Failed to acquire lock for object %s within %s", objectId, waitTime));
+    }
+
+    private void recordWait(long start) {
+        var waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    private static long advisoryLockKey(String objectId) {
+        var digest = DigestUtil.computeDigestHex(DigestAlgorithmRegistry.sha256, objectId);
+        return Long.parseUnsignedLong(digest.substring(0, 16), 16);
+    }
+
+    private static String namedLockName(String objectId) {
+        // MariaDB lock names may not exceed 64 characters
+        var digest = DigestUtil.computeDigestHex(DigestAlgorithmRegistry.sha256, objectId);
+        return LOCK_NAME_PREFIX + digest.substring(0, 56);
+    }
+}
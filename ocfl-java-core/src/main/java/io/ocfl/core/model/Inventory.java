@@ -47,6 +47,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * OCFL inventory object. It is intended to be used to encode and decode inventories. Inventories are immutable. Creating
@@ -92,6 +94,17 @@ public class Inventory {
     @JsonIgnore
     private final String inventoryDigest;
 
+    // Only set on mutable HEAD inventories that were assembled from change records
+    @JsonIgnore
+    private final String baseDigest;
+
+    // Only set on inventories that load the states of versions prior to the head version on demand
+    @JsonIgnore
+    private final Function<VersionNum, Map<VersionNum, Version>> versionLoader;
+
+    @JsonIgnore
+    private final Map<VersionNum, Version> loadedVersions;
+
     /**
      * Creates a stub inventory that is useful when creating new objects. It should NOT be persisted.
      *
@@ -180,6 +193,82 @@ public class Inventory {
         this.objectRootPath = Enforce.notBlank(objectRootPath, "objectRootPath cannot be blank");
         this.previousDigest = previousDigest;
         this.inventoryDigest = inventoryDigest;
+        this.baseDigest = null;
+        this.versionLoader = null;
+        this.loadedVersions = null;
+    }
+
+    /**
+     * Creates an inventory that shares the specified fixity and manifest maps. This is used by {@link InventoryBuilder}
+     * to avoid copying structures that have not changed.
+     */
+    Inventory(
+            String id,
+            InventoryType type,
+            DigestAlgorithm digestAlgorithm,
+            VersionNum head,
+            String contentDirectory,
+            Map<DigestAlgorithm, PathBiMap> fixity,
+            PathBiMap manifest,
+            Map<VersionNum, Version> versions,
+            boolean mutableHead,
+            RevisionNum revisionNum,
+            String objectRootPath,
+            String previousDigest,
+            String inventoryDigest) {
+        this.id = Enforce.notBlank(id, "id cannot be blank");
+        this.type = Enforce.notNull(type, "type cannot be null");
+        this.digestAlgorithm = Enforce.notNull(digestAlgorithm, "digestAlgorithm cannot be null");
+        Enforce.expressionTrue(
+                OcflConstants.ALLOWED_DIGEST_ALGORITHMS.contains(digestAlgorithm),
+                digestAlgorithm,
+                "digestAlgorithm must be sha512 or sha256");
+        this.head = Enforce.notNull(head, "head cannot be null");
+        this.contentDirectory = contentDirectory;
+        var fixityCopy = new HashMap<DigestAlgorithm, PathBiMap>();
+        fixity.forEach((algorithm, map) -> fixityCopy.put(algorithm, map.copy()));
+        this.fixityBiMap = Collections.unmodifiableMap(fixityCopy);
+        this.manifestBiMap =
+                Enforce.notNull(manifest, "manifest cannot be null").copy();
+        var tree = new TreeMap<VersionNum, Version>(Comparator.naturalOrder());
+        tree.putAll(versions);
+        this.versions = Collections.unmodifiableMap(tree);
+
+        this.mutableHead = mutableHead;
+        this.revisionNum = revisionNum;
+        this.objectRootPath = Enforce.notBlank(objectRootPath, "objectRootPath cannot be blank");
+        this.previousDigest = previousDigest;
+        this.inventoryDigest = inventoryDigest;
+        this.baseDigest = null;
+        this.versionLoader = null;
+        this.loadedVersions = null;
+    }
+
+    /**
+     * Creates a copy of an inventory with a different digest, base digest, and version loader. The copy shares all of
+     * the original's structures.
+     */
+    private Inventory(
+            Inventory original,
+            String inventoryDigest,
+            String baseDigest,
+            Function<VersionNum, Map<VersionNum, Version>> versionLoader) {
+        this.id = original.id;
+        this.type = original.type;
+        this.digestAlgorithm = original.digestAlgorithm;
+        this.head = original.head;
+        this.contentDirectory = original.contentDirectory;
+        this.fixityBiMap = original.fixityBiMap;
+        this.manifestBiMap = original.manifestBiMap;
+        this.versions = original.versions;
+        this.mutableHead = original.mutableHead;
+        this.revisionNum = original.revisionNum;
+        this.objectRootPath = original.objectRootPath;
+        this.previousDigest = original.previousDigest;
+        this.inventoryDigest = inventoryDigest;
+        this.baseDigest = baseDigest;
+        this.versionLoader = versionLoader;
+        this.loadedVersions = versionLoader == null ? null : new ConcurrentHashMap<>();
     }
 
     /**
@@ -206,6 +295,9 @@ public class Inventory {
         this.objectRootPath = Enforce.notBlank(objectRootPath, "objectRootPath cannot be null");
         this.previousDigest = null;
         this.inventoryDigest = null;
+        this.baseDigest = null;
+        this.versionLoader = null;
+        this.loadedVersions = null;
     }
 
     /**
@@ -217,6 +309,66 @@ public class Inventory {
         return new InventoryBuilder(this);
     }
 
+    /**
+     * Returns a copy of this inventory with the specified inventory digest. Unlike {@link #buildFrom()}, this does not
+     * copy any of the inventory's structures, and is therefore inexpensive for large inventories.
+     *
+     * @param inventoryDigest the digest of the inventory file
+     * @return inventory copy
+     */
+    public Inventory withInventoryDigest(String inventoryDigest) {
+        return new Inventory(this, inventoryDigest, baseDigest, versionLoader);
+    }
+
+    /**
+     * Returns a copy of this mutable HEAD inventory that records the digest of the full inventory that its change
+     * records were applied to. Inventories that are assembled from change records do not have a digest of their own.
+     *
+     * @param baseDigest the digest of the mutable HEAD inventory file
+     * @return inventory copy
+     */
+    public Inventory withBaseDigest(String baseDigest) {
+        return new Inventory(this, inventoryDigest, baseDigest, versionLoader);
+    }
+
+    /**
+     * Returns a copy of this inventory that uses the specified loader to load the states of versions that this
+     * inventory does not contain. This is used to create inventories that only contain the head version's state, and
+     * load the states of prior versions when they are first accessed. The loader returns the state of the requested
+     * version, and may also return the states of any other versions that it read along with it. Loaded versions are
+     * retained by the inventory, and each version is loaded at most once.
+     *
+     * @param versionLoader loads the states of versions, including the one that corresponds to a version number
+     * @return inventory copy
+     */
+    public Inventory withVersionLoader(Function<VersionNum, Map<VersionNum, Version>> versionLoader) {
+        Enforce.notNull(versionLoader, "versionLoader cannot be null");
+        return new Inventory(this, inventoryDigest, baseDigest, versionLoader);
+    }
+
+    /**
+     * Indicates if the states of versions prior to the head version are loaded on demand
+     *
+     * @return true if this inventory loads version states on demand
+     */
+    public boolean hasLazyVersions() {
+        return versionLoader != null;
+    }
+
+    /**
+     * @return the inventory's internal manifest map, which must not be modified
+     */
+    PathBiMap manifestBiMap() {
+        return manifestBiMap;
+    }
+
+    /**
+     * @return the inventory's internal fixity maps, which must not be modified
+     */
+    Map<DigestAlgorithm, PathBiMap> fixityBiMap() {
+        return fixityBiMap;
+    }
+
     /**
      * Same as buildFrom except it moves the current digest to the previous digest and nulls the current digest.
      *
@@ -298,13 +450,43 @@ public class Inventory {
 
     /**
      * A map of version number to the object that describes the state of the object at that version. All versions of
-     * the object are represented here.
+     * the object are represented here. If this inventory loads its versions on demand, calling this method loads all of
+     * them. They are loaded starting with the most recent so that the earlier versions that the loader returns along
+     * with it do not need to be loaded separately.
      *
      * @return version states
      */
     @JsonGetter("versions")
     public Map<VersionNum, Version> getVersions() {
-        return versions;
+        if (versionLoader == null) {
+            return versions;
+        }
+
+        var allVersions = new TreeMap<VersionNum, Version>(Comparator.naturalOrder());
+        for (long i = head.getVersionNum(); i >= 1; i--) {
+            var versionNum = new VersionNum(i, head.getZeroPaddingWidth());
+            allVersions.put(versionNum, getVersion(versionNum));
+        }
+        return Collections.unmodifiableMap(allVersions);
+    }
+
+    /**
+     * The versions whose states are already in memory. This is the same as {@link #getVersions()} unless this
+     * inventory loads its versions on demand, in which case it only contains the versions that were parsed with the
+     * inventory or have since been loaded. Calling this method never loads a version.
+     *
+     * @return the version states that are in memory
+     */
+    @JsonIgnore
+    public Map<VersionNum, Version> getLoadedVersions() {
+        if (versionLoader == null) {
+            return versions;
+        }
+
+        var inMemory = new TreeMap<VersionNum, Version>(Comparator.naturalOrder());
+        inMemory.putAll(loadedVersions);
+        inMemory.putAll(versions);
+        return Collections.unmodifiableMap(inMemory);
     }
 
     /**
@@ -331,7 +513,7 @@ public class Inventory {
      */
     @JsonIgnore
     public Version getHeadVersion() {
-        return versions.get(head);
+        return getVersion(head);
     }
 
     /**
@@ -339,7 +521,31 @@ public class Inventory {
      * @return the version or null if it doesn't exist
      */
     public Version getVersion(VersionNum versionNum) {
-        return versions.get(versionNum);
+        var version = versions.get(versionNum);
+
+        if (version == null && versionLoader != null && versionNum.compareTo(head) < 0) {
+            // Normalize the padding so that the loader can resolve the version's directory
+            var paddedNum = padVersionNum(versionNum);
+            version = loadedVersions.get(paddedNum);
+
+            if (version == null) {
+                synchronized (loadedVersions) {
+                    version = loadedVersions.get(paddedNum);
+                    if (version == null) {
+                        versionLoader
+                                .apply(paddedNum)
+                                .forEach((num, state) -> loadedVersions.putIfAbsent(padVersionNum(num), state));
+                        version = loadedVersions.get(paddedNum);
+                    }
+                }
+            }
+        }
+
+        return version;
+    }
+
+    private VersionNum padVersionNum(VersionNum versionNum) {
+        return new VersionNum(versionNum.getVersionNum(), head.getZeroPaddingWidth());
     }
 
     /**
@@ -511,6 +717,44 @@ public class Inventory {
         return inventoryDigest;
     }
 
+    /**
+     * Returns the digest of the full mutable HEAD inventory that this inventory's change records were applied to, or
+     * null if it was not assembled from change records.
+     *
+     * @return the digest of the full inventory this inventory was assembled from or null
+     */
+    @JsonIgnore
+    public String getBaseDigest() {
+        return baseDigest;
+    }
+
+    /**
+     * Returns a token that identifies the stored state that this inventory was loaded from, and that is compared with
+     * {@link io.ocfl.core.storage.OcflStorage#loadInventoryDigest(String)} to detect changes. It is the inventory's
+     * digest, and, for mutable HEAD inventories, the digest of the last full inventory combined with the revision
+     * number, because change records are written without updating the mutable HEAD sidecar.
+     *
+     * @param digest the digest of the inventory, or of the full mutable HEAD inventory
+     * @param revisionNum the mutable HEAD revision or null
+     * @return the token or null if the digest is null
+     */
+    public static String digestToken(String digest, RevisionNum revisionNum) {
+        if (digest == null || revisionNum == null) {
+            return digest;
+        }
+        return digest + "/" + revisionNum;
+    }
+
+    /**
+     * @return the token that identifies the stored state this inventory was loaded from, or null if it's not known
+     * @see #digestToken(String, RevisionNum)
+     */
+    @JsonIgnore
+    public String getDigestToken() {
+        var digest = inventoryDigest != null ? inventoryDigest : baseDigest;
+        return digestToken(digest, mutableHead ? revisionNum : null);
+    }
+
     /**
      * Returns the next version number after the current HEAD version. If the object has a mutable HEAD, the current version
      * is returned.
@@ -686,21 +930,62 @@ public class Inventory {
             this.inventoryDigest = inventoryDigest;
         }
 
+        /**
+         * Builds the inventory. Deserialized inventories repeat the same digests and paths in the manifest, fixity
+         * block, and every version state, so all of these strings are replaced with a single shared instance.
+         *
+         * @return inventory
+         */
         public Inventory build() {
+            var strings = new HashMap<String, String>();
+            Function<String, String> canonicalizer = value -> {
+                var existing = strings.putIfAbsent(value, value);
+                return existing == null ? value : existing;
+            };
+
+            var compactManifest = manifest == null ? null : compact(manifest, canonicalizer);
+
+            Map<DigestAlgorithm, Map<String, Set<String>>> compactFixity = null;
+            if (fixity != null) {
+                compactFixity = new HashMap<>(fixity.size());
+                for (var entry : fixity.entrySet()) {
+                    compactFixity.put(entry.getKey(), compact(entry.getValue(), canonicalizer));
+                }
+            }
+
+            Map<VersionNum, Version> compactVersions = null;
+            if (versions != null) {
+                compactVersions = new HashMap<>(versions.size());
+                for (var entry : versions.entrySet()) {
+                    compactVersions.put(entry.getKey(), entry.getValue().compact(canonicalizer));
+                }
+            }
+
             return new Inventory(
                     id,
                     type,
                     digestAlgorithm,
                     head,
                     contentDirectory,
-                    fixity,
-                    manifest,
-                    versions,
+                    compactFixity,
+                    compactManifest,
+                    compactVersions,
                     mutableHead,
                     revisionNum,
                     objectRootPath,
                     previousDigest,
                     inventoryDigest);
         }
+
+        private static Map<String, Set<String>> compact(
+                Map<String, Set<String>> map, Function<String, String> canonicalizer) {
+            var compacted = new HashMap<String, Set<String>>(map.size());
+            map.forEach((fileId, paths) -> {
+                var canonicalPaths = new HashSet<String>(paths.size());
+                paths.forEach(path -> canonicalPaths.add(canonicalizer.apply(path)));
+                compacted.put(canonicalizer.apply(fileId), canonicalPaths);
+            });
+            return compacted;
+        }
     }
 }
@@ -84,8 +84,9 @@ public class InventoryBuilder {
         this.mutableHead = original.hasMutableHead();
         this.revisionNum = original.getRevisionNum();
         this.objectRootPath = original.getObjectRootPath();
-        this.fixity = fixityToBiMap(original.getFixity());
-        this.manifest = PathBiMap.fromFileIdMap(original.getManifest());
+        this.fixity = new HashMap<>();
+        original.fixityBiMap().forEach((algorithm, map) -> fixity.put(algorithm, map.copy()));
+        this.manifest = original.manifestBiMap().copy();
         this.versions = new HashMap<>(original.getVersions());
         this.previousDigest = original.getPreviousDigest();
         this.inventoryDigest = original.getInventoryDigest();
@@ -321,8 +322,8 @@ public class InventoryBuilder {
                 digestAlgorithm,
                 head,
                 contentDirectory,
-                fixityFromBiMap(),
-                manifest.getFileIdToPaths(),
+                fixity,
+                manifest,
                 versions,
                 mutableHead,
                 revisionNum,
@@ -404,14 +405,4 @@ public class InventoryBuilder {
     public InventoryType getType() {
         return type;
     }
-
-    private Map<DigestAlgorithm, Map<String, Set<String>>> fixityFromBiMap() {
-        var transformed = new HashMap<DigestAlgorithm, Map<String, Set<String>>>();
-
-        fixity.forEach((algorithm, map) -> {
-            transformed.put(algorithm, map.getFileIdToPaths());
-        });
-
-        return transformed;
-    }
 }
@@ -31,17 +31,28 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 /**
  * BiDirection map implementation that focuses on OCFL structures. FileIds are digest values and are case insensitive.
  * A single fileId can map to many paths, but a single path can only map to one fileId.
+ *
+ * <p>Nearly every fileId maps to a single path, so single paths are stored in compact immutable sets, and sorted sets
+ * are only allocated for fileIds with multiple paths. The sets returned by this class must not be modified.
+ *
+ * <p>Copies created by {@link #copy()} share their underlying maps with the original until either of them is modified,
+ * at which point the modified map makes its own copy. This allows inventories and versions that are derived from
+ * existing ones to reuse the structures that they do not change.
  */
 public class PathBiMap {
 
-    private final Map<String, Set<String>> fileIdToPaths;
-    private final Map<String, String> pathToFileId;
+    private Map<String, Set<String>> fileIdToPaths;
+    private Map<String, String> pathToFileId;
+    private boolean shared;
 
     /**
      * Constructs a new PathBiMap from an existing map of fileIds to paths.
@@ -66,6 +77,23 @@ public class PathBiMap {
         pathToFileId = new HashMap<>();
     }
 
+    private PathBiMap(PathBiMap original) {
+        fileIdToPaths = original.fileIdToPaths;
+        pathToFileId = original.pathToFileId;
+        shared = true;
+        original.shared = true;
+    }
+
+    /**
+     * Returns a copy of this map that shares its underlying structures with this map. The structures are only copied
+     * when either map is modified.
+     *
+     * @return copy of this map
+     */
+    public PathBiMap copy() {
+        return new PathBiMap(this);
+    }
+
     /**
      * Indicates if the specified fileId is in the map
      *
@@ -93,9 +121,21 @@ public class PathBiMap {
      * @param path path
      */
     public void put(String fileId, String path) {
-        fileIdToPaths
-                .computeIfAbsent(fileId, k -> new TreeSet<>(Comparator.naturalOrder()))
-                .add(path);
+        ensureNotShared();
+
+        var paths = fileIdToPaths.get(fileId);
+
+        if (paths == null) {
+            fileIdToPaths.put(fileId, Set.of(path));
+        } else if (paths instanceof TreeSet) {
+            paths.add(path);
+        } else if (!paths.contains(path)) {
+            var expanded = new TreeSet<String>(Comparator.naturalOrder());
+            expanded.addAll(paths);
+            expanded.add(path);
+            fileIdToPaths.put(fileId, expanded);
+        }
+
         pathToFileId.put(path, fileId);
     }
 
@@ -126,6 +166,8 @@ public class PathBiMap {
      * @return the fileId of the path that was removed or null
      */
     public String removePath(String path) {
+        ensureNotShared();
+
         var fileId = pathToFileId.remove(path);
 
         if (fileId != null) {
@@ -133,7 +175,7 @@ public class PathBiMap {
             if (paths != null) {
                 if (paths.size() == 1 && paths.contains(path)) {
                     fileIdToPaths.remove(fileId);
-                } else {
+                } else if (paths instanceof TreeSet) {
                     paths.remove(path);
                 }
             }
@@ -149,6 +191,8 @@ public class PathBiMap {
      * @return the associated paths
      */
     public Set<String> removeFileId(String fileId) {
+        ensureNotShared();
+
         var paths = fileIdToPaths.remove(fileId);
 
         if (paths == null) {
@@ -160,6 +204,24 @@ public class PathBiMap {
         return paths;
     }
 
+    /**
+     * Returns a copy of this map that uses the canonical instances of its fileIds and paths. This is used to share
+     * string instances between the maps of an inventory, where the same digests and paths are repeated many times.
+     *
+     * @param canonicalizer function that returns the canonical instance of a string
+     * @return compacted copy
+     */
+    public PathBiMap compact(Function<String, String> canonicalizer) {
+        var compacted = new PathBiMap();
+
+        fileIdToPaths.forEach((fileId, paths) -> {
+            var canonicalFileId = canonicalizer.apply(fileId);
+            paths.forEach(path -> compacted.put(canonicalFileId, canonicalizer.apply(path)));
+        });
+
+        return compacted;
+    }
+
     /**
      * Returns an immutable view of the PathBiMap, mapping fileIds to paths.
      *
@@ -178,6 +240,25 @@ public class PathBiMap {
         return Collections.unmodifiableMap(pathToFileId);
     }
 
+    /**
+     * Copies the underlying structures if they are shared with another map, so that they can be modified. Multi-path sets
+     * are copied because they are modified in place. Single path sets are immutable and are shared.
+     */
+    private void ensureNotShared() {
+        if (shared) {
+            var fileIdsCopy = new TreeMap<>((SortedMap<String, Set<String>>) fileIdToPaths);
+            fileIdsCopy.replaceAll((fileId, paths) -> {
+                if (paths instanceof TreeSet) {
+                    return new TreeSet<>((SortedSet<String>) paths);
+                }
+                return paths;
+            });
+            fileIdToPaths = fileIdsCopy;
+            pathToFileId = new HashMap<>(pathToFileId);
+            shared = false;
+        }
+    }
+
     @Override
     public String toString() {
         return "PathBiMap{" + "fileIdToPaths=" + fileIdToPaths + '}';
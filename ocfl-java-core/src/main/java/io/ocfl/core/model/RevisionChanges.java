@@ -0,0 +1,330 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.util.Enforce;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The changes that a mutable HEAD revision made to the inventory of the revision before it. Change records are
+ * written in place of the full mutable HEAD inventory, and are applied to the last inventory that was written in full
+ * to reconstruct the current inventory.
+ */
+@JsonPropertyOrder({
+    "revision",
+    "created",
+    "message",
+    "user",
+    "removedContentPaths",
+    "manifest",
+    "fixity",
+    "removedPaths",
+    "state"
+})
+public class RevisionChanges {
+
+    private final RevisionNum revisionNum;
+    private final OffsetDateTime created;
+    private final String message;
+    private final User user;
+    private final Set<String> removedContentPaths;
+    private final Map<String, String> manifest;
+    private final Map<String, Map<String, String>> fixity;
+    private final Set<String> removedPaths;
+    private final Map<String, String> state;
+
+    /**
+     * Computes the changes that were made to the previous inventory to produce the current inventory. The head
+     * version of both inventories must be the same mutable HEAD version.
+     *
+     * @param previous the inventory of the previous revision
+     * @param current the inventory of the new revision
+     * @return the changes
+     */
+    public static RevisionChanges between(Inventory previous, Inventory current) {
+        Enforce.notNull(previous, "previous cannot be null");
+        Enforce.notNull(current, "current cannot be null");
+        Enforce.expressionTrue(current.hasMutableHead(), current, "current must have a mutable HEAD");
+        Enforce.expressionTrue(
+                Objects.equals(previous.getHead(), current.getHead()),
+                current.getHead(),
+                "previous and current must have the same HEAD version");
+
+        var previousManifest = previous.manifestBiMap().getPathToFileId();
+        var currentManifest = current.manifestBiMap().getPathToFileId();
+        var removedContentPaths = removedKeys(previousManifest, currentManifest);
+        var manifest = changedEntries(previousManifest, currentManifest);
+
+        var previousFixity = fixityByContentPath(previous);
+        var currentFixity = fixityByContentPath(current);
+        var fixity = new TreeMap<String, Map<String, String>>();
+        currentFixity.forEach((contentPath, values) -> {
+            if (!values.equals(previousFixity.get(contentPath))) {
+                fixity.put(contentPath, values);
+            }
+        });
+        previousFixity.keySet().forEach(contentPath -> {
+            // Fixity that was removed from a file that is still in the manifest is recorded as an empty entry
+            if (!currentFixity.containsKey(contentPath) && currentManifest.containsKey(contentPath)) {
+                fixity.put(contentPath, Map.of());
+            }
+        });
+
+        var previousState = previous.getHeadVersion().stateBiMap().getPathToFileId();
+        var currentState = current.getHeadVersion().stateBiMap().getPathToFileId();
+        var removedPaths = removedKeys(previousState, currentState);
+        var state = changedEntries(previousState, currentState);
+
+        var headVersion = current.getHeadVersion();
+
+        return new RevisionChanges(
+                current.getRevisionNum(),
+                headVersion.getCreated(),
+                headVersion.getMessage(),
+                headVersion.getUser(),
+                removedContentPaths,
+                manifest,
+                fixity,
+                removedPaths,
+                state);
+    }
+
+    @JsonCreator
+    public RevisionChanges(
+            @JsonProperty("revision") RevisionNum revisionNum,
+            @JsonProperty("created") OffsetDateTime created,
+            @JsonProperty("message") String message,
+            @JsonProperty("user") User user,
+            @JsonProperty("removedContentPaths") Set<String> removedContentPaths,
+            @JsonProperty("manifest") Map<String, String> manifest,
+            @JsonProperty("fixity") Map<String, Map<String, String>> fixity,
+            @JsonProperty("removedPaths") Set<String> removedPaths,
+            @JsonProperty("state") Map<String, String> state) {
+        this.revisionNum = Enforce.notNull(revisionNum, "revisionNum cannot be null");
+        this.created = Enforce.notNull(created, "created cannot be null");
+        this.message = message;
+        this.user = user;
+        this.removedContentPaths = emptyIfNull(removedContentPaths);
+        this.manifest = emptyIfNull(manifest);
+        this.fixity = emptyIfNull(fixity);
+        this.removedPaths = emptyIfNull(removedPaths);
+        this.state = emptyIfNull(state);
+    }
+
+    /**
+     * Applies the changes to the inventory of the previous revision. The returned inventory does not have an inventory
+     * digest, because it was not read from a serialized inventory.
+     *
+     * @param previous the inventory of the previous revision
+     * @return the inventory of this revision
+     */
+    public Inventory applyTo(Inventory previous) {
+        return applyAll(previous, List.of(this));
+    }
+
+    /**
+     * Applies the changes of consecutive revisions, in order, to the inventory of the revision that precedes them. The
+     * inventory is only copied once, rather than once per revision. The returned inventory does not have an inventory
+     * digest, because it was not read from a serialized inventory.
+     *
+     * @param previous the inventory of the revision that precedes the changes
+     * @param changes the changes of each revision, in revision order
+     * @return the inventory of the last revision
+     */
+    public static Inventory applyAll(Inventory previous, List<RevisionChanges> changes) {
+        Enforce.notNull(previous, "previous cannot be null");
+        Enforce.notNull(changes, "changes cannot be null");
+        Enforce.expressionTrue(previous.hasMutableHead(), previous, "previous must have a mutable HEAD");
+
+        if (changes.isEmpty()) {
+            return previous;
+        }
+
+        var builder = previous.buildFrom();
+        var versionBuilder = new VersionBuilder(previous.getHeadVersion());
+
+        for (var change : changes) {
+            change.applyTo(builder, versionBuilder);
+        }
+
+        return builder.putVersion(previous.getHead(), versionBuilder.build())
+                .revisionNum(changes.get(changes.size() - 1).revisionNum)
+                .inventoryDigest(null)
+                .build();
+    }
+
+    private void applyTo(InventoryBuilder builder, VersionBuilder versionBuilder) {
+        removedContentPaths.forEach(builder::removeContentPath);
+        manifest.forEach((contentPath, fileId) -> builder.addFileToManifest(fileId, contentPath));
+        fixity.forEach((contentPath, values) -> {
+            builder.removeContentPathFromFixity(contentPath);
+            values.forEach((algorithm, value) ->
+                    builder.addFixityForFile(contentPath, DigestAlgorithmRegistry.getAlgorithm(algorithm), value));
+        });
+
+        versionBuilder.created(created).message(message).user(user);
+        removedPaths.forEach(versionBuilder::removeLogicalPath);
+        state.forEach((logicalPath, fileId) -> {
+            versionBuilder.removeLogicalPath(logicalPath);
+            versionBuilder.addFile(fileId, logicalPath);
+        });
+    }
+
+    /**
+     * @return the revision that made the changes
+     */
+    @JsonGetter("revision")
+    public RevisionNum getRevisionNum() {
+        return revisionNum;
+    }
+
+    /**
+     * @return the timestamp of the revision
+     */
+    @JsonGetter("created")
+    public OffsetDateTime getCreated() {
+        return created;
+    }
+
+    /**
+     * @return the version message of the revision
+     */
+    @JsonGetter("message")
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the user that made the revision
+     */
+    @JsonGetter("user")
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * @return content paths that were removed from the manifest and fixity block
+     */
+    @JsonGetter("removedContentPaths")
+    public Set<String> getRemovedContentPaths() {
+        return removedContentPaths;
+    }
+
+    /**
+     * @return map of content paths to the fileIds of files that were added to the manifest
+     */
+    @JsonGetter("manifest")
+    public Map<String, String> getManifest() {
+        return manifest;
+    }
+
+    /**
+     * @return map of content paths to the complete fixity of the files whose fixity changed, keyed on algorithm name
+     */
+    @JsonGetter("fixity")
+    public Map<String, Map<String, String>> getFixity() {
+        return fixity;
+    }
+
+    /**
+     * @return logical paths that were removed from the head version's state
+     */
+    @JsonGetter("removedPaths")
+    public Set<String> getRemovedPaths() {
+        return removedPaths;
+    }
+
+    /**
+     * @return map of logical paths to fileIds that were added to or changed in the head version's state
+     */
+    @JsonGetter("state")
+    public Map<String, String> getState() {
+        return state;
+    }
+
+    private static Set<String> removedKeys(Map<String, String> previous, Map<String, String> current) {
+        var removed = new TreeSet<String>();
+        previous.forEach((key, value) -> {
+            if (!value.equals(current.get(key))) {
+                removed.add(key);
+            }
+        });
+        return removed;
+    }
+
+    private static Map<String, String> changedEntries(Map<String, String> previous, Map<String, String> current) {
+        var changed = new TreeMap<String, String>();
+        current.forEach((key, value) -> {
+            if (!value.equals(previous.get(key))) {
+                changed.put(key, value);
+            }
+        });
+        return changed;
+    }
+
+    private static Map<String, Map<String, String>> fixityByContentPath(Inventory inventory) {
+        var fixity = new HashMap<String, Map<String, String>>();
+        inventory.fixityBiMap().forEach((algorithm, map) -> {
+            map.getPathToFileId().forEach((contentPath, value) -> {
+                fixity.computeIfAbsent(contentPath, k -> new TreeMap<>()).put(algorithm.getOcflName(), value);
+            });
+        });
+        return fixity;
+    }
+
+    private static <T> Set<T> emptyIfNull(Set<T> set) {
+        return set == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(set));
+    }
+
+    private static <K, V> Map<K, V> emptyIfNull(Map<K, V> map) {
+        return map == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    @Override
+    public String toString() {
+        return "RevisionChanges{" + "revisionNum="
+                + revisionNum + ", created="
+                + created + ", removedContentPaths="
+                + removedContentPaths.size() + ", manifest="
+                + manifest.size() + ", fixity="
+                + fixity.size() + ", removedPaths="
+                + removedPaths.size() + ", state="
+                + state.size() + '}';
+    }
+}
@@ -24,6 +24,8 @@
 
 package io.ocfl.core.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import io.ocfl.api.exception.InvalidVersionException;
 import io.ocfl.api.util.Enforce;
 import java.util.Objects;
@@ -46,6 +48,7 @@ public class RevisionNum implements Comparable<RevisionNum> {
         return VALID_REVISION.matcher(value).matches();
     }
 
+    @JsonCreator
     public static RevisionNum fromString(String value) {
         if (!VALID_REVISION.matcher(value).matches()) {
             throw new InvalidVersionException("Invalid RevisionNum: " + value);
@@ -66,6 +69,13 @@ public class RevisionNum implements Comparable<RevisionNum> {
         maxRevision = Long.MAX_VALUE;
     }
 
+    /**
+     * @return the numeric part of the revision number
+     */
+    public long getRevisionNum() {
+        return revisionNumber;
+    }
+
     /**
      * @return a new RevisionNum with an incremented revision number
      */
@@ -106,6 +116,7 @@ public class RevisionNum implements Comparable<RevisionNum> {
         return Objects.hash(stringValue);
     }
 
+    @JsonValue
     @Override
     public String toString() {
         return stringValue;
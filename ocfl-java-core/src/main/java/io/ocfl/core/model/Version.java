@@ -34,6 +34,7 @@ import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * OCFL version object. A Version describes the state of an object at a particular point in time. Versions are immutable.
@@ -78,6 +79,33 @@ public class Version {
         this.stateBiMap = PathBiMap.fromFileIdMap(state);
     }
 
+    /**
+     * Creates a version that uses the specified state map directly.
+     */
+    Version(OffsetDateTime created, String message, User user, PathBiMap stateBiMap) {
+        this.created = Enforce.notNull(created, "created cannot be null");
+        this.message = message;
+        this.user = user;
+        this.stateBiMap = stateBiMap;
+    }
+
+    /**
+     * @return the version's internal state map, which must not be modified
+     */
+    PathBiMap stateBiMap() {
+        return stateBiMap;
+    }
+
+    /**
+     * Returns a copy of this version that uses the canonical instances of the strings in its state.
+     *
+     * @param canonicalizer function that returns the canonical instance of a string
+     * @return compacted copy
+     */
+    Version compact(Function<String, String> canonicalizer) {
+        return new Version(created, message, user, stateBiMap.compact(canonicalizer));
+    }
+
     /**
      * @return the timestamp when this version of the object was created.
      */
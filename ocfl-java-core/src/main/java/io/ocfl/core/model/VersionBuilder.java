@@ -53,7 +53,7 @@ public class VersionBuilder {
      */
     public VersionBuilder(Version original) {
         Enforce.notNull(original, "version cannot be null");
-        state = PathBiMap.fromFileIdMap(original.getState());
+        state = original.stateBiMap().copy();
     }
 
     /**
@@ -111,7 +111,7 @@ public class VersionBuilder {
      * @return a new Version
      */
     public Version build() {
-        return new Version(created, message, user, state.getFileIdToPaths());
+        return new Version(created, message, user, state.copy());
     }
 
     /**
@@ -24,6 +24,7 @@
 
 package io.ocfl.core.storage;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.ocfl.api.OcflFileRetriever;
 import io.ocfl.api.exception.ObjectOutOfSyncException;
 import io.ocfl.api.model.ObjectVersionId;
@@ -32,23 +33,148 @@ import io.ocfl.api.model.ValidationResults;
 import io.ocfl.api.model.VersionNum;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.cache.Cache;
+import io.ocfl.core.cache.CacheInvalidationChannel;
+import io.ocfl.core.cache.CacheInvalidationListener;
 import io.ocfl.core.extension.OcflExtensionConfig;
 import io.ocfl.core.model.Inventory;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Adds an Inventory caching layer on top of an OcflStorage implementation.
+ * <p>
+ * When a {@link CacheInvalidationChannel} is provided, changes made by this process are published to it, and cached
+ * inventories are evicted when other processes report that an object changed. An inventory is only evicted when its
+ * digest differs from the reported digest.
+ * <p>
+ * When a refresh interval is configured, cached inventories that have not been validated within the interval are still
+ * returned immediately, but are revalidated in the background. Revalidation only reads the inventory's sidecar digest,
+ * and reloads the inventory if the digest changed. Cached inventories that have not been validated within the expiry
+ * interval, because background revalidation failed or could not keep up, are revalidated before they are returned.
  */
 public class CachingOcflStorage extends AbstractOcflStorage {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CachingOcflStorage.class);
+
+    private static final int DEFAULT_EXPIRE_AFTER_REFRESHES = 10;
+
     private final Cache<String, Inventory> inventoryCache;
     private final OcflStorage delegate;
+    private final CacheInvalidationChannel invalidationChannel;
+
+    private final ExecutorService refreshExecutor;
+    // maps the ids of objects whose cached inventories were validated within the expiry interval to the
+    // System.nanoTime()
+    // of their validation
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> validated;
+    private final long refreshAfterNanos;
+    private final Set<String> refreshing;
 
     public CachingOcflStorage(Cache<String, Inventory> inventoryCache, OcflStorage delegate) {
+        this(inventoryCache, delegate, null);
+    }
+
+    /**
+     * @param inventoryCache the inventory cache
+     * @param delegate the storage to cache
+     * @param invalidationChannel the channel used to share invalidations with other processes, may be null
+     */
+    public CachingOcflStorage(
+            Cache<String, Inventory> inventoryCache,
+            OcflStorage delegate,
+            CacheInvalidationChannel invalidationChannel) {
+        this(inventoryCache, delegate, invalidationChannel, null, null);
+    }
+
+    /**
+     * @param inventoryCache the inventory cache
+     * @param delegate the storage to cache
+     * @param invalidationChannel the channel used to share invalidations with other processes, may be null
+     * @param refreshAfter how long a cached inventory is served before it is revalidated in the background, may be
+     *                     null to disable background revalidation
+     * @param refreshExecutor the executor that revalidates inventories, required if refreshAfter is set. It is shut
+     *                        down when this storage is closed.
+     */
+    public CachingOcflStorage(
+            Cache<String, Inventory> inventoryCache,
+            OcflStorage delegate,
+            CacheInvalidationChannel invalidationChannel,
+            Duration refreshAfter,
+            ExecutorService refreshExecutor) {
+        this(
+                inventoryCache,
+                delegate,
+                invalidationChannel,
+                refreshAfter,
+                refreshAfter == null ? null : refreshAfter.multipliedBy(DEFAULT_EXPIRE_AFTER_REFRESHES),
+                refreshExecutor);
+    }
+
+    /**
+     * @param inventoryCache the inventory cache
+     * @param delegate the storage to cache
+     * @param invalidationChannel the channel used to share invalidations with other processes, may be null
+     * @param refreshAfter how long a cached inventory is served before it is revalidated in the background, may be
+     *                     null to disable background revalidation
+     * @param expireAfter how long a cached inventory may be served without being validated, at most. Once exceeded,
+     *                    the inventory is revalidated before it is returned. Must be at least refreshAfter, and is
+     *                    ignored if refreshAfter is null.
+     * @param refreshExecutor the executor that revalidates inventories, required if refreshAfter is set. It is shut
+     *                        down when this storage is closed.
+     */
+    public CachingOcflStorage(
+            Cache<String, Inventory> inventoryCache,
+            OcflStorage delegate,
+            CacheInvalidationChannel invalidationChannel,
+            Duration refreshAfter,
+            Duration expireAfter,
+            ExecutorService refreshExecutor) {
         this.inventoryCache = Enforce.notNull(inventoryCache, "inventoryCache cannot be null");
         this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+        this.invalidationChannel = invalidationChannel;
+
+        if (refreshAfter != null) {
+            Enforce.expressionTrue(
+                    !refreshAfter.isNegative() && !refreshAfter.isZero(),
+                    refreshAfter,
+                    "refreshAfter must be positive");
+            Enforce.notNull(expireAfter, "expireAfter cannot be null");
+            Enforce.expressionTrue(
+                    expireAfter.compareTo(refreshAfter) >= 0, expireAfter, "expireAfter must be at least refreshAfter");
+            this.refreshExecutor = Enforce.notNull(refreshExecutor, "refreshExecutor cannot be null");
+            this.validated = Caffeine.newBuilder().expireAfterWrite(expireAfter).build();
+            this.refreshAfterNanos = refreshAfter.toNanos();
+            this.refreshing = ConcurrentHashMap.newKeySet();
+        } else {
+            this.refreshExecutor = null;
+            this.validated = null;
+            this.refreshAfterNanos = 0;
+            this.refreshing = null;
+        }
+
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(new CacheInvalidationListener() {
+                @Override
+                public void invalidate(String objectId, String inventoryDigest) {
+                    evictIfStale(objectId, inventoryDigest);
+                }
+
+                @Override
+                public void invalidateAll() {
+                    inventoryCache.invalidateAll();
+                }
+            });
+        }
     }
 
     /**
@@ -60,7 +186,11 @@ public class CachingOcflStorage extends AbstractOcflStorage {
     }
 
     /**
-     * If the inventory is cached, it's returned immediately. Otherwise, it's fetched from the delegate storage.
+     * If the inventory is cached, it's returned immediately. Otherwise, it's fetched from the delegate storage. If
+     * the cached inventory has not been validated within the refresh interval, it is revalidated in the background.
+     * If it has not been validated within the expiry interval, it is revalidated before it is returned.
+     *
+     * <p>If the cached inventory loads its versions on demand, it is replaced with the full inventory.
      *
      * @param objectId the id of the object to load
      * @return inventory
@@ -69,7 +199,48 @@ public class CachingOcflStorage extends AbstractOcflStorage {
     public Inventory loadInventory(String objectId) {
         ensureOpen();
 
-        return inventoryCache.get(objectId, delegate::loadInventory);
+        var inventory = loadCached(objectId, delegate::loadInventory);
+
+        if (inventory == null || !inventory.hasLazyVersions()) {
+            return inventory;
+        }
+
+        var full = delegate.loadInventory(objectId);
+
+        if (full == null) {
+            inventoryCache.invalidate(objectId, inventory);
+        } else if (inventoryCache.replace(objectId, inventory, full)) {
+            markValidated(objectId);
+        }
+
+        return full;
+    }
+
+    /**
+     * Returns the cached inventory if the object's inventory is cached, whether or not it loads its versions on demand.
+     * Otherwise, the inventory is loaded from the delegate and cached in the same way as by {@link #loadInventory}.
+     *
+     * @param objectId the id of the object to load
+     * @return the inventory or null if the object does not exist
+     */
+    @Override
+    public Inventory loadInventoryWithLazyVersions(String objectId) {
+        ensureOpen();
+
+        return loadCached(objectId, delegate::loadInventoryWithLazyVersions);
+    }
+
+    /**
+     * Loads the digest from the delegate storage, bypassing the cache.
+     *
+     * @param objectId the id of the object
+     * @return the digest token of the object's current inventory or null if the object was not found
+     */
+    @Override
+    public String loadInventoryDigest(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventoryDigest(objectId);
     }
 
     /**
@@ -77,6 +248,8 @@ public class CachingOcflStorage extends AbstractOcflStorage {
      */
     @Override
     public byte[] getInventoryBytes(String objectId, VersionNum versionNum) {
+        ensureOpen();
+
         return delegate.getInventoryBytes(objectId, versionNum);
     }
 
@@ -94,12 +267,30 @@ public class CachingOcflStorage extends AbstractOcflStorage {
         try {
             delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion);
             inventoryCache.put(inventory.getId(), inventory);
+            markValidated(inventory.getId());
+            publish(inventory.getId(), inventory.getDigestToken());
         } catch (ObjectOutOfSyncException e) {
             inventoryCache.invalidate(inventory.getId());
             throw e;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsOptimisticCommits() {
+        return delegate.supportsOptimisticCommits();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recordsRevisionChanges() {
+        return delegate.recordsRevisionChanges();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -131,6 +322,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
             delegate.purgeObject(objectId);
         } finally {
             inventoryCache.invalidate(objectId);
+            publish(objectId, null);
         }
     }
 
@@ -144,12 +336,32 @@ public class CachingOcflStorage extends AbstractOcflStorage {
         try {
             delegate.commitMutableHead(oldInventory, newInventory, stagingDir);
             inventoryCache.put(newInventory.getId(), newInventory);
+            markValidated(newInventory.getId());
+            publish(newInventory.getId(), newInventory.getDigestToken());
         } catch (ObjectOutOfSyncException e) {
             inventoryCache.invalidate(newInventory.getId());
             throw e;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReclaimResult reclaimOrphans(String objectId, Instant staleBefore) {
+        ensureOpen();
+
+        var result = delegate.reclaimOrphans(objectId, staleBefore);
+
+        if (result.getDirectories() > 0) {
+            // Completing an interrupted rollback may have purged the mutable HEAD
+            inventoryCache.invalidate(objectId);
+            publish(objectId, null);
+        }
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -161,6 +373,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
             delegate.purgeMutableHead(objectId);
         } finally {
             inventoryCache.invalidate(objectId);
+            publish(objectId, null);
         }
     }
 
@@ -175,6 +388,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
             delegate.rollbackToVersion(inventory, versionNum);
         } finally {
             inventoryCache.invalidate(inventory.getId());
+            publish(inventory.getId(), null);
         }
     }
 
@@ -257,7 +471,17 @@ public class CachingOcflStorage extends AbstractOcflStorage {
      */
     @Override
     public void close() {
-        delegate.close();
+        super.close();
+        try {
+            if (invalidationChannel != null) {
+                invalidationChannel.close();
+            }
+            if (refreshExecutor != null) {
+                refreshExecutor.shutdownNow();
+            }
+        } finally {
+            delegate.close();
+        }
     }
 
     /**
@@ -267,6 +491,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
     public void invalidateCache(String objectId) {
         inventoryCache.invalidate(objectId);
         delegate.invalidateCache(objectId);
+        publish(objectId, null);
     }
 
     /**
@@ -276,5 +501,119 @@ public class CachingOcflStorage extends AbstractOcflStorage {
     public void invalidateCache() {
         inventoryCache.invalidateAll();
         delegate.invalidateCache();
+        if (invalidationChannel != null) {
+            invalidationChannel.publishAll();
+        }
+    }
+
+    private Inventory loadCached(String objectId, Function<String, Inventory> loader) {
+        if (refreshExecutor == null) {
+            return inventoryCache.get(objectId, loader);
+        }
+
+        Function<String, Inventory> loadAndMarkValidated = id -> {
+            var loaded = loader.apply(id);
+            markValidated(id);
+            return loaded;
+        };
+
+        var inventory = inventoryCache.get(objectId, loadAndMarkValidated);
+
+        if (inventory == null) {
+            return null;
+        }
+
+        var validatedAt = validated.getIfPresent(objectId);
+
+        if (validatedAt == null) {
+            refresh(objectId, inventory);
+            return inventoryCache.get(objectId, loadAndMarkValidated);
+        }
+
+        if (System.nanoTime() - validatedAt >= refreshAfterNanos) {
+            scheduleRefresh(objectId, inventory);
+        }
+
+        return inventory;
+    }
+
+    private void markValidated(String objectId) {
+        if (validated != null) {
+            validated.put(objectId, System.nanoTime());
+        }
+    }
+
+    private void scheduleRefresh(String objectId, Inventory inventory) {
+        if (!refreshing.add(objectId)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(objectId, inventory);
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to revalidate cached inventory for object {}", objectId, e);
+                } finally {
+                    refreshing.remove(objectId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(objectId);
+            LOG.debug("Failed to schedule revalidation of cached inventory for object {}", objectId, e);
+        }
+    }
+
+    /**
+     * Compares the cached inventory's digest with the digest in storage, and reloads the inventory if they differ. The
+     * cache is only updated or invalidated if it still contains the inventory that was revalidated, so that an
+     * inventory written by this process while the refresh was in progress is not replaced.
+     */
+    private void refresh(String objectId, Inventory inventory) {
+        ensureOpen();
+
+        var digest = delegate.loadInventoryDigest(objectId);
+
+        if (digest == null) {
+            LOG.debug("Object {} no longer exists. Evicting cached inventory.", objectId);
+            inventoryCache.invalidate(objectId, inventory);
+            return;
+        }
+
+        if (digest.equalsIgnoreCase(inventory.getDigestToken())) {
+            markValidated(objectId);
+            return;
+        }
+
+        LOG.debug("Cached inventory for object {} is stale. Reloading.", objectId);
+        var reloaded = inventory.hasLazyVersions()
+                ? delegate.loadInventoryWithLazyVersions(objectId)
+                : delegate.loadInventory(objectId);
+
+        if (reloaded == null) {
+            inventoryCache.invalidate(objectId, inventory);
+        } else if (inventoryCache.replace(objectId, inventory, reloaded)) {
+            markValidated(objectId);
+        }
+    }
+
+    private void publish(String objectId, String inventoryDigest) {
+        if (invalidationChannel != null) {
+            invalidationChannel.publish(objectId, inventoryDigest);
+        }
+    }
+
+    /**
+     * Evicts the cached inventory if its digest token does not match the one reported by another process. Tokens are
+     * compared, rather than inventory digests, because mutable HEAD inventories that were assembled from change records
+     * do not have an inventory digest. The delegate's caches are not touched because the other process already updated
+     * the shared state.
+     */
+    private void evictIfStale(String objectId, String digestToken) {
+        var cached = inventoryCache.getIfPresent(objectId);
+        if (cached != null && (digestToken == null || !digestToken.equalsIgnoreCase(cached.getDigestToken()))) {
+            LOG.debug("Evicting cached inventory for object {} because it was changed by another process", objectId);
+            inventoryCache.invalidate(objectId);
+        }
     }
 }
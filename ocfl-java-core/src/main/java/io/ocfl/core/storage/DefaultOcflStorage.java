@@ -26,6 +26,8 @@ package io.ocfl.core.storage;
 
 import static io.ocfl.api.OcflConstants.INVENTORY_SIDECAR_PREFIX;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.failsafe.Failsafe;
 import dev.failsafe.RetryPolicy;
 import io.ocfl.api.OcflConstants;
@@ -46,18 +48,25 @@ import io.ocfl.api.model.ValidationResults;
 import io.ocfl.api.model.VersionNum;
 import io.ocfl.api.util.Enforce;
 import io.ocfl.core.ObjectPaths;
+import io.ocfl.core.cache.DiskInventoryCache;
 import io.ocfl.core.extension.OcflExtensionConfig;
 import io.ocfl.core.extension.storage.layout.OcflStorageLayoutExtension;
 import io.ocfl.core.inventory.SidecarMapper;
+import io.ocfl.core.lock.HeldLocks;
 import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionChanges;
 import io.ocfl.core.model.RevisionNum;
+import io.ocfl.core.model.Version;
 import io.ocfl.core.path.constraint.LogicalPathConstraints;
 import io.ocfl.core.path.constraint.PathConstraintProcessor;
+import io.ocfl.core.storage.common.ConditionalWriter;
 import io.ocfl.core.storage.common.Listing;
 import io.ocfl.core.storage.common.ObjectProperties;
+import io.ocfl.core.storage.common.PreconditionFailedException;
 import io.ocfl.core.storage.common.Storage;
 import io.ocfl.core.util.FileUtil;
 import io.ocfl.core.util.NamasteTypeFile;
+import io.ocfl.core.util.SingleFlight;
 import io.ocfl.core.util.UncheckedFiles;
 import io.ocfl.core.validation.Validator;
 import java.io.BufferedInputStream;
@@ -67,16 +76,20 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -96,6 +109,9 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     private static final String MEDIA_TYPE_TEXT = "text/plain; charset=UTF-8";
     private static final String MEDIA_TYPE_JSON = "application/json; charset=UTF-8";
 
+    private static final long VERSION_TAG_CACHE_SIZE = 10_000;
+    private static final int MAX_SIDECAR_SYNC_ATTEMPTS = 5;
+
     private final PathConstraintProcessor logicalPathConstraints;
     private final Storage storage;
     private final OcflStorageInitializer initializer;
@@ -108,6 +124,31 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
      */
     private final RetryPolicy<Void> invRetry;
 
+    private final RetryPolicy<Inventory> rootReadRetry;
+
+    /**
+     * Maps root inventory digests to the storage version tags of the root inventory files they were read from or
+     * written to. Only used when the storage supports conditional writes.
+     */
+    private final Cache<String, String> inventoryVersionTags;
+
+    /**
+     * Optional second tier cache of serialized root inventories. May be null.
+     */
+    private final DiskInventoryCache inventoryDiskCache;
+
+    /**
+     * Coalesces concurrent loads of the same object's inventory
+     */
+    private final SingleFlight<String, Inventory> inventoryLoads;
+
+    /**
+     * When true, read operations only load the head version's state from the root inventory.
+     */
+    private final boolean lazyVersionLoading;
+
+    private final int mutableHeadInventoryInterval;
+
     /**
      * Create a new builder.
      *
@@ -129,6 +170,80 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
      * @param initializer initializes a new OCFL repo
      */
     public DefaultOcflStorage(Storage storage, boolean verifyInventoryDigest, OcflStorageInitializer initializer) {
+        this(storage, verifyInventoryDigest, initializer, null);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param inventoryDiskCache local cache of serialized root inventories, may be null
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            DiskInventoryCache inventoryDiskCache) {
+        this(storage, verifyInventoryDigest, initializer, inventoryDiskCache, false);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param inventoryDiskCache local cache of serialized root inventories, may be null
+     * @param lazyVersionLoading true if read operations should load the states of prior versions on demand
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            DiskInventoryCache inventoryDiskCache,
+            boolean lazyVersionLoading) {
+        this(storage, verifyInventoryDigest, initializer, inventoryDiskCache, lazyVersionLoading, 1);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param inventoryDiskCache local cache of serialized root inventories, may be null
+     * @param lazyVersionLoading true if read operations should load the states of prior versions on demand
+     * @param mutableHeadInventoryInterval the number of mutable HEAD revisions between full mutable HEAD inventory
+     *                                     writes, 1 to write the full inventory on every revision
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            DiskInventoryCache inventoryDiskCache,
+            boolean lazyVersionLoading,
+            int mutableHeadInventoryInterval) {
+        this.inventoryDiskCache = inventoryDiskCache;
+        this.lazyVersionLoading = lazyVersionLoading;
+        this.mutableHeadInventoryInterval = Enforce.expressionTrue(
+                mutableHeadInventoryInterval > 0,
+                mutableHeadInventoryInterval,
+                "mutableHeadInventoryInterval must be greater than 0");
+        this.inventoryLoads = new SingleFlight<>();
         this.storage = Enforce.notNull(storage, "storage cannot be null");
         this.verifyInventoryDigest = verifyInventoryDigest;
         this.initializer = Enforce.notNull(initializer, "initializer cannot be null");
@@ -139,24 +254,41 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
                 .withBackoff(10, 200, ChronoUnit.MILLIS, 1.5)
                 .withMaxRetries(10)
                 .build();
+        this.rootReadRetry = RetryPolicy.<Inventory>builder()
+                .handle(RootInventoryMismatchException.class)
+                .withBackoff(10, 100, ChronoUnit.MILLIS, 2)
+                .withMaxRetries(3)
+                .build();
+        this.inventoryVersionTags =
+                Caffeine.newBuilder().maximumSize(VERSION_TAG_CACHE_SIZE).build();
     }
 
     /**
-     * {@inheritDoc}
+     * Loads and verifies the object's inventory. Concurrent loads of the same object share a single read and parse.
+     *
+     * @param objectId the id of the object to load
+     * @return the deserialized inventory or null if the object does not exist
      */
     @Override
     public Inventory loadInventory(String objectId) {
         ensureOpen();
 
+        return inventoryLoads.load(objectId, this::loadInventoryInternal);
+    }
+
+    private Inventory loadInventoryInternal(String objectId) {
         LOG.debug("Load inventory for object <{}>", objectId);
 
         Inventory inventory = null;
 
         var objectRootPath = objectRootPath(objectId);
-        var objectProps = examineObject(objectRootPath);
+        var objectProps = examineObjectForRead(objectRootPath);
 
         if (objectProps.getOcflVersion() != null) {
             if (objectProps.getDigestAlgorithm() == null) {
+                if (isUnfinishedObject(objectId, objectRootPath)) {
+                    return null;
+                }
                 throw new CorruptObjectException(String.format("Object %s is missing its root sidecar file", objectId));
             }
 
@@ -181,6 +313,97 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         return inventory;
     }
 
+    /**
+     * If lazy version loading is enabled, only the head version's state is read from the root inventory. The states of
+     * prior versions are read from the inventories in their version directories when they are first accessed. Objects
+     * with a mutable HEAD are always loaded in full.
+     *
+     * @param objectId the id of the object to load
+     * @return the deserialized inventory or null if the object does not exist
+     */
+    @Override
+    public Inventory loadInventoryWithLazyVersions(String objectId) {
+        ensureOpen();
+
+        if (!lazyVersionLoading) {
+            return loadInventory(objectId);
+        }
+
+        LOG.debug("Load inventory with lazy versions for object <{}>", objectId);
+
+        var objectRootPath = objectRootPath(objectId);
+        var objectProps = examineObjectForRead(objectRootPath);
+
+        if (objectProps.getOcflVersion() == null) {
+            return null;
+        }
+
+        var digestAlgorithm = objectProps.getDigestAlgorithm();
+        if (digestAlgorithm == null) {
+            if (isUnfinishedObject(objectId, objectRootPath)) {
+                return null;
+            }
+            throw new CorruptObjectException(String.format("Object %s is missing its root sidecar file", objectId));
+        }
+
+        if (objectProps.hasExtensions()
+                && loadObjectExtensions(objectRootPath).contains(OcflConstants.MUTABLE_HEAD_EXT_NAME)) {
+            return loadInventory(objectId);
+        }
+
+        var inventory = parseAndVerifyInventoryAt(
+                objectId,
+                digestAlgorithm,
+                objectRootPath,
+                ObjectPaths.inventoryPath(objectRootPath),
+                ObjectPaths.inventorySidecarPath(objectRootPath, digestAlgorithm),
+                true);
+
+        if (!Objects.equals(objectId, inventory.getId())) {
+            throw new CorruptObjectException(String.format(
+                    "Expected object at %s to have id %s. Found: %s", objectRootPath, objectId, inventory.getId()));
+        }
+
+        // The root inventory contains every version, so it is parsed at most once if any version inventories are
+        // missing
+        var rootInventory = new AtomicReference<Inventory>();
+        return inventory.withVersionLoader(
+                versionNum -> loadVersionStates(objectId, digestAlgorithm, objectRootPath, versionNum, rootInventory));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String loadInventoryDigest(String objectId) {
+        ensureOpen();
+
+        var objectRootPath = objectRootPath(objectId);
+        var objectProps = examineObjectForRead(objectRootPath);
+
+        if (objectProps.getOcflVersion() == null) {
+            return null;
+        }
+
+        var digestAlgorithm = objectProps.getDigestAlgorithm();
+        if (digestAlgorithm == null) {
+            if (isUnfinishedObject(objectId, objectRootPath)) {
+                return null;
+            }
+            throw new CorruptObjectException(String.format("Object %s is missing its root sidecar file", objectId));
+        }
+
+        if (objectProps.hasExtensions()
+                && loadObjectExtensions(objectRootPath).contains(OcflConstants.MUTABLE_HEAD_EXT_NAME)) {
+            // Change records are written without updating the sidecar, so the latest revision is part of the token
+            var digest =
+                    getDigestFromSidecar(ObjectPaths.mutableHeadInventorySidecarPath(objectRootPath, digestAlgorithm));
+            return Inventory.digestToken(digest, identifyLatestRevision(objectRootPath));
+        }
+
+        return getDigestFromSidecar(ObjectPaths.inventorySidecarPath(objectRootPath, digestAlgorithm));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -243,20 +466,42 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public void storeNewVersion(Inventory inventory, Path stagingDir, boolean upgradeOcflVersion) {
         ensureOpen();
 
-        LOG.debug(
-                "Store new version of object <{}> version <{}> revision <{}> from staging directory <{}>",
-                inventory.getId(),
-                inventory.getHead(),
-                inventory.getRevisionNum(),
-                stagingDir);
+        try {
+            LOG.debug(
+                    "Store new version of object <{}> version <{}> revision <{}> from staging directory <{}>",
+                    inventory.getId(),
+                    inventory.getHead(),
+                    inventory.getRevisionNum(),
+                    stagingDir);
 
-        if (inventory.hasMutableHead()) {
-            storeNewMutableHeadVersion(inventory, stagingDir);
-        } else {
-            storeNewImmutableVersion(inventory, stagingDir, upgradeOcflVersion);
+            resolveRollbackIntent(inventory);
+
+            if (inventory.hasMutableHead()) {
+                storeNewMutableHeadVersion(inventory, stagingDir);
+            } else {
+                storeNewImmutableVersion(inventory, stagingDir, upgradeOcflVersion);
+            }
+        } finally {
+            inventoryLoads.forget(inventory.getId());
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsOptimisticCommits() {
+        return storage.supportsExclusiveCreate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recordsRevisionChanges() {
+        return mutableHeadInventoryInterval > 1;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -325,24 +570,32 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public void purgeObject(String objectId) {
         ensureOpen();
 
-        LOG.info("Purge object <{}>", objectId);
+        try {
+            LOG.info("Purge object <{}>", objectId);
 
-        var objectRoot = objectRootPath(objectId);
+            var objectRoot = objectRootPath(objectId);
 
-        try {
-            storage.deleteDirectory(objectRoot);
-        } catch (RuntimeException e) {
-            throw new CorruptObjectException(
-                    String.format(
-                            "Failed to purge object %s at %s. The object may need to be deleted manually.",
-                            objectId, objectRoot),
-                    e);
-        }
+            if (inventoryDiskCache != null) {
+                inventoryDiskCache.invalidate(objectId);
+            }
 
-        try {
-            storage.deleteEmptyDirsUp(FileUtil.parentPath(objectRoot));
-        } catch (RuntimeException e) {
-            LOG.warn("Failed to cleanup parent directories when purging object {}.", objectId, e);
+            try {
+                storage.purgeDirectory(objectRoot);
+            } catch (RuntimeException e) {
+                throw new CorruptObjectException(
+                        String.format(
+                                "Failed to purge object %s at %s. The object may need to be deleted manually.",
+                                objectId, objectRoot),
+                        e);
+            }
+
+            try {
+                storage.deleteEmptyDirsUp(FileUtil.parentPath(objectRoot));
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to cleanup parent directories when purging object {}.", objectId, e);
+            }
+        } finally {
+            inventoryLoads.forget(objectId);
         }
     }
 
@@ -353,43 +606,126 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public void rollbackToVersion(Inventory inventory, VersionNum versionNum) {
         ensureOpen();
 
-        LOG.info("Rollback object <{}> to version {}", inventory.getId(), versionNum);
+        try {
+            LOG.info("Rollback object <{}> to version {}", inventory.getId(), versionNum);
+
+            resumeRollback(inventory);
 
-        var versionPath = objectVersionPath(inventory, versionNum);
+            var versionPath = objectVersionPath(inventory, versionNum);
+            var intentPath = ObjectPaths.rollbackIntentPath(inventory.getObjectRootPath());
+
+            // The intent is recorded before the root inventory is replaced so that, if the rollback is interrupted, the
+            // superseded versions are known to be safe to delete
+            HeldLocks.ensureHeld(inventory.getId());
+            storage.createDirectories(FileUtil.parentPath(intentPath));
+            storage.write(intentPath, (versionNum + "\n").getBytes(StandardCharsets.UTF_8), MEDIA_TYPE_TEXT);
 
-        try {
-            copyInventoryInternal(inventory, versionPath, inventory.getObjectRootPath());
-        } catch (Exception e) {
             try {
-                var previousVersionPath = objectVersionPath(inventory, inventory.getHead());
-                copyInventoryInternal(inventory, previousVersionPath, inventory.getObjectRootPath());
-            } catch (RuntimeException e1) {
-                LOG.error(
-                        "Failed to rollback inventory at {}. Object {} must be fixed manually.",
-                        ObjectPaths.inventoryPath(inventory.getObjectRootPath()),
-                        inventory.getId(),
-                        e1);
+                copyInventoryInternal(inventory, versionPath, inventory.getObjectRootPath());
+            } catch (Exception e) {
+                try {
+                    var previousVersionPath = objectVersionPath(inventory, inventory.getHead());
+                    copyInventoryInternal(inventory, previousVersionPath, inventory.getObjectRootPath());
+                    deleteRollbackIntent(inventory.getObjectRootPath());
+                } catch (RuntimeException e1) {
+                    LOG.error(
+                            "Failed to rollback inventory at {}. Object {} must be fixed manually.",
+                            ObjectPaths.inventoryPath(inventory.getObjectRootPath()),
+                            inventory.getId(),
+                            e1);
+                }
+                throw e;
             }
-            throw e;
+
+            try {
+                purgeSupersededVersions(inventory, versionNum);
+            } catch (RuntimeException e) {
+                throw new CorruptObjectException(
+                        String.format(
+                                "Object %s was rolled back to version %s, but its newer versions could not be deleted."
+                                        + " They are deleted the next time the object is rolled back or reclaimed.",
+                                inventory.getId(), versionNum),
+                        e);
+            }
+        } finally {
+            inventoryLoads.forget(inventory.getId());
         }
+    }
 
-        try {
-            var currentVersion = inventory.getHead();
+    /**
+     * Resolves an interrupted rollback before the object is written to. Every write resolves the intent first, so the
+     * mutable HEAD and version directories that a resumed rollback purges always predate the rollback.
+     */
+    private void resolveRollbackIntent(Inventory inventory) {
+        if (!isFirstVersion(inventory)) {
+            resumeRollback(inventory);
+        }
+    }
+
+    /**
+     * Completes a rollback that was interrupted after its intent was recorded. If the root inventory was replaced,
+     * the versions that it superseded are deleted. Otherwise, the rollback never took effect and the intent is
+     * discarded.
+     *
+     * @param inventory the object's current inventory
+     * @return the number of superseded directories that were deleted
+     */
+    private int resumeRollback(Inventory inventory) {
+        var intentPath = ObjectPaths.rollbackIntentPath(inventory.getObjectRootPath());
+
+        if (!storage.fileExists(intentPath)) {
+            return 0;
+        }
 
-            while (currentVersion.compareTo(versionNum) > 0) {
-                LOG.info("Purging object {} version {}", inventory.getId(), currentVersion);
-                storage.deleteDirectory(objectVersionPath(inventory, currentVersion));
-                currentVersion = currentVersion.previousVersionNum();
+        var versionNum = VersionNum.fromString(storage.readToString(intentPath).trim());
+        var rootDigest =
+                getDigestFromSidecar(ObjectPaths.inventorySidecarPath(inventory.getObjectRootPath(), inventory));
+        var versionDigest = getDigestFromSidecar(
+                ObjectPaths.inventorySidecarPath(objectVersionPath(inventory, versionNum), inventory));
+
+        if (!rootDigest.equalsIgnoreCase(versionDigest)) {
+            LOG.info(
+                    "Discarding interrupted rollback of object {} to version {} because its inventory was not replaced",
+                    inventory.getId(),
+                    versionNum);
+            deleteRollbackIntent(inventory.getObjectRootPath());
+            return 0;
+        }
+
+        LOG.info("Resuming interrupted rollback of object {} to version {}", inventory.getId(), versionNum);
+        return purgeSupersededVersions(inventory, versionNum);
+    }
+
+    /**
+     * Purges every version directory that is newer than the version the object was rolled back to, along with the
+     * mutable HEAD, and then removes the rollback intent. The directories are listed rather than derived from the
+     * inventory so that directories left behind by an interrupted purge are found.
+     */
+    private int purgeSupersededVersions(Inventory inventory, VersionNum versionNum) {
+        var objectRootPath = inventory.getObjectRootPath();
+        var superseded = new ArrayList<String>();
+
+        for (var listing : storage.listDirectory(objectRootPath)) {
+            if (listing.isDirectory() && isVersionAfter(listing.getRelativePath(), versionNum)) {
+                superseded.add(FileUtil.pathJoinFailEmpty(objectRootPath, listing.getRelativePath()));
             }
+        }
+
+        LOG.info("Purging object {} versions {}", inventory.getId(), superseded);
+        storage.purgeDirectories(superseded);
 
+        var directories = superseded.size();
+        if (hasMutableHead(objectRootPath)) {
             purgeMutableHead(inventory.getId());
-        } catch (RuntimeException e) {
-            throw new CorruptObjectException(
-                    String.format(
-                            "Object %s was corrupted while attempting to rollback to version %s. It must be manually remediated.",
-                            inventory.getId(), versionNum),
-                    e);
+            directories++;
         }
+
+        deleteRollbackIntent(objectRootPath);
+        return directories;
+    }
+
+    private void deleteRollbackIntent(String objectRootPath) {
+        storage.deleteDirectory(FileUtil.parentPath(ObjectPaths.rollbackIntentPath(objectRootPath)));
     }
 
     /**
@@ -399,66 +735,174 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public void commitMutableHead(Inventory oldInventory, Inventory newInventory, Path stagingDir) {
         ensureOpen();
 
-        LOG.debug("Commit mutable HEAD on object <{}>", newInventory.getId());
+        try {
+            LOG.debug("Commit mutable HEAD on object <{}>", newInventory.getId());
 
-        var objectRoot = ObjectPaths.objectRoot(newInventory);
+            var objectRoot = ObjectPaths.objectRoot(newInventory);
 
-        ensureRootObjectHasNotChanged(newInventory);
+            resolveRollbackIntent(oldInventory);
+            ensureRootObjectHasNotChanged(newInventory);
 
-        if (!hasMutableHead(newInventory.getObjectRootPath())) {
-            throw new ObjectOutOfSyncException(String.format(
-                    "Cannot commit mutable HEAD of object %s because a mutable HEAD does not exist.",
-                    newInventory.getId()));
-        }
+            if (!hasMutableHead(newInventory.getObjectRootPath())) {
+                throw new ObjectOutOfSyncException(String.format(
+                        "Cannot commit mutable HEAD of object %s because a mutable HEAD does not exist.",
+                        newInventory.getId()));
+            }
 
-        var versionPath = objectVersionPath(newInventory, newInventory.getHead());
+            var versionPath = objectVersionPath(newInventory, newInventory.getHead());
 
-        moveMutableHeadToVersionDirectory(newInventory, versionPath);
+            moveMutableHeadToVersionDirectory(oldInventory, newInventory, versionPath);
 
-        try {
             try {
-                // The inventory is written to the root first so that the mutable version can be recovered if the write
-                // fails
-                copyInventoryToRootWithRollback(newInventory, objectRoot, stagingDir);
+                try {
+                    // The inventory is written to the root first so that the mutable version can be recovered if the
+                    // write
+                    // fails
+                    copyInventoryToRootWithRollback(newInventory, objectRoot, stagingDir);
+                } catch (RuntimeException e) {
+                    rollbackMutableHeadVersionInstall(newInventory, objectRoot, versionPath);
+                    throw e;
+                }
+
+                try {
+                    copyInventoryInternal(newInventory, newInventory.getObjectRootPath(), versionPath);
+                } catch (RuntimeException e) {
+                    LOG.warn(
+                            "Failed to copy the inventory into object {} version {}.",
+                            newInventory.getId(),
+                            newInventory.getHead());
+                }
             } catch (RuntimeException e) {
-                rollbackMutableHeadVersionInstall(newInventory, objectRoot, versionPath);
+                try {
+                    storage.deleteDirectory(versionPath);
+                    rollbackInventory(newInventory);
+                } catch (RuntimeException exception) {
+                    LOG.error(
+                            "Failed to rollback new version installation in object {} at {}. It must be cleaned up manually.",
+                            newInventory.getId(),
+                            newInventory.getHead(),
+                            e);
+                }
                 throw e;
             }
 
             try {
-                copyInventoryInternal(newInventory, newInventory.getObjectRootPath(), versionPath);
+                purgeMutableHead(newInventory.getId());
             } catch (RuntimeException e) {
-                LOG.warn(
-                        "Failed to copy the inventory into object {} version {}.",
-                        newInventory.getId(),
-                        newInventory.getHead());
-            }
-        } catch (RuntimeException e) {
-            try {
-                storage.deleteDirectory(versionPath);
-                rollbackInventory(newInventory);
-            } catch (RuntimeException exception) {
                 LOG.error(
-                        "Failed to rollback new version installation in object {} at {}. It must be cleaned up manually.",
+                        "Failed to cleanup mutable HEAD of object {} at {}. It must be deleted manually.",
                         newInventory.getId(),
-                        newInventory.getHead(),
+                        ObjectPaths.mutableHeadExtensionRoot(newInventory.getObjectRootPath()),
                         e);
             }
-            throw e;
+
+            var upgradeOcflVersion = oldInventory.getType() != newInventory.getType();
+            upgradeOcflSpecVersion(newInventory, objectRoot, upgradeOcflVersion);
+        } finally {
+            inventoryLoads.forget(newInventory.getId());
         }
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReclaimResult reclaimOrphans(String objectId, Instant staleBefore) {
+        ensureOpen();
+
+        var inventory = loadInventory(objectId);
+
+        if (inventory == null) {
+            return ReclaimResult.none();
+        }
+
+        var resumed = resumeRollback(inventory);
+
+        if (resumed > 0) {
+            // The inventory may have referred to the mutable HEAD that the rollback purged
+            return new ReclaimResult(resumed, 0);
+        }
+
+        var objectRootPath = inventory.getObjectRootPath();
+        var candidates = new ArrayList<String>();
+
+        for (var listing : storage.listDirectory(objectRootPath)) {
+            if (listing.isDirectory() && isVersionAfter(listing.getRelativePath(), inventory.getHead())) {
+                candidates.add(FileUtil.pathJoinFailEmpty(objectRootPath, listing.getRelativePath()));
+            }
+        }
+
+        if (inventory.hasMutableHead()) {
+            candidates.addAll(unreferencedRevisionDirectories(inventory));
+        }
+
+        var directories = 0;
+        var pending = 0;
+        long bytes = 0;
+
+        for (var candidate : candidates) {
+            var usage = storage.directoryUsage(candidate);
+
+            if (usage == null
+                    || usage.getLastModified() == null
+                    || !usage.getLastModified().isBefore(staleBefore)) {
+                LOG.debug("Not reclaiming {} in object {} because it may still be in use", candidate, objectId);
+                pending++;
+                continue;
+            }
+
+            LOG.info(
+                    "Reclaiming abandoned directory {} in object {} containing {} bytes",
+                    candidate,
+                    objectId,
+                    usage.getBytes());
+            storage.deleteDirectory(candidate);
+            directories++;
+            bytes += usage.getBytes();
+        }
+
+        return new ReclaimResult(directories, bytes, pending);
+    }
+
+    private boolean isVersionAfter(String directoryName, VersionNum head) {
         try {
-            purgeMutableHead(newInventory.getId());
+            return VersionNum.fromString(directoryName).compareTo(head) > 0;
         } catch (RuntimeException e) {
-            LOG.error(
-                    "Failed to cleanup mutable HEAD of object {} at {}. It must be deleted manually.",
-                    newInventory.getId(),
-                    ObjectPaths.mutableHeadExtensionRoot(newInventory.getObjectRootPath()),
-                    e);
+            return false;
         }
+    }
 
-        var upgradeOcflVersion = oldInventory.getType() != newInventory.getType();
-        upgradeOcflSpecVersion(newInventory, objectRoot, upgradeOcflVersion);
+    /**
+     * Finds the revision directories in the mutable HEAD content directory that do not contain any files that are
+     * in the inventory's manifest.
+     */
+    private List<String> unreferencedRevisionDirectories(Inventory inventory) {
+        var contentPath = FileUtil.pathJoinFailEmpty(
+                OcflConstants.MUTABLE_HEAD_VERSION_PATH, inventory.resolveContentDirectory());
+        var prefix = contentPath + "/";
+
+        var referenced = inventory.getManifest().values().stream()
+                .flatMap(Set::stream)
+                .filter(path -> path.startsWith(prefix))
+                .map(path -> path.substring(prefix.length()))
+                .map(path -> path.contains("/") ? path.substring(0, path.indexOf('/')) : path)
+                .collect(Collectors.toSet());
+
+        var storagePath = FileUtil.pathJoinFailEmpty(inventory.getObjectRootPath(), contentPath);
+        List<Listing> listings;
+
+        try {
+            listings = storage.listDirectory(storagePath);
+        } catch (OcflNoSuchFileException e) {
+            return Collections.emptyList();
+        }
+
+        return listings.stream()
+                .filter(Listing::isDirectory)
+                .map(Listing::getRelativePath)
+                .filter(name -> !referenced.contains(name))
+                .map(name -> FileUtil.pathJoinFailEmpty(storagePath, name))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -468,18 +912,22 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public void purgeMutableHead(String objectId) {
         ensureOpen();
 
-        LOG.info("Purge mutable HEAD on object <{}>", objectId);
+        try {
+            LOG.info("Purge mutable HEAD on object <{}>", objectId);
 
-        var extensionRoot = ObjectPaths.mutableHeadExtensionRoot(objectRootPath(objectId));
+            var extensionRoot = ObjectPaths.mutableHeadExtensionRoot(objectRootPath(objectId));
 
-        try {
-            storage.deleteDirectory(extensionRoot);
-        } catch (RuntimeException e) {
-            throw new CorruptObjectException(
-                    String.format(
-                            "Failed to purge mutable HEAD of object %s at %s. The version may need to be deleted manually.",
-                            objectId, extensionRoot),
-                    e);
+            try {
+                storage.purgeDirectory(extensionRoot);
+            } catch (RuntimeException e) {
+                throw new CorruptObjectException(
+                        String.format(
+                                "Failed to purge mutable HEAD of object %s at %s. The version may need to be deleted manually.",
+                                objectId, extensionRoot),
+                        e);
+            }
+        } finally {
+            inventoryLoads.forget(objectId);
         }
     }
 
@@ -573,24 +1021,28 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public void importObject(String objectId, Path objectPath) {
         ensureOpen();
 
-        var objectRootPath = objectRootPath(objectId);
+        try {
+            var objectRootPath = objectRootPath(objectId);
 
-        LOG.debug("Importing <{}> to <{}>", objectId, objectRootPath);
+            LOG.debug("Importing <{}> to <{}>", objectId, objectRootPath);
 
-        storage.createDirectories(FileUtil.parentPath(objectRootPath));
+            storage.createDirectories(FileUtil.parentPath(objectRootPath));
 
-        try {
-            storage.moveDirectoryInto(objectPath, objectRootPath);
-        } catch (OcflFileAlreadyExistsException e) {
-            throw new ObjectOutOfSyncException(
-                    String.format("Cannot import object %s because the object already exists.", objectId));
-        } catch (RuntimeException e) {
             try {
-                purgeObject(objectId);
-            } catch (RuntimeException e1) {
-                LOG.error("Failed to rollback object {} import", objectId, e1);
+                storage.moveDirectoryInto(objectPath, objectRootPath);
+            } catch (OcflFileAlreadyExistsException e) {
+                throw new ObjectOutOfSyncException(
+                        String.format("Cannot import object %s because the object already exists.", objectId));
+            } catch (RuntimeException e) {
+                try {
+                    purgeObject(objectId);
+                } catch (RuntimeException e1) {
+                    LOG.error("Failed to rollback object {} import", objectId, e1);
+                }
+                throw e;
             }
-            throw e;
+        } finally {
+            inventoryLoads.forget(objectId);
         }
     }
 
@@ -640,26 +1092,23 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         try {
             if (isFirstVersion) {
                 storage.createDirectories(objectRoot.path());
-                writeObjectNamasteFile(inventory.getType().getOcflVersion(), objectRoot.path());
-            }
-
-            moveToVersionDirectory(inventory, stagingDir, versionPath);
-
-            try {
-                verifyPriorInventory(inventory, objectRoot.inventorySidecar());
-                copyInventoryToRootWithRollback(inventory, versionPath);
-            } catch (RuntimeException e) {
                 try {
-                    storage.deleteDirectory(versionPath);
-                } catch (RuntimeException e1) {
-                    LOG.error(
-                            "Failed to rollback the creation of object {} version {}. The object may be corrupted.",
-                            inventory.getId(),
-                            inventory.getHead(),
-                            e1);
+                    writeObjectNamasteFile(inventory.getType().getOcflVersion(), objectRoot.path());
+                } catch (OcflFileAlreadyExistsException e) {
+                    // Another writer may be creating the same object. Which of them succeeds is decided when the
+                    // version directory is claimed.
+                    LOG.debug("Object {} already has a namaste file", inventory.getId());
                 }
-                throw e;
             }
+
+            // When the prior root inventory's version tag is known, the root inventory is swapped with a conditional
+            // write rather than checking the sidecar and then copying
+            var inventoryBytes = conditionalInventoryBytes(inventory, stagingDir);
+
+            moveToVersionDirectory(inventory, stagingDir, versionPath);
+            updateRootInventory(inventory, objectRoot, versionPath, inventoryBytes);
+        } catch (InventoryConflictException e) {
+            throw e;
         } catch (RuntimeException e) {
             // TODO this could corrupt the object if another process is concurrently creating the same object
             if (isFirstVersion) {
@@ -675,6 +1124,43 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         upgradeOcflSpecVersion(inventory, objectRoot, upgradeOcflVersion);
     }
 
+    /**
+     * Points the root inventory at a version that was just moved into place. The version directory is removed if the
+     * root inventory cannot be updated, unless the failure was caused by a concurrent modification.
+     *
+     * @param inventoryBytes the content of the version's inventory if it should be written conditionally, or null
+     */
+    private void updateRootInventory(
+            Inventory inventory, ObjectPaths.ObjectRoot objectRoot, String versionPath, byte[] inventoryBytes) {
+        try {
+            if (inventoryBytes != null) {
+                writeInventoryToRootConditionally(inventory, objectRoot, versionPath, inventoryBytes);
+            } else {
+                verifyPriorInventory(inventory, objectRoot.inventorySidecar());
+                copyInventoryToRootWithRollback(inventory, versionPath);
+            }
+        } catch (InventoryConflictException e) {
+            // The version directory cannot be safely removed because another process may have written to it
+            LOG.warn(
+                    "Failed to update object {} to version {} because it was concurrently modified. Files may have been left behind at {}.",
+                    inventory.getId(),
+                    inventory.getHead(),
+                    versionPath);
+            throw e;
+        } catch (RuntimeException e) {
+            try {
+                storage.deleteDirectory(versionPath);
+            } catch (RuntimeException e1) {
+                LOG.error(
+                        "Failed to rollback the creation of object {} version {}. The object may be corrupted.",
+                        inventory.getId(),
+                        inventory.getHead(),
+                        e1);
+            }
+            throw e;
+        }
+    }
+
     private void storeNewMutableHeadVersion(Inventory inventory, Path stagingDir) {
         var objectRoot = ObjectPaths.objectRoot(inventory);
         var destinationDir = objectRoot.headVersion().contentRoot().headRevisionPath();
@@ -684,10 +1170,21 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         if (hasMutableHead(inventory.getObjectRootPath())) {
             ensureRootObjectHasNotChanged(inventory);
         } else {
+            if (!RevisionNum.R1.equals(inventory.getRevisionNum())) {
+                throw new ObjectOutOfSyncException(String.format(
+                        "Cannot store revision %s of object %s because the mutable HEAD it was built on no longer exists.",
+                        inventory.getRevisionNum(), inventory.getId()));
+            }
             copyRootInventorySidecarToMutableHead(objectRoot);
             isNewMutableHead = true;
         }
 
+        var changesFile = ObjectPaths.revisionChangesPath(stagingDir);
+        var recordChanges = !isNewMutableHead
+                && mutableHeadInventoryInterval > 1
+                && inventory.getRevisionNum().getRevisionNum() % mutableHeadInventoryInterval != 0
+                && Files.exists(changesFile);
+
         String revisionMarker = null;
 
         try {
@@ -696,9 +1193,17 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
             moveToRevisionDirectory(inventory, objectRoot, stagingDir, destinationDir);
 
             try {
-                verifyPriorInventoryMutable(inventory, objectRoot, isNewMutableHead);
-                // TODO if this fails the inventory may be left in a bad state
-                storeMutableHeadInventory(inventory, objectRoot, stagingDir);
+                if (recordChanges) {
+                    storeRevisionChanges(inventory, objectRoot, changesFile);
+                } else {
+                    // When change records are used, the mutable HEAD sidecar is not updated on every revision, and
+                    // the revision markers are relied on to detect concurrent changes
+                    if (isNewMutableHead || mutableHeadInventoryInterval == 1) {
+                        verifyPriorInventoryMutable(inventory, objectRoot, isNewMutableHead);
+                    }
+                    // TODO if this fails the inventory may be left in a bad state
+                    storeMutableHeadInventory(inventory, objectRoot, stagingDir);
+                }
             } catch (RuntimeException e) {
                 try {
                     storage.deleteDirectory(destinationDir);
@@ -749,6 +1254,73 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         } catch (RuntimeException e) {
             LOG.error("Failed to cleanup old revision markers in object {}", inventory.getId(), e);
         }
+
+        if (!recordChanges && !isNewMutableHead) {
+            try {
+                // Records that are left behind are ignored when loading, because they precede this revision
+                storage.deleteDirectory(objectRoot.mutableHeadChangesPath());
+            } catch (RuntimeException e) {
+                LOG.error("Failed to cleanup mutable HEAD change records in object {}", inventory.getId(), e);
+            }
+        }
+    }
+
+    private void storeRevisionChanges(Inventory inventory, ObjectPaths.ObjectRoot objectRoot, Path changesFile) {
+        var changesDir = objectRoot.mutableHeadChangesPath();
+        var recordPath = FileUtil.pathJoinFailEmpty(changesDir, inventory.getRevisionNum() + ".json");
+
+        storage.createDirectories(changesDir);
+        Failsafe.with(invRetry).run(() -> storage.copyFileInto(changesFile, recordPath, MEDIA_TYPE_JSON));
+    }
+
+    /**
+     * Applies the change records of the revisions that were staged since the mutable HEAD inventory was last written
+     * in full. The records that are applied are the unbroken run of records that ends at the latest revision. Older
+     * records, that were not cleaned up after a full inventory write, are not part of the run because the revision
+     * that was written in full does not have a record.
+     *
+     * @param inventory the mutable HEAD inventory, as it was last written in full
+     * @param latestRevision the latest revision of the mutable HEAD
+     * @return the inventory of the latest revision
+     */
+    private Inventory applyRevisionChanges(Inventory inventory, RevisionNum latestRevision) {
+        var changesDir = ObjectPaths.mutableHeadChangesPath(inventory.getObjectRootPath());
+        Set<String> records;
+
+        try {
+            records = storage.listDirectory(changesDir).stream()
+                    .filter(Listing::isFile)
+                    .map(Listing::getRelativePath)
+                    .collect(Collectors.toSet());
+        } catch (OcflNoSuchFileException e) {
+            return inventory;
+        }
+
+        var pending = new LinkedList<String>();
+        var revision = latestRevision;
+        while (records.contains(revision + ".json")) {
+            pending.addFirst(FileUtil.pathJoinFailEmpty(changesDir, revision + ".json"));
+            if (revision.getRevisionNum() == 1) {
+                break;
+            }
+            revision = revision.previousRevisionNum();
+        }
+
+        if (pending.isEmpty()) {
+            return inventory;
+        }
+
+        var changes = new ArrayList<RevisionChanges>(pending.size());
+
+        for (var record : pending) {
+            try (var stream = storage.read(record)) {
+                changes.add(inventoryMapper.readRevisionChanges(stream));
+            } catch (IOException e) {
+                throw new OcflIOException(e);
+            }
+        }
+
+        return RevisionChanges.applyAll(inventory, changes).withBaseDigest(inventory.getInventoryDigest());
     }
 
     private void moveToRevisionDirectory(
@@ -778,20 +1350,59 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         try {
             storage.moveDirectoryInto(stagingDir, destination);
         } catch (OcflFileAlreadyExistsException e) {
-            throw new ObjectOutOfSyncException(String.format(
-                    "Failed to create a new version of object %s. Changes are out of sync with the current object state.",
-                    inventory.getId()));
+            throw versionConflict(inventory, e);
         }
     }
 
-    private void moveMutableHeadToVersionDirectory(Inventory inventory, String destination) {
+    /**
+     * The version directory belongs to another writer, so nothing may be cleaned up when its creation is rejected
+     */
+    private InventoryConflictException versionConflict(Inventory inventory, Exception cause) {
+        return new InventoryConflictException(
+                String.format(
+                        "Failed to create a new version of object %s. Changes are out of sync with the current object state.",
+                        inventory.getId()),
+                cause);
+    }
+
+    private void moveMutableHeadToVersionDirectory(Inventory oldInventory, Inventory inventory, String destination) {
+        var source = ObjectPaths.mutableHeadVersionPath(inventory.getObjectRootPath());
         try {
-            storage.moveDirectoryInternal(
-                    ObjectPaths.mutableHeadVersionPath(inventory.getObjectRootPath()), destination);
+            storage.moveDirectoryInternal(source, destination);
         } catch (OcflFileAlreadyExistsException e) {
-            throw new ObjectOutOfSyncException(String.format(
-                    "Failed to create a new version of object %s. Changes are out of sync with the current object state.",
-                    inventory.getId()));
+            if (!isInterruptedCommit(oldInventory, inventory)) {
+                throw new ObjectOutOfSyncException(String.format(
+                        "Failed to create a new version of object %s. Changes are out of sync with the current object state.",
+                        inventory.getId()));
+            }
+
+            LOG.info("Resuming interrupted commit of object {} mutable HEAD to {}", inventory.getId(), destination);
+
+            try {
+                storage.resumeMoveDirectoryInternal(source, destination);
+            } catch (OcflFileAlreadyExistsException e1) {
+                throw new ObjectOutOfSyncException(String.format(
+                        "Failed to create a new version of object %s. Changes are out of sync with the current object state.",
+                        inventory.getId()));
+            }
+        }
+    }
+
+    /**
+     * A commit moves the mutable HEAD into the new version directory before it updates the root inventory. If the
+     * version directory exists, the root inventory is unchanged, and the latest revision marker is the revision that
+     * is being committed, then the directory was left behind by a commit of this same mutable HEAD that was
+     * interrupted, and the move can be resumed.
+     */
+    private boolean isInterruptedCommit(Inventory oldInventory, Inventory inventory) {
+        if (oldInventory.getRevisionNum() == null) {
+            return false;
+        }
+
+        try {
+            return oldInventory.getRevisionNum().equals(identifyLatestRevision(inventory.getObjectRootPath()));
+        } catch (CorruptObjectException e) {
+            return false;
         }
     }
 
@@ -823,6 +1434,7 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
 
     private void copyInventoryToRootWithRollback(
             Inventory inventory, ObjectPaths.ObjectRoot objectRoot, Path stagingDir) {
+        HeldLocks.ensureHeld(inventory.getId());
         try {
             Failsafe.with(invRetry).run(() -> {
                 storage.copyFileInto(
@@ -840,7 +1452,125 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         }
     }
 
+    /**
+     * Returns the content of the staged inventory if the root inventory can be swapped using a conditional write, or
+     * null if it cannot be.
+     */
+    private byte[] conditionalInventoryBytes(Inventory inventory, Path stagingDir) {
+        if (!canWriteInventoryConditionally(inventory)) {
+            return null;
+        }
+
+        return UncheckedFiles.readAllBytes(ObjectPaths.inventoryPath(stagingDir));
+    }
+
+    private boolean canWriteInventoryConditionally(Inventory inventory) {
+        if (storage.conditionalWriter() == null) {
+            return false;
+        }
+
+        if (inventory.getPreviousDigest() == null && !isFirstVersion(inventory)) {
+            return false;
+        }
+
+        if (inventory.getPreviousDigest() != null
+                && inventoryVersionTags.getIfPresent(inventory.getPreviousDigest()) == null) {
+            LOG.debug(
+                    "Cannot conditionally update object {} because the version tag of its root inventory is unknown.",
+                    inventory.getId());
+            return false;
+        }
+
+        return true;
+    }
+
+    private void writeInventoryToRootConditionally(
+            Inventory inventory, ObjectPaths.ObjectRoot objectRoot, String versionPath, byte[] inventoryBytes) {
+        HeldLocks.ensureHeld(inventory.getId());
+        var writer = storage.conditionalWriter();
+        var expectedTag = inventory.getPreviousDigest() == null
+                ? null
+                : inventoryVersionTags.getIfPresent(inventory.getPreviousDigest());
+
+        String newTag;
+        try {
+            newTag = writer.writeIfMatch(objectRoot.inventoryFile(), inventoryBytes, MEDIA_TYPE_JSON, expectedTag);
+        } catch (PreconditionFailedException e) {
+            if (inventory.getPreviousDigest() != null) {
+                inventoryVersionTags.invalidate(inventory.getPreviousDigest());
+            }
+            throw new InventoryConflictException(
+                    String.format(
+                            "Cannot update object %s because the update is out of sync with the current object state. "
+                                    + "The root inventory was modified by another process.",
+                            inventory.getId()),
+                    e);
+        }
+
+        try {
+            Failsafe.with(invRetry)
+                    .run(() -> storage.copyFileInternal(
+                            ObjectPaths.inventorySidecarPath(versionPath, inventory), objectRoot.inventorySidecar()));
+        } catch (RuntimeException e) {
+            rollbackInventory(inventory);
+            throw e;
+        }
+
+        if (newTag != null) {
+            syncRootSidecar(objectRoot, writer, newTag);
+
+            if (inventory.getInventoryDigest() != null) {
+                inventoryVersionTags.put(inventory.getInventoryDigest(), newTag);
+            }
+        }
+    }
+
+    /**
+     * The root sidecar is copied after the root inventory is conditionally written, so another process that replaced
+     * the root inventory after this one may have copied its sidecar before this process did. After copying its sidecar,
+     * a writer therefore checks that the root inventory still has the version tag it wrote. If it does not, the sidecar
+     * of the current root inventory's head version is copied again, until the root inventory is unchanged across the
+     * copy. Whichever process copies a sidecar last then leaves the one that matches the root inventory.
+     *
+     * @param objectRoot the object root
+     * @param writer the storage's conditional writer
+     * @param writtenTag the version tag of the root inventory that this process wrote
+     */
+    private void syncRootSidecar(ObjectPaths.ObjectRoot objectRoot, ConditionalWriter writer, String writtenTag) {
+        var expectedTag = writtenTag;
+
+        for (var attempt = 0; attempt < MAX_SIDECAR_SYNC_ATTEMPTS; attempt++) {
+            if (Objects.equals(expectedTag, writer.versionTag(objectRoot.inventoryFile()))) {
+                return;
+            }
+
+            LOG.debug(
+                    "The root inventory at {} was replaced while its sidecar was being updated. Copying the sidecar of the current root inventory.",
+                    objectRoot.path());
+
+            var currentTag = new AtomicReference<String>();
+            Inventory current;
+            try (var stream = storage.read(objectRoot.inventoryFile(), currentTag::set)) {
+                current = inventoryMapper.readNoDigest(objectRoot.path(), stream);
+            } catch (IOException e) {
+                throw new OcflIOException(e);
+            }
+
+            var currentVersionPath = objectVersionPath(current, current.getHead());
+            Failsafe.with(invRetry)
+                    .run(() -> storage.copyFileInternal(
+                            ObjectPaths.inventorySidecarPath(currentVersionPath, current),
+                            ObjectPaths.inventorySidecarPath(objectRoot.path(), current)));
+            expectedTag = currentTag.get();
+        }
+
+        LOG.warn(
+                "The root inventory at {} is being concurrently modified. Its sidecar may not match it until the next update.",
+                objectRoot.path());
+    }
+
     private void copyInventoryToRootWithRollback(Inventory inventory, String versionPath) {
+        HeldLocks.ensureHeld(inventory.getId());
         try {
             copyInventoryInternal(inventory, versionPath, inventory.getObjectRootPath());
         } catch (RuntimeException e) {
@@ -910,27 +1640,194 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         }
     }
 
+    /**
+     * The root inventory and its sidecar are replaced one after the other, so a reader racing a concurrent update can
+     * see a new inventory paired with an old sidecar. A mismatch is therefore read again a few times before the object
+     * is reported as corrupt.
+     */
     private Inventory parseAndVerifyInventory(String objectId, DigestAlgorithm digestAlgorithm, String objectRootPath) {
+        return Failsafe.with(rootReadRetry)
+                .get(() -> readAndVerifyInventory(objectId, digestAlgorithm, objectRootPath));
+    }
+
+    private Inventory readAndVerifyInventory(String objectId, DigestAlgorithm digestAlgorithm, String objectRootPath) {
+        String expectedDigest = null;
+
+        // The sidecar is only read up front when the disk cache holds an inventory of the object that it could match
+        if (inventoryDiskCache != null && inventoryDiskCache.contains(objectId)) {
+            expectedDigest = getDigestFromSidecar(ObjectPaths.inventorySidecarPath(objectRootPath, digestAlgorithm));
+            var cached = readInventoryFromDiskCache(objectId, digestAlgorithm, objectRootPath, expectedDigest);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         var inventoryPath = ObjectPaths.inventoryPath(objectRootPath);
+        var versionTag = new AtomicReference<String>();
+
+        Inventory inventory;
+        byte[] inventoryBytes = null;
+
+        try (var stream = storage.read(inventoryPath, versionTag::set)) {
+            if (inventoryDiskCache == null) {
+                inventory = inventoryMapper.read(objectRootPath, digestAlgorithm, stream);
+            } else {
+                inventoryBytes = stream.readAllBytes();
+                inventory =
+                        inventoryMapper.read(objectRootPath, digestAlgorithm, new ByteArrayInputStream(inventoryBytes));
+            }
+        } catch (OcflNoSuchFileException e) {
+            throw new CorruptObjectException(String.format("Object %s is missing its root inventory", objectId), e);
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
+
+        if (versionTag.get() != null && inventory.getInventoryDigest() != null) {
+            inventoryVersionTags.put(inventory.getInventoryDigest(), versionTag.get());
+        }
+
+        if (verifyInventoryDigest) {
+            if (expectedDigest == null) {
+                expectedDigest = getDigestFromSidecar(ObjectPaths.inventorySidecarPath(objectRootPath, inventory));
+            }
+            if (!expectedDigest.equalsIgnoreCase(inventory.getInventoryDigest())) {
+                throw new RootInventoryMismatchException(objectId);
+            }
+        }
+
+        if (inventoryBytes != null
+                && inventory.getInventoryDigest() != null
+                && (expectedDigest == null || expectedDigest.equalsIgnoreCase(inventory.getInventoryDigest()))) {
+            inventoryDiskCache.put(objectId, inventory.getInventoryDigest(), inventoryBytes, versionTag.get());
+        }
+
+        return inventory;
+    }
 
+    private Inventory parseAndVerifyInventoryAt(
+            String objectId,
+            DigestAlgorithm digestAlgorithm,
+            String objectRootPath,
+            String inventoryPath,
+            String sidecarPath,
+            boolean headVersionOnly) {
         try (var stream = storage.read(inventoryPath)) {
-            var inventory = inventoryMapper.read(objectRootPath, digestAlgorithm, stream);
+            var inventory = headVersionOnly
+                    ? inventoryMapper.readHeadVersion(objectRootPath, digestAlgorithm, stream)
+                    : inventoryMapper.read(objectRootPath, digestAlgorithm, stream);
 
             if (verifyInventoryDigest) {
-                var expectedDigest = getDigestFromSidecar(ObjectPaths.inventorySidecarPath(objectRootPath, inventory));
+                var expectedDigest = getDigestFromSidecar(sidecarPath);
                 if (!expectedDigest.equalsIgnoreCase(inventory.getInventoryDigest())) {
-                    throw new CorruptObjectException(String.format("Invalid root inventory in object %s", objectId));
+                    throw new CorruptObjectException(
+                            String.format("Invalid inventory at %s in object %s", inventoryPath, objectId));
                 }
             }
 
             return inventory;
         } catch (OcflNoSuchFileException e) {
-            throw new CorruptObjectException(String.format("Object %s is missing its root inventory", objectId), e);
+            throw new CorruptObjectException(
+                    String.format("Object %s is missing its inventory at %s", objectId, inventoryPath), e);
         } catch (IOException e) {
             throw new OcflIOException(e);
         }
     }
 
+    /**
+     * Loads the state of a version, along with the states of the versions before it, from the inventory in its version
+     * directory. Version inventories are optional, so the root inventory is loaded in full if the version does not have
+     * one. The root inventory is retained in the supplied reference so that it is not parsed again for other versions.
+     */
+    private Map<VersionNum, Version> loadVersionStates(
+            String objectId,
+            DigestAlgorithm digestAlgorithm,
+            String objectRootPath,
+            VersionNum versionNum,
+            AtomicReference<Inventory> rootInventory) {
+        var root = rootInventory.get();
+        if (root != null) {
+            return root.getVersions();
+        }
+
+        LOG.debug("Load version {} state for object <{}>", versionNum, objectId);
+
+        var versionPath = FileUtil.pathJoinFailEmpty(objectRootPath, versionNum.toString());
+        var inventoryPath = ObjectPaths.inventoryPath(versionPath);
+
+        if (!storage.fileExists(inventoryPath)) {
+            LOG.debug(
+                    "Version {} of object <{}> does not have an inventory. Loading the root inventory.",
+                    versionNum,
+                    objectId);
+            root = parseAndVerifyInventory(objectId, digestAlgorithm, objectRootPath);
+            rootInventory.set(root);
+            return root.getVersions();
+        }
+
+        var inventory = parseAndVerifyInventoryAt(
+                objectId,
+                digestAlgorithm,
+                objectRootPath,
+                inventoryPath,
+                ObjectPaths.inventorySidecarPath(versionPath, digestAlgorithm),
+                false);
+
+        if (!Objects.equals(objectId, inventory.getId()) || !versionNum.equals(inventory.getHead())) {
+            throw new CorruptObjectException(String.format(
+                    "Expected inventory at %s to have id %s and head %s. Found: %s and %s",
+                    inventoryPath, objectId, versionNum, inventory.getId(), inventory.getHead()));
+        }
+
+        return inventory.getVersions();
+    }
+
+    /**
+     * Returns the object's inventory from the disk cache if it contains the inventory with the expected digest. The
+     * version tag that was cached with the inventory is recorded so that the object can be conditionally updated.
+     */
+    private Inventory readInventoryFromDiskCache(
+            String objectId, DigestAlgorithm digestAlgorithm, String objectRootPath, String expectedDigest) {
+        var versionTag = new AtomicReference<String>();
+
+        try (var cached = inventoryDiskCache.read(objectId, expectedDigest, versionTag::set)) {
+            if (cached != null) {
+                var inventory = inventoryMapper.read(objectRootPath, digestAlgorithm, cached);
+                if (expectedDigest.equalsIgnoreCase(inventory.getInventoryDigest())) {
+                    if (versionTag.get() != null) {
+                        inventoryVersionTags.put(inventory.getInventoryDigest(), versionTag.get());
+                    }
+                    return inventory;
+                }
+                LOG.debug("Cached inventory for object {} does not match its digest", objectId);
+                inventoryDiskCache.invalidate(objectId);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to read cached inventory for object {}", objectId, e);
+            inventoryDiskCache.invalidate(objectId);
+        }
+
+        return null;
+    }
+
+    /**
+     * Thrown when a conditional root inventory write fails, or a version directory cannot be claimed, because the
+     * object was concurrently modified
+     */
+    private static class InventoryConflictException extends ObjectOutOfSyncException {
+        InventoryConflictException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Thrown when the root inventory does not match the digest in its sidecar
+     */
+    private static class RootInventoryMismatchException extends CorruptObjectException {
+        RootInventoryMismatchException(String objectId) {
+            super(String.format("Invalid root inventory in object %s", objectId));
+        }
+    }
+
     private Inventory parseAndVerifyMutableInventory(
             String objectId, DigestAlgorithm digestAlgorithm, String objectRootPath) {
         var inventoryPath = ObjectPaths.mutableHeadInventoryPath(objectRootPath);
@@ -948,7 +1845,7 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
                 }
             }
 
-            return inventory;
+            return applyRevisionChanges(inventory, revisionNum);
         } catch (OcflNoSuchFileException e) {
             throw new CorruptObjectException(
                     String.format("Object %s is missing its mutable HEAD inventory", objectId), e);
@@ -1138,6 +2035,34 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         }
     }
 
+    /**
+     * An object's namaste file is written before its first version, and its root inventory and sidecar are written
+     * last. An object that has neither does not exist yet, because its first version is still being written or was
+     * abandoned.
+     */
+    private boolean isUnfinishedObject(String objectId, String objectRootPath) {
+        if (storage.fileExists(ObjectPaths.inventoryPath(objectRootPath))) {
+            return false;
+        }
+        LOG.debug("Object {} does not have a root inventory yet", objectId);
+        return true;
+    }
+
+    /**
+     * The root inventory of a new object is installed before its sidecar, so the sidecar is briefly missing while the
+     * first version is committed. Such an object is examined again a few times before it is reported as corrupt.
+     */
+    private ObjectProperties examineObjectForRead(String objectRootPath) {
+        var retry = RetryPolicy.<ObjectProperties>builder()
+                .handleResultIf(props -> props.getOcflVersion() != null
+                        && props.getDigestAlgorithm() == null
+                        && storage.fileExists(ObjectPaths.inventoryPath(objectRootPath)))
+                .withBackoff(10, 100, ChronoUnit.MILLIS, 2)
+                .withMaxRetries(3)
+                .build();
+        return Failsafe.with(retry).get(() -> examineObject(objectRootPath));
+    }
+
     private ObjectProperties examineObject(String objectRootPath) {
         var properties = new ObjectProperties();
         List<Listing> files;
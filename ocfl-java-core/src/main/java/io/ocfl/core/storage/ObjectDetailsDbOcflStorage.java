@@ -38,8 +38,10 @@ import io.ocfl.core.db.OcflObjectDetails;
 import io.ocfl.core.extension.OcflExtensionConfig;
 import io.ocfl.core.inventory.SidecarMapper;
 import io.ocfl.core.model.Inventory;
+import io.ocfl.core.util.SingleFlight;
 import java.io.ByteArrayInputStream;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -51,10 +53,12 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
 
     private final ObjectDetailsDatabase objectDetailsDb;
     private final OcflStorage delegate;
+    private final SingleFlight<String, Inventory> inventoryLoads;
 
     public ObjectDetailsDbOcflStorage(ObjectDetailsDatabase objectDetailsDb, OcflStorage delegate) {
         this.objectDetailsDb = Enforce.notNull(objectDetailsDb, "objectDetailsDb cannot be null");
         this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+        this.inventoryLoads = new SingleFlight<>();
     }
 
     /**
@@ -67,7 +71,8 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
 
     /**
      * If the object is stored in the database with its inventory, then the inventory is loaded from there. Otherwise,
-     * it's pulled from the underlying storage and inserted into the database before it's returned.
+     * it's pulled from the underlying storage and inserted into the database before it's returned. Concurrent loads
+     * of the same object share a single database lookup and parse.
      *
      * @param objectId the id of the object to load
      * @return inventory
@@ -76,12 +81,17 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
     public Inventory loadInventory(String objectId) {
         ensureOpen();
 
+        return inventoryLoads.load(objectId, this::loadInventoryInternal);
+    }
+
+    private Inventory loadInventoryInternal(String objectId) {
         var details = objectDetailsDb.retrieveObjectDetails(objectId);
 
         if (details == null || details.getInventoryBytes() == null) {
             var inventory = delegate.loadInventory(objectId);
 
-            if (inventory != null) {
+            // A mutable HEAD inventory that was assembled from change records does not have a serialized form to cache
+            if (inventory != null && inventory.getInventoryDigest() != null) {
                 try {
                     var inventoryBytes = delegate.getInventoryBytes(inventory.getId(), inventory.getHead());
                     objectDetailsDb.addObjectDetails(inventory, inventory.getInventoryDigest(), inventoryBytes);
@@ -96,11 +106,23 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
         return parseInventory(details);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String loadInventoryDigest(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventoryDigest(objectId);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public byte[] getInventoryBytes(String objectId, VersionNum versionNum) {
+        ensureOpen();
+
         return delegate.getInventoryBytes(objectId, versionNum);
     }
 
@@ -119,6 +141,22 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
         updateDetails(inventory, stagingDir, () -> delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsOptimisticCommits() {
+        return delegate.supportsOptimisticCommits();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recordsRevisionChanges() {
+        return delegate.recordsRevisionChanges();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -150,6 +188,7 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
             delegate.purgeObject(objectId);
         } finally {
             safeDeleteDetails(objectId);
+            inventoryLoads.forget(objectId);
         }
     }
 
@@ -164,6 +203,7 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
             delegate.rollbackToVersion(inventory, versionNum);
         } finally {
             safeDeleteDetails(inventory.getId());
+            inventoryLoads.forget(inventory.getId());
         }
     }
 
@@ -178,6 +218,24 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
                 newInventory, stagingDir, () -> delegate.commitMutableHead(oldInventory, newInventory, stagingDir));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReclaimResult reclaimOrphans(String objectId, Instant staleBefore) {
+        ensureOpen();
+
+        var result = delegate.reclaimOrphans(objectId, staleBefore);
+
+        if (result.getDirectories() > 0) {
+            // Completing an interrupted rollback may have purged the mutable HEAD
+            safeDeleteDetails(objectId);
+            inventoryLoads.forget(objectId);
+        }
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -189,6 +247,7 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
             delegate.purgeMutableHead(objectId);
         } finally {
             safeDeleteDetails(objectId);
+            inventoryLoads.forget(objectId);
         }
     }
 
@@ -249,7 +308,11 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
     public void importObject(String objectId, Path objectPath) {
         ensureOpen();
 
-        delegate.importObject(objectId, objectPath);
+        try {
+            delegate.importObject(objectId, objectPath);
+        } finally {
+            inventoryLoads.forget(objectId);
+        }
     }
 
     /**
@@ -276,6 +339,7 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
     @Override
     public void invalidateCache(String objectId) {
         objectDetailsDb.deleteObjectDetails(objectId);
+        inventoryLoads.forget(objectId);
         delegate.invalidateCache(objectId);
     }
 
@@ -298,6 +362,8 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
             // TODO it's possible that the ObjectDetails should be deleted on any SQLException
             safeDeleteDetails(inventory.getId());
             throw e;
+        } finally {
+            inventoryLoads.forget(inventory.getId());
         }
     }
 
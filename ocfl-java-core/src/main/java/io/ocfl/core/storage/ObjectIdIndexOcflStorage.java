@@ -0,0 +1,360 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage;
+
+import io.ocfl.api.OcflFileRetriever;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.OcflVersion;
+import io.ocfl.api.model.ValidationResults;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.api.util.Enforce;
+import io.ocfl.core.db.ObjectIdIndex;
+import io.ocfl.core.extension.OcflExtensionConfig;
+import io.ocfl.core.model.Inventory;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains an {@link ObjectIdIndex} on top of an OcflStorage implementation, and uses it to list object ids without
+ * walking the storage hierarchy. Every process that writes to the repository must use the same index for it to remain
+ * accurate. If the index is empty when the storage is initialized, it is built by walking the storage hierarchy.
+ */
+public class ObjectIdIndexOcflStorage extends AbstractOcflStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectIdIndexOcflStorage.class);
+
+    private final ObjectIdIndex objectIdIndex;
+    private final OcflStorage delegate;
+
+    public ObjectIdIndexOcflStorage(ObjectIdIndex objectIdIndex, OcflStorage delegate) {
+        this.objectIdIndex = Enforce.notNull(objectIdIndex, "objectIdIndex cannot be null");
+        this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected RepositoryConfig doInitialize(OcflVersion ocflVersion, OcflExtensionConfig layoutConfig) {
+        var config = delegate.initializeStorage(ocflVersion, layoutConfig, inventoryMapper, supportEvaluator);
+
+        if (objectIdIndex.isEmpty()) {
+            rebuildIndexInternal();
+        }
+
+        return config;
+    }
+
+    /**
+     * Rebuilds the object id index by walking the entire storage hierarchy. This is slow, and should only be necessary
+     * if objects were written to the repository by a process that was not using the index.
+     *
+     * @return the number of object ids that were indexed
+     */
+    public long rebuildIndex() {
+        ensureOpen();
+
+        return rebuildIndexInternal();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Inventory loadInventory(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventory(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String loadInventoryDigest(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventoryDigest(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Inventory loadInventoryWithLazyVersions(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventoryWithLazyVersions(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getInventoryBytes(String objectId, VersionNum versionNum) {
+        ensureOpen();
+
+        return delegate.getInventoryBytes(objectId, versionNum);
+    }
+
+    /**
+     * Stores a new version of an object and adds the object's id to the index if it's a new object.
+     *
+     * @param inventory the updated object inventory
+     * @param stagingDir the directory that contains the composed contents of the new object version
+     * @param upgradeOcflVersion indicates if the OCFL spec version needs to be upgraded as part of the write operation
+     */
+    @Override
+    public void storeNewVersion(Inventory inventory, Path stagingDir, boolean upgradeOcflVersion) {
+        ensureOpen();
+
+        delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion);
+
+        if (VersionNum.V1.equals(inventory.getHead())) {
+            safeAddObjectId(inventory.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsOptimisticCommits() {
+        return delegate.supportsOptimisticCommits();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recordsRevisionChanges() {
+        return delegate.recordsRevisionChanges();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, OcflFileRetriever> getObjectStreams(Inventory inventory, VersionNum versionNum) {
+        ensureOpen();
+
+        return delegate.getObjectStreams(inventory, versionNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reconstructObjectVersion(Inventory inventory, VersionNum versionNum, Path stagingDir) {
+        ensureOpen();
+
+        delegate.reconstructObjectVersion(inventory, versionNum, stagingDir);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeObject(String objectId) {
+        ensureOpen();
+
+        delegate.purgeObject(objectId);
+
+        try {
+            objectIdIndex.removeObjectId(objectId);
+        } catch (RuntimeException e) {
+            LOG.error(
+                    "Failed to remove object {} from the object id index. You may need to manually remove it or rebuild the index.",
+                    objectId,
+                    e);
+        }
+    }
+
+    /**
+     * Commits the mutable HEAD and adds the object's id to the index. The id is added on every commit, rather than only
+     * for new objects, so that an object whose first version was written without being indexed is indexed once its
+     * mutable HEAD is committed.
+     *
+     * @param oldInventory the deserialized inventory of the object BEFORE it was rewritten for the commit
+     * @param newInventory the deserialized inventory of the object AFTER it was rewritten for the commit
+     * @param stagingDir the path to the staging directory that contains the inventory files
+     */
+    @Override
+    public void commitMutableHead(Inventory oldInventory, Inventory newInventory, Path stagingDir) {
+        ensureOpen();
+
+        delegate.commitMutableHead(oldInventory, newInventory, stagingDir);
+        safeAddObjectId(newInventory.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReclaimResult reclaimOrphans(String objectId, Instant staleBefore) {
+        ensureOpen();
+
+        return delegate.reclaimOrphans(objectId, staleBefore);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeMutableHead(String objectId) {
+        ensureOpen();
+
+        delegate.purgeMutableHead(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackToVersion(Inventory inventory, VersionNum versionNum) {
+        ensureOpen();
+
+        delegate.rollbackToVersion(inventory, versionNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsObject(String objectId) {
+        ensureOpen();
+
+        return delegate.containsObject(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String objectRootPath(String objectId) {
+        ensureOpen();
+
+        return delegate.objectRootPath(objectId);
+    }
+
+    /**
+     * Streams object ids from the index rather than walking storage.
+     *
+     * @return stream of object ids
+     */
+    @Override
+    public Stream<String> listObjectIds() {
+        ensureOpen();
+
+        return objectIdIndex.streamObjectIds();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportVersion(ObjectVersionId objectVersionId, Path outputPath) {
+        ensureOpen();
+
+        delegate.exportVersion(objectVersionId, outputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportObject(String objectId, Path outputPath) {
+        ensureOpen();
+
+        delegate.exportObject(objectId, outputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void importObject(String objectId, Path objectPath) {
+        ensureOpen();
+
+        delegate.importObject(objectId, objectPath);
+        safeAddObjectId(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationResults validateObject(String objectId, boolean contentFixityCheck) {
+        ensureOpen();
+
+        return delegate.validateObject(objectId, contentFixityCheck);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateCache(String objectId) {
+        delegate.invalidateCache(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateCache() {
+        delegate.invalidateCache();
+    }
+
+    private long rebuildIndexInternal() {
+        LOG.info("Building object id index from storage. This may take a while.");
+        try (var objectIds = delegate.listObjectIds()) {
+            return objectIdIndex.rebuild(objectIds);
+        }
+    }
+
+    private void safeAddObjectId(String objectId) {
+        try {
+            objectIdIndex.addObjectId(objectId);
+        } catch (RuntimeException e) {
+            LOG.error(
+                    "Failed to add object {} to the object id index. You may need to manually add it or rebuild the index.",
+                    objectId,
+                    e);
+        }
+    }
+}
@@ -36,7 +36,9 @@ import io.ocfl.core.extension.ExtensionSupportEvaluator;
 import io.ocfl.core.extension.OcflExtensionConfig;
 import io.ocfl.core.inventory.InventoryMapper;
 import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionNum;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -80,6 +82,37 @@ public interface OcflStorage {
      */
     Inventory loadInventory(String objectId);
 
+    /**
+     * Returns a token that identifies the object's current inventory without loading the inventory. It is the digest
+     * recorded in the inventory's sidecar. If the object has a mutable HEAD, it is the digest of the mutable HEAD
+     * inventory combined with the latest revision, see {@link Inventory#digestToken(String, RevisionNum)}. The token
+     * is equal to {@link Inventory#getDigestToken()} of the inventory that {@link #loadInventory(String)} returns.
+     * Null is returned if the object is not found.
+     *
+     * @param objectId the id of the object
+     * @return the digest token of the object's current inventory or null if the object was not found
+     */
+    default String loadInventoryDigest(String objectId) {
+        var inventory = loadInventory(objectId);
+        return inventory == null ? null : inventory.getDigestToken();
+    }
+
+    /**
+     * Returns a verified copy of the most recent object inventory that may only contain the state of the head version.
+     * The states of prior versions are loaded on demand when they are requested. This is intended for read operations
+     * that only access a single version, and the returned inventory must not be used to create new versions. Null is
+     * returned if the object is not found.
+     *
+     * <p>By default, this is the same as {@link #loadInventory(String)}.
+     *
+     * @param objectId the id of the object to load
+     * @return the deserialized inventory or null if the object was not found
+     * @throws FixityCheckException if the inventory fails its fixity check
+     */
+    default Inventory loadInventoryWithLazyVersions(String objectId) {
+        return loadInventory(objectId);
+    }
+
     /**
      * Returns the raw inventory bytes for the specified object version
      *
@@ -109,6 +142,32 @@ public interface OcflStorage {
      */
     void storeNewVersion(Inventory inventory, Path stagingDir, boolean upgradeOcflVersion);
 
+    /**
+     * Indicates if new versions can safely be stored without holding the object lock. This requires that the storage
+     * atomically claims a new version's directory, so that when concurrent writers create the same version exactly one
+     * of them succeeds and the others fail without modifying it.
+     *
+     * <p>The default implementation returns false.
+     *
+     * @return true if versions may be stored concurrently
+     */
+    default boolean supportsOptimisticCommits() {
+        return false;
+    }
+
+    /**
+     * Indicates if mutable HEAD revisions may be stored as change records, in which case {@link #storeNewVersion} uses
+     * the record that is staged at {@code ObjectPaths.revisionChangesPath(stagingDir)}, when present, instead of
+     * writing the full mutable HEAD inventory. When this returns false, callers do not need to stage change records.
+     *
+     * <p>The default implementation returns false.
+     *
+     * @return true if change records are used
+     */
+    default boolean recordsRevisionChanges() {
+        return false;
+    }
+
     /**
      * Returns a map of {@code OcflFileRetriever} objects that are used to lazy-load object files. The map keys are the
      * object relative file paths of all of the files in the specified version of the object.
@@ -153,6 +212,25 @@ public interface OcflStorage {
      */
     void commitMutableHead(Inventory oldInventory, Inventory newInventory, Path stagingDir);
 
+    /**
+     * Deletes directories in an object that were left behind by writes that failed before they completed, and are
+     * not referenced by the object's inventory. These are version directories that are newer than the object's
+     * head version, and mutable HEAD revision content directories that no files in the mutable HEAD refer to. A
+     * directory is only deleted if nothing in it was modified after {@code staleBefore}.
+     * Versions superseded by an interrupted rollback are deleted regardless of their age.
+     *
+     * <p>The default implementation does nothing.
+     *
+     * <p>DefaultOcflRepository calls this method from a write lock.
+     *
+     * @param objectId the id of the object to clean up
+     * @param staleBefore directories that were modified at or after this time are not deleted
+     * @return the directories that were deleted
+     */
+    default ReclaimResult reclaimOrphans(String objectId, Instant staleBefore) {
+        return ReclaimResult.none();
+    }
+
     /**
      * Permanently removes the mutable HEAD of an object. If the object does not have a mutable HEAD nothing happens.
      *
@@ -166,6 +244,10 @@ public interface OcflStorage {
      * Sets the head object version to the specified version by reinstating that version's inventory into the object
      * root, and purging all intermediary versions.
      *
+     * <p>DefaultOcflStorage records the rollback's intent in the object before it replaces the root inventory. If the
+     * rollback is interrupted before the intermediary versions are purged, they are purged the next time the object is
+     * rolled back or its orphans are reclaimed.
+     *
      * @param inventory the deserialized object inventory
      * @param versionNum the id of the version to rollback to
      */
@@ -26,12 +26,16 @@ package io.ocfl.core.storage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.ocfl.api.util.Enforce;
+import io.ocfl.core.cache.DiskInventoryCache;
 import io.ocfl.core.storage.cloud.CloudClient;
+import io.ocfl.core.storage.cloud.CloudContentCache;
 import io.ocfl.core.storage.cloud.CloudStorage;
 import io.ocfl.core.storage.common.Storage;
+import io.ocfl.core.storage.filesystem.FileSystemPurger;
 import io.ocfl.core.storage.filesystem.FileSystemStorage;
 import io.ocfl.core.util.ObjectMappers;
 import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Builder for constructing {@link OcflStorage} objects. It is configured with sensible defaults and can minimally be
@@ -43,6 +47,9 @@ public class OcflStorageBuilder {
     private Storage storage;
     private OcflStorageInitializer initializer;
     private boolean verifyInventoryDigest;
+    private DiskInventoryCache inventoryDiskCache;
+    private boolean lazyVersionLoading;
+    private int mutableHeadInventoryInterval;
 
     public static OcflStorageBuilder builder() {
         return new OcflStorageBuilder();
@@ -51,6 +58,7 @@ public class OcflStorageBuilder {
     public OcflStorageBuilder() {
         objectMapper = ObjectMappers.prettyPrintMapper();
         this.verifyInventoryDigest = true;
+        this.mutableHeadInventoryInterval = 1;
     }
 
     /**
@@ -77,6 +85,21 @@ public class OcflStorageBuilder {
         return this;
     }
 
+    /**
+     * Configure local filesystem based storage implementation that purges objects with the specified purger. Purged
+     * objects are moved into a tombstone directory in the storage root, and then deleted in the background by multiple
+     * threads. This method, {@link #storage(Storage)}, {@link #fileSystem(Path)}, or {@link #cloud(CloudClient)} must
+     * be used.
+     *
+     * @param storageRoot path to the OCFL storage root directory
+     * @param purger purges directories in the background
+     * @return builder
+     */
+    public OcflStorageBuilder fileSystem(Path storageRoot, FileSystemPurger purger) {
+        this.storage = new FileSystemStorage(storageRoot, Enforce.notNull(purger, "purger cannot be null"));
+        return this;
+    }
+
     /**
      * Configure cloud based storage implementation. This method, {@link #storage(Storage)}, or {@link #fileSystem(Path)}
      * must be used.
@@ -89,6 +112,42 @@ public class OcflStorageBuilder {
         return this;
     }
 
+    /**
+     * Configure cloud based storage implementation that serves content files from a local disk cache when possible.
+     * This method, {@link #storage(Storage)}, {@link #fileSystem(Path)}, or {@link #cloud(CloudClient)} must be used.
+     *
+     * @param cloudClient client to use to connect to the cloud storage
+     * @param contentCache local cache to serve content files from
+     * @return builder
+     */
+    public OcflStorageBuilder cloud(CloudClient cloudClient, CloudContentCache contentCache) {
+        this.storage = new CloudStorage(cloudClient, Enforce.notNull(contentCache, "contentCache cannot be null"));
+        return this;
+    }
+
+    /**
+     * Configure cloud based storage implementation that caches directory listings for a short time, and optionally
+     * serves content files from a local disk cache. Cached listings are used to examine object roots and to answer
+     * existence checks. They are invalidated by writes made through this storage, but may not reflect changes made by
+     * other processes until they expire. This method, {@link #storage(Storage)}, {@link #fileSystem(Path)}, or
+     * {@link #cloud(CloudClient)} must be used.
+     *
+     * @param cloudClient client to use to connect to the cloud storage
+     * @param contentCache local cache to serve content files from, may be null
+     * @param listingCacheDuration how long to cache directory listings for
+     * @return builder
+     */
+    public OcflStorageBuilder cloud(
+            CloudClient cloudClient, CloudContentCache contentCache, Duration listingCacheDuration) {
+        Enforce.notNull(listingCacheDuration, "listingCacheDuration cannot be null");
+        Enforce.expressionTrue(
+                !listingCacheDuration.isNegative() && !listingCacheDuration.isZero(),
+                listingCacheDuration,
+                "listingCacheDuration must be positive");
+        this.storage = new CloudStorage(cloudClient, contentCache, listingCacheDuration);
+        return this;
+    }
+
     /**
      * Overrides the default ObjectMapper that's used to serialize ocfl_layout.json
      *
@@ -123,6 +182,52 @@ public class OcflStorageBuilder {
         return this;
     }
 
+    /**
+     * Configures a local disk cache of serialized root inventories. When configured, loading an object's inventory
+     * first reads its root sidecar, and only reads the inventory from storage if the cache does not contain an
+     * inventory with the sidecar's digest. This is most useful with cloud storage when the in-memory inventory cache
+     * is too small to hold the frequently used inventories. Default: none.
+     *
+     * @param inventoryDiskCache the inventory cache
+     * @return builder
+     */
+    public OcflStorageBuilder inventoryDiskCache(DiskInventoryCache inventoryDiskCache) {
+        this.inventoryDiskCache = inventoryDiskCache;
+        return this;
+    }
+
+    /**
+     * Configures whether read operations, such as describing or retrieving a single version of an object, should only
+     * load the head version's state from the root inventory. The states of prior versions are then loaded on demand from
+     * the inventories in their version directories. This reduces the cost of reading objects with many versions, but
+     * inventories that are loaded this way are not added to the inventory cache. Default: false.
+     *
+     * @param lazyVersionLoading true if version states should be loaded on demand by read operations
+     * @return builder
+     */
+    public OcflStorageBuilder lazyVersionLoading(boolean lazyVersionLoading) {
+        this.lazyVersionLoading = lazyVersionLoading;
+        return this;
+    }
+
+    /**
+     * Configures how often the full mutable HEAD inventory is written when changes are staged. Between full writes,
+     * each revision is stored as a record of the changes it made, and the records are applied to the last full inventory
+     * when the mutable HEAD is loaded. This reduces the cost of staging many small changes to an object with a large
+     * inventory. The full inventory is always written when a mutable HEAD is created. Default: 1, the full inventory is
+     * written on every revision.
+     *
+     * @param mutableHeadInventoryInterval the number of revisions between full mutable HEAD inventory writes
+     * @return builder
+     */
+    public OcflStorageBuilder mutableHeadInventoryInterval(int mutableHeadInventoryInterval) {
+        this.mutableHeadInventoryInterval = Enforce.expressionTrue(
+                mutableHeadInventoryInterval > 0,
+                mutableHeadInventoryInterval,
+                "mutableHeadInventoryInterval must be greater than 0");
+        return this;
+    }
+
     /**
      * Creates a {@link OcflStorage} object. One of {@link #storage(Storage)}, {@link #fileSystem(Path)}, or {@link #cloud(CloudClient)}
      * must be called before calling this method.
@@ -137,6 +242,12 @@ public class OcflStorageBuilder {
             init = new DefaultOcflStorageInitializer(storage, objectMapper);
         }
 
-        return new DefaultOcflStorage(storage, verifyInventoryDigest, init);
+        return new DefaultOcflStorage(
+                storage,
+                verifyInventoryDigest,
+                init,
+                inventoryDiskCache,
+                lazyVersionLoading,
+                mutableHeadInventoryInterval);
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage;
+
+/**
+ * The number of abandoned directories that were deleted from an object, the number of bytes they contained, and the
+ * number of unreferenced directories that were not deleted because they may still be in use.
+ */
+public class ReclaimResult {
+
+    private static final ReclaimResult NONE = new ReclaimResult(0, 0, 0);
+
+    private final int directories;
+    private final long bytes;
+    private final int pending;
+
+    /**
+     * @return a result with nothing reclaimed
+     */
+    public static ReclaimResult none() {
+        return NONE;
+    }
+
+    public ReclaimResult(int directories, long bytes) {
+        this(directories, bytes, 0);
+    }
+
+    public ReclaimResult(int directories, long bytes, int pending) {
+        this.directories = directories;
+        this.bytes = bytes;
+        this.pending = pending;
+    }
+
+    /**
+     * @return the number of directories that were deleted
+     */
+    public int getDirectories() {
+        return directories;
+    }
+
+    /**
+     * @return the number of bytes in the deleted directories
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of unreferenced directories that were modified too recently to be deleted
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    @Override
+    public String toString() {
+        return "ReclaimResult{" + "directories=" + directories + ", bytes=" + bytes + ", pending=" + pending + '}';
+    }
+}
@@ -27,7 +27,9 @@ package io.ocfl.core.storage.cloud;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Wrapper interface abstracting cloud provider clients
@@ -101,6 +103,16 @@ public interface CloudClient {
      */
     CloudObjectKey uploadBytes(String dstPath, byte[] bytes, String contentType);
 
+    /**
+     * Returns the uploader to use to upload objects conditionally on their ETags, or null if the client does not
+     * support conditional uploads. Callers must check for null before using it.
+     *
+     * @return the conditional uploader, or null if conditional uploads are not supported
+     */
+    default ConditionalUploader conditionalUploader() {
+        return null;
+    }
+
     /**
      * Copies an object from one location to another within the same bucket.
      *
@@ -111,6 +123,22 @@ public interface CloudClient {
      */
     CloudObjectKey copyObject(String srcPath, String dstPath);
 
+    /**
+     * Copies an object from one location to another within the same bucket without waiting for the copy to complete.
+     * The default implementation performs the copy synchronously.
+     *
+     * @param srcPath the path of the object to copy
+     * @param dstPath the path to copy the object to
+     * @return future that completes when the copy completes
+     */
+    default Future<CloudObjectKey> copyObjectAsync(String srcPath, String dstPath) {
+        try {
+            return CompletableFuture.completedFuture(copyObject(srcPath, dstPath));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Downloads an object to the local filesystem.
      *
@@ -130,6 +158,19 @@ public interface CloudClient {
      */
     InputStream downloadStream(String srcPath);
 
+    /**
+     * Downloads an object, and passes its ETag to the consumer. Clients that do not support conditional writes do not
+     * call the consumer.
+     *
+     * @param srcPath object key
+     * @param eTagConsumer receives the object's ETag
+     * @return stream of object content
+     * @throws KeyNotFoundException when srcPath not found
+     */
+    default InputStream downloadStream(String srcPath, Consumer<String> eTagConsumer) {
+        return downloadStream(srcPath);
+    }
+
     /**
      * Downloads the specified range of an object. The range string is as defined in <a href="https://www.rfc-editor.org/rfc/rfc9110.html#name-byte-ranges">RFC 9110</a>.
      *
@@ -0,0 +1,388 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage.cloud;
+
+import com.google.common.io.ByteStreams;
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.exception.OcflIOException;
+import io.ocfl.api.model.DigestAlgorithm;
+import io.ocfl.api.util.Enforce;
+import io.ocfl.core.cache.DiskLruStore;
+import io.ocfl.core.util.DigestUtil;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size-bounded, disk-backed LRU cache of content files that were read from cloud storage. Entries are keyed on the
+ * file's storage path and its digest. This is safe because OCFL content files are not modified once they are written,
+ * and, if a file at a path were ever replaced, its digest would change as well.
+ *
+ * <p>Files larger than the max file size are never admitted to the cache, and files are only admitted after their
+ * digest has been verified. Files are copied to the cache while they are streamed to the caller, and are admitted
+ * once the caller has read them in full. Existing entries in the cache directory are reused when the cache is created.
+ */
+public class CloudContentCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CloudContentCache.class);
+
+    private static final String TEMP_PREFIX = "download-";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DiskLruStore store;
+    private final long maxFileBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    /**
+     * @param directory the local directory to store cached files in, ideally on fast local disk
+     * @param maxBytes the maximum number of bytes to store in the cache
+     * @param maxFileBytes the maximum size of a file that may be admitted to the cache
+     */
+    public CloudContentCache(Path directory, long maxBytes, long maxFileBytes) {
+        this.maxFileBytes = Enforce.expressionTrue(
+                maxFileBytes > 0 && maxFileBytes <= maxBytes,
+                maxFileBytes,
+                "maxFileBytes must be greater than 0 and less than or equal to maxBytes");
+        this.store = new DiskLruStore(directory, maxBytes, TEMP_PREFIX, name -> true, null);
+    }
+
+    /**
+     * Returns a stream of the file's content. If the file is in the cache, it is read from local disk. Otherwise, it is
+     * loaded using the loader, and, if it is small enough, admitted to the cache.
+     *
+     * @param filePath the storage path of the file
+     * @param algorithm the digest algorithm of the digest
+     * @param digest the expected digest of the file
+     * @param loader supplies a stream of the file from cloud storage
+     * @return stream of the file's content
+     */
+    public InputStream read(String filePath, DigestAlgorithm algorithm, String digest, Supplier<InputStream> loader) {
+        var name = entryName(filePath, algorithm, digest);
+
+        try {
+            var stream = store.open(name, Files::newInputStream);
+            if (stream != null) {
+                hitCount.increment();
+                return stream;
+            }
+        } catch (NoSuchFileException e) {
+            LOG.debug("Cached file {} was removed out of band", name);
+            store.remove(name);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        missCount.increment();
+        return load(name, algorithm, digest, loader);
+    }
+
+    /**
+     * Returns a stream of part of the file's content. If the file is in the cache, the range is read from local disk.
+     * Otherwise, the range is loaded using the loader. Range reads do not admit files to the cache. The positions
+     * have the same meaning as they do in an HTTP byte range.
+     *
+     * @param filePath the storage path of the file
+     * @param algorithm the digest algorithm of the digest
+     * @param digest the expected digest of the file
+     * @param startPosition the byte offset in the file to start reading, inclusive, may be null
+     * @param endPosition the byte offset in the file to stop reading, inclusive, may be null
+     * @param loader supplies a stream of the range from cloud storage
+     * @return stream of the requested range
+     */
+    public InputStream readRange(
+            String filePath,
+            DigestAlgorithm algorithm,
+            String digest,
+            Long startPosition,
+            Long endPosition,
+            Supplier<InputStream> loader) {
+        var name = entryName(filePath, algorithm, digest);
+
+        try {
+            var stream = store.open(name, file -> readCachedRange(file, startPosition, endPosition));
+            if (stream != null) {
+                hitCount.increment();
+                return stream;
+            }
+        } catch (NoSuchFileException e) {
+            LOG.debug("Cached file {} was removed out of band", name);
+            store.remove(name);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        missCount.increment();
+        return loader.get();
+    }
+
+    /**
+     * Removes the file from the cache. This is used when a file that was served from the cache failed its fixity check,
+     * so that it is loaded from cloud storage again on the next read.
+     *
+     * @param filePath the storage path of the file
+     * @param algorithm the digest algorithm of the digest
+     * @param digest the expected digest of the file
+     */
+    public void invalidate(String filePath, DigestAlgorithm algorithm, String digest) {
+        store.invalidate(entryName(filePath, algorithm, digest));
+    }
+
+    /**
+     * @return the number of reads that were served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of reads that were not served from the cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of files that have been evicted from the cache
+     */
+    public long getEvictionCount() {
+        return store.getEvictionCount();
+    }
+
+    /**
+     * @return the number of files that were not admitted to the cache because they were too large
+     */
+    public long getRejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    /**
+     * @return the number of files currently in the cache
+     */
+    public int getEntryCount() {
+        return store.getEntryCount();
+    }
+
+    /**
+     * @return the total size of the files currently in the cache
+     */
+    public long getSizeBytes() {
+        return store.getSizeBytes();
+    }
+
+    private InputStream load(String name, DigestAlgorithm algorithm, String digest, Supplier<InputStream> loader) {
+        var remote = loader.get();
+
+        Path tempFile;
+        try {
+            tempFile = store.createTempFile();
+        } catch (IOException e) {
+            LOG.warn("Failed to create temp file in content cache {}", store.getDirectory(), e);
+            return remote;
+        }
+
+        try {
+            return new CachingInputStream(remote, name, tempFile, algorithm, digest);
+        } catch (IOException e) {
+            closeQuietly(remote);
+            store.deleteQuietly(tempFile);
+            throw OcflIOException.from(e);
+        }
+    }
+
+    private InputStream readCachedRange(Path cached, Long startPosition, Long endPosition) throws IOException {
+        var channel = FileChannel.open(cached, StandardOpenOption.READ);
+
+        try {
+            var size = channel.size();
+            long start;
+            long end;
+
+            if (startPosition == null && endPosition != null) {
+                // suffix range
+                start = Math.max(0, size - endPosition);
+                end = size - 1;
+            } else {
+                start = startPosition == null ? 0 : startPosition;
+                end = endPosition == null ? size - 1 : Math.min(endPosition, size - 1);
+            }
+
+            if (start > end) {
+                // Unsatisfiable range. Defer to cloud storage so that the behavior is the same as an uncached read.
+                channel.close();
+                return null;
+            }
+
+            channel.position(start);
+            return ByteStreams.limit(Channels.newInputStream(channel), end - start + 1);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private String entryName(String filePath, DigestAlgorithm algorithm, String digest) {
+        return DigestUtil.computeDigestHex(
+                DigestAlgorithmRegistry.sha256, filePath + "\n" + algorithm.getOcflName() + ":" + digest.toLowerCase());
+    }
+
+    private void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close stream", e);
+        }
+    }
+
+    /**
+     * Serves a file from cloud storage while copying it to a temp file, so that the caller does not wait for the entire
+     * file to be downloaded. The temp file is admitted to the cache when the caller reaches the end of the file, if
+     * the file is small enough and its digest is correct. It is discarded if the caller closes the stream early.
+     */
+    private class CachingInputStream extends InputStream {
+
+        private final InputStream remote;
+        private final String name;
+        private final Path tempFile;
+        private final DigestAlgorithm algorithm;
+        private final String digest;
+        private final MessageDigest messageDigest;
+
+        private OutputStream out;
+        private long size;
+        private boolean finished;
+
+        CachingInputStream(InputStream remote, String name, Path tempFile, DigestAlgorithm algorithm, String digest)
+                throws IOException {
+            this.remote = remote;
+            this.name = name;
+            this.tempFile = tempFile;
+            this.algorithm = algorithm;
+            this.digest = digest;
+            this.messageDigest = algorithm.getMessageDigest();
+            this.out = new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE);
+        }
+
+        @Override
+        public int read() throws IOException {
+            var buffer = new byte[1];
+            var read = read(buffer, 0, 1);
+            return read == -1 ? -1 : buffer[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var read = remote.read(b, off, len);
+
+            if (read == -1) {
+                finish();
+            } else if (read > 0 && out != null) {
+                size += read;
+                if (size > maxFileBytes) {
+                    rejectionCount.increment();
+                    discard();
+                } else {
+                    try {
+                        out.write(b, off, read);
+                        messageDigest.update(b, off, read);
+                    } catch (IOException e) {
+                        // the cache is only an optimization
+                        LOG.warn("Failed to write to content cache {}", store.getDirectory(), e);
+                        discard();
+                    }
+                }
+            }
+
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return remote.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                remote.close();
+            } finally {
+                discard();
+            }
+        }
+
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            if (out == null) {
+                return;
+            }
+
+            try {
+                out.close();
+                out = null;
+
+                if (digest.equalsIgnoreCase(algorithm.encode(messageDigest.digest()))) {
+                    store.admit(name, tempFile, size);
+                } else {
+                    // Do not cache the file, and let the caller's fixity check report the problem
+                    store.deleteQuietly(tempFile);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Failed to add file to content cache {}", store.getDirectory(), e);
+                out = null;
+                store.deleteQuietly(tempFile);
+            }
+        }
+
+        private void discard() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    LOG.debug("Failed to close temp file {}", tempFile, e);
+                }
+                out = null;
+                store.deleteQuietly(tempFile);
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@
 package io.ocfl.core.storage.cloud;
 
 import io.ocfl.api.OcflFileRetriever;
+import io.ocfl.api.exception.FixityCheckException;
 import io.ocfl.api.io.FixityCheckInputStream;
 import io.ocfl.api.model.DigestAlgorithm;
 import io.ocfl.api.util.Enforce;
@@ -40,6 +41,7 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
     private final String key;
     private final DigestAlgorithm digestAlgorithm;
     private final String digestValue;
+    private final CloudContentCache contentCache;
 
     public static Builder builder() {
         return new Builder();
@@ -48,23 +50,46 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
     public static class Builder {
 
         private CloudClient cloudClient;
+        private CloudContentCache contentCache;
 
         public Builder cloudClient(CloudClient cloudClient) {
             this.cloudClient = cloudClient;
             return this;
         }
 
+        public Builder contentCache(CloudContentCache contentCache) {
+            this.contentCache = contentCache;
+            return this;
+        }
+
         public CloudOcflFileRetriever build(String key, DigestAlgorithm digestAlgorithm, String digestValue) {
-            return new CloudOcflFileRetriever(cloudClient, key, digestAlgorithm, digestValue);
+            return new CloudOcflFileRetriever(cloudClient, key, digestAlgorithm, digestValue, contentCache);
         }
     }
 
     public CloudOcflFileRetriever(
             CloudClient cloudClient, String key, DigestAlgorithm digestAlgorithm, String digestValue) {
+        this(cloudClient, key, digestAlgorithm, digestValue, null);
+    }
+
+    /**
+     * @param cloudClient the client to use to retrieve the file
+     * @param key the key of the file
+     * @param digestAlgorithm the digest algorithm of the digest
+     * @param digestValue the expected digest of the file
+     * @param contentCache local cache to serve the file from, may be null
+     */
+    public CloudOcflFileRetriever(
+            CloudClient cloudClient,
+            String key,
+            DigestAlgorithm digestAlgorithm,
+            String digestValue,
+            CloudContentCache contentCache) {
         this.cloudClient = Enforce.notNull(cloudClient, "cloudClient cannot be null");
         this.key = Enforce.notBlank(key, "key cannot be blank");
         this.digestAlgorithm = Enforce.notNull(digestAlgorithm, "digestAlgorithm cannot be null");
         this.digestValue = Enforce.notBlank(digestValue, "digestValue cannot be null");
+        this.contentCache = contentCache;
     }
 
     /**
@@ -72,8 +97,24 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
      */
     @Override
     public FixityCheckInputStream retrieveFile() {
-        return new FixityCheckInputStream(
-                new BufferedInputStream(cloudClient.downloadStream(key)), digestAlgorithm, digestValue);
+        if (contentCache == null) {
+            return new FixityCheckInputStream(
+                    new BufferedInputStream(cloudClient.downloadStream(key)), digestAlgorithm, digestValue);
+        }
+
+        var stream = contentCache.read(key, digestAlgorithm, digestValue, () -> cloudClient.downloadStream(key));
+        return new FixityCheckInputStream(new BufferedInputStream(stream), digestAlgorithm, digestValue) {
+            @Override
+            public void checkFixity() {
+                try {
+                    super.checkFixity();
+                } catch (FixityCheckException e) {
+                    // Evict the cached copy so that the file is downloaded again on the next read
+                    contentCache.invalidate(key, digestAlgorithm, digestValue);
+                    throw e;
+                }
+            }
+        };
     }
 
     /**
@@ -89,9 +130,22 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
      */
     @Override
     public InputStream retrieveRange(Long startPosition, Long endPosition) {
+        if (contentCache == null) {
+            return new BufferedInputStream(downloadRange(startPosition, endPosition));
+        }
+        return new BufferedInputStream(contentCache.readRange(
+                key,
+                digestAlgorithm,
+                digestValue,
+                startPosition,
+                endPosition,
+                () -> downloadRange(startPosition, endPosition)));
+    }
+
+    private InputStream downloadRange(Long startPosition, Long endPosition) {
         var start = startPosition == null ? "" : startPosition;
         var end = endPosition == null ? "" : endPosition;
         var range = "bytes=" + start + "-" + end;
-        return new BufferedInputStream(cloudClient.downloadStreamRange(key, range));
+        return cloudClient.downloadStreamRange(key, range);
     }
 }
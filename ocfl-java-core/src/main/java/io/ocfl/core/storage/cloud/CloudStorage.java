@@ -24,6 +24,9 @@
 
 package io.ocfl.core.storage.cloud;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.ocfl.api.OcflConstants;
 import io.ocfl.api.OcflFileRetriever;
 import io.ocfl.api.exception.OcflFileAlreadyExistsException;
 import io.ocfl.api.exception.OcflIOException;
@@ -31,8 +34,11 @@ import io.ocfl.api.exception.OcflJavaException;
 import io.ocfl.api.exception.OcflNoSuchFileException;
 import io.ocfl.api.model.DigestAlgorithm;
 import io.ocfl.api.util.Enforce;
+import io.ocfl.core.storage.common.ConditionalWriter;
+import io.ocfl.core.storage.common.DirectoryUsage;
 import io.ocfl.core.storage.common.Listing;
 import io.ocfl.core.storage.common.OcflObjectRootDirIterator;
+import io.ocfl.core.storage.common.PreconditionFailedException;
 import io.ocfl.core.storage.common.Storage;
 import io.ocfl.core.util.FileUtil;
 import io.ocfl.core.util.UncheckedFiles;
@@ -41,10 +47,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,12 +69,73 @@ public class CloudStorage implements Storage {
 
     private static final Logger LOG = LoggerFactory.getLogger(CloudStorage.class);
 
+    private static final long LISTING_CACHE_SIZE = 10_000;
+    private static final int MOVE_BATCH_SIZE = 1_000;
+    private static final String MEDIA_TYPE_JSON = "application/json; charset=UTF-8";
+
     private final CloudClient client;
     private final CloudOcflFileRetriever.Builder fileRetrieverBuilder;
 
+    /**
+     * Short-lived cache of directory listings, keyed on directory path. Empty listings are cached for directories that
+     * do not exist. Null when disabled.
+     */
+    private final Cache<String, CachedListing> listingCache;
+
+    /**
+     * The directories that are either in the listing cache or being listed, mapped to the generation of the listing.
+     * It is sorted so that the cached descendants of a directory can be found without scanning every key. A listing is
+     * only cached if its directory is still registered with the same generation once the listing completes, which
+     * prevents a listing that was started before a write from caching the state prior to the write.
+     */
+    private final ConcurrentSkipListMap<String, Long> listingGenerations;
+
+    private final AtomicLong nextListingGeneration;
+
     public CloudStorage(CloudClient client) {
+        this(client, null);
+    }
+
+    /**
+     * @param client the client to use to interact with cloud storage
+     * @param contentCache local cache that lazy-loaded content files are served from, may be null
+     */
+    public CloudStorage(CloudClient client, CloudContentCache contentCache) {
+        this(client, contentCache, null);
+    }
+
+    /**
+     * When a listing cache duration is set, directory listings are cached for that long and reused to answer
+     * {@link #listDirectory(String)} and {@link #fileExists(String)}. This eliminates most of the round trips that
+     * are made to examine an object root before its inventory is read. Cached listings are invalidated when this
+     * process writes beneath them, but they may not reflect changes made by other processes until they expire, so the
+     * duration should be kept short.
+     *
+     * @param client the client to use to interact with cloud storage
+     * @param contentCache local cache that lazy-loaded content files are served from, may be null
+     * @param listingCacheDuration how long to cache directory listings for, may be null to disable caching
+     */
+    public CloudStorage(CloudClient client, CloudContentCache contentCache, Duration listingCacheDuration) {
         this.client = Enforce.notNull(client, "client cannot be null");
-        this.fileRetrieverBuilder = CloudOcflFileRetriever.builder().cloudClient(client);
+        this.fileRetrieverBuilder =
+                CloudOcflFileRetriever.builder().cloudClient(client).contentCache(contentCache);
+
+        this.listingGenerations = new ConcurrentSkipListMap<>();
+        this.nextListingGeneration = new AtomicLong();
+
+        if (listingCacheDuration != null && !listingCacheDuration.isZero() && !listingCacheDuration.isNegative()) {
+            this.listingCache = Caffeine.newBuilder()
+                    .expireAfterWrite(listingCacheDuration)
+                    .maximumSize(LISTING_CACHE_SIZE)
+                    .<String, CachedListing>removalListener((directory, cached, cause) -> {
+                        if (directory != null && cached != null) {
+                            listingGenerations.remove(directory, cached.generation);
+                        }
+                    })
+                    .build();
+        } else {
+            this.listingCache = null;
+        }
     }
 
     /**
@@ -68,6 +143,51 @@ public class CloudStorage implements Storage {
      */
     @Override
     public List<Listing> listDirectory(String directoryPath) {
+        List<Listing> listings;
+
+        if (listingCache != null) {
+            listings = new ArrayList<>(listDirectoryCached(withoutTrailingSlash(directoryPath)));
+        } else {
+            listings = listDirectoryInternal(directoryPath);
+        }
+
+        if (listings.isEmpty()) {
+            throw new OcflNoSuchFileException(String.format("Directory %s does not exist", directoryPath));
+        }
+
+        return listings;
+    }
+
+    private List<Listing> listDirectoryCached(String directoryPath) {
+        var cached = listingCache.getIfPresent(directoryPath);
+        if (cached != null) {
+            return cached.listings;
+        }
+
+        var generation = nextListingGeneration.incrementAndGet();
+        listingGenerations.put(directoryPath, generation);
+
+        var listed = false;
+        try {
+            var listings = listDirectoryInternal(directoryPath);
+            cached = new CachedListing(generation, listings);
+            listingCache.put(directoryPath, cached);
+            listed = true;
+
+            // The listing was invalidated while it was in progress, or a newer listing was started
+            if (!Long.valueOf(generation).equals(listingGenerations.get(directoryPath))) {
+                listingCache.asMap().remove(directoryPath, cached);
+            }
+
+            return listings;
+        } finally {
+            if (!listed) {
+                listingGenerations.remove(directoryPath, generation);
+            }
+        }
+    }
+
+    private List<Listing> listDirectoryInternal(String directoryPath) {
         var listings = new ArrayList<Listing>();
         var result = client.listDirectory(directoryPath);
 
@@ -78,10 +198,6 @@ public class CloudStorage implements Storage {
             listings.add(Listing.directory(dir.getName()));
         });
 
-        if (listings.isEmpty()) {
-            throw new OcflNoSuchFileException(String.format("Directory %s does not exist", directoryPath));
-        }
-
         return listings;
     }
 
@@ -132,6 +248,14 @@ public class CloudStorage implements Storage {
      */
     @Override
     public boolean fileExists(String filePath) {
+        var cached = fileExistsFromListings(filePath);
+        if (cached != null) {
+            return cached;
+        }
+        return fileExistsInternal(filePath);
+    }
+
+    private boolean fileExistsInternal(String filePath) {
         try {
             client.head(filePath);
             return true;
@@ -152,6 +276,18 @@ public class CloudStorage implements Storage {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream read(String filePath, Consumer<String> versionTagConsumer) {
+        try {
+            return new BufferedInputStream(client.downloadStream(filePath, versionTagConsumer));
+        } catch (KeyNotFoundException e) {
+            throw new OcflNoSuchFileException(String.format("%s was not found", filePath), e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -177,8 +313,62 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void write(String filePath, byte[] content, String mediaType) {
-        failOnExistingFile(filePath);
-        client.uploadBytes(filePath, content, mediaType);
+        try {
+            var uploader = client.conditionalUploader();
+            if (uploader != null) {
+                claimFile(uploader, filePath, content, mediaType);
+            } else {
+                failOnExistingFile(filePath);
+                client.uploadBytes(filePath, content, mediaType);
+            }
+        } finally {
+            invalidateListings(filePath);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This is only the case when the client supports conditional writes. Files are then created with a create-only
+     * conditional write, and directories are claimed by creating their inventory file in this way before anything else
+     * is uploaded.
+     */
+    @Override
+    public boolean supportsExclusiveCreate() {
+        return client.conditionalUploader() != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This is only the case when the client supports conditional uploads.
+     */
+    @Override
+    public ConditionalWriter conditionalWriter() {
+        var uploader = client.conditionalUploader();
+        if (uploader == null) {
+            return null;
+        }
+
+        return new ConditionalWriter() {
+            @Override
+            public String writeIfMatch(String filePath, byte[] content, String mediaType, String expectedVersionTag) {
+                try {
+                    return uploader.uploadBytesIfMatch(filePath, content, mediaType, expectedVersionTag);
+                } finally {
+                    invalidateListings(filePath);
+                }
+            }
+
+            @Override
+            public String versionTag(String filePath) {
+                try {
+                    return client.head(filePath).getETag();
+                } catch (KeyNotFoundException e) {
+                    return null;
+                }
+            }
+        };
     }
 
     /**
@@ -218,7 +408,11 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void copyFileInto(Path source, String destination, String mediaType) {
-        client.uploadFile(source, destination, mediaType);
+        try {
+            client.uploadFile(source, destination, mediaType);
+        } finally {
+            invalidateListings(destination);
+        }
     }
 
     /**
@@ -230,6 +424,8 @@ public class CloudStorage implements Storage {
             client.copyObject(sourceFile, destinationFile);
         } catch (KeyNotFoundException e) {
             throw new OcflNoSuchFileException(String.format("%s was not found", sourceFile), e);
+        } finally {
+            invalidateListings(destinationFile);
         }
     }
 
@@ -238,10 +434,30 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void moveDirectoryInto(Path source, String destination) {
+        try {
+            doMoveDirectoryInto(source, destination);
+        } finally {
+            invalidateListings(destination);
+        }
+    }
+
+    private void doMoveDirectoryInto(Path source, String destination) {
         failOnExistingDir(destination);
 
         var objectKeys = new ArrayList<String>();
 
+        // When possible, the destination is claimed before any other files are uploaded so that concurrent moves into
+        // the same destination cannot overwrite each other's files
+        var claimSource = source.resolve(OcflConstants.INVENTORY_FILE);
+        Path claimed = null;
+        var uploader = client.conditionalUploader();
+        if (uploader != null && Files.isRegularFile(claimSource)) {
+            var claimPath = FileUtil.pathJoinFailEmpty(destination, OcflConstants.INVENTORY_FILE);
+            claimFile(uploader, claimPath, UncheckedFiles.readAllBytes(claimSource), MEDIA_TYPE_JSON);
+            objectKeys.add(claimPath);
+            claimed = claimSource;
+        }
+
         try (var paths = Files.find(source, Integer.MAX_VALUE, (file, attrs) -> attrs.isRegularFile())) {
             var hasErrors = false;
             var interrupted = false;
@@ -250,6 +466,9 @@ public class CloudStorage implements Storage {
             try {
                 for (var it = paths.iterator(); it.hasNext(); ) {
                     var file = it.next();
+                    if (file.equals(claimed)) {
+                        continue;
+                    }
                     var relative = FileUtil.pathToStringStandardSeparator(source.relativize(file));
                     var key = FileUtil.pathJoinFailEmpty(destination, relative);
                     futures.add(client.uploadFileAsync(file, key));
@@ -296,23 +515,75 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void moveDirectoryInternal(String source, String destination) {
-        failOnExistingDir(destination);
+        try {
+            failOnExistingDir(destination);
+            doMoveDirectoryInternal(source, destination, Set.of());
+        } finally {
+            invalidateListings(source);
+            invalidateListings(destination);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resumeMoveDirectoryInternal(String source, String destination) {
+        try {
+            var existing = new HashSet<String>();
+            try {
+                listRecursive(destination).stream()
+                        .filter(Listing::isFile)
+                        .forEach(file -> existing.add(file.getRelativePath()));
+            } catch (OcflNoSuchFileException e) {
+                // nothing was moved before the interruption
+            }
+
+            LOG.debug("Resuming move of {} to {}. {} files were already moved.", source, destination, existing.size());
+
+            doMoveDirectoryInternal(source, destination, existing);
+        } finally {
+            invalidateListings(source);
+            invalidateListings(destination);
+        }
+    }
 
+    /**
+     * Copies every file in the source directory to the destination, and then deletes the source files. Copies are
+     * server-side and issued concurrently in batches. If any copy fails, the copies that were made are deleted and the
+     * source is left untouched.
+     *
+     * @param source source directory
+     * @param destination destination directory
+     * @param existing relative paths of files that were already copied to the destination
+     */
+    private void doMoveDirectoryInternal(String source, String destination, Set<String> existing) {
         var files = listRecursive(source);
 
         var srcKeys = new ArrayList<String>();
         var dstKeys = new ArrayList<String>();
 
         try {
+            var futures = new ArrayList<Future<CloudObjectKey>>();
+
             for (var file : files) {
                 if (file.isFile()) {
                     var srcFile = FileUtil.pathJoinIgnoreEmpty(source, file.getRelativePath());
-                    var dstFile = FileUtil.pathJoinIgnoreEmpty(destination, file.getRelativePath());
-                    client.copyObject(srcFile, dstFile);
                     srcKeys.add(srcFile);
-                    dstKeys.add(dstFile);
+
+                    if (!existing.contains(file.getRelativePath())) {
+                        var dstFile = FileUtil.pathJoinIgnoreEmpty(destination, file.getRelativePath());
+                        futures.add(client.copyObjectAsync(srcFile, dstFile));
+                        dstKeys.add(dstFile);
+
+                        if (futures.size() == MOVE_BATCH_SIZE) {
+                            awaitCopies(futures, source, destination);
+                        }
+                    }
                 }
             }
+
+            awaitCopies(futures, source, destination);
         } catch (RuntimeException e) {
             client.safeDeleteObjects(dstKeys);
             throw e;
@@ -321,12 +592,101 @@ public class CloudStorage implements Storage {
         client.safeDeleteObjects(srcKeys);
     }
 
+    private void awaitCopies(List<Future<CloudObjectKey>> futures, String source, String destination) {
+        RuntimeException failure = null;
+        var interrupted = false;
+
+        // Every copy must be waited on, even after a failure, so that none complete after the copies are cleaned up
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new OcflJavaException("Failed to move files in " + source + " into " + destination, e);
+                } else {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        }
+
+        futures.clear();
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new OcflJavaException("Interrupted while moving files in " + source + " into " + destination);
+        } else if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void deleteDirectory(String path) {
-        client.deletePath(path);
+        try {
+            client.deletePath(path);
+        } finally {
+            invalidateListings(path);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The objects under all of the directories are listed first, and then deleted together in concurrent batches.
+     */
+    @Override
+    public void purgeDirectories(Collection<String> paths) {
+        var objectPaths = new ArrayList<String>();
+
+        try {
+            for (var path : paths) {
+                client.list(withTrailingSlash(path))
+                        .getObjects()
+                        .forEach(object -> objectPaths.add(object.getKey().getPath()));
+            }
+
+            client.deleteObjects(objectPaths);
+        } finally {
+            paths.forEach(this::invalidateListings);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The last modified time is only known if the cloud client returns it when listing objects.
+     */
+    @Override
+    public DirectoryUsage directoryUsage(String path) {
+        var objects = client.list(withTrailingSlash(path)).getObjects();
+
+        if (objects.isEmpty()) {
+            return null;
+        }
+
+        long bytes = 0;
+        Instant lastModified = Instant.EPOCH;
+
+        for (var object : objects) {
+            if (object.getSize() != null) {
+                bytes += object.getSize();
+            }
+            if (lastModified != null) {
+                if (object.getLastModified() == null) {
+                    lastModified = null;
+                } else if (object.getLastModified().isAfter(lastModified)) {
+                    lastModified = object.getLastModified();
+                }
+            }
+        }
+
+        return new DirectoryUsage(objects.size(), bytes, lastModified);
     }
 
     /**
@@ -334,7 +694,11 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void deleteFile(String path) {
-        client.deleteObjects(List.of(path));
+        try {
+            client.deleteObjects(List.of(path));
+        } finally {
+            invalidateListings(path);
+        }
     }
 
     /**
@@ -342,7 +706,11 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void deleteFiles(Collection<String> paths) {
-        client.deleteObjects(paths);
+        try {
+            client.deleteObjects(paths);
+        } finally {
+            paths.forEach(this::invalidateListings);
+        }
     }
 
     /**
@@ -369,25 +737,124 @@ public class CloudStorage implements Storage {
         client.close();
     }
 
+    /**
+     * Creates the file with a create-only conditional write, which fails if the file already exists.
+     */
+    private void claimFile(ConditionalUploader uploader, String path, byte[] content, String mediaType) {
+        try {
+            uploader.uploadBytesIfMatch(path, content, mediaType, null);
+        } catch (PreconditionFailedException e) {
+            throw new OcflFileAlreadyExistsException(String.format("File %s already exists", path));
+        }
+    }
+
     private void failOnExistingFile(String path) {
-        if (fileExists(path)) {
+        if (fileExistsInternal(path)) {
             throw new OcflFileAlreadyExistsException(String.format("File %s already exists", path));
         }
     }
 
     private void failOnExistingDir(String path) {
-        try {
-            listDirectory(path);
+        if (!listDirectoryInternal(path).isEmpty()) {
             throw new OcflFileAlreadyExistsException(String.format("Directory %s already exists", path));
-        } catch (OcflNoSuchFileException e) {
-            // this is good -- dir does not exist
         }
     }
 
+    /**
+     * Attempts to determine if a file exists using cached listings of its ancestor directories.
+     *
+     * @param filePath path to the file
+     * @return true if it exists, false if it does not, or null if it cannot be determined from the cache
+     */
+    private Boolean fileExistsFromListings(String filePath) {
+        if (listingCache == null) {
+            return null;
+        }
+
+        var parts = withoutTrailingSlash(filePath).split("/");
+        var directory = "";
+
+        for (int i = 0; i < parts.length; i++) {
+            var name = parts[i];
+            var isLast = i == parts.length - 1;
+            var cached = listingCache.getIfPresent(directory);
+
+            if (cached != null) {
+                var found = cached.listings.stream()
+                        .anyMatch(listing -> name.equals(listing.getRelativePath())
+                                && (isLast ? listing.isFile() : listing.isDirectory()));
+                if (!found) {
+                    return false;
+                } else if (isLast) {
+                    return true;
+                }
+            }
+
+            directory = directory.isEmpty() ? name : directory + "/" + name;
+        }
+
+        return null;
+    }
+
+    /**
+     * Invalidates the cached listings of the path, its ancestors, and its descendants
+     *
+     * @param path the path that was modified
+     */
+    private void invalidateListings(String path) {
+        if (listingCache != null) {
+            var modified = withoutTrailingSlash(path);
+
+            var directory = modified;
+            while (true) {
+                invalidateListing(directory);
+                if (directory.isEmpty()) {
+                    break;
+                }
+                var index = directory.lastIndexOf('/');
+                directory = index == -1 ? "" : directory.substring(0, index);
+            }
+
+            // '0' is the character after '/', so this range contains every path beneath the modified path
+            var descendants = modified.isEmpty()
+                    ? listingGenerations.keySet()
+                    : listingGenerations.subMap(modified + "/", modified + "0").keySet();
+            new ArrayList<>(descendants).forEach(this::invalidateListing);
+        }
+    }
+
+    /**
+     * Removes a directory's listing from the cache. Deregistering it first ensures that a listing of the directory that
+     * is in progress is not cached when it completes.
+     *
+     * @param directory the directory path
+     */
+    private void invalidateListing(String directory) {
+        listingGenerations.remove(directory);
+        listingCache.invalidate(directory);
+    }
+
+    private String withoutTrailingSlash(String value) {
+        if (value.endsWith("/")) {
+            return value.substring(0, value.length() - 1);
+        }
+        return value;
+    }
+
     private String withTrailingSlash(String value) {
         if (value.endsWith("/")) {
             return value;
         }
         return value + "/";
     }
+
+    private static class CachedListing {
+        private final long generation;
+        private final List<Listing> listings;
+
+        private CachedListing(long generation, List<Listing> listings) {
+            this.generation = generation;
+            this.listings = listings;
+        }
+    }
 }
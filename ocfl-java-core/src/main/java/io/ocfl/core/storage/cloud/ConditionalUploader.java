@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage.cloud;
+
+import io.ocfl.core.storage.common.PreconditionFailedException;
+
+/**
+ * Uploads objects conditionally on their current ETag. Obtained from {@link CloudClient#conditionalUploader()} when
+ * the client supports it.
+ */
+@FunctionalInterface
+public interface ConditionalUploader {
+
+    /**
+     * Uploads an object with byte content, but only if the object's current ETag matches the expected ETag. If the
+     * expected ETag is null, then the object MUST NOT already exist.
+     *
+     * @param dstPath object path
+     * @param bytes the object content
+     * @param contentType the content type of the data
+     * @param eTag the object's expected current ETag, or null if it must not exist
+     * @return the object's new ETag
+     * @throws PreconditionFailedException when the object's ETag does not match the expected ETag
+     */
+    String uploadBytesIfMatch(String dstPath, byte[] bytes, String contentType, String eTag);
+}
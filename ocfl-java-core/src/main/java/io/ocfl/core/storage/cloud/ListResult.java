@@ -25,6 +25,7 @@
 package io.ocfl.core.storage.cloud;
 
 import io.ocfl.api.util.Enforce;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 
@@ -82,6 +83,8 @@ public class ListResult {
 
         private CloudObjectKey key;
         private String keySuffix;
+        private Long size;
+        private Instant lastModified;
 
         /**
          * The key the object is stored at.
@@ -111,9 +114,41 @@ public class ListResult {
             return this;
         }
 
+        /**
+         * The object's size in bytes, if it was returned by the list operation
+         *
+         * @return object size or null
+         */
+        public Long getSize() {
+            return size;
+        }
+
+        public ObjectListing setSize(Long size) {
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * The time the object was last modified, if it was returned by the list operation
+         *
+         * @return last modified time or null
+         */
+        public Instant getLastModified() {
+            return lastModified;
+        }
+
+        public ObjectListing setLastModified(Instant lastModified) {
+            this.lastModified = lastModified;
+            return this;
+        }
+
         @Override
         public String toString() {
-            return "ObjectListing{" + "key='" + key + '\'' + ", keySuffix='" + keySuffix + '\'' + '}';
+            return "ObjectListing{" + "key='"
+                    + key + '\'' + ", keySuffix='"
+                    + keySuffix + '\'' + ", size="
+                    + size + ", lastModified="
+                    + lastModified + '}';
         }
     }
 
@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage.common;
+
+/**
+ * Writes files conditionally on their current version tag, such as an ETag. The check and the write are performed
+ * atomically by the storage system. Obtained from {@link Storage#conditionalWriter()} when the storage supports it.
+ */
+public interface ConditionalWriter {
+
+    /**
+     * Write the specified content to the specified path, but only if the file's current version tag matches the
+     * expected tag. If the expected tag is null, then the file MUST NOT already exist.
+     *
+     * @param filePath path to the file to write
+     * @param content file content
+     * @param mediaType media type of the file, may be null
+     * @param expectedVersionTag the file's expected current version tag, or null if it must not exist
+     * @return the file's new version tag
+     * @throws PreconditionFailedException when the file's version tag does not match the expected tag
+     */
+    String writeIfMatch(String filePath, byte[] content, String mediaType, String expectedVersionTag);
+
+    /**
+     * Returns the current version tag of the specified file, without reading its content.
+     *
+     * @param filePath path to the file
+     * @return the file's version tag, or null if the file does not exist
+     */
+    String versionTag(String filePath);
+}
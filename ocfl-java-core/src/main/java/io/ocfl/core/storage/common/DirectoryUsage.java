@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage.common;
+
+import java.time.Instant;
+
+/**
+ * The number of files in a directory tree, their total size, and the time the tree was most recently modified.
+ */
+public class DirectoryUsage {
+
+    private final long files;
+    private final long bytes;
+    private final Instant lastModified;
+
+    public DirectoryUsage(long files, long bytes, Instant lastModified) {
+        this.files = files;
+        this.bytes = bytes;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the number of files in the directory tree
+     */
+    public long getFiles() {
+        return files;
+    }
+
+    /**
+     * @return the total size of the files in the directory tree
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the most recent modification time of anything in the directory tree, or null if it is not known
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryUsage{" + "files=" + files + ", bytes=" + bytes + ", lastModified=" + lastModified + '}';
+    }
+}
@@ -8,6 +8,7 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Abstraction over any storage implementation. Paths are represented as strings because forward-slashes MUST
@@ -68,6 +69,20 @@ public interface Storage {
      */
     InputStream read(String filePath);
 
+    /**
+     * Streams the content of the specified file, and passes the file's version tag, such as an ETag, to the consumer.
+     * The version tag can be used to conditionally overwrite the file with {@link ConditionalWriter#writeIfMatch}.
+     * Storage implementations that do not support conditional writes do not call the consumer.
+     *
+     * @param filePath path to the file
+     * @param versionTagConsumer receives the file's version tag
+     * @return input stream of file content
+     * @throws OcflNoSuchFileException when the file does not exist
+     */
+    default InputStream read(String filePath, Consumer<String> versionTagConsumer) {
+        return read(filePath);
+    }
+
     /**
      * Read the contents of the specified file to a string
      *
@@ -97,6 +112,26 @@ public interface Storage {
      */
     void write(String filePath, byte[] content, String mediaType);
 
+    /**
+     * Indicates if {@link #write} and {@link #moveDirectoryInto} atomically fail when their destination already
+     * exists, so that exactly one of any number of concurrent callers that target the same destination succeeds.
+     *
+     * @return true if files and directories are created exclusively
+     */
+    default boolean supportsExclusiveCreate() {
+        return false;
+    }
+
+    /**
+     * Returns the writer to use to write files conditionally on their version tags, or null if the storage does not
+     * support conditional writes. Callers must check for null before using it.
+     *
+     * @return the conditional writer, or null if conditional writes are not supported
+     */
+    default ConditionalWriter conditionalWriter() {
+        return null;
+    }
+
     /**
      * Create the specified directory and any missing ancestors.
      *
@@ -152,6 +187,23 @@ public interface Storage {
      */
     void moveDirectoryInternal(String source, String destination);
 
+    /**
+     * Resumes a {@link #moveDirectoryInternal(String, String)} that was interrupted before it completed. Files that
+     * already exist in the destination are assumed to have been moved, and are not moved again. The caller is
+     * responsible for ensuring that the destination only contains files from the interrupted move.
+     *
+     * <p>The default implementation does not support resuming moves, and behaves the same as
+     * {@link #moveDirectoryInternal(String, String)}.
+     *
+     * @param source internal source directory
+     * @param destination internal destination
+     * @throws OcflFileAlreadyExistsException when the destination already exists and the move cannot be resumed
+     * @throws OcflNoSuchFileException when the source does not exist
+     */
+    default void resumeMoveDirectoryInternal(String source, String destination) {
+        moveDirectoryInternal(source, destination);
+    }
+
     /**
      * Recursively delete the specified directory and all of its children.
      *
@@ -159,6 +211,45 @@ public interface Storage {
      */
     void deleteDirectory(String path);
 
+    /**
+     * Recursively deletes the specified directory and all of its children. Unlike {@link #deleteDirectory(String)},
+     * implementations may first move the directory out of the way and then delete its children in the background, in
+     * which case the directory no longer exists at its original location when this method returns, but its children
+     * may not have been deleted yet.
+     *
+     * <p>The default implementation behaves the same as {@link #deleteDirectory(String)}.
+     *
+     * @param path path to purge
+     */
+    default void purgeDirectory(String path) {
+        deleteDirectory(path);
+    }
+
+    /**
+     * Purges all of the specified directories, as described in {@link #purgeDirectory(String)}. Implementations may
+     * delete the directories' children together in batches.
+     *
+     * <p>The default implementation purges the directories one at a time.
+     *
+     * @param paths paths to purge
+     */
+    default void purgeDirectories(Collection<String> paths) {
+        paths.forEach(this::purgeDirectory);
+    }
+
+    /**
+     * Returns the number of files in a directory, including its subdirectories, their total size, and when they were
+     * last modified. This is used to decide if a directory that is not referenced by an object was abandoned.
+     *
+     * <p>The default implementation does not support this, and returns null.
+     *
+     * @param path the directory to examine
+     * @return the directory's usage, or null if the directory does not exist or its usage cannot be determined
+     */
+    default DirectoryUsage directoryUsage(String path) {
+        return null;
+    }
+
     /**
      * Delete the specified file
      *
@@ -0,0 +1,301 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage.filesystem;
+
+import io.ocfl.api.exception.OcflIOException;
+import io.ocfl.api.util.Enforce;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes directories on the local filesystem with multiple threads. A directory is first renamed to a tombstone, so
+ * that it disappears from its original location in a single operation, and the tombstone is then deleted in the
+ * background. Its files are deleted in chunks that are processed concurrently, which is substantially faster than
+ * deleting one file at a time on network filesystems, such as NFS, where each deletion is a round trip to the server.
+ *
+ * <p>Tombstones that were left behind by a process that stopped before it finished deleting them are deleted when
+ * {@link #resume(Path)} is called. Progress is logged, and is available from {@link #getMetrics()}.
+ */
+public class FileSystemPurger implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemPurger.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int chunkSize;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    private final AtomicInteger pendingPurges = new AtomicInteger();
+    private final AtomicLong completedPurges = new AtomicLong();
+    private final AtomicLong failedPurges = new AtomicLong();
+    private final AtomicLong deletedFiles = new AtomicLong();
+
+    /**
+     * @param threads the number of threads that delete files concurrently
+     */
+    public FileSystemPurger(int threads) {
+        this(threads, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param threads the number of threads that delete files concurrently
+     * @param chunkSize the number of files each thread deletes in a single task
+     */
+    public FileSystemPurger(int threads, int chunkSize) {
+        Enforce.expressionTrue(threads > 0, threads, "threads must be greater than 0");
+        this.chunkSize = Enforce.expressionTrue(chunkSize > 0, chunkSize, "chunkSize must be greater than 0");
+
+        this.coordinator = Executors.newSingleThreadExecutor(r -> {
+            var thread = new Thread(r, "ocfl-purge-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            var thread = new Thread(r, "ocfl-purge-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Moves the directory into the tombstone directory and deletes it in the background. If the directory cannot be
+     * atomically moved, because the tombstone directory is on a different filesystem, then it is deleted before this
+     * method returns. Nothing happens if the directory does not exist.
+     *
+     * @param directory the directory to purge
+     * @param tombstoneDirectory the directory to move the directory into, must be on the same filesystem
+     */
+    public void purge(Path directory, Path tombstoneDirectory) {
+        Enforce.notNull(directory, "directory cannot be null");
+        Enforce.notNull(tombstoneDirectory, "tombstoneDirectory cannot be null");
+
+        var tombstone = tombstoneDirectory.resolve(UUID.randomUUID().toString());
+
+        try {
+            Files.createDirectories(tombstoneDirectory);
+            Files.move(directory, tombstone, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.warn("Failed to move {} to a tombstone. Deleting it in place.", directory, e);
+            deleteTree(directory);
+            return;
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        LOG.debug("Moved {} to tombstone {}", directory, tombstone);
+
+        schedule(tombstone);
+    }
+
+    /**
+     * Deletes, in the background, all of the tombstones in the tombstone directory. This is used to finish purges
+     * that were interrupted.
+     *
+     * @param tombstoneDirectory the directory that contains tombstones
+     */
+    public void resume(Path tombstoneDirectory) {
+        Enforce.notNull(tombstoneDirectory, "tombstoneDirectory cannot be null");
+
+        if (Files.notExists(tombstoneDirectory)) {
+            return;
+        }
+
+        try (var children = Files.list(tombstoneDirectory)) {
+            var tombstones = children.collect(Collectors.toList());
+            if (!tombstones.isEmpty()) {
+                LOG.info("Resuming purge of {} tombstones in {}", tombstones.size(), tombstoneDirectory);
+            }
+            tombstones.forEach(this::schedule);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
+
+    /**
+     * @return a snapshot of the purger's progress
+     */
+    public PurgeMetrics getMetrics() {
+        return new PurgeMetrics(pendingPurges.get(), completedPurges.get(), failedPurges.get(), deletedFiles.get());
+    }
+
+    /**
+     * Stops deleting tombstones. Tombstones that have not been completely deleted are left in place, and may be
+     * deleted later by calling {@link #resume(Path)}.
+     */
+    @Override
+    public void close() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void schedule(Path tombstone) {
+        pendingPurges.incrementAndGet();
+
+        try {
+            coordinator.execute(() -> {
+                try {
+                    var start = System.nanoTime();
+                    var count = deleteTree(tombstone);
+                    completedPurges.incrementAndGet();
+                    LOG.info(
+                            "Purged {} files from tombstone {} in {}ms",
+                            count,
+                            tombstone,
+                            (System.nanoTime() - start) / 1_000_000);
+                } catch (RuntimeException e) {
+                    failedPurges.incrementAndGet();
+                    LOG.error(
+                            "Failed to purge tombstone {}. It will be retried when the purge is resumed.",
+                            tombstone,
+                            e);
+                } finally {
+                    pendingPurges.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingPurges.decrementAndGet();
+            LOG.warn("Purger is closed. Tombstone {} will be purged when the purge is resumed.", tombstone);
+        }
+    }
+
+    /**
+     * Deletes the files in the directory concurrently, in chunks, and then deletes its directories, deepest first.
+     *
+     * @param directory the directory to delete
+     * @return the number of files that were deleted
+     */
+    private long deleteTree(Path directory) {
+        var futures = new ArrayList<Future<Integer>>();
+        var directories = new ArrayList<Path>();
+        var chunk = new ArrayList<Path>(chunkSize);
+
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    chunk.add(file);
+                    if (chunk.size() == chunkSize) {
+                        futures.add(submitChunk(new ArrayList<>(chunk)));
+                        chunk.clear();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                    directories.add(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (NoSuchFileException e) {
+            // ignore
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        if (!chunk.isEmpty()) {
+            futures.add(submitChunk(chunk));
+        }
+
+        long count = 0;
+        var failed = false;
+
+        for (var future : futures) {
+            try {
+                count += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OcflIOException(String.format("Interrupted while purging %s", directory));
+            } catch (ExecutionException e) {
+                LOG.warn("Failed to purge files in {}", directory, e.getCause());
+                failed = true;
+            }
+        }
+
+        if (!failed) {
+            failed = !deleteAll(directories);
+        }
+
+        if (failed) {
+            throw new OcflIOException(
+                    String.format("Failed to recursively delete directory %s. See logs for details.", directory));
+        }
+
+        return count;
+    }
+
+    private Future<Integer> submitChunk(List<Path> files) {
+        return workers.submit(() -> {
+            if (!deleteAll(files)) {
+                throw new OcflIOException("Failed to delete files. See logs for details.");
+            }
+            deletedFiles.addAndGet(files.size());
+            LOG.debug("Purged {} files. Total files purged: {}", files.size(), deletedFiles.get());
+            return files.size();
+        });
+    }
+
+    private boolean deleteAll(List<Path> paths) {
+        var success = true;
+
+        for (var path : paths) {
+            try {
+                Files.delete(path);
+            } catch (NoSuchFileException e) {
+                // ignore
+            } catch (IOException e) {
+                LOG.warn("Failed to delete file: {}", path, e);
+                success = false;
+            }
+        }
+
+        return success;
+    }
+}
@@ -24,12 +24,14 @@
 
 package io.ocfl.core.storage.filesystem;
 
+import io.ocfl.api.OcflConstants;
 import io.ocfl.api.OcflFileRetriever;
 import io.ocfl.api.exception.OcflFileAlreadyExistsException;
 import io.ocfl.api.exception.OcflIOException;
 import io.ocfl.api.exception.OcflNoSuchFileException;
 import io.ocfl.api.model.DigestAlgorithm;
 import io.ocfl.api.util.Enforce;
+import io.ocfl.core.storage.common.DirectoryUsage;
 import io.ocfl.core.storage.common.Listing;
 import io.ocfl.core.storage.common.OcflObjectRootDirIterator;
 import io.ocfl.core.storage.common.Storage;
@@ -37,6 +39,7 @@ import io.ocfl.core.util.FileUtil;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -45,9 +48,14 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,10 +67,32 @@ public class FileSystemStorage implements Storage {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemStorage.class);
 
+    /**
+     * The directory, relative the storage root, that purged directories are moved into before they are deleted
+     */
+    public static final String TOMBSTONE_DIR = OcflConstants.PURGE_EXT_PATH;
+
     private final Path storageRoot;
+    private final FileSystemPurger purger;
 
     public FileSystemStorage(Path storageRoot) {
+        this(storageRoot, null);
+    }
+
+    /**
+     * Creates filesystem storage that purges directories with the specified purger. Tombstones that a previous purger
+     * did not finish deleting are deleted in the background. The purger is closed when the storage is closed.
+     *
+     * @param storageRoot path to the OCFL storage root directory
+     * @param purger purges directories in the background, may be null to purge directories synchronously
+     */
+    public FileSystemStorage(Path storageRoot, FileSystemPurger purger) {
         this.storageRoot = Enforce.notNull(storageRoot, "storageRoot cannot be null");
+        this.purger = purger;
+
+        if (purger != null) {
+            purger.resume(storageRoot.resolve(TOMBSTONE_DIR));
+        }
     }
 
     /**
@@ -207,6 +237,17 @@ public class FileSystemStorage implements Storage {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Files are created with {@link StandardOpenOption#CREATE_NEW} and directories are moved with an atomic rename
+     * that fails if the destination is not empty.
+     */
+    @Override
+    public boolean supportsExclusiveCreate() {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -244,24 +285,47 @@ public class FileSystemStorage implements Storage {
 
     /**
      * {@inheritDoc}
+     *
+     * <p>The file is copied to a temporary file next to the destination, which then replaces the destination with an
+     * atomic rename, so that concurrent readers never observe a missing or partially written file.
      */
     @Override
     public void copyFileInternal(String sourceFile, String destinationFile) {
         var srcPath = storageRoot.resolve(sourceFile);
         var dstPath = storageRoot.resolve(destinationFile);
+        var tempPath = dstPath.resolveSibling("." + dstPath.getFileName() + "." + UUID.randomUUID());
         try {
-            Files.copy(srcPath, dstPath, StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(srcPath, tempPath);
+            try {
+                Files.move(tempPath, dstPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, dstPath, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException e1) {
+                e.addSuppressed(e1);
+            }
             throw OcflIOException.from(e);
         }
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>The source directory's modification time is set to the current time before it is moved, so that the moved
+     * directory is not mistaken for one that was abandoned long ago.
      */
     @Override
     public void moveDirectoryInto(Path source, String destination) {
         var dstPath = storageRoot.resolve(destination);
+        try {
+            Files.setLastModifiedTime(source, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
         try {
             FileUtil.moveDirectory(source, dstPath);
         } catch (FileAlreadyExistsException e) {
@@ -296,6 +360,63 @@ public class FileSystemStorage implements Storage {
         FileUtil.deleteDirectory(fullPath);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If a {@link FileSystemPurger} is configured, the directory is moved into {@link #TOMBSTONE_DIR} and deleted
+     * in the background.
+     */
+    @Override
+    public void purgeDirectory(String path) {
+        if (purger == null) {
+            deleteDirectory(path);
+        } else {
+            purger.purge(storageRoot.resolve(path), storageRoot.resolve(TOMBSTONE_DIR));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DirectoryUsage directoryUsage(String path) {
+        var fullPath = storageRoot.resolve(path);
+
+        if (!Files.isDirectory(fullPath)) {
+            return null;
+        }
+
+        var files = new AtomicLong();
+        var bytes = new AtomicLong();
+        var lastModified = new AtomicReference<>(Instant.EPOCH);
+
+        try {
+            Files.walkFileTree(fullPath, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    lastModified.accumulateAndGet(attrs.lastModifiedTime().toInstant(), FileSystemStorage::latest);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    files.incrementAndGet();
+                    bytes.addAndGet(attrs.size());
+                    lastModified.accumulateAndGet(attrs.lastModifiedTime().toInstant(), FileSystemStorage::latest);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+
+        return new DirectoryUsage(files.get(), bytes.get(), lastModified.get());
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -353,6 +474,8 @@ public class FileSystemStorage implements Storage {
      */
     @Override
     public void close() {
-        // no-op
+        if (purger != null) {
+            purger.close();
+        }
     }
 }
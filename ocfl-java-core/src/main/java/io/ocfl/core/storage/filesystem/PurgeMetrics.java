@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2024 OCFL Java Implementers Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.ocfl.core.storage.filesystem;
+
+/**
+ * Point in time snapshot of a {@link FileSystemPurger}'s progress.
+ */
+public class PurgeMetrics {
+
+    private final int pendingPurges;
+    private final long completedPurges;
+    private final long failedPurges;
+    private final long deletedFiles;
+
+    public PurgeMetrics(int pendingPurges, long completedPurges, long failedPurges, long deletedFiles) {
+        this.pendingPurges = pendingPurges;
+        this.completedPurges = completedPurges;
+        this.failedPurges = failedPurges;
+        this.deletedFiles = deletedFiles;
+    }
+
+    /**
+     * @return the number of directories that were moved to tombstones and are still being deleted
+     */
+    public int getPendingPurges() {
+        return pendingPurges;
+    }
+
+    /**
+     * @return the number of directories that were completely deleted
+     */
+    public long getCompletedPurges() {
+        return completedPurges;
+    }
+
+    /**
+     * @return the number of directories that could not be completely deleted
+     */
+    public long getFailedPurges() {
+        return failedPurges;
+    }
+
+    /**
+     * @return the number of files that were deleted
+     */
+    public long getDeletedFiles() {
+        return deletedFiles;
+    }
+
+    @Override
+    public String toString() {
+        return "PurgeMetrics{" + "pendingPurges="
+                + pendingPurges + ", completedPurges="
+                + completedPurges + ", failedPurges="
+                + failedPurges + ", deletedFiles="
+                + deletedFiles + '}';
+    }
+}
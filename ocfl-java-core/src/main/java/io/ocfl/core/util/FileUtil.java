@@ -109,6 +109,13 @@ public final class FileUtil {
         } catch (FileAlreadyExistsException e) {
             throw e;
         } catch (IOException e) {
+            if (Files.exists(dstRoot)) {
+                // The destination was created by a concurrent move after the existence check. Depending on the
+                // platform, this is not necessarily reported as a DirectoryNotEmptyException.
+                var exception = new FileAlreadyExistsException(dstRoot.toString(), null, "Destination must not exist");
+                exception.initCause(e);
+                throw exception;
+            }
             throw OcflIOException.from(e);
         }
 
@@ -93,4 +93,12 @@ public final class UncheckedFiles {
             throw OcflIOException.from(e);
         }
     }
+
+    public static byte[] readAllBytes(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
 }
@@ -85,6 +85,9 @@ public class Validator {
             FlatLayoutExtension.EXTENSION_NAME,
             OcflConstants.MUTABLE_HEAD_EXT_NAME,
             OcflConstants.DIGEST_ALGORITHMS_EXT_NAME,
+            // ocfl-java's own bookkeeping, such as the intent of a rollback that has not completed yet
+            OcflConstants.ROLLBACK_EXT_NAME,
+            OcflConstants.PURGE_EXT_NAME,
             // TODO technically the contents of this should be examined
             OcflConstants.INIT_EXT);
 
@@ -0,0 +1,83 @@
+package io.ocfl.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.lock.InMemoryObjectLock;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ObjectReadLockTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    @Test
+    public void shouldReadCommittedHeadWhileObjectIsWriteLocked() throws Exception {
+        var repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        var workDir = Files.createDirectory(tempRoot.resolve("work"));
+        var lock = new InMemoryObjectLock(100, TimeUnit.MILLISECONDS);
+        var repo = new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .objectLock(lock)
+                .storage(builder ->
+                        builder.objectMapper(ITestHelper.prettyPrintMapper()).fileSystem(repoDir))
+                .workDir(workDir)
+                .build();
+
+        repo.updateObject(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream("1".getBytes(StandardCharsets.UTF_8)), "file1");
+        });
+
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Simulates a long commit that holds the object's write lock
+            var writer = executor.submit(() -> lock.doInWriteLock("o1", () -> {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            assertEquals(VersionNum.fromInt(1), repo.describeObject("o1").getHeadVersionNum());
+            assertEquals(
+                    "1",
+                    new String(
+                            repo.getObject(ObjectVersionId.head("o1"))
+                                    .getFile("file1")
+                                    .getStream()
+                                    .readAllBytes(),
+                            StandardCharsets.UTF_8));
+
+            var output = tempRoot.resolve("output");
+            repo.getObject(ObjectVersionId.head("o1"), output);
+            assertTrue(Files.exists(output.resolve("file1")));
+
+            release.countDown();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            repo.close();
+        }
+    }
+}
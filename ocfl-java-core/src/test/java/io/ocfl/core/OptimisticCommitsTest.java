@@ -0,0 +1,170 @@
+package io.ocfl.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import io.ocfl.api.OcflOption;
+import io.ocfl.api.OcflRepository;
+import io.ocfl.api.exception.ObjectOutOfSyncException;
+import io.ocfl.api.exception.OcflInputException;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.janitor.JanitorConfig;
+import io.ocfl.core.storage.OcflStorageBuilder;
+import io.ocfl.core.storage.filesystem.FileSystemStorage;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OptimisticCommitsTest {
+
+    private static final int WRITERS = 8;
+
+    @TempDir
+    public Path tempRoot;
+
+    private Path repoDir;
+    private Path workDir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        workDir = Files.createDirectory(tempRoot.resolve("work"));
+    }
+
+    @Test
+    public void shouldKeepWinnerWhenConcurrentWritersCreateSameObject() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            var objectId = "o" + i;
+            var succeeded = writeConcurrently(createRepo(), objectId);
+
+            var repo = createRepo();
+            assertTrue(succeeded >= 1);
+            assertEquals(
+                    VersionNum.fromInt(succeeded), repo.describeObject(objectId).getHeadVersionNum());
+            assertTrue(repo.validateObject(objectId, true).getErrors().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldCommitOneVersionWhenConcurrentWritersUpdateSameObject() throws Exception {
+        var repo = createRepo();
+        write(repo, "o1", "base");
+        repo.close();
+
+        for (int i = 0; i < 10; i++) {
+            var before = createRepo().describeObject("o1").getHeadVersionNum().getVersionNum();
+            var succeeded = writeConcurrently(createRepo(), "o1");
+
+            var fresh = createRepo();
+            assertTrue(succeeded >= 1);
+            assertEquals(
+                    VersionNum.fromInt((int) before + succeeded),
+                    fresh.describeObject("o1").getHeadVersionNum());
+            assertTrue(fresh.validateObject("o1", true).getErrors().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldRejectOptimisticCommitsWhenStorageCannotClaimVersions() {
+        var storage = new FileSystemStorage(repoDir) {
+            @Override
+            public boolean supportsExclusiveCreate() {
+                return false;
+            }
+        };
+
+        assertThrows(OcflInputException.class, () -> new OcflRepositoryBuilder()
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(OcflStorageBuilder.builder().storage(storage).build())
+                .workDir(workDir)
+                .optimisticCommits(true)
+                .build());
+    }
+
+    @Test
+    public void shouldRejectOptimisticCommitsWithJanitor() {
+        assertThrows(OcflInputException.class, () -> new OcflRepositoryBuilder()
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder -> builder.fileSystem(repoDir))
+                .workDir(workDir)
+                .optimisticCommits(true)
+                .janitor(new JanitorConfig())
+                .build());
+    }
+
+    /**
+     * Starts all of the writers at the same time, and returns the number that succeeded
+     */
+    private int writeConcurrently(OcflRepository repo, String objectId) throws Exception {
+        var executor = Executors.newFixedThreadPool(WRITERS);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Boolean>>();
+
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                var content = "content-" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        write(repo, objectId, content);
+                        return true;
+                    } catch (ObjectOutOfSyncException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            var succeeded = 0;
+            for (var future : futures) {
+                try {
+                    if (future.get(30, TimeUnit.SECONDS)) {
+                        succeeded++;
+                    }
+                } catch (ExecutionException e) {
+                    fail("Unexpected failure", e.getCause());
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+            repo.close();
+        }
+    }
+
+    private void write(OcflRepository repo, String objectId, String content) {
+        repo.updateObject(ObjectVersionId.head(objectId), new VersionInfo(), updater -> {
+            updater.writeFile(
+                    new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "file", OcflOption.OVERWRITE);
+        });
+    }
+
+    private OcflRepository createRepo() {
+        return new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder ->
+                        builder.objectMapper(ITestHelper.prettyPrintMapper()).fileSystem(repoDir))
+                .workDir(workDir)
+                .optimisticCommits(true)
+                .build();
+    }
+}
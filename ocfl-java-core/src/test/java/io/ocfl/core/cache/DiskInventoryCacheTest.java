@@ -0,0 +1,141 @@
+package io.ocfl.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.core.OcflRepositoryBuilder;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DiskInventoryCacheTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    @Test
+    public void shouldOnlyReturnInventoryWhenDigestMatches() throws IOException {
+        var cache = new DiskInventoryCache(tempRoot.resolve("cache"), 1024);
+
+        cache.put("o1", "ABC", bytes("inventory"));
+
+        assertArrayEquals(bytes("inventory"), readAndClose(cache.read("o1", "abc")));
+        assertNull(cache.read("o1", "def"));
+        assertNull(cache.read("o2", "abc"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldReturnVersionTagCachedWithInventory() throws IOException {
+        var cache = new DiskInventoryCache(tempRoot.resolve("cache"), 1024);
+        var versionTag = new AtomicReference<String>();
+
+        cache.put("o1", "abc", bytes("inventory"), "\"etag\"");
+
+        assertTrue(cache.contains("o1"));
+        assertFalse(cache.contains("o2"));
+        assertArrayEquals(bytes("inventory"), readAndClose(cache.read("o1", "abc", versionTag::set)));
+        assertEquals("\"etag\"", versionTag.get());
+    }
+
+    @Test
+    public void shouldReplaceOlderInventoryOfSameObject() throws IOException {
+        var cache = new DiskInventoryCache(tempRoot.resolve("cache"), 1024);
+
+        cache.put("o1", "abc", bytes("v1"));
+        cache.put("o1", "def", bytes("version2"));
+
+        assertNull(cache.read("o1", "abc"));
+        assertArrayEquals(bytes("version2"), readAndClose(cache.read("o1", "def")));
+        assertEquals(1, cache.getEntryCount());
+        // the entry includes the line that holds its version tag
+        assertEquals(9, cache.getSizeBytes());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWhenFull() throws IOException {
+        var cache = new DiskInventoryCache(tempRoot.resolve("cache"), 25);
+
+        cache.put("o1", "a", bytes("1234567890"));
+        cache.put("o2", "b", bytes("1234567890"));
+        readAndClose(cache.read("o1", "a"));
+        cache.put("o3", "c", bytes("1234567890"));
+
+        assertNull(cache.read("o2", "b"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void shouldReuseExistingEntriesAndRemoveInvalidated() throws IOException {
+        var dir = tempRoot.resolve("cache");
+        var cache = new DiskInventoryCache(dir, 1024);
+        cache.put("o1", "abc", bytes("inventory"));
+        cache.put("o2", "def", bytes("inventory"));
+        cache.invalidate("o2");
+
+        var reopened = new DiskInventoryCache(dir, 1024);
+
+        assertArrayEquals(bytes("inventory"), readAndClose(reopened.read("o1", "abc")));
+        assertNull(reopened.read("o2", "def"));
+        assertEquals(1, reopened.getEntryCount());
+    }
+
+    @Test
+    public void shouldLoadInventoriesFromDiskCacheWhenDigestUnchanged() throws IOException {
+        var cache = new DiskInventoryCache(tempRoot.resolve("cache"), 1024 * 1024);
+        var repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        var workDir = Files.createDirectory(tempRoot.resolve("work"));
+
+        var repo = new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .inventoryCache(null)
+                .storage(builder -> builder.objectMapper(ITestHelper.prettyPrintMapper())
+                        .fileSystem(repoDir)
+                        .inventoryDiskCache(cache))
+                .workDir(workDir)
+                .build();
+
+        repo.updateObject(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream(bytes("1")), "file1");
+        });
+
+        repo.describeObject("o1");
+        repo.describeObject("o1");
+
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(1, cache.getHitCount());
+
+        repo.updateObject(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream(bytes("2")), "file2");
+        });
+
+        assertEquals(2, repo.describeObject("o1").getVersionMap().size());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] readAndClose(InputStream stream) throws IOException {
+        try (stream) {
+            return stream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.ocfl.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.ocfl.api.OcflConfig;
+import io.ocfl.api.OcflConstants;
+import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.Version;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class InventoryWeigherTest {
+
+    @Test
+    public void shouldWeighInventoriesByNumberOfFiles() {
+        var small = inventory("o1", 1);
+        var large = inventory("o2", 1000);
+
+        var smallSize = InventoryWeigher.estimateRetainedSize(small);
+        var largeSize = InventoryWeigher.estimateRetainedSize(large);
+
+        assertTrue(largeSize > smallSize * 100, "expected " + largeSize + " to be much larger than " + smallSize);
+        assertEquals((int) smallSize, new InventoryWeigher().weigh("o1", small));
+    }
+
+    @Test
+    public void shouldEvictWhenMaxWeightExceeded() {
+        var large = inventory("o1", 1000);
+        var small = inventory("o2", 1);
+        var largeSize = InventoryWeigher.estimateRetainedSize(large);
+
+        var cache = new CaffeineCache<String, Inventory>(Caffeine.newBuilder()
+                .maximumWeight(largeSize)
+                .weigher(new InventoryWeigher())
+                .executor(Runnable::run)
+                .recordStats()
+                .build());
+
+        cache.put("o1", large);
+        cache.put("o2", small);
+
+        var metrics = cache.getMetrics();
+
+        assertEquals(1, metrics.getEvictionCount());
+        assertEquals(1, metrics.getEntryCount());
+        assertTrue(metrics.getWeightedSize() <= largeSize);
+        assertTrue(metrics.getEvictionWeight() > 0);
+        assertFalse(cache.contains("o1") && cache.contains("o2"));
+    }
+
+    @Test
+    public void shouldNotLoadVersionsWhenWeighingLazyInventory() {
+        var full = inventory("o1", 100, 3);
+        var loads = new AtomicInteger();
+        var lazy = full.buildFrom()
+                .versions(Map.of(full.getHead(), full.getHeadVersion()))
+                .build()
+                .withVersionLoader(versionNum -> {
+                    loads.incrementAndGet();
+                    return full.getVersions();
+                });
+
+        var cache = CaffeineCache.inventoryCache(Long.MAX_VALUE, Duration.ofMinutes(1));
+        cache.put("o1", lazy);
+
+        assertEquals(0, loads.get());
+        assertTrue(cache.contains("o1"));
+        assertEquals(InventoryWeigher.estimateRetainedSize(full), InventoryWeigher.estimateRetainedSize(lazy));
+        assertEquals(0, loads.get());
+    }
+
+    private Inventory inventory(String objectId, int fileCount) {
+        return inventory(objectId, fileCount, 1);
+    }
+
+    private Inventory inventory(String objectId, int fileCount, int versionCount) {
+        var builder = Inventory.builderFromStub(
+                objectId, new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), objectId);
+        var version = Version.builder().created(OffsetDateTime.now());
+
+        for (var i = 0; i < fileCount; i++) {
+            var fileId = String.format("%0128d", i);
+            builder.addFileToManifest(fileId, "v1/content/dir/file" + i + ".txt");
+            version.addFile(fileId, "dir/file" + i + ".txt");
+        }
+
+        for (var i = 0; i < versionCount; i++) {
+            builder.addHeadVersion(version.build());
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,205 @@
+package io.ocfl.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import io.ocfl.api.OcflConfig;
+import io.ocfl.api.OcflConstants;
+import io.ocfl.core.cache.CacheInvalidationListener;
+import io.ocfl.core.inventory.InventoryMapper;
+import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionNum;
+import io.ocfl.core.model.Version;
+import io.ocfl.core.util.DigestUtil;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DbCacheInvalidationChannelTest {
+
+    private static ComboPooledDataSource dataSource;
+
+    private ObjectDetailsDatabase database;
+    private DbCacheInvalidationChannel channel;
+    private RecordingListener listener;
+    private InventoryMapper inventoryMapper;
+
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = new ComboPooledDataSource();
+        dataSource.setJdbcUrl(System.getProperty("db.url", "jdbc:h2:mem:test"));
+        dataSource.setUser(System.getProperty("db.user", ""));
+        dataSource.setPassword(System.getProperty("db.password", ""));
+    }
+
+    @BeforeEach
+    public void setup() {
+        var tableName = "details_" + UUID.randomUUID().toString().replaceAll("-", "");
+        database = new ObjectDetailsDatabaseBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .build();
+        channel = new DbCacheInvalidationChannelBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .evictionTableName("eviction_" + UUID.randomUUID().toString().replaceAll("-", ""))
+                .pollInterval(Duration.ofHours(1))
+                .overlap(Duration.ZERO)
+                .build();
+        listener = new RecordingListener();
+        inventoryMapper = InventoryMapper.defaultMapper();
+    }
+
+    @AfterEach
+    public void after() {
+        channel.close();
+    }
+
+    @Test
+    public void shouldNotifyListenersOfObjectsChangedSinceLastPoll() throws InterruptedException {
+        var existing = inventory("o1");
+        database.addObjectDetails(existing, digest(existing), inventoryBytes(existing));
+
+        channel.subscribe(listener);
+        Thread.sleep(5);
+
+        var changed = inventory("o2");
+        var digest = digest(changed);
+        database.addObjectDetails(changed, digest, inventoryBytes(changed));
+
+        channel.poll();
+
+        assertEquals(List.of("o2:" + digest), listener.invalidated);
+        assertEquals(0, listener.invalidateAllCount);
+    }
+
+    @Test
+    public void shouldNotifyListenersWithDigestTokenWhenMutableHeadChanged() throws InterruptedException {
+        channel.subscribe(listener);
+        Thread.sleep(5);
+
+        var changed = inventory("o1")
+                .buildFrom()
+                .mutableHead(true)
+                .revisionNum(RevisionNum.fromString("r2"))
+                .build();
+        var digest = digest(changed);
+        database.addObjectDetails(changed, digest, inventoryBytes(changed));
+
+        channel.poll();
+
+        assertEquals(List.of("o1:" + digest + "/r2"), listener.invalidated);
+    }
+
+    @Test
+    public void shouldNotRepeatNotificationsWhenNothingChanged() throws InterruptedException {
+        channel.subscribe(listener);
+        Thread.sleep(5);
+
+        var changed = inventory("o1");
+        database.addObjectDetails(changed, digest(changed), inventoryBytes(changed));
+
+        channel.poll();
+        channel.poll();
+
+        assertEquals(1, listener.invalidated.size());
+    }
+
+    @Test
+    public void shouldEvictOnlyPublishedIdsWhenDetailsAreDeleted() {
+        var existing = inventory("o1");
+        database.addObjectDetails(existing, digest(existing), inventoryBytes(existing));
+
+        channel.subscribe(listener);
+        database.deleteObjectDetails("o1");
+        channel.publish("o1", null);
+
+        var added = inventory("o2");
+        var digest = digest(added);
+        database.addObjectDetails(added, digest, inventoryBytes(added));
+
+        channel.poll();
+
+        assertEquals(List.of("o2:" + digest, "o1:null"), listener.invalidated);
+        assertEquals(0, listener.invalidateAllCount);
+    }
+
+    @Test
+    public void shouldNotRecordEvictionsWhenDigestKnown() {
+        channel.subscribe(listener);
+        channel.publish("o1", "abc");
+
+        channel.poll();
+
+        assertTrue(listener.invalidated.isEmpty());
+    }
+
+    @Test
+    public void shouldInvalidateAllWhenAllPublished() {
+        channel.subscribe(listener);
+        channel.publishAll();
+
+        channel.poll();
+        channel.poll();
+
+        assertTrue(listener.invalidated.isEmpty());
+        assertEquals(1, listener.invalidateAllCount);
+    }
+
+    @Test
+    public void shouldEvictAgainWhenIdPublishedAgain() throws InterruptedException {
+        channel.subscribe(listener);
+        channel.publish("o1", null);
+        channel.poll();
+
+        Thread.sleep(5);
+        channel.publish("o1", null);
+        channel.poll();
+
+        assertEquals(List.of("o1:null", "o1:null"), listener.invalidated);
+    }
+
+    private Inventory inventory(String objectId) {
+        return Inventory.builderFromStub(
+                        objectId, new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), objectId)
+                .addFileToManifest("f1", "v1/content/file1.txt")
+                .addHeadVersion(Version.builder()
+                        .created(OffsetDateTime.now())
+                        .addFile("f1", "file1.txt")
+                        .build())
+                .build();
+    }
+
+    private byte[] inventoryBytes(Inventory inventory) {
+        var baos = new ByteArrayOutputStream();
+        inventoryMapper.write(baos, inventory);
+        return baos.toByteArray();
+    }
+
+    private String digest(Inventory inventory) {
+        return DigestUtil.computeDigestHex(inventory.getDigestAlgorithm(), inventoryBytes(inventory));
+    }
+
+    private static class RecordingListener implements CacheInvalidationListener {
+        private final List<String> invalidated = new ArrayList<>();
+        private int invalidateAllCount;
+
+        @Override
+        public void invalidate(String objectId, String inventoryDigest) {
+            invalidated.add(objectId + ":" + inventoryDigest);
+        }
+
+        @Override
+        public void invalidateAll() {
+            invalidateAllCount++;
+        }
+    }
+}
@@ -268,6 +268,37 @@ public class ObjectDetailsDatabaseTest {
         });
     }
 
+    @Test
+    public void shouldRejectUpdateWhenPreviousDigestDoesNotMatch() {
+        var inventory = basicInventory();
+        var invBytes = inventoryBytes(inventory);
+        var digest = DigestUtil.computeDigestHex(inventory.getDigestAlgorithm(), invBytes);
+
+        database.addObjectDetails(inventory, digest, invBytes);
+
+        var inv2 = inventory
+                .buildFrom()
+                .previousDigest("bogus")
+                .addHeadVersion(Version.builder()
+                        .created(OffsetDateTime.now())
+                        .addFile("f1", "file2.txt")
+                        .build())
+                .build();
+        var invBytes2 = inventoryBytes(inv2);
+        var digest2 = DigestUtil.computeDigestHex(inventory.getDigestAlgorithm(), invBytes2);
+
+        assertThrows(ObjectOutOfSyncException.class, () -> {
+            database.addObjectDetails(inv2, digest2, invBytes2);
+        });
+
+        var inv3 = inv2.buildFrom().previousDigest(digest).build();
+        var invBytes3 = inventoryBytes(inv3);
+        var digest3 = DigestUtil.computeDigestHex(inventory.getDigestAlgorithm(), invBytes3);
+
+        database.addObjectDetails(inv3, digest3, invBytes3);
+        assertEquals(digest3, database.retrieveObjectDetails(inventory.getId()).getInventoryDigest());
+    }
+
     @Test
     public void shouldRejectUpdateWhenNewInventoryVersionIsOldVersion() {
         var inventory = basicInventory();
@@ -0,0 +1,169 @@
+package io.ocfl.core.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import io.ocfl.api.OcflConfig;
+import io.ocfl.api.OcflConstants;
+import io.ocfl.core.extension.ExtensionSupportEvaluator;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.model.Inventory;
+import io.ocfl.core.storage.ObjectIdIndexOcflStorage;
+import io.ocfl.core.storage.OcflStorage;
+import io.ocfl.core.storage.OcflStorageBuilder;
+import io.ocfl.core.test.ITestHelper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ObjectIdIndexTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private static ComboPooledDataSource dataSource;
+
+    private ObjectIdIndex index;
+
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = new ComboPooledDataSource();
+        dataSource.setJdbcUrl(System.getProperty("db.url", "jdbc:h2:mem:test"));
+        dataSource.setUser(System.getProperty("db.user", ""));
+        dataSource.setPassword(System.getProperty("db.password", ""));
+    }
+
+    @BeforeEach
+    public void setup() {
+        var tableName = "index_" + UUID.randomUUID().toString().replaceAll("-", "");
+        index = new ObjectIdIndexBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .build();
+    }
+
+    @Test
+    public void shouldAddAndRemoveObjectIds() {
+        assertTrue(index.isEmpty());
+
+        index.addObjectId("o1");
+        index.addObjectId("o2");
+        index.addObjectId("o1");
+
+        assertFalse(index.isEmpty());
+        assertTrue(index.containsObjectId("o1"));
+        assertThat(listIds(), contains("o1", "o2"));
+
+        index.removeObjectId("o1");
+        index.removeObjectId("o3");
+
+        assertFalse(index.containsObjectId("o1"));
+        assertThat(listIds(), contains("o2"));
+    }
+
+    @Test
+    public void shouldReplaceContentsWhenRebuilt() {
+        index.addObjectId("o1");
+
+        var count = index.rebuild(Stream.of("o2", "o3", "o4"));
+
+        assertEquals(3, count);
+        assertThat(listIds(), contains("o2", "o3", "o4"));
+    }
+
+    @Test
+    public void shouldKeepIdsAddedWhileRebuilding() throws InterruptedException {
+        index.addObjectId("stale");
+        Thread.sleep(5);
+
+        var count = index.rebuild(Stream.of("o1", "o2").peek(id -> {
+            if (id.equals("o1")) {
+                // o2 is created while storage is walked and is walked, o3 is created after it was walked past
+                index.addObjectId("o2");
+                index.addObjectId("o3");
+            }
+        }));
+
+        assertEquals(2, count);
+        assertThat(listIds(), contains("o1", "o2", "o3"));
+    }
+
+    @Test
+    public void shouldIndexObjectWhenMutableHeadCommitted() {
+        index.addObjectId("o1");
+
+        var storage = new ObjectIdIndexOcflStorage(index, mock(OcflStorage.class));
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                new HashedNTupleLayoutConfig(),
+                ITestHelper.testInventoryMapper(),
+                new ExtensionSupportEvaluator());
+
+        var inventory = Inventory.builderFromStub(
+                        "o2", new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), "o2")
+                .build();
+        storage.commitMutableHead(inventory, inventory, tempDir);
+
+        assertThat(listIds(), contains("o1", "o2"));
+    }
+
+    @Test
+    public void shouldBuildIndexFromStorageWhenEmpty() {
+        var repoDir = copyDir(Paths.get("src/test/resources/repos/repo-multiple-objects"), tempDir.resolve("repo"));
+
+        var storage = new ObjectIdIndexOcflStorage(
+                index, OcflStorageBuilder.builder().fileSystem(repoDir).build());
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                new HashedNTupleLayoutConfig(),
+                ITestHelper.testInventoryMapper(),
+                new ExtensionSupportEvaluator());
+
+        assertThat(listIds(), containsInAnyOrder("o1", "o2", "o3"));
+
+        try (var ids = storage.listObjectIds()) {
+            assertThat(ids.collect(Collectors.toList()), contains("o1", "o2", "o3"));
+        }
+
+        storage.purgeObject("o2");
+
+        assertThat(listIds(), contains("o1", "o3"));
+    }
+
+    private List<String> listIds() {
+        try (var ids = index.streamObjectIds()) {
+            return ids.collect(Collectors.toList());
+        }
+    }
+
+    private Path copyDir(Path source, Path target) {
+        try (var files = Files.walk(source)) {
+            files.forEach(f -> {
+                try {
+                    Files.copy(f, target.resolve(source.relativize(f)), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return target;
+    }
+}
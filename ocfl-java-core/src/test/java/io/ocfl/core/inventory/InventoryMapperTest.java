@@ -6,9 +6,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.model.VersionNum;
 import io.ocfl.core.model.Inventory;
 import io.ocfl.core.model.RevisionNum;
 import io.ocfl.core.test.ITestHelper;
+import io.ocfl.core.util.ObjectMappers;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -60,6 +62,53 @@ public class InventoryMapperTest {
         assertEquals(digest, inventory.getInventoryDigest());
     }
 
+    @Test
+    public void shouldReadOnlyHeadVersionState() throws IOException {
+        var objectRoot = "9250b9912ee91d6b46e23299459ecd6eb8154451d62558a3a0a708a77926ad04";
+        var inventoryPath = Paths.get("src/test/resources/repos/repo-multiple-objects/925/0b9/912", objectRoot)
+                .resolve("inventory.json");
+
+        try (var stream = Files.newInputStream(inventoryPath)) {
+            var inventory = mapper.readHeadVersion(objectRoot, DigestAlgorithmRegistry.sha512, stream);
+            var full = mapper.read(objectRoot, DigestAlgorithmRegistry.sha512, inventoryPath);
+
+            assertEquals("o2", inventory.getId());
+            assertEquals(VersionNum.fromString("v3"), inventory.getHead());
+            assertEquals(1, inventory.getVersions().size());
+            assertEquals(
+                    full.getHeadVersion().getState(), inventory.getHeadVersion().getState());
+            assertEquals(full.getManifest(), inventory.getManifest());
+            assertEquals(full.getInventoryDigest(), inventory.getInventoryDigest());
+        }
+    }
+
+    @Test
+    public void shouldWriteInventoryAndComputeDigestInSamePass() throws IOException {
+        var original = readFile("simple-inventory.json");
+        var inventory = mapper.read(
+                "path/to/obj1", DigestAlgorithmRegistry.sha512, new ByteArrayInputStream(original.getBytes()));
+
+        var outputStream = new ByteArrayOutputStream();
+        var digest = mapper.writeWithDigest(outputStream, inventory);
+
+        assertEquals(original, outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals(inventory.getInventoryDigest(), digest);
+    }
+
+    @Test
+    public void shouldWriteSameJsonAsDataBinding() throws IOException {
+        var objectMapper = ObjectMappers.defaultMapper();
+        var compactMapper = new InventoryMapper(objectMapper);
+        var original = readFile("simple-inventory.json");
+        var inventory = compactMapper.read(
+                "path/to/obj1", DigestAlgorithmRegistry.sha512, new ByteArrayInputStream(original.getBytes()));
+
+        var outputStream = new ByteArrayOutputStream();
+        compactMapper.write(outputStream, inventory);
+
+        assertEquals(objectMapper.writeValueAsString(inventory), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
     private String readFile(String name) throws IOException {
         return Files.readString(Paths.get("src/test/resources/other", name), StandardCharsets.UTF_8);
     }
@@ -0,0 +1,309 @@
+package io.ocfl.core.janitor;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.ocfl.api.MutableOcflRepository;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.DefaultOcflRepository;
+import io.ocfl.core.OcflRepositoryBuilder;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.lock.InMemoryObjectLock;
+import io.ocfl.core.lock.ObjectLock;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JanitorTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    private Path repoDir;
+    private Path workDir;
+    private MutableOcflRepository repo;
+    private ObjectLock objectLock;
+    private Janitor janitor;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        workDir = Files.createDirectory(tempRoot.resolve("work"));
+        objectLock = new InMemoryObjectLock(10, TimeUnit.SECONDS);
+        repo = new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder ->
+                        builder.objectMapper(ITestHelper.prettyPrintMapper()).fileSystem(repoDir))
+                .workDir(workDir)
+                .objectLock(objectLock)
+                .janitor(new JanitorConfig()
+                        .setInitialDelay(Duration.ofHours(1))
+                        .setStaleAfter(Duration.ofHours(1))
+                        .setObjectsPerSecond(1000))
+                .buildMutable();
+        janitor = ((DefaultOcflRepository) repo).getJanitor();
+    }
+
+    @AfterEach
+    public void after() {
+        repo.close();
+    }
+
+    @Test
+    public void shouldReclaimStaleStagingDirectories() throws IOException {
+        var stale = createTree(workDir.resolve("0cc175b9c0f1b6a831c399e269772661-123"));
+        var fresh = Files.createDirectories(workDir.resolve("92eb5ffee6ae2fec3ad71c777531578f-456"));
+        Files.writeString(fresh.resolve("file"), "fresh");
+        var other = createTree(workDir.resolve("other"));
+        makeStale(stale);
+        makeStale(other);
+
+        janitor.runOnce();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(fresh));
+        assertTrue(Files.exists(other));
+        assertEquals(1, janitor.getMetrics().getStagingDirsReclaimed());
+        assertEquals(10, janitor.getMetrics().getBytesReclaimed());
+        assertEquals(1, janitor.getMetrics().getRuns());
+    }
+
+    @Test
+    public void shouldReclaimStaleVersionDirectoriesNewerThanHead() throws IOException {
+        writeFile("o1", "file1", "1");
+        var objectRoot = objectRoot();
+        var stale = createTree(objectRoot.resolve("v2"));
+        makeStale(stale);
+        var fresh = createTree(objectRoot.resolve("v3"));
+
+        janitor.runOnce();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(fresh));
+        assertTrue(Files.exists(objectRoot.resolve("v1")));
+        assertEquals(1, janitor.getMetrics().getObjectsExamined());
+        assertEquals(1, janitor.getMetrics().getObjectDirsReclaimed());
+        assertEquals(10, janitor.getMetrics().getBytesReclaimed());
+    }
+
+    @Test
+    public void shouldSkipObjectsLockedByWriters() throws Exception {
+        writeFile("o1", "file1", "1");
+        var stale = createTree(objectRoot().resolve("v2"));
+        makeStale(stale);
+
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var writer = executor.submit(() -> objectLock.doInWriteLock("o1", () -> {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            janitor.runOnce();
+
+            assertTrue(Files.exists(stale));
+            assertEquals(0, janitor.getMetrics().getObjectsExamined());
+            assertEquals(1, janitor.getMetrics().getObjectsSkipped());
+
+            release.countDown();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        janitor.runOnce();
+
+        assertFalse(Files.exists(stale));
+        assertEquals(1, janitor.getMetrics().getObjectsExamined());
+    }
+
+    @Test
+    public void shouldSkipObjectsThatHaveNotChangedSinceLastExamined() {
+        writeFile("o1", "file1", "1");
+
+        janitor.runOnce();
+        janitor.runOnce();
+
+        assertEquals(1, janitor.getMetrics().getObjectsExamined());
+        assertEquals(1, janitor.getMetrics().getObjectsSkipped());
+
+        writeFile("o1", "file2", "2");
+        janitor.runOnce();
+
+        assertEquals(2, janitor.getMetrics().getObjectsExamined());
+    }
+
+    @Test
+    public void shouldReexamineObjectsWithDirectoriesThatWereNotYetStale() throws IOException {
+        writeFile("o1", "file1", "1");
+        var fresh = createTree(objectRoot().resolve("v2"));
+
+        janitor.runOnce();
+        makeStale(fresh);
+        janitor.runOnce();
+
+        assertFalse(Files.exists(fresh));
+        assertEquals(2, janitor.getMetrics().getObjectsExamined());
+        assertEquals(0, janitor.getMetrics().getObjectsSkipped());
+    }
+
+    @Test
+    public void shouldReclaimUnreferencedMutableHeadRevisions() throws IOException {
+        repo.stageChanges(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream("1".getBytes(StandardCharsets.UTF_8)), "file1");
+        });
+        var objectRoot = objectRoot();
+        var headContent = objectRoot.resolve("extensions/0005-mutable-head/head/content");
+        makeStale(headContent.resolve("r1"));
+        var orphan = createTree(headContent.resolve("r2"));
+        makeStale(orphan);
+
+        janitor.runOnce();
+
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(headContent.resolve("r1")));
+        assertEquals(1, janitor.getMetrics().getObjectDirsReclaimed());
+        assertTrue(repo.validateObject("o1", true).getErrors().isEmpty());
+    }
+
+    @Test
+    public void shouldCompleteRollbackInterruptedAfterInventoryReplaced() throws IOException {
+        writeFile("o1", "file1", "1");
+        writeFile("o1", "file2", "2");
+        writeFile("o1", "file3", "3");
+        var objectRoot = objectRoot();
+
+        repo.rollbackToVersion(ObjectVersionId.version("o1", 2));
+        assertFalse(Files.exists(objectRoot.resolve("v3")));
+        assertFalse(Files.exists(objectRoot.resolve("extensions/ocfl-java-rollback")));
+
+        // Simulate a rollback to v1 that was interrupted while purging v2
+        Files.copy(objectRoot.resolve("v1/inventory.json"), objectRoot.resolve("inventory.json"), REPLACE_EXISTING);
+        Files.copy(
+                objectRoot.resolve("v1/inventory.json.sha512"),
+                objectRoot.resolve("inventory.json.sha512"),
+                REPLACE_EXISTING);
+        Files.delete(objectRoot.resolve("v2/inventory.json"));
+        writeRollbackIntent(objectRoot, "v1");
+
+        janitor.runOnce();
+
+        assertFalse(Files.exists(objectRoot.resolve("v2")));
+        assertFalse(Files.exists(objectRoot.resolve("extensions/ocfl-java-rollback")));
+        assertEquals(1, janitor.getMetrics().getObjectDirsReclaimed());
+        assertEquals(VersionNum.V1, repo.describeObject("o1").getHeadVersionNum());
+        assertTrue(repo.validateObject("o1", true).getErrors().isEmpty());
+    }
+
+    @Test
+    public void shouldDiscardRollbackInterruptedBeforeInventoryReplaced() throws IOException {
+        writeFile("o1", "file1", "1");
+        writeFile("o1", "file2", "2");
+        var objectRoot = objectRoot();
+        writeRollbackIntent(objectRoot, "v1");
+
+        janitor.runOnce();
+
+        assertTrue(Files.exists(objectRoot.resolve("v2")));
+        assertFalse(Files.exists(objectRoot.resolve("extensions/ocfl-java-rollback")));
+        assertEquals(0, janitor.getMetrics().getObjectDirsReclaimed());
+        assertEquals(VersionNum.fromInt(2), repo.describeObject("o1").getHeadVersionNum());
+    }
+
+    @Test
+    public void shouldNotPurgeMutableHeadStagedAfterInterruptedRollback() throws IOException {
+        writeFile("o1", "file1", "1");
+        writeFile("o1", "file2", "2");
+        var objectRoot = objectRoot();
+
+        // Simulate a rollback to v1 that was interrupted after the inventory was replaced
+        writeRollbackIntent(objectRoot, "v1");
+        Files.copy(objectRoot.resolve("v1/inventory.json"), objectRoot.resolve("inventory.json"), REPLACE_EXISTING);
+        Files.copy(
+                objectRoot.resolve("v1/inventory.json.sha512"),
+                objectRoot.resolve("inventory.json.sha512"),
+                REPLACE_EXISTING);
+        repo.invalidateCache("o1");
+
+        repo.stageChanges(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream("3".getBytes(StandardCharsets.UTF_8)), "file3");
+        });
+
+        assertFalse(Files.exists(objectRoot.resolve("extensions/ocfl-java-rollback")));
+
+        janitor.runOnce();
+
+        assertTrue(repo.hasStagedChanges("o1"));
+        assertTrue(Files.exists(objectRoot.resolve("extensions/0005-mutable-head/head/content/r1/file3")));
+        assertEquals(0, janitor.getMetrics().getObjectDirsReclaimed());
+        assertEquals(
+                Set.of("file1", "file3"),
+                repo.getObject(ObjectVersionId.head("o1")).getFiles().stream()
+                        .map(file -> file.getPath())
+                        .collect(Collectors.toSet()));
+        assertTrue(repo.validateObject("o1", true).getErrors().isEmpty());
+    }
+
+    private void writeRollbackIntent(Path objectRoot, String versionNum) throws IOException {
+        var intent = Files.createDirectories(objectRoot.resolve("extensions/ocfl-java-rollback"));
+        Files.writeString(intent.resolve("rollback-intent"), versionNum + "\n");
+    }
+
+    private void writeFile(String objectId, String logicalPath, String content) {
+        repo.updateObject(ObjectVersionId.head(objectId), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), logicalPath);
+        });
+    }
+
+    private Path objectRoot() throws IOException {
+        try (var paths = Files.walk(repoDir)) {
+            return paths.filter(p -> p.getFileName().toString().startsWith("0=ocfl_object"))
+                    .map(Path::getParent)
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private Path createTree(Path root) throws IOException {
+        Files.createDirectories(root.resolve("a"));
+        Files.writeString(root.resolve("file1"), "12345");
+        Files.writeString(root.resolve("a/file2"), "67890");
+        return root;
+    }
+
+    private void makeStale(Path root) throws IOException {
+        var time = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        try (var paths = Files.walk(root)) {
+            for (var path : (Iterable<Path>) paths::iterator) {
+                Files.setLastModifiedTime(path, time);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.mchange.v2.c3p0.ComboPooledDataSource;
 import io.ocfl.api.exception.LockException;
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -141,7 +142,7 @@ public class DbObjectLockTest {
 
     @Test
     public void shouldAcquireLockWhenExistsButIsExpired() throws ExecutionException, InterruptedException {
-        lock = createLock(Duration.ofMillis(100));
+        lock = createLock(Duration.ofMillis(100), false);
 
         var phaser = new Phaser(2);
 
@@ -178,7 +179,7 @@ public class DbObjectLockTest {
     @Test
     public void onConcurrentAcquireOnlyOneProcessShouldGetLockWhenLockExpired()
             throws ExecutionException, InterruptedException {
-        lock = createLock(Duration.ofMillis(100));
+        lock = createLock(Duration.ofMillis(100), false);
 
         var phaser = new Phaser(4);
 
@@ -243,12 +244,122 @@ public class DbObjectLockTest {
         assertTrue(result1.get() || result2.get());
     }
 
+    @Test
+    public void shouldRenewLeaseWhileLockHeld() throws ExecutionException, InterruptedException {
+        lock = createLock(Duration.ofMillis(150));
+
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            lock.doInWriteLock("obj1", () -> {
+                phaser.arriveAndAwaitAdvance();
+                try {
+                    Thread.sleep(TimeUnit.MILLISECONDS.toMillis(600));
+                } catch (InterruptedException e) {
+                    Thread.interrupted();
+                }
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        Thread.sleep(TimeUnit.MILLISECONDS.toMillis(300));
+
+        var result = new AtomicBoolean(false);
+        assertThrows(LockException.class, () -> {
+            lock.doInWriteLock("obj1", () -> {
+                result.set(true);
+            });
+        });
+        assertFalse(result.get());
+
+        future.get();
+
+        lock.doInWriteLock("obj1", () -> {
+            result.set(true);
+        });
+        assertTrue(result.get());
+    }
+
+    @Test
+    public void shouldAcquireLocksOnMultipleObjects() {
+        var result = new AtomicBoolean(false);
+        lock.doInWriteLock(List.of("obj2", "obj1", "obj2"), () -> {
+            assertThrows(LockException.class, () -> lock.doInWriteLock("obj1", () -> {}));
+            assertThrows(LockException.class, () -> lock.doInWriteLock("obj2", () -> {}));
+            result.set(true);
+        });
+        assertTrue(result.get());
+
+        lock.doInWriteLock("obj1", () -> {
+            result.set(false);
+        });
+        assertFalse(result.get());
+    }
+
+    @Test
+    public void shouldFailLeaseCheckWhenLockExpired() {
+        for (var waitForDbLock : List.of(false, true)) {
+            lock = new ObjectLockBuilder()
+                    .dataSource(dataSource)
+                    .tableName("lock_" + UUID.randomUUID().toString().replaceAll("-", ""))
+                    .maxLockDuration(Duration.ofMillis(100))
+                    .leaseRenewal(false)
+                    .waitForDbLock(waitForDbLock)
+                    .build();
+
+            lock.doInWriteLock("obj1", () -> {
+                HeldLocks.ensureHeld("obj1");
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.interrupted();
+                }
+                assertThrows(LockException.class, () -> HeldLocks.ensureHeld("obj1"));
+            });
+
+            HeldLocks.ensureHeld("obj1");
+        }
+    }
+
+    @Test
+    public void shouldNotHoldConnectionWhileLockHeld() throws Exception {
+        var singleConnection = new ComboPooledDataSource();
+        try {
+            singleConnection.setJdbcUrl(dataSource.getJdbcUrl());
+            singleConnection.setUser(dataSource.getUser());
+            singleConnection.setPassword(dataSource.getPassword());
+            singleConnection.setMaxPoolSize(1);
+            singleConnection.setCheckoutTimeout(2000);
+
+            lock = new ObjectLockBuilder()
+                    .dataSource(singleConnection)
+                    .tableName("lock_" + UUID.randomUUID().toString().replaceAll("-", ""))
+                    .build();
+
+            var result = new AtomicBoolean(false);
+            lock.doInWriteLock("obj1", () -> {
+                lock.doInWriteLock("obj2", () -> {
+                    result.set(true);
+                });
+            });
+            assertTrue(result.get());
+        } finally {
+            singleConnection.close();
+        }
+    }
+
     private ObjectLock createLock(Duration maxLockDuration) {
+        return createLock(maxLockDuration, true);
+    }
+
+    private ObjectLock createLock(Duration maxLockDuration, boolean leaseRenewal) {
         var tableName = "lock_" + UUID.randomUUID().toString().replaceAll("-", "");
         return new ObjectLockBuilder()
                 .dataSource(dataSource)
                 .tableName(tableName)
                 .maxLockDuration(maxLockDuration)
+                .leaseRenewal(leaseRenewal)
                 .build();
     }
 }
@@ -12,7 +12,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +21,7 @@ import org.junit.jupiter.api.Test;
 public class InMemoryObjectLockTest {
 
     private InMemoryObjectLock lock;
-    private Cache<String, ReentrantLock> cache;
+    private Cache<String, ReentrantReadWriteLock> cache;
     private ExecutorService executor;
 
     @BeforeEach
@@ -66,6 +67,31 @@ public class InMemoryObjectLockTest {
         assertFalse(cache.asMap().containsKey(id));
     }
 
+    @Test
+    public void shouldNotWaitWhenTryingLockThatIsHeld() throws Exception {
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            lock.doInWriteLock("obj1", () -> {
+                phaser.arriveAndAwaitAdvance();
+                phaser.arriveAndAwaitAdvance();
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        var start = System.nanoTime();
+        assertFalse(lock.tryDoInWriteLock("obj1", () -> fail("should not have acquired the lock")));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 250);
+
+        phaser.arriveAndAwaitAdvance();
+        future.get();
+
+        var executed = new AtomicBoolean(false);
+        assertTrue(lock.tryDoInWriteLock("obj1", () -> executed.set(true)));
+        assertTrue(executed.get());
+    }
+
     @Test
     public void shouldBlockWhenLockAlreadyHeld() {
         var id = "obj1";
@@ -91,4 +117,65 @@ public class InMemoryObjectLockTest {
             });
         });
     }
+
+    @Test
+    public void shouldAllowConcurrentReadersWhenReadLockHeld() throws Exception {
+        var id = "obj1";
+
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            lock.doInReadLock(id, () -> {
+                phaser.arriveAndAwaitAdvance();
+                phaser.arriveAndAwaitAdvance();
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        var result = lock.doInReadLock(id, () -> true);
+        assertTrue(result);
+
+        assertThrows(LockException.class, () -> {
+            lock.doInWriteLock(id, () -> {
+                fail("Should not have acquired lock");
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+        future.get();
+    }
+
+    @Test
+    public void shouldBlockReadersWhenWriteLockHeld() throws Exception {
+        var id = "obj1";
+
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            lock.doInWriteLock(id, () -> {
+                phaser.arriveAndAwaitAdvance();
+                phaser.arriveAndAwaitAdvance();
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        assertThrows(LockException.class, () -> {
+            lock.doInReadLock(id, () -> {
+                fail("Should not have acquired lock");
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+        future.get();
+
+        assertTrue(lock.doInReadLock(id, () -> true));
+    }
+
+    @Test
+    public void shouldAllowWriterToAcquireReadLock() {
+        var result = lock.doInWriteLock("obj1", () -> lock.doInReadLock("obj1", () -> true));
+        assertTrue(result);
+    }
 }
@@ -0,0 +1,192 @@
+package io.ocfl.core.lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import io.ocfl.api.exception.LockException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WaitingDbObjectLockTest {
+
+    private static ComboPooledDataSource dataSource;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = new ComboPooledDataSource();
+        dataSource.setJdbcUrl(System.getProperty("db.url", "jdbc:h2:mem:test"));
+        dataSource.setUser(System.getProperty("db.user", ""));
+        dataSource.setPassword(System.getProperty("db.password", ""));
+    }
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldWaitForLockToBeReleased() throws ExecutionException, InterruptedException {
+        var lock = createLock(Duration.ofSeconds(5));
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            lock.doInWriteLock("obj1", () -> {
+                phaser.arriveAndAwaitAdvance();
+                sleep(300);
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        var result = new AtomicBoolean(false);
+        lock.doInWriteLock("obj1", () -> {
+            result.set(true);
+        });
+
+        assertTrue(result.get());
+        future.get();
+
+        var metrics = lock.getMetrics();
+        assertEquals(2, metrics.getAcquireCount());
+        assertEquals(0, metrics.getTimeoutCount());
+        assertTrue(metrics.getMaxWaitTime().toMillis() >= 100, metrics.toString());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenLockNotReleasedWithinWaitTime()
+            throws ExecutionException, InterruptedException {
+        var lock = createLock(Duration.ofMillis(200));
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            lock.doInWriteLock("obj1", () -> {
+                phaser.arriveAndAwaitAdvance();
+                sleep(1000);
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        var result = new AtomicBoolean(false);
+        assertThrows(LockException.class, () -> {
+            lock.doInWriteLock("obj1", () -> {
+                result.set(true);
+            });
+        });
+
+        assertFalse(result.get());
+        future.get();
+
+        var metrics = lock.getMetrics();
+        assertEquals(1, metrics.getAcquireCount());
+        assertEquals(1, metrics.getTimeoutCount());
+        assertTrue(metrics.getTotalWaitTime().toMillis() >= 200, metrics.toString());
+    }
+
+    @Test
+    public void shouldOnlyAllowOneHolderAtATime() throws ExecutionException, InterruptedException {
+        var lock = createLock(Duration.ofSeconds(30));
+        var holders = new AtomicInteger();
+        var overlapped = new AtomicBoolean(false);
+        var futures = new ArrayList<Future<?>>();
+
+        for (int i = 0; i < 5; i++) {
+            futures.add(executor.submit(() -> {
+                lock.doInWriteLock("obj1", () -> {
+                    if (holders.incrementAndGet() > 1) {
+                        overlapped.set(true);
+                    }
+                    sleep(50);
+                    holders.decrementAndGet();
+                });
+            }));
+        }
+
+        for (var future : futures) {
+            future.get();
+        }
+
+        assertFalse(overlapped.get());
+        assertEquals(5, lock.getMetrics().getAcquireCount());
+    }
+
+    @Test
+    public void shouldExcludeNonWaitingLocksOnSameTable() throws ExecutionException, InterruptedException {
+        var tableName = "lock_" + UUID.randomUUID().toString().replaceAll("-", "");
+        var waitingLock = createLock(tableName, Duration.ofSeconds(5));
+        var nonWaitingLock = new ObjectLockBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .build();
+        var phaser = new Phaser(2);
+
+        var future = executor.submit(() -> {
+            waitingLock.doInWriteLock("obj1", () -> {
+                phaser.arriveAndAwaitAdvance();
+                phaser.arriveAndAwaitAdvance();
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+        assertThrows(LockException.class, () -> nonWaitingLock.doInWriteLock("obj1", () -> {}));
+        phaser.arriveAndAwaitAdvance();
+        future.get();
+
+        future = executor.submit(() -> {
+            nonWaitingLock.doInWriteLock("obj1", () -> {
+                phaser.arriveAndAwaitAdvance();
+                sleep(300);
+            });
+        });
+
+        phaser.arriveAndAwaitAdvance();
+        var start = System.nanoTime();
+        waitingLock.doInWriteLock("obj1", () -> {});
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+        future.get();
+    }
+
+    private ObjectLock createLock(Duration waitTime) {
+        return createLock("lock_" + UUID.randomUUID().toString().replaceAll("-", ""), waitTime);
+    }
+
+    private ObjectLock createLock(String tableName, Duration waitTime) {
+        return new ObjectLockBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .waitForDbLock(true)
+                .waitTime(waitTime.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+        }
+    }
+}
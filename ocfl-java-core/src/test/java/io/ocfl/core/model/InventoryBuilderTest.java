@@ -209,6 +209,33 @@ public class InventoryBuilderTest {
         assertEquals(expected, fixity);
     }
 
+    @Test
+    public void shouldNotModifyOriginalInventoryWhenBuildingFromIt() {
+        builder.addFileToManifest("abc", "v1/content/path");
+        builder.addFixityForFile("v1/content/path", DigestAlgorithmRegistry.md5, "md5abc");
+        builder.addHeadVersion(versionBuilder.addFile("abc", "path").build());
+        var original = builder.build();
+
+        var nextVersion = Version.builder(original.getHeadVersion())
+                .created(OffsetDateTime.now())
+                .addFile("def", "path2")
+                .build();
+        var updated = original.buildNextVersionFrom()
+                .addFileToManifest("def", "v2/content/path2")
+                .removeContentPathFromFixity("v1/content/path")
+                .addHeadVersion(nextVersion)
+                .build();
+
+        assertEquals(1, original.getManifest().size());
+        assertEquals(1, original.getHeadVersion().getState().size());
+        assertEquals(
+                "md5abc", original.getFixityForContentPath("v1/content/path").get(DigestAlgorithmRegistry.md5));
+        assertEquals(2, updated.getManifest().size());
+        assertEquals(2, updated.getHeadVersion().getState().size());
+        assertTrue(updated.getFixityForContentPath("v1/content/path").isEmpty());
+        assertSame(original.getHeadVersion(), updated.getVersion(original.getHead()));
+    }
+
     private void assertExists(String fileId, String... paths) {
         for (var path : paths) {
             assertTrue(builder.containsContentPath(path), "contains " + path);
@@ -6,9 +6,11 @@ import static org.hamcrest.Matchers.equalToIgnoringCase;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
+import java.util.HashMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -80,6 +82,71 @@ public class PathBiMapTest {
         assertNotExists("abc", "path", "path2");
     }
 
+    @Test
+    public void keepPathsSortedWhenSecondPathAdded() {
+        map.put("abc", "path2");
+        map.put("abc", "path1");
+        map.put("abc", "path2");
+
+        assertExists("abc", "path1", "path2");
+    }
+
+    @Test
+    public void compactShouldUseCanonicalStringInstances() {
+        var fileId = "abc";
+        var path = "path";
+        map.put(new String(fileId), new String(path));
+        map.put(new String(fileId), "path2");
+
+        var pool = new HashMap<String, String>();
+        pool.put(fileId, fileId);
+        pool.put(path, path);
+
+        var compacted = map.compact(value -> pool.getOrDefault(value, value));
+
+        assertEquals(map, compacted);
+        assertSame(fileId, compacted.getFileId("path"));
+        assertSame(path, compacted.getPaths("abc").iterator().next());
+    }
+
+    @Test
+    public void copyShouldNotBeAffectedByChangesToOriginal() {
+        map.put("abc", "path1");
+        map.put("abc", "path2");
+        map.put("def", "path3");
+
+        var copy = map.copy();
+
+        map.put("abc", "path4");
+        map.removePath("path3");
+
+        assertExists("abc", "path1", "path2", "path4");
+        assertNotExists("def", "path3");
+
+        map = copy;
+        assertExists("abc", "path1", "path2");
+        assertExists("def", "path3");
+        assertFalse(copy.containsPath("path4"));
+    }
+
+    @Test
+    public void originalShouldNotBeAffectedByChangesToCopy() {
+        map.put("abc", "path1");
+        map.put("abc", "path2");
+        map.put("def", "path3");
+
+        var copy = map.copy();
+
+        copy.removePath("path2");
+        copy.removeFileId("def");
+        copy.put("ghi", "path5");
+
+        assertExists("abc", "path1", "path2");
+        assertExists("def", "path3");
+        assertNotExists("ghi", "path5");
+        assertEquals(1, copy.getPaths("abc").size());
+    }
+
     private void assertExists(String fileId, String... paths) {
         for (var path : paths) {
             assertTrue(map.containsPath(path), "contains " + path);
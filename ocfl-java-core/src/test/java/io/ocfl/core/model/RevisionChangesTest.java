@@ -0,0 +1,113 @@
+package io.ocfl.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.model.InventoryType;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.inventory.InventoryMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RevisionChangesTest {
+
+    private static final String HEAD_CONTENT = "extensions/0005-mutable-head/head/content";
+
+    @TempDir
+    public Path tempRoot;
+
+    @Test
+    public void shouldProduceCurrentInventoryWhenChangesAppliedToPrevious() {
+        var previous = mutableHead("r1")
+                .addFileToManifest("f2", HEAD_CONTENT + "/r1/b.txt")
+                .addFileToManifest("f3", HEAD_CONTENT + "/r1/c.txt")
+                .addFixityForFile(HEAD_CONTENT + "/r1/c.txt", DigestAlgorithmRegistry.md5, "c-md5")
+                .putVersion(
+                        VersionNum.fromString("v2"),
+                        version()
+                                .addFile("f1", "a.txt")
+                                .addFile("f2", "b.txt")
+                                .addFile("f3", "c.txt")
+                                .build())
+                .build();
+
+        var current = previous.buildFrom()
+                .removeFileId("f2")
+                .removeContentPathFromFixity(HEAD_CONTENT + "/r1/c.txt")
+                .addFileToManifest("f4", HEAD_CONTENT + "/r2/d.txt")
+                .addFixityForFile(HEAD_CONTENT + "/r2/d.txt", DigestAlgorithmRegistry.md5, "d-md5")
+                .putVersion(
+                        VersionNum.fromString("v2"),
+                        version()
+                                .message("second")
+                                .user(new User("user", "mailto:user@example.com"))
+                                .addFile("f1", "a.txt")
+                                .addFile("f1", "a-copy.txt")
+                                .addFile("f4", "c.txt")
+                                .addFile("f3", "moved/c.txt")
+                                .build())
+                .revisionNum(RevisionNum.fromString("r2"))
+                .build();
+
+        var changes = RevisionChanges.between(previous, current);
+        var applied = changes.applyTo(previous);
+
+        assertSameInventory(current, applied);
+        assertNull(applied.getInventoryDigest());
+    }
+
+    @Test
+    public void shouldRoundTripChangesThroughJson() throws Exception {
+        var previous = mutableHead("r1").build();
+        var current = previous.buildFrom()
+                .addFileToManifest("f2", HEAD_CONTENT + "/r2/b.txt")
+                .putVersion(
+                        VersionNum.fromString("v2"),
+                        version().addFile("f2", "b.txt").build())
+                .revisionNum(RevisionNum.fromString("r2"))
+                .build();
+
+        var mapper = InventoryMapper.prettyPrintMapper();
+        var file = tempRoot.resolve("changes.json");
+        mapper.writeRevisionChanges(file, RevisionChanges.between(previous, current));
+
+        var changes = mapper.readRevisionChanges(new ByteArrayInputStream(Files.readAllBytes(file)));
+
+        assertEquals(RevisionNum.fromString("r2"), changes.getRevisionNum());
+        assertSameInventory(current, changes.applyTo(previous));
+    }
+
+    private InventoryBuilder mutableHead(String revision) {
+        return Inventory.builder()
+                .id("id")
+                .type(InventoryType.OCFL_1_0)
+                .digestAlgorithm(DigestAlgorithmRegistry.sha512)
+                .head(VersionNum.fromString("v2"))
+                .objectRootPath("root")
+                .mutableHead(true)
+                .revisionNum(RevisionNum.fromString(revision))
+                .addFileToManifest("f1", "v1/content/a.txt")
+                .putVersion(
+                        VersionNum.fromString("v1"),
+                        version().addFile("f1", "a.txt").build())
+                .putVersion(
+                        VersionNum.fromString("v2"),
+                        version().addFile("f1", "a.txt").build());
+    }
+
+    private VersionBuilder version() {
+        return Version.builder().created(OffsetDateTime.parse("2024-01-01T00:00:00Z"));
+    }
+
+    private void assertSameInventory(Inventory expected, Inventory actual) {
+        assertEquals(expected.getRevisionNum(), actual.getRevisionNum());
+        assertEquals(expected.getManifest(), actual.getManifest());
+        assertEquals(expected.getFixity(), actual.getFixity());
+        assertEquals(expected.getVersions(), actual.getVersions());
+    }
+}
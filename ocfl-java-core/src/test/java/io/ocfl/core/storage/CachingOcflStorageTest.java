@@ -0,0 +1,213 @@
+package io.ocfl.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.ocfl.api.OcflConfig;
+import io.ocfl.api.OcflConstants;
+import io.ocfl.core.cache.CacheInvalidationChannel;
+import io.ocfl.core.cache.CacheInvalidationListener;
+import io.ocfl.core.cache.CaffeineCache;
+import io.ocfl.core.extension.ExtensionSupportEvaluator;
+import io.ocfl.core.inventory.InventoryMapper;
+import io.ocfl.core.model.Inventory;
+import io.ocfl.core.model.RevisionNum;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingOcflStorageTest {
+
+    private OcflStorage delegate;
+    private CachingOcflStorage storage;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(OcflStorage.class);
+        storage = new CachingOcflStorage(
+                new CaffeineCache<String, Inventory>(Caffeine.newBuilder().build()),
+                delegate,
+                null,
+                Duration.ofMillis(50),
+                MoreExecutors.newDirectExecutorService());
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                null,
+                InventoryMapper.defaultMapper(),
+                new ExtensionSupportEvaluator());
+    }
+
+    @Test
+    public void shouldServeCachedInventoryAndReloadInBackgroundWhenDigestChanged() throws InterruptedException {
+        var v1 = inventory("d1");
+        var v2 = inventory("d2");
+        when(delegate.loadInventory("o1")).thenReturn(v1, v2);
+        when(delegate.loadInventoryDigest("o1")).thenReturn("d2");
+
+        assertSame(v1, storage.loadInventory("o1"));
+        Thread.sleep(100);
+
+        assertSame(v1, storage.loadInventory("o1"));
+        assertSame(v2, storage.loadInventory("o1"));
+        verify(delegate, times(2)).loadInventory("o1");
+    }
+
+    @Test
+    public void shouldNotReloadWhenDigestUnchanged() throws InterruptedException {
+        var v1 = inventory("d1");
+        when(delegate.loadInventory("o1")).thenReturn(v1);
+        when(delegate.loadInventoryDigest("o1")).thenReturn("D1");
+
+        assertSame(v1, storage.loadInventory("o1"));
+        Thread.sleep(100);
+        assertSame(v1, storage.loadInventory("o1"));
+        assertSame(v1, storage.loadInventory("o1"));
+
+        verify(delegate, times(1)).loadInventory("o1");
+        verify(delegate, times(1)).loadInventoryDigest("o1");
+    }
+
+    @Test
+    public void shouldNotRevalidateWithinRefreshInterval() {
+        var v1 = inventory("d1");
+        when(delegate.loadInventory("o1")).thenReturn(v1);
+
+        storage.loadInventory("o1");
+        storage.loadInventory("o1");
+
+        verify(delegate, never()).loadInventoryDigest(any());
+    }
+
+    @Test
+    public void shouldEvictWhenObjectNoLongerExists() throws InterruptedException {
+        var v1 = inventory("d1");
+        when(delegate.loadInventory("o1")).thenReturn(v1, (Inventory) null);
+        when(delegate.loadInventoryDigest("o1")).thenReturn(null);
+
+        storage.loadInventory("o1");
+        Thread.sleep(100);
+        storage.loadInventory("o1");
+
+        assertNull(storage.loadInventory("o1"));
+    }
+
+    @Test
+    public void shouldRevalidateBeforeReturningWhenNotValidatedWithinExpiry() throws InterruptedException {
+        var rejectingExecutor = Executors.newSingleThreadExecutor();
+        rejectingExecutor.shutdown();
+        storage = new CachingOcflStorage(
+                new CaffeineCache<String, Inventory>(Caffeine.newBuilder().build()),
+                delegate,
+                null,
+                Duration.ofMillis(50),
+                Duration.ofMillis(100),
+                rejectingExecutor);
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                null,
+                InventoryMapper.defaultMapper(),
+                new ExtensionSupportEvaluator());
+
+        var v1 = inventory("d1");
+        var v2 = inventory("d2");
+        when(delegate.loadInventory("o1")).thenReturn(v1, v2);
+        when(delegate.loadInventoryDigest("o1")).thenReturn("d2");
+
+        assertSame(v1, storage.loadInventory("o1"));
+        Thread.sleep(150);
+
+        assertSame(v2, storage.loadInventory("o1"));
+    }
+
+    @Test
+    public void shouldNotEvictInventoryWrittenWhileRefreshing() throws InterruptedException {
+        var v1 = inventory("d1");
+        var v2 = inventory("d2");
+        when(delegate.loadInventory("o1")).thenReturn(v1);
+        when(delegate.loadInventoryDigest("o1")).thenAnswer(invocation -> {
+            storage.storeNewVersion(v2, Path.of("staging"), false);
+            return null;
+        });
+
+        storage.loadInventory("o1");
+        Thread.sleep(100);
+        storage.loadInventory("o1");
+
+        assertSame(v2, storage.loadInventory("o1"));
+        verify(delegate, times(1)).loadInventory("o1");
+    }
+
+    @Test
+    public void shouldCacheLazyInventoriesAndReplaceThemWhenFullInventoryLoaded() {
+        var lazy = inventory("d1").withVersionLoader(versionNum -> Map.of());
+        var full = inventory("d1");
+        when(delegate.loadInventoryWithLazyVersions("o1")).thenReturn(lazy);
+        when(delegate.loadInventory("o1")).thenReturn(full);
+
+        assertSame(lazy, storage.loadInventoryWithLazyVersions("o1"));
+        assertSame(lazy, storage.loadInventoryWithLazyVersions("o1"));
+        assertSame(full, storage.loadInventory("o1"));
+        assertSame(full, storage.loadInventoryWithLazyVersions("o1"));
+        assertSame(full, storage.loadInventory("o1"));
+
+        verify(delegate, times(1)).loadInventoryWithLazyVersions("o1");
+        verify(delegate, times(1)).loadInventory("o1");
+    }
+
+    @Test
+    public void shouldCompareDigestTokensWhenNotifiedOfMutableHeadChanges() {
+        var channel = mock(CacheInvalidationChannel.class);
+        var listener = new AtomicReference<CacheInvalidationListener>();
+        doAnswer(invocation -> {
+                    listener.set(invocation.getArgument(0));
+                    return null;
+                })
+                .when(channel)
+                .subscribe(any());
+        storage = new CachingOcflStorage(
+                new CaffeineCache<String, Inventory>(Caffeine.newBuilder().build()), delegate, channel);
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                null,
+                InventoryMapper.defaultMapper(),
+                new ExtensionSupportEvaluator());
+
+        // Mutable HEAD inventories that are assembled from change records only have a base digest
+        var mutableHead = inventory(null)
+                .buildFrom()
+                .mutableHead(true)
+                .revisionNum(RevisionNum.fromString("r2"))
+                .build()
+                .withBaseDigest("d1");
+        when(delegate.loadInventory("o1")).thenReturn(mutableHead);
+
+        storage.loadInventory("o1");
+        listener.get().invalidate("o1", Inventory.digestToken("d1", RevisionNum.fromString("r2")));
+        storage.loadInventory("o1");
+        verify(delegate, times(1)).loadInventory("o1");
+
+        listener.get().invalidate("o1", Inventory.digestToken("d1", RevisionNum.fromString("r3")));
+        storage.loadInventory("o1");
+        verify(delegate, times(2)).loadInventory("o1");
+    }
+
+    private Inventory inventory(String digest) {
+        return Inventory.builderFromStub(
+                        "o1", new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), "o1")
+                .inventoryDigest(digest)
+                .build();
+    }
+}
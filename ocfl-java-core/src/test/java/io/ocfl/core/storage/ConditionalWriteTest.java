@@ -0,0 +1,231 @@
+package io.ocfl.core.storage;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.OcflRepository;
+import io.ocfl.api.exception.ObjectOutOfSyncException;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.OcflRepositoryBuilder;
+import io.ocfl.core.cache.DiskInventoryCache;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.storage.common.ConditionalWriter;
+import io.ocfl.core.storage.common.PreconditionFailedException;
+import io.ocfl.core.storage.filesystem.FileSystemStorage;
+import io.ocfl.core.test.ITestHelper;
+import io.ocfl.core.util.DigestUtil;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConditionalWriteTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    private Path repoDir;
+    private Path workDir;
+    private ConditionalFileSystemStorage storage;
+    private OcflRepository repo;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        workDir = Files.createDirectory(tempRoot.resolve("work"));
+        storage = new ConditionalFileSystemStorage(repoDir);
+        repo = new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder ->
+                        builder.objectMapper(ITestHelper.prettyPrintMapper()).storage(storage))
+                .workDir(workDir)
+                .build();
+    }
+
+    @Test
+    public void shouldSwapRootInventoryWithConditionalWrites() {
+        writeFile("o1", "file1", "1");
+        writeFile("o1", "file2", "2");
+
+        assertEquals(2, storage.conditionalWrites.get());
+        assertEquals(VersionNum.fromInt(2), repo.describeObject("o1").getHeadVersionNum());
+        assertEquals(0, repo.validateObject("o1", true).getErrors().size());
+    }
+
+    @Test
+    public void shouldRejectUpdateWhenRootInventoryConcurrentlyModified() throws IOException {
+        writeFile("o1", "file1", "1");
+
+        var inventoryPath = Files.walk(repoDir)
+                .filter(p -> p.getFileName().toString().equals("inventory.json"))
+                .filter(p -> !p.getParent().getFileName().toString().startsWith("v"))
+                .findFirst()
+                .orElseThrow();
+        Files.writeString(inventoryPath, "\n", StandardOpenOption.APPEND);
+
+        assertThatThrownBy(() -> writeFile("o1", "file2", "2"))
+                .isInstanceOf(ObjectOutOfSyncException.class)
+                .hasMessageContaining("modified by another process");
+        assertEquals(1, storage.conditionalWrites.get());
+    }
+
+    @Test
+    public void shouldCopyMatchingSidecarWhenRootInventoryReplacedDuringUpdate() throws Exception {
+        writeFile("o1", "file1", "1");
+
+        // Another process that commits on top of the new root inventory before its sidecar has been copied
+        var other = createRepo(false);
+        storage.afterConditionalWrite = () -> {
+            storage.afterConditionalWrite = () -> {};
+            var thread = new Thread(() -> writeFile(other, "o1", "file3", "3"));
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+
+        writeFile("o1", "file2", "2");
+
+        var objectRoot = rootInventoryPath().getParent();
+        assertEquals(
+                Files.readString(objectRoot.resolve("v3/inventory.json.sha512")),
+                Files.readString(objectRoot.resolve("inventory.json.sha512")));
+
+        var fresh = createRepo(true);
+        assertEquals(VersionNum.fromInt(3), fresh.describeObject("o1").getHeadVersionNum());
+        assertEquals(0, fresh.validateObject("o1", true).getErrors().size());
+    }
+
+    @Test
+    public void shouldConditionallyUpdateObjectLoadedFromDiskInventoryCache() {
+        writeFile("o1", "file1", "1");
+
+        var diskCache = new DiskInventoryCache(tempRoot.resolve("cache"), 1024 * 1024);
+        createRepoWithDiskCache(diskCache).describeObject("o1");
+
+        // A new repository does not know the version tag until it loads the inventory from the disk cache
+        writeFile(createRepoWithDiskCache(diskCache), "o1", "file2", "2");
+
+        assertEquals(1, diskCache.getHitCount());
+        assertEquals(2, storage.conditionalWrites.get());
+    }
+
+    private OcflRepository createRepoWithDiskCache(DiskInventoryCache diskCache) {
+        return new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .inventoryCache(null)
+                .storage(builder -> builder.objectMapper(ITestHelper.prettyPrintMapper())
+                        .storage(storage)
+                        .inventoryDiskCache(diskCache))
+                .workDir(workDir)
+                .build();
+    }
+
+    private OcflRepository createRepo(boolean verifyInventoryDigest) {
+        return new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder -> builder.objectMapper(ITestHelper.prettyPrintMapper())
+                        .storage(storage)
+                        .verifyInventoryDigest(verifyInventoryDigest))
+                .workDir(workDir)
+                .build();
+    }
+
+    private Path rootInventoryPath() throws IOException {
+        try (var files = Files.walk(repoDir)) {
+            return files.filter(p -> p.getFileName().toString().equals("inventory.json"))
+                    .filter(p -> !p.getParent().getFileName().toString().startsWith("v"))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private void writeFile(String objectId, String logicalPath, String content) {
+        writeFile(repo, objectId, logicalPath, content);
+    }
+
+    private void writeFile(OcflRepository repo, String objectId, String logicalPath, String content) {
+        repo.updateObject(ObjectVersionId.head(objectId), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), logicalPath);
+        });
+    }
+
+    /**
+     * Uses the digest of a file's content as its version tag
+     */
+    private static class ConditionalFileSystemStorage extends FileSystemStorage implements ConditionalWriter {
+
+        private final Path storageRoot;
+        private final AtomicInteger conditionalWrites = new AtomicInteger();
+        private volatile Runnable afterConditionalWrite = () -> {};
+
+        ConditionalFileSystemStorage(Path storageRoot) {
+            super(storageRoot);
+            this.storageRoot = storageRoot;
+        }
+
+        @Override
+        public ConditionalWriter conditionalWriter() {
+            return this;
+        }
+
+        @Override
+        public InputStream read(String filePath, Consumer<String> versionTagConsumer) {
+            versionTagConsumer.accept(versionTag(storageRoot.resolve(filePath)));
+            return read(filePath);
+        }
+
+        @Override
+        public String writeIfMatch(String filePath, byte[] content, String mediaType, String expectedVersionTag) {
+            var newTag = writeIfMatchInternal(filePath, content, expectedVersionTag);
+            afterConditionalWrite.run();
+            return newTag;
+        }
+
+        private synchronized String writeIfMatchInternal(String filePath, byte[] content, String expectedVersionTag) {
+            var path = storageRoot.resolve(filePath);
+            var currentTag = versionTag(filePath);
+
+            if ((expectedVersionTag == null && currentTag != null)
+                    || (expectedVersionTag != null && !expectedVersionTag.equals(currentTag))) {
+                throw new PreconditionFailedException("Version tag mismatch for " + filePath);
+            }
+
+            try {
+                Files.write(path, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            conditionalWrites.incrementAndGet();
+            return versionTag(path);
+        }
+
+        @Override
+        public String versionTag(String filePath) {
+            var path = storageRoot.resolve(filePath);
+            return Files.exists(path) ? versionTag(path) : null;
+        }
+
+        private String versionTag(Path path) {
+            return DigestUtil.computeDigestHex(DigestAlgorithmRegistry.sha256, path);
+        }
+    }
+}
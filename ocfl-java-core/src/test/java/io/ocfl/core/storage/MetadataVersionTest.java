@@ -0,0 +1,121 @@
+package io.ocfl.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.ocfl.api.OcflRepository;
+import io.ocfl.api.exception.ObjectOutOfSyncException;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.OcflRepositoryBuilder;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetadataVersionTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    private Path repoDir;
+    private Path workDir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        workDir = Files.createDirectory(tempRoot.resolve("work"));
+    }
+
+    @Test
+    public void shouldReplicateVersionWithoutCopyingContent() throws IOException {
+        var repo = createRepo();
+
+        write(repo, "file1", "1");
+        write(repo, "file2", "2");
+
+        var result = repo.replicateVersionAsHead(ObjectVersionId.version("o1", 1), new VersionInfo());
+
+        assertEquals(ObjectVersionId.version("o1", 3), result);
+        assertEquals(
+                Set.of("inventory.json", "inventory.json.sha512"),
+                listFiles(objectRoot().resolve("v3")));
+        assertEquals(Set.of("file1"), logicalPaths(repo, ObjectVersionId.head("o1")));
+        assertEquals(Set.of(), listFiles(workDir));
+        assertEquals(
+                "1",
+                new String(
+                        createRepo()
+                                .getObject(ObjectVersionId.head("o1"))
+                                .getFile("file1")
+                                .getStream()
+                                .readAllBytes(),
+                        StandardCharsets.UTF_8));
+        assertTrue(repo.validateObject("o1", true).getErrors().isEmpty());
+    }
+
+    @Test
+    public void shouldRejectReplicationWhenVersionAlreadyExists() throws IOException {
+        var repo = createRepo();
+
+        write(repo, "file1", "1");
+        write(repo, "file2", "2");
+
+        var abandoned = Files.createDirectories(objectRoot().resolve("v3"));
+        Files.writeString(abandoned.resolve("inventory.json"), "{}");
+
+        assertThrows(
+                ObjectOutOfSyncException.class,
+                () -> repo.replicateVersionAsHead(ObjectVersionId.version("o1", 1), new VersionInfo()));
+
+        assertEquals(VersionNum.fromInt(2), repo.describeObject("o1").getHeadVersionNum());
+        assertEquals("{}", Files.readString(abandoned.resolve("inventory.json")));
+    }
+
+    private OcflRepository createRepo() {
+        return new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder ->
+                        builder.objectMapper(ITestHelper.prettyPrintMapper()).fileSystem(repoDir))
+                .workDir(workDir)
+                .build();
+    }
+
+    private void write(OcflRepository repo, String logicalPath, String content) {
+        repo.updateObject(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), logicalPath);
+        });
+    }
+
+    private Set<String> logicalPaths(OcflRepository repo, ObjectVersionId objectVersionId) {
+        return repo.describeVersion(objectVersionId).getFiles().stream()
+                .map(file -> file.getPath())
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> listFiles(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+
+    private Path objectRoot() throws IOException {
+        try (var files = Files.walk(repoDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("0=ocfl_object"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getParent();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.ocfl.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.ocfl.api.MutableOcflRepository;
+import io.ocfl.api.OcflConstants;
+import io.ocfl.api.OcflOption;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.api.model.VersionNum;
+import io.ocfl.core.OcflRepositoryBuilder;
+import io.ocfl.core.extension.ExtensionSupportEvaluator;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MutableHeadChangeRecordsTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    private Path repoDir;
+    private Path workDir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        workDir = Files.createDirectory(tempRoot.resolve("work"));
+    }
+
+    @Test
+    public void shouldApplyChangeRecordsWhenLoadingMutableHead() throws IOException {
+        var repo = createRepo(3);
+
+        stage(repo, "file1", "1");
+        stage(repo, "file2", "2");
+        stage(repo, "file3", "3");
+        stage(repo, "file4", "4");
+        repo.stageChanges(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.removeFile("file1");
+            updater.renameFile("file2", "dir/file2");
+        });
+
+        assertEquals(Set.of("r4.json", "r5.json"), changeRecords());
+
+        var expected = Set.of("file3", "file4", "dir/file2");
+        assertEquals(expected, logicalPaths(repo));
+        assertEquals(expected, logicalPaths(createRepo(1)));
+        assertEquals(
+                "2",
+                new String(
+                        createRepo(1)
+                                .getObject(ObjectVersionId.head("o1"))
+                                .getFile("dir/file2")
+                                .getStream()
+                                .readAllBytes(),
+                        StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldRemoveChangeRecordsWhenFullInventoryWritten() throws IOException {
+        var repo = createRepo(3);
+
+        stage(repo, "file1", "1");
+        stage(repo, "file2", "2");
+        assertEquals(Set.of("r2.json"), changeRecords());
+
+        stage(repo, "file3", "3");
+        assertEquals(Set.of(), changeRecords());
+        assertEquals(Set.of("file1", "file2", "file3"), logicalPaths(repo));
+    }
+
+    @Test
+    public void shouldCommitMutableHeadBuiltFromChangeRecords() throws IOException {
+        var repo = createRepo(4);
+
+        stage(repo, "file1", "1");
+        stage(repo, "file2", "2");
+        stage(repo, "file3", "3");
+
+        repo.commitStagedChanges("o1", new VersionInfo());
+
+        assertFalse(repo.hasStagedChanges("o1"));
+        assertEquals(VersionNum.fromInt(2), repo.describeObject("o1").getHeadVersionNum());
+        assertEquals(Set.of("file1", "file2", "file3"), logicalPaths(repo));
+        assertTrue(repo.validateObject("o1", true).getErrors().isEmpty());
+    }
+
+    @Test
+    public void shouldChangeDigestTokenWhenChangeRecordWritten() {
+        var repo = createRepo(3);
+        var storage = createStorage(3);
+
+        stage(repo, "file1", "1");
+        var first = storage.loadInventoryDigest("o1");
+        assertEquals(storage.loadInventory("o1").getDigestToken(), first);
+
+        stage(repo, "file2", "2");
+        var second = storage.loadInventoryDigest("o1");
+        assertNotEquals(first, second);
+        var assembled = storage.loadInventory("o1");
+        assertNull(assembled.getInventoryDigest());
+        assertEquals(assembled.getDigestToken(), second);
+    }
+
+    private OcflStorage createStorage(int mutableHeadInventoryInterval) {
+        var storage = OcflStorageBuilder.builder()
+                .fileSystem(repoDir)
+                .mutableHeadInventoryInterval(mutableHeadInventoryInterval)
+                .build();
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                new HashedNTupleLayoutConfig(),
+                ITestHelper.testInventoryMapper(),
+                new ExtensionSupportEvaluator());
+        return storage;
+    }
+
+    private MutableOcflRepository createRepo(int mutableHeadInventoryInterval) {
+        return new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder -> builder.objectMapper(ITestHelper.prettyPrintMapper())
+                        .fileSystem(repoDir)
+                        .mutableHeadInventoryInterval(mutableHeadInventoryInterval))
+                .workDir(workDir)
+                .buildMutable();
+    }
+
+    private void stage(MutableOcflRepository repo, String logicalPath, String content) {
+        repo.stageChanges(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            updater.writeFile(
+                    new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                    logicalPath,
+                    OcflOption.OVERWRITE);
+        });
+    }
+
+    private Set<String> logicalPaths(MutableOcflRepository repo) {
+        return repo.describeVersion(ObjectVersionId.head("o1")).getFiles().stream()
+                .map(file -> file.getPath())
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> changeRecords() throws IOException {
+        try (var files = Files.walk(repoDir)) {
+            return files.filter(p -> p.getParent().getFileName().toString().equals("changes"))
+                    .map(p -> p.getFileName().toString())
+                    .collect(Collectors.toSet());
+        }
+    }
+}
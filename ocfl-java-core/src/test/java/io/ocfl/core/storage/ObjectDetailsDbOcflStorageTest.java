@@ -0,0 +1,115 @@
+package io.ocfl.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.ocfl.api.OcflConfig;
+import io.ocfl.api.OcflConstants;
+import io.ocfl.core.db.ObjectDetailsDatabase;
+import io.ocfl.core.extension.ExtensionSupportEvaluator;
+import io.ocfl.core.inventory.InventoryMapper;
+import io.ocfl.core.model.Inventory;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ObjectDetailsDbOcflStorageTest {
+
+    private ObjectDetailsDatabase objectDetailsDb;
+    private OcflStorage delegate;
+    private ObjectDetailsDbOcflStorage storage;
+
+    @BeforeEach
+    public void setup() {
+        objectDetailsDb = mock(ObjectDetailsDatabase.class);
+        delegate = mock(OcflStorage.class);
+        storage = new ObjectDetailsDbOcflStorage(objectDetailsDb, delegate);
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                null,
+                InventoryMapper.defaultMapper(),
+                new ExtensionSupportEvaluator());
+    }
+
+    @Test
+    public void shouldShareConcurrentLoadsOfSameObject() throws Exception {
+        var inventory = inventory();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        when(objectDetailsDb.retrieveObjectDetails("o1")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        when(delegate.loadInventory("o1")).thenReturn(inventory);
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var leader = executor.submit(() -> storage.loadInventory("o1"));
+            started.await(5, TimeUnit.SECONDS);
+
+            var followers = new ArrayList<Future<Inventory>>();
+            for (var i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> storage.loadInventory("o1")));
+            }
+
+            // give the followers a chance to join the in flight load
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(inventory, leader.get(5, TimeUnit.SECONDS));
+            for (var follower : followers) {
+                assertSame(inventory, follower.get(5, TimeUnit.SECONDS));
+            }
+            verify(objectDetailsDb, times(1)).retrieveObjectDetails("o1");
+            verify(delegate, times(1)).loadInventory("o1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotJoinLoadThatStartedBeforeObjectWasPurged() throws Exception {
+        var before = inventory();
+        var after = inventory();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        when(delegate.loadInventory("o1"))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return before;
+                })
+                .thenReturn(after);
+
+        var executor = Executors.newFixedThreadPool(1);
+        try {
+            var leader = executor.submit(() -> storage.loadInventory("o1"));
+            started.await(5, TimeUnit.SECONDS);
+
+            storage.purgeObject("o1");
+
+            assertSame(after, storage.loadInventory("o1"));
+
+            release.countDown();
+            assertSame(before, leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Inventory inventory() {
+        return Inventory.builderFromStub(
+                        "o1", new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), "o1")
+                .build();
+    }
+}
@@ -0,0 +1,237 @@
+package io.ocfl.core.storage.cloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.ocfl.api.DigestAlgorithmRegistry;
+import io.ocfl.api.exception.FixityCheckException;
+import io.ocfl.core.util.DigestUtil;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CloudContentCacheTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @Test
+    public void serveFromCacheAfterFirstRead() throws IOException {
+        var cache = new CloudContentCache(tempDir, 1024, 100);
+        var loads = new AtomicInteger();
+
+        assertEquals("content", read(cache, "v1/content/file1", "content", loads));
+        assertEquals("content", read(cache, "v1/content/file1", "content", loads));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(7, cache.getSizeBytes());
+    }
+
+    @Test
+    public void doNotAdmitFilesLargerThanMax() throws IOException {
+        var cache = new CloudContentCache(tempDir, 1024, 5);
+        var loads = new AtomicInteger();
+        var content = "0123456789".repeat(1000);
+
+        assertEquals(content, read(cache, "v1/content/file1", content, loads));
+        assertEquals(content, read(cache, "v1/content/file1", content, loads));
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.getRejectionCount());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void doNotAdmitFilesWithWrongDigest() throws IOException {
+        var cache = new CloudContentCache(tempDir, 1024, 100);
+
+        try (var stream = cache.read(
+                "v1/content/file1", DigestAlgorithmRegistry.sha512, digest("other"), loader("content", null))) {
+            assertEquals("content", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedWhenFull() throws IOException {
+        var cache = new CloudContentCache(tempDir, 20, 10);
+        var loads = new AtomicInteger();
+
+        read(cache, "f1", "aaaaaaaa", loads);
+        read(cache, "f2", "bbbbbbbb", loads);
+        read(cache, "f1", "aaaaaaaa", loads);
+        read(cache, "f3", "cccccccc", loads);
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getEntryCount());
+
+        read(cache, "f1", "aaaaaaaa", loads);
+        read(cache, "f2", "bbbbbbbb", loads);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void reuseExistingEntriesOnStartup() throws IOException {
+        var loads = new AtomicInteger();
+        read(new CloudContentCache(tempDir, 1024, 100), "f1", "content", loads);
+
+        var cache = new CloudContentCache(tempDir, 1024, 100);
+        assertEquals("content", read(cache, "f1", "content", loads));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void serveRangesFromCachedFile() throws IOException {
+        var cache = new CloudContentCache(tempDir, 1024, 100);
+        var loads = new AtomicInteger();
+        read(cache, "f1", "0123456789", loads);
+
+        assertEquals("234", readRange(cache, "f1", "0123456789", 2L, 4L, loads));
+        assertEquals("789", readRange(cache, "f1", "0123456789", 7L, null, loads));
+        assertEquals("6789", readRange(cache, "f1", "0123456789", null, 4L, loads));
+        assertEquals("89", readRange(cache, "f1", "0123456789", 8L, 100L, loads));
+
+        assertEquals(1, loads.get());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    @Test
+    public void serveMissBeforeFileIsDownloaded() throws IOException {
+        var cache = new CloudContentCache(tempDir, 100_000, 100_000);
+        var content = "0123456789".repeat(5000);
+        var remote = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+
+        try (var stream = cache.read("f1", DigestAlgorithmRegistry.sha512, digest(content), () -> remote)) {
+            assertEquals('0', stream.read());
+            assertTrue(remote.available() > 0);
+            assertEquals(0, cache.getEntryCount());
+
+            assertEquals(content.substring(1), new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(content.length(), cache.getSizeBytes());
+    }
+
+    @Test
+    public void doNotAdmitFilesThatWereNotReadInFull() throws IOException {
+        var cache = new CloudContentCache(tempDir, 1024, 100);
+
+        try (var stream =
+                cache.read("f1", DigestAlgorithmRegistry.sha512, digest("content"), loader("content", null))) {
+            assertEquals('c', stream.read());
+        }
+
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    public void deleteEvictedFileAfterReaderCloses() throws IOException {
+        var cache = new CloudContentCache(tempDir, 10, 10);
+        var loads = new AtomicInteger();
+        read(cache, "f1", "aaaaaaaa", loads);
+
+        try (var stream = cache.read("f1", DigestAlgorithmRegistry.sha512, digest("aaaaaaaa"), loader("", loads))) {
+            assertEquals('a', stream.read());
+
+            read(cache, "f2", "bbbbbbbb", loads);
+            assertEquals(1, cache.getEvictionCount());
+            assertEquals(1, cache.getEntryCount());
+            assertEquals(2, fileCount());
+
+            assertEquals("aaaaaaa", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, fileCount());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void evictCachedFileWhenFixityCheckFails() throws IOException {
+        var cache = new CloudContentCache(tempDir, 1024, 100);
+        var client = mock(CloudClient.class);
+        when(client.downloadStream("f1"))
+                .thenAnswer(invocation -> new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+        var retriever = CloudOcflFileRetriever.builder()
+                .cloudClient(client)
+                .contentCache(cache)
+                .build("f1", DigestAlgorithmRegistry.sha512, digest("content"));
+
+        try (var stream = retriever.retrieveFile()) {
+            stream.readAllBytes();
+            stream.checkFixity();
+        }
+
+        try (var files = Files.list(tempDir)) {
+            Files.writeString(files.findFirst().orElseThrow(), "corrupt");
+        }
+
+        try (var stream = retriever.retrieveFile()) {
+            stream.readAllBytes();
+            assertThrows(FixityCheckException.class, stream::checkFixity);
+        }
+
+        assertEquals(0, cache.getEntryCount());
+
+        try (var stream = retriever.retrieveFile()) {
+            assertEquals("content", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            stream.checkFixity();
+        }
+
+        verify(client, times(2)).downloadStream("f1");
+    }
+
+    private long fileCount() throws IOException {
+        try (var files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    private String read(CloudContentCache cache, String path, String content, AtomicInteger loads) throws IOException {
+        try (var stream = cache.read(path, DigestAlgorithmRegistry.sha512, digest(content), loader(content, loads))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String readRange(
+            CloudContentCache cache, String path, String content, Long start, Long end, AtomicInteger loads)
+            throws IOException {
+        try (var stream =
+                cache.readRange(path, DigestAlgorithmRegistry.sha512, digest(content), start, end, loader("", loads))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private Supplier<InputStream> loader(String content, AtomicInteger loads) {
+        return () -> {
+            if (loads != null) {
+                loads.incrementAndGet();
+            }
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private String digest(String content) {
+        return DigestUtil.computeDigestHex(DigestAlgorithmRegistry.sha512, content);
+    }
+}
@@ -0,0 +1,139 @@
+package io.ocfl.core.storage.cloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.ocfl.api.exception.OcflNoSuchFileException;
+import java.time.Duration;
+import java.util.ArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CloudStorageListingCacheTest {
+
+    private CloudClient client;
+
+    @BeforeEach
+    public void setup() {
+        client = mock(CloudClient.class);
+        when(client.listDirectory("o1")).thenAnswer(invocation -> objectRootListing());
+        when(client.listDirectory("o2")).thenAnswer(invocation -> objectRootListing());
+        when(client.head(any())).thenThrow(new KeyNotFoundException());
+    }
+
+    @Test
+    public void reuseCachedListings() {
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+
+        assertEquals(3, storage.listDirectory("o1").size());
+        assertEquals(3, storage.listDirectory("o1/").size());
+
+        verify(client, times(1)).listDirectory("o1");
+    }
+
+    @Test
+    public void doNotCacheWhenDisabled() {
+        var storage = new CloudStorage(client);
+
+        storage.listDirectory("o1");
+        storage.listDirectory("o1");
+
+        verify(client, times(2)).listDirectory("o1");
+    }
+
+    @Test
+    public void answerFileExistsFromCachedListings() {
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+
+        storage.listDirectory("o1");
+
+        assertTrue(storage.fileExists("o1/inventory.json"));
+        assertFalse(storage.fileExists("o1/inventory.json.sha256"));
+        assertFalse(storage.fileExists("o1/extensions/0005-mutable-head/head/inventory.json"));
+
+        verify(client, never()).head(any());
+    }
+
+    @Test
+    public void fallBackToHeadWhenListingNotCached() {
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+
+        storage.listDirectory("o1");
+
+        assertFalse(storage.fileExists("o1/v1/inventory.json"));
+
+        verify(client, times(1)).head("o1/v1/inventory.json");
+    }
+
+    @Test
+    public void invalidateListingsOnWrite() {
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+
+        storage.listDirectory("o1");
+        storage.write("o1/v1/new.txt", new byte[] {1}, null);
+        storage.listDirectory("o1");
+
+        verify(client, times(2)).listDirectory("o1");
+    }
+
+    @Test
+    public void invalidateListingsOnDelete() {
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+
+        storage.listDirectory("o1");
+        storage.deleteDirectory("o1");
+        storage.listDirectory("o1");
+
+        verify(client, times(2)).listDirectory("o1");
+    }
+
+    @Test
+    public void invalidateDescendantListingsOnDelete() {
+        when(client.listDirectory("o1/v1")).thenAnswer(invocation -> new ListResult());
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+
+        assertThrows(OcflNoSuchFileException.class, () -> storage.listDirectory("o1/v1"));
+        storage.listDirectory("o2");
+        storage.deleteDirectory("o1");
+        assertThrows(OcflNoSuchFileException.class, () -> storage.listDirectory("o1/v1"));
+        storage.listDirectory("o2");
+
+        verify(client, times(2)).listDirectory("o1/v1");
+        verify(client, times(1)).listDirectory("o2");
+    }
+
+    @Test
+    public void doNotCacheListingThatWasInProgressDuringWrite() {
+        var storage = new CloudStorage(client, null, Duration.ofMinutes(1));
+        when(client.listDirectory("o1"))
+                .thenAnswer(invocation -> {
+                    var listing = objectRootListing();
+                    storage.write("o1/v2/inventory.json", new byte[] {1}, null);
+                    return listing;
+                })
+                .thenAnswer(invocation -> objectRootListing());
+
+        storage.listDirectory("o1");
+        storage.listDirectory("o1");
+        storage.listDirectory("o1");
+
+        verify(client, times(2)).listDirectory("o1");
+    }
+
+    private ListResult objectRootListing() {
+        var objects = new ArrayList<ListResult.ObjectListing>();
+        objects.add(new ListResult.ObjectListing().setKeySuffix("inventory.json"));
+        objects.add(new ListResult.ObjectListing().setKeySuffix("inventory.json.sha512"));
+        var dirs = new ArrayList<ListResult.DirectoryListing>();
+        dirs.add(new ListResult.DirectoryListing().setPath("o1/v1/"));
+        return new ListResult().setObjects(objects).setDirectories(dirs);
+    }
+}
@@ -0,0 +1,82 @@
+package io.ocfl.core.storage.cloud;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.ocfl.api.exception.OcflFileAlreadyExistsException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CloudStorageMoveTest {
+
+    private CloudClient client;
+    private CloudStorage storage;
+
+    @BeforeEach
+    public void setup() {
+        client = mock(CloudClient.class);
+        storage = new CloudStorage(client);
+
+        when(client.list("src/")).thenAnswer(invocation -> listing("a.txt", "b/c.txt"));
+        when(client.list("dst/")).thenAnswer(invocation -> listing());
+        when(client.listDirectory("dst")).thenAnswer(invocation -> listing());
+        when(client.copyObjectAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    public void copyAllFilesAndThenDeleteSources() {
+        storage.moveDirectoryInternal("src", "dst");
+
+        verify(client).copyObjectAsync("src/a.txt", "dst/a.txt");
+        verify(client).copyObjectAsync("src/b/c.txt", "dst/b/c.txt");
+        verify(client).safeDeleteObjects(List.of("src/a.txt", "src/b/c.txt"));
+    }
+
+    @Test
+    public void failWhenDestinationExists() {
+        when(client.listDirectory("dst")).thenAnswer(invocation -> listing("a.txt"));
+
+        assertThrows(OcflFileAlreadyExistsException.class, () -> storage.moveDirectoryInternal("src", "dst"));
+
+        verify(client, never()).copyObjectAsync(any(), any());
+    }
+
+    @Test
+    public void resumeMoveWithoutCopyingFilesAlreadyMoved() {
+        when(client.list("dst/")).thenAnswer(invocation -> listing("a.txt"));
+
+        storage.resumeMoveDirectoryInternal("src", "dst");
+
+        verify(client, never()).copyObjectAsync("src/a.txt", "dst/a.txt");
+        verify(client).copyObjectAsync("src/b/c.txt", "dst/b/c.txt");
+        verify(client).safeDeleteObjects(List.of("src/a.txt", "src/b/c.txt"));
+    }
+
+    @Test
+    public void deleteCopiesAndKeepSourcesWhenCopyFails() {
+        when(client.copyObjectAsync("src/b/c.txt", "dst/b/c.txt"))
+                .thenReturn(CompletableFuture.failedFuture(new KeyNotFoundException("missing")));
+
+        assertThrows(KeyNotFoundException.class, () -> storage.moveDirectoryInternal("src", "dst"));
+
+        verify(client).safeDeleteObjects(List.of("dst/a.txt", "dst/b/c.txt"));
+        verify(client, never()).safeDeleteObjects(List.of("src/a.txt", "src/b/c.txt"));
+        verify(client, never()).deleteObjects(anyCollection());
+    }
+
+    private ListResult listing(String... files) {
+        var objects = new ArrayList<ListResult.ObjectListing>();
+        for (var file : files) {
+            objects.add(new ListResult.ObjectListing().setKeySuffix(file));
+        }
+        return new ListResult().setObjects(objects).setDirectories(new ArrayList<>());
+    }
+}
@@ -23,11 +23,14 @@ import io.ocfl.core.test.ITestHelper;
 import io.ocfl.core.util.DigestUtil;
 import io.ocfl.core.util.FileUtil;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -123,6 +126,74 @@ public class FileSystemOcflStorageTest {
         assertThrows(NotFoundException.class, () -> storage.getInventoryBytes("o2", VersionNum.fromInt(4)));
     }
 
+    @Test
+    public void shouldLoadVersionStatesOnDemandWhenLazyVersionLoadingEnabled() {
+        copyExistingRepo("repo-multiple-objects");
+        var storage = newStorage(true);
+
+        var full = storage.loadInventory("o2");
+        var lazy = storage.loadInventoryWithLazyVersions("o2");
+
+        Assertions.assertTrue(lazy.hasLazyVersions());
+        Assertions.assertEquals(full.getInventoryDigest(), lazy.getInventoryDigest());
+        Assertions.assertEquals(full.getManifest(), lazy.getManifest());
+        Assertions.assertEquals(full.getHeadVersion(), lazy.getHeadVersion());
+        Assertions.assertEquals(full.getVersion(VersionNum.fromInt(1)), lazy.getVersion(VersionNum.fromInt(1)));
+        Assertions.assertNull(lazy.getVersion(VersionNum.fromInt(4)));
+        Assertions.assertEquals(full.getVersions(), lazy.getVersions());
+    }
+
+    @Test
+    public void shouldParseRootInventoryOnceWhenVersionInventoriesMissing() throws IOException {
+        copyExistingRepo("repo-multiple-objects");
+        var objectRoot =
+                repoDir.resolve("925/0b9/912/9250b9912ee91d6b46e23299459ecd6eb8154451d62558a3a0a708a77926ad04");
+        for (var version : List.of("v1", "v2")) {
+            Files.delete(objectRoot.resolve(version).resolve("inventory.json"));
+            Files.delete(objectRoot.resolve(version).resolve("inventory.json.sha512"));
+        }
+
+        var rootInventoryReads = new AtomicInteger();
+        var rootInventory =
+                FileUtil.pathToStringStandardSeparator(repoDir.relativize(objectRoot.resolve("inventory.json")));
+        var storage = OcflStorageBuilder.builder()
+                .storage(new FileSystemStorage(repoDir) {
+                    @Override
+                    public InputStream read(String filePath) {
+                        if (filePath.equals(rootInventory)) {
+                            rootInventoryReads.incrementAndGet();
+                        }
+                        return super.read(filePath);
+                    }
+                })
+                .lazyVersionLoading(true)
+                .build();
+        storage.initializeStorage(
+                OcflConstants.DEFAULT_OCFL_VERSION,
+                layoutConfig,
+                ITestHelper.testInventoryMapper(),
+                new ExtensionSupportEvaluator());
+        rootInventoryReads.set(0);
+
+        var lazy = storage.loadInventoryWithLazyVersions("o2");
+        Assertions.assertEquals(1, rootInventoryReads.get());
+
+        Assertions.assertEquals(3, lazy.getVersions().size());
+        Assertions.assertNotNull(lazy.getVersion(VersionNum.fromInt(1)));
+        Assertions.assertEquals(2, rootInventoryReads.get());
+    }
+
+    @Test
+    public void shouldLoadFullInventoryWhenLazyVersionLoadingDisabled() {
+        copyExistingRepo("repo-multiple-objects");
+        var storage = newStorage();
+
+        var inventory = storage.loadInventoryWithLazyVersions("o2");
+
+        Assertions.assertFalse(inventory.hasLazyVersions());
+        Assertions.assertEquals(3, inventory.getVersions().size());
+    }
+
     private InventoryBuilder inventoryBuilder() {
         return Inventory.builder()
                 .id("o1")
@@ -136,7 +207,14 @@ public class FileSystemOcflStorageTest {
     }
 
     private OcflStorage newStorage() {
-        var storage = OcflStorageBuilder.builder().fileSystem(repoDir).build();
+        return newStorage(false);
+    }
+
+    private OcflStorage newStorage(boolean lazyVersionLoading) {
+        var storage = OcflStorageBuilder.builder()
+                .fileSystem(repoDir)
+                .lazyVersionLoading(lazyVersionLoading)
+                .build();
         storage.initializeStorage(
                 OcflConstants.DEFAULT_OCFL_VERSION,
                 layoutConfig,
@@ -0,0 +1,139 @@
+package io.ocfl.core.storage.filesystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.ocfl.api.OcflRepository;
+import io.ocfl.api.model.ObjectVersionId;
+import io.ocfl.api.model.VersionInfo;
+import io.ocfl.core.OcflRepositoryBuilder;
+import io.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import io.ocfl.core.test.ITestHelper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileSystemPurgerTest {
+
+    @TempDir
+    public Path tempRoot;
+
+    private Path tombstoneDir;
+    private FileSystemPurger purger;
+
+    @BeforeEach
+    public void setup() {
+        tombstoneDir = tempRoot.resolve("tombstones");
+        purger = new FileSystemPurger(4, 3);
+    }
+
+    @AfterEach
+    public void after() {
+        purger.close();
+    }
+
+    @Test
+    public void shouldMoveDirectoryToTombstoneAndDeleteInBackground() throws Exception {
+        var dir = createTree(tempRoot.resolve("object"), 10);
+
+        purger.purge(dir, tombstoneDir);
+
+        assertFalse(Files.exists(dir));
+        awaitPurges(1);
+        assertEquals(0, Files.list(tombstoneDir).count());
+        assertEquals(20, purger.getMetrics().getDeletedFiles());
+        assertEquals(0, purger.getMetrics().getFailedPurges());
+    }
+
+    @Test
+    public void shouldDoNothingWhenDirectoryDoesNotExist() {
+        purger.purge(tempRoot.resolve("missing"), tombstoneDir);
+
+        assertEquals(0, purger.getMetrics().getPendingPurges());
+        assertEquals(0, purger.getMetrics().getCompletedPurges());
+    }
+
+    @Test
+    public void shouldResumeTombstonesLeftByPreviousPurger() throws Exception {
+        createTree(tombstoneDir.resolve("t1"), 5);
+        createTree(tombstoneDir.resolve("t2"), 5);
+
+        purger.resume(tombstoneDir);
+
+        awaitPurges(2);
+        assertEquals(0, Files.list(tombstoneDir).count());
+        assertEquals(20, purger.getMetrics().getDeletedFiles());
+    }
+
+    @Test
+    public void shouldPurgeObjectWhenRepositoryConfiguredWithPurger() throws Exception {
+        var repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        var repo = createRepo(repoDir, Files.createDirectory(tempRoot.resolve("work")), purger);
+
+        repo.updateObject(ObjectVersionId.head("o1"), new VersionInfo(), updater -> {
+            for (var i = 0; i < 10; i++) {
+                updater.writeFile(new ByteArrayInputStream(("file" + i).getBytes(StandardCharsets.UTF_8)), "file" + i);
+            }
+        });
+
+        repo.purgeObject("o1");
+
+        assertFalse(repo.containsObject("o1"));
+        awaitPurges(1);
+        assertEquals(
+                0, Files.list(repoDir.resolve(FileSystemStorage.TOMBSTONE_DIR)).count());
+        assertTrue(repo.listObjectIds().noneMatch("o1"::equals));
+    }
+
+    @Test
+    public void shouldResumeTombstonesWhenRepositoryRestarted() throws Exception {
+        var repoDir = Files.createDirectory(tempRoot.resolve("repo"));
+        var workDir = Files.createDirectory(tempRoot.resolve("work"));
+        createRepo(repoDir, workDir, new FileSystemPurger(1)).close();
+        createTree(repoDir.resolve(FileSystemStorage.TOMBSTONE_DIR).resolve("t1"), 5);
+
+        var repo = createRepo(repoDir, workDir, purger);
+
+        awaitPurges(1);
+        assertEquals(
+                0, Files.list(repoDir.resolve(FileSystemStorage.TOMBSTONE_DIR)).count());
+        repo.close();
+    }
+
+    private OcflRepository createRepo(Path repoDir, Path workDir, FileSystemPurger purger) {
+        return new OcflRepositoryBuilder()
+                .inventoryMapper(ITestHelper.testInventoryMapper())
+                .defaultLayoutConfig(new HashedNTupleLayoutConfig())
+                .storage(builder ->
+                        builder.objectMapper(ITestHelper.prettyPrintMapper()).fileSystem(repoDir, purger))
+                .workDir(workDir)
+                .build();
+    }
+
+    private Path createTree(Path root, int filesPerDir) throws IOException {
+        var nested = Files.createDirectories(root.resolve("a/b"));
+        for (var i = 0; i < filesPerDir; i++) {
+            Files.writeString(root.resolve("file" + i), "root" + i);
+            Files.writeString(nested.resolve("file" + i), "nested" + i);
+        }
+        return root;
+    }
+
+    private void awaitPurges(long count) throws InterruptedException {
+        for (var i = 0; i < 100; i++) {
+            var metrics = purger.getMetrics();
+            if (metrics.getPendingPurges() == 0 && metrics.getCompletedPurges() >= count) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Purges did not complete: " + purger.getMetrics());
+    }
+}
@@ -0,0 +1,132 @@
+package io.ocfl.core.util;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    @Test
+    public void shouldShareConcurrentLoadsOfSameKey() throws Exception {
+        var singleFlight = new SingleFlight<String, Object>();
+        var loads = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var value = new Object();
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var leader = executor.submit(() -> singleFlight.load("k", k -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return value;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            var followers = new ArrayList<Future<Object>>();
+            for (var i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> singleFlight.load("k", k -> {
+                    loads.incrementAndGet();
+                    return new Object();
+                })));
+            }
+
+            // give the followers a chance to join the in flight load
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(value, leader.get(5, TimeUnit.SECONDS));
+            for (var follower : followers) {
+                assertSame(value, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldLoadAgainAfterPreviousLoadCompleted() {
+        var singleFlight = new SingleFlight<String, Integer>();
+        var loads = new AtomicInteger();
+
+        assertEquals(1, singleFlight.load("k", k -> loads.incrementAndGet()));
+        assertEquals(2, singleFlight.load("k", k -> loads.incrementAndGet()));
+    }
+
+    @Test
+    public void shouldNotJoinLoadThatStartedBeforeForget() throws Exception {
+        var singleFlight = new SingleFlight<String, String>();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var executor = Executors.newFixedThreadPool(1);
+        try {
+            var leader = executor.submit(() -> singleFlight.load("k", k -> {
+                started.countDown();
+                await(release);
+                return "before";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            singleFlight.forget("k");
+
+            assertEquals("after", singleFlight.load("k", k -> "after"));
+
+            release.countDown();
+            assertEquals("before", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("again", singleFlight.load("k", k -> "again"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldPropagateFailureToWaitingThreads() throws Exception {
+        var singleFlight = new SingleFlight<String, Object>();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var leader = executor.submit(() -> singleFlight.load("k", k -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("failed");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            var follower = executor.submit(() -> singleFlight.load("k", k -> new Object()));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -3,15 +3,20 @@ package io.ocfl.core.validation;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import io.ocfl.api.OcflConstants;
 import io.ocfl.api.model.ValidationCode;
 import io.ocfl.api.model.ValidationResults;
 import io.ocfl.core.storage.filesystem.FileSystemStorage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.Security;
 import java.util.Objects;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -22,6 +27,9 @@ public class ValidatorTest {
     private static final String CUSTOM_BAD_FIXTURES = "custom/bad-objects";
     private static final String CUSTOM_GOOD_FIXTURES = "custom/good-objects";
 
+    @TempDir
+    public Path tempRoot;
+
     @BeforeAll
     public static void beforeAll() {
         Security.addProvider(new BouncyCastleProvider());
@@ -1480,6 +1488,29 @@ public class ValidatorTest {
         assertInfoCount(results, 0);
     }
 
+    @Test
+    public void noWarningsOnRollbackIntent() throws IOException {
+        var name = "minimal_one_version_one_file";
+        var source = Paths.get("src/test/resources/fixtures/official/good-objects", name);
+        try (var files = Files.walk(source)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                Files.copy(
+                        file,
+                        tempRoot.resolve(name).resolve(source.relativize(file).toString()));
+            }
+        }
+        var intent = tempRoot.resolve(name)
+                .resolve(OcflConstants.ROLLBACK_EXT_PATH)
+                .resolve(OcflConstants.ROLLBACK_INTENT_FILE);
+        Files.createDirectories(intent.getParent());
+        Files.writeString(intent, "v1\n");
+
+        var validator = new Validator(new FileSystemStorage(tempRoot));
+        var results = validator.validateObject(name, true);
+
+        assertNoIssues(results);
+    }
+
     private void assertHasError(ValidationResults results, ValidationCode code, String message) {
         for (var error : results.getErrors()) {
             if (error.getCode() == code && Objects.equals(error.getMessage(), message)) {